@@ -0,0 +1,43 @@
+/*
+ * Writes gzip and brotli variants next to the text assets of the production build.
+ * The backend serves them to browsers which accept the encoding, so assets are compressed once per build instead of
+ * on every request.
+ */
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const BUILD_DIR = path.join(__dirname, '..', 'build');
+const COMPRESSIBLE = /\.(js|css|html|json|svg|txt)$/;
+const MIN_SIZE = 1024;
+
+function files(dir) {
+  return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const file = path.join(dir, entry.name);
+    return entry.isDirectory() ? files(file) : [file];
+  });
+}
+
+let original = 0;
+let compressed = 0;
+files(BUILD_DIR)
+  .filter((file) => COMPRESSIBLE.test(file))
+  .forEach((file) => {
+    const content = fs.readFileSync(file);
+    if (content.length < MIN_SIZE) {
+      return;
+    }
+    const gzip = zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION });
+    const brotli = zlib.brotliCompressSync(content, {
+      params: {
+        [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+        [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+      },
+    });
+    fs.writeFileSync(`${file}.gz`, gzip);
+    fs.writeFileSync(`${file}.br`, brotli);
+    original += content.length;
+    compressed += brotli.length;
+  });
+
+console.log(`Precompressed assets: ${original} bytes, ${compressed} bytes with brotli`);
@@ -34,6 +34,11 @@ function CreditReportRisk({ riskClassification }: CreditReportRiskProps) {
           />
         </>
       )}
+      {riskClassification.status === "PENDING" && (
+        <Text fontSize="x-large" width="100%" align="center" pt={150}>
+          {t("report.pdscore.pending")}
+        </Text>
+      )}
       {riskClassification.status === "ERROR" && (
         <Text
           fontSize="x-large"
@@ -1,6 +1,6 @@
 import { pdGradeArray } from "helpers/creditReport";
 
-export type PDStatus = "COMPLETED" | "ERROR" | "ERROR_NOT_ENOUGH_TRANSACTIONS";
+export type PDStatus = "PENDING" | "COMPLETED" | "ERROR" | "ERROR_NOT_ENOUGH_TRANSACTIONS";
 
 export type PDGrade = typeof pdGradeArray[number];
 
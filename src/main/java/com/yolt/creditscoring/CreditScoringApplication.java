@@ -1,13 +1,26 @@
 package com.yolt.creditscoring;
 
+import com.yolt.creditscoring.common.eventlog.EventLogProperties;
+import com.yolt.creditscoring.configuration.datasource.ReplicaDataSourceProperties;
 import com.yolt.creditscoring.configuration.security.admin.TestCfaAdminProperties;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimitProperties;
+import com.yolt.creditscoring.service.email.outbox.EmailOutboxProperties;
+import com.yolt.creditscoring.service.estimate.provider.EstimateApiResilienceProperties;
+import com.yolt.creditscoring.service.estimate.scoring.EstimateScoringProperties;
+import com.yolt.creditscoring.service.invitation.BulkInvitationProperties;
+import com.yolt.creditscoring.service.invitation.sweeper.InvitationSweeperProperties;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsProperties;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityProperties;
+import com.yolt.creditscoring.service.webhook.WebhookProperties;
 import com.yolt.creditscoring.service.yoltapi.configuration.YoltApiProperties;
+import com.yolt.creditscoring.service.yoltapi.configuration.YoltApiResilienceProperties;
+import com.yolt.creditscoring.service.yoltapi.configuration.YoltHttpClientProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 
-@EnableConfigurationProperties(value = {YoltApiProperties.class, TestCfaAdminProperties.class})
+@EnableConfigurationProperties(value = {YoltApiProperties.class, YoltHttpClientProperties.class, YoltApiResilienceProperties.class, EstimateScoringProperties.class, EstimateApiResilienceProperties.class, EmailOutboxProperties.class, WebhookProperties.class, BulkInvitationProperties.class, InvitationSweeperProperties.class, PortfolioStatisticsProperties.class, SignatureIntegrityProperties.class, EventLogProperties.class, ClientTokenRateLimitProperties.class, ReplicaDataSourceProperties.class, TestCfaAdminProperties.class})
 @SpringBootApplication
 public class CreditScoringApplication {
 
@@ -0,0 +1,166 @@
+package com.yolt.creditscoring.common.eventlog;
+
+import com.yolt.creditscoring.common.eventlog.EventLogProperties.OverflowPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit and SEMA events on a dedicated writer thread, so building and serializing the events is not part of the
+ * request.
+ * <p>
+ * Events are buffered in a bounded ring buffer and the writer takes them in batches. The logging context (MDC) of the
+ * calling thread is restored while an event is written, so the log lines keep their trace and client ids. A SEMA event
+ * is never dropped: when the buffer is full, the calling thread writes it.
+ */
+@Slf4j
+@Component
+public class EventLogDispatcher {
+
+    private static final String EVENTS_METRIC = "event_log_events";
+    private static final String LATENCY_METRIC = "event_log_latency";
+    private static final String QUEUE_DEPTH_METRIC = "event_log_queue_depth";
+    private static final String BATCH_SIZE_METRIC = "event_log_batch_size";
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final EventLogProperties properties;
+    private final MeterRegistry registry;
+    private final BlockingQueue<Event> buffer;
+    private final Thread writer;
+    private volatile boolean running;
+
+    public EventLogDispatcher(EventLogProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.writer = properties.isAsync() ? new Thread(this::writeEvents, "event-log-writer") : null;
+        registry.gauge(QUEUE_DEPTH_METRIC, buffer, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    void start() {
+        if (writer != null) {
+            running = true;
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Writes the buffered events before the application stops.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(properties.getShutdownTimeout().toMillis());
+        // Every event is taken from the buffer once, so this thread can write the rest while the writer is still busy
+        Event event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+        }
+    }
+
+    /**
+     * @param event builds and logs the audit event, e.g. with {@code AuditLogger.logSuccess}. Runs on another thread,
+     *              so it must only use values which do not change after the call.
+     */
+    public void audit(Runnable event) {
+        dispatch(EventType.AUDIT, event);
+    }
+
+    /**
+     * @param event builds and logs the SEMA event with {@code SemaEventLogger.log}. Runs on another thread, so it must
+     *              only use values which do not change after the call.
+     */
+    public void sema(Runnable event) {
+        dispatch(EventType.SEMA, event);
+    }
+
+    private void dispatch(EventType type, Runnable write) {
+        Event event = new Event(type, write, MDC.getCopyOfContextMap(), System.nanoTime());
+        if (writer == null) {
+            write(event);
+            return;
+        }
+        if (buffer.offer(event)) {
+            return;
+        }
+
+        if (type == EventType.SEMA || properties.getAuditOverflowPolicy() == OverflowPolicy.CALLER_RUNS) {
+            registry.counter(EVENTS_METRIC, "type", type.getTag(), "result", "overflow_caller_runs").increment();
+            write(event);
+        } else {
+            registry.counter(EVENTS_METRIC, "type", type.getTag(), "result", "dropped").increment();
+            log.warn("Event log buffer is full, dropped an audit event");
+        }
+    }
+
+    private void writeEvents() {
+        List<Event> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !buffer.isEmpty()) {
+            try {
+                Event first = buffer.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, properties.getBatchSize() - 1);
+                registry.summary(BATCH_SIZE_METRIC).record(batch.size());
+                batch.forEach(this::write);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(Event event) {
+        Map<String, String> callerContext = MDC.getCopyOfContextMap();
+        setContext(event.context());
+        try {
+            event.write().run();
+            registry.counter(EVENTS_METRIC, "type", event.type().getTag(), "result", "written").increment();
+        } catch (RuntimeException e) {
+            registry.counter(EVENTS_METRIC, "type", event.type().getTag(), "result", "failed").increment();
+            log.error("Could not write {} event", event.type(), e);
+        } finally {
+            setContext(callerContext);
+            registry.timer(LATENCY_METRIC, "type", event.type().getTag())
+                    .record(System.nanoTime() - event.dispatchedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    private enum EventType {
+        AUDIT, SEMA;
+
+        String getTag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private record Event(EventType type, Runnable write, Map<String, String> context, long dispatchedAt) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.yolt.creditscoring.common.eventlog;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link EventLogDispatcher}.
+ * Events wait in a buffer of {@code capacity} events and are written in batches of at most {@code batchSize}. When the
+ * buffer is full, audit events are handled according to {@code auditOverflowPolicy}, SEMA events are always written by
+ * the calling thread. With {@code async} disabled, e.g. in tests, every event is written by the calling thread.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.event-log")
+public class EventLogProperties {
+
+    private final boolean async;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final OverflowPolicy auditOverflowPolicy;
+
+    /**
+     * Time the writer gets to write the buffered events on shutdown, the remaining events are written by the thread
+     * which stops the application.
+     */
+    private final Duration shutdownTimeout;
+
+    public EventLogProperties(@DefaultValue("true") boolean async,
+                              @DefaultValue("8192") int capacity,
+                              @DefaultValue("256") int batchSize,
+                              @DefaultValue("CALLER_RUNS") OverflowPolicy auditOverflowPolicy,
+                              @DefaultValue("5s") Duration shutdownTimeout) {
+        this.async = async;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.auditOverflowPolicy = auditOverflowPolicy;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * The calling thread writes the event, slower requests instead of lost events.
+         */
+        CALLER_RUNS,
+        /**
+         * The event is not written and counted in the {@code event_log_events} metric.
+         */
+        DROP
+    }
+}
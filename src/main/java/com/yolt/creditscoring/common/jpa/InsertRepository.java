@@ -0,0 +1,17 @@
+package com.yolt.creditscoring.common.jpa;
+
+import java.util.Collection;
+
+/**
+ * Repository fragment for entities with an assigned id.
+ * <p>
+ * {@code save} of Spring Data calls {@code merge} for entities with an id, which first selects every entity of the graph
+ * to find out whether it exists. New entities are inserted directly with {@code persist} instead, so the inserts of the
+ * whole graph can be sent in JDBC batches (see {@code hibernate.jdbc.batch_size}).
+ */
+public interface InsertRepository<T> {
+
+    void insert(T entity);
+
+    void insertAll(Collection<T> entities);
+}
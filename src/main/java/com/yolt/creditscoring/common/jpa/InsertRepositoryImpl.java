@@ -0,0 +1,24 @@
+package com.yolt.creditscoring.common.jpa;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+
+@Transactional
+public class InsertRepositoryImpl<T> implements InsertRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insert(T entity) {
+        entityManager.persist(entity);
+    }
+
+    @Override
+    public void insertAll(Collection<T> entities) {
+        entities.forEach(entityManager::persist);
+    }
+}
@@ -0,0 +1,18 @@
+package com.yolt.creditscoring.common.outbox;
+
+import java.time.Duration;
+
+/**
+ * Delay before the next attempt of a failed outbox entry. Starts at {@code initial} and doubles with every attempt,
+ * capped at {@code max}.
+ */
+public record ExponentialBackoff(Duration initial, Duration max) {
+
+    /**
+     * @param attempts number of attempts made so far
+     */
+    public Duration delay(int attempts) {
+        Duration backoff = initial.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+}
@@ -0,0 +1,76 @@
+package com.yolt.creditscoring.common.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Claims the due entries of an outbox table and processes them on a pool of threads. Only as many entries are claimed
+ * as there are free slots, the rest stays available for other pods. An entry which could not be started keeps its
+ * lease and is picked up again once the lease expired.
+ * <p>
+ * The settings of an outbox, like its concurrency, lease and {@link ExponentialBackoff}, are configured under
+ * {@code credit-scoring.outbox.<outbox>}.
+ *
+ * @param <T> claimed entry
+ */
+@Slf4j
+public class OutboxDispatcher<T extends OutboxEntry> {
+
+    private final String name;
+    private final IntFunction<List<T>> claim;
+    private final Consumer<T> processor;
+    private final TaskExecutor executor;
+    private final Semaphore inFlight;
+
+    /**
+     * @param name        name of the entries in the logs
+     * @param concurrency maximum number of entries processed at the same time by this pod
+     * @param claim       claims at most the given number of due entries
+     * @param processor   processes a claimed entry and stores its result
+     */
+    public OutboxDispatcher(String name, int concurrency, TaskExecutor executor, IntFunction<List<T>> claim, Consumer<T> processor) {
+        this.name = name;
+        this.claim = claim;
+        this.processor = processor;
+        this.executor = executor;
+        this.inFlight = new Semaphore(concurrency);
+    }
+
+    /**
+     * @return number of entries submitted for processing
+     */
+    public int dispatch() {
+        int freeSlots = inFlight.availablePermits();
+        if (freeSlots == 0) {
+            return 0;
+        }
+
+        int submitted = 0;
+        for (T entry : claim.apply(freeSlots)) {
+            if (!inFlight.tryAcquire()) {
+                log.info("No free slot for {} {}, it will be picked up after the lease", name, entry.id());
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        processor.accept(entry);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                submitted++;
+            } catch (TaskRejectedException e) {
+                inFlight.release();
+                log.warn("{} {} rejected by executor, it will be picked up after the lease", name, entry.id());
+            }
+        }
+        return submitted;
+    }
+}
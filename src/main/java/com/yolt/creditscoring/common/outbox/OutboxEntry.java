@@ -0,0 +1,11 @@
+package com.yolt.creditscoring.common.outbox;
+
+import java.util.UUID;
+
+/**
+ * Entry of an outbox table claimed by {@link OutboxDispatcher}.
+ */
+public interface OutboxEntry {
+
+    UUID id();
+}
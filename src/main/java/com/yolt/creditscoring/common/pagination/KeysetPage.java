@@ -0,0 +1,20 @@
+package com.yolt.creditscoring.common.pagination;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page of a keyset paginated list.
+ *
+ * @param content    items of the page
+ * @param nextCursor opaque position of the next page, null on the last page
+ * @param totalCount number of items of the whole list, null when it was not requested
+ */
+public record KeysetPage<T>(List<T> content, @Nullable String nextCursor, @Nullable Long totalCount) {
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetPage<>(content.stream().<R>map(mapper).toList(), nextCursor, totalCount);
+    }
+}
@@ -0,0 +1,36 @@
+package com.yolt.creditscoring.common.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock free limit on the number of concurrent requests.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
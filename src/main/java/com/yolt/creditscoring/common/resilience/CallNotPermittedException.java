@@ -0,0 +1,23 @@
+package com.yolt.creditscoring.common.resilience;
+
+import lombok.Getter;
+
+/**
+ * Thrown by {@link UpstreamGuard#acquire()} when a call is rejected without reaching the upstream.
+ * Clients map it to the exception type of their upstream.
+ */
+@Getter
+public class CallNotPermittedException extends RuntimeException {
+
+    private final Reason reason;
+
+    public CallNotPermittedException(String message, Reason reason) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public enum Reason {
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL
+    }
+}
@@ -0,0 +1,161 @@
+package com.yolt.creditscoring.common.resilience;
+
+import lombok.NonNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Lock free circuit breaker. The whole state is an immutable {@link Snapshot}, so every permission and every result is
+ * a single compare-and-set.
+ * <p>
+ * In {@link State#CLOSED} calls and failures are counted in a tumbling window. When the failure rate of a window with
+ * enough calls reaches the threshold, the circuit opens and rejects calls until the open duration passed. Then a
+ * limited number of trial calls is let through: one failure opens the circuit again, when all succeed it closes.
+ * <p>
+ * Every transition starts a new generation and a permit is stamped with the generation it was given in. Results of
+ * calls which were started in an earlier generation, like a slow call started before the circuit opened which returns
+ * while the trial calls run, are ignored.
+ */
+public class CircuitBreaker {
+
+    /**
+     * Returned by {@link #tryAcquire} when the call may not be sent to the upstream.
+     */
+    public static final long NOT_PERMITTED = -1;
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long windowNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final BiConsumer<State, State> onTransition;
+
+    private final AtomicReference<Snapshot> snapshot;
+
+    /**
+     * @param now          {@link System#nanoTime()}
+     * @param onTransition called with the previous and the new state, after the state changed
+     */
+    public CircuitBreaker(@NonNull ResilienceSettings settings, long now, @NonNull BiConsumer<State, State> onTransition) {
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.minimumCalls = settings.getMinimumCalls();
+        this.windowNanos = settings.getWindow().toNanos();
+        this.openNanos = settings.getOpenDuration().toNanos();
+        this.halfOpenCalls = settings.getHalfOpenCalls();
+        this.onTransition = onTransition;
+        this.snapshot = new AtomicReference<>(Snapshot.closed(0, now));
+    }
+
+    /**
+     * @param now {@link System#nanoTime()}
+     * @return generation of the permit which must be passed to {@link #onResult} with the result of the call, or
+     * {@link #NOT_PERMITTED} when the call may not be sent to the upstream
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Snapshot next;
+            switch (current.state) {
+                case CLOSED:
+                    return current.generation;
+                case OPEN:
+                    if (now - current.since < openNanos) {
+                        return NOT_PERMITTED;
+                    }
+                    next = new Snapshot(State.HALF_OPEN, current.generation + 1, now, 0, 0, halfOpenCalls - 1);
+                    break;
+                default:
+                    if (current.permits == 0) {
+                        return NOT_PERMITTED;
+                    }
+                    next = new Snapshot(State.HALF_OPEN, current.generation, current.since, current.calls, 0, current.permits - 1);
+            }
+            if (update(current, next)) {
+                return next.generation;
+            }
+        }
+    }
+
+    /**
+     * @param generation returned by {@link #tryAcquire} when the call was permitted
+     * @param failure    whether the upstream failed, e.g. an I/O error, a timeout or a 5xx response
+     * @param now        {@link System#nanoTime()}
+     */
+    public void onResult(long generation, boolean failure, long now) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current.generation != generation) {
+                return;
+            }
+            Snapshot next;
+            switch (current.state) {
+                case CLOSED:
+                    next = nextClosed(current, failure, now);
+                    break;
+                case OPEN:
+                    return;
+                default:
+                    if (failure) {
+                        next = Snapshot.open(current.generation + 1, now);
+                    } else if (current.calls + 1 >= halfOpenCalls) {
+                        next = Snapshot.closed(current.generation + 1, now);
+                    } else {
+                        next = new Snapshot(State.HALF_OPEN, current.generation, current.since, current.calls + 1, 0, current.permits);
+                    }
+            }
+            if (update(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public State getState() {
+        return snapshot.get().state;
+    }
+
+    private Snapshot nextClosed(Snapshot current, boolean failure, long now) {
+        boolean newWindow = now - current.since >= windowNanos;
+        long since = newWindow ? now : current.since;
+        int calls = (newWindow ? 0 : current.calls) + 1;
+        int failures = (newWindow ? 0 : current.failures) + (failure ? 1 : 0);
+
+        if (failure && calls >= minimumCalls && failures * 100L >= (long) failureRateThreshold * calls) {
+            return Snapshot.open(current.generation + 1, now);
+        }
+        return new Snapshot(State.CLOSED, current.generation, since, calls, failures, 0);
+    }
+
+    private boolean update(Snapshot current, Snapshot next) {
+        if (!snapshot.compareAndSet(current, next)) {
+            return false;
+        }
+        if (current.state != next.state) {
+            onTransition.accept(current.state, next.state);
+        }
+        return true;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * @param generation incremented on every transition
+     * @param since      start of the window when closed, otherwise the time of the transition to the state
+     * @param calls      calls in the window when closed, successful trial calls when half open
+     * @param permits    trial calls which can still be let through when half open
+     */
+    private record Snapshot(State state, long generation, long since, int calls, int failures, int permits) {
+
+        static Snapshot closed(long generation, long now) {
+            return new Snapshot(State.CLOSED, generation, now, 0, 0, 0);
+        }
+
+        static Snapshot open(long generation, long now) {
+            return new Snapshot(State.OPEN, generation, now, 0, 0, 0);
+        }
+    }
+}
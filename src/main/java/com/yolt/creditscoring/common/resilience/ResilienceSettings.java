@@ -0,0 +1,46 @@
+package com.yolt.creditscoring.common.resilience;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead settings of an endpoint class of an upstream, see {@link UpstreamGuard}.
+ * <p>
+ * The circuit opens when at least {@code failureRateThreshold} percent of the calls in a {@code window} failed, and
+ * that window had at least {@code minimumCalls} calls. An open circuit rejects all calls for {@code openDuration},
+ * after which {@code halfOpenCalls} trial calls decide whether it closes or opens again.
+ * At most {@code maxConcurrent} calls are in flight at the same time.
+ */
+@Getter
+public class ResilienceSettings {
+
+    public static final ResilienceSettings DEFAULT = new ResilienceSettings(50, 20, Duration.ofSeconds(30), Duration.ofSeconds(30), 3, 25);
+
+    private final int failureRateThreshold;
+
+    private final int minimumCalls;
+
+    private final Duration window;
+
+    private final Duration openDuration;
+
+    private final int halfOpenCalls;
+
+    private final int maxConcurrent;
+
+    public ResilienceSettings(@DefaultValue("50") int failureRateThreshold,
+                              @DefaultValue("20") int minimumCalls,
+                              @DefaultValue("30s") Duration window,
+                              @DefaultValue("30s") Duration openDuration,
+                              @DefaultValue("3") int halfOpenCalls,
+                              @DefaultValue("25") int maxConcurrent) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.window = window;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.maxConcurrent = maxConcurrent;
+    }
+}
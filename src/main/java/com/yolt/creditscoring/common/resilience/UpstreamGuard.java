@@ -0,0 +1,133 @@
+package com.yolt.creditscoring.common.resilience;
+
+import com.yolt.creditscoring.common.resilience.CallNotPermittedException.Reason;
+import com.yolt.creditscoring.common.resilience.CircuitBreaker.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breaker and bulkhead of one endpoint class of an upstream, e.g. the transactions of the Yolt API.
+ * <p>
+ * A call which is rejected by an open circuit or a full bulkhead fails within microseconds instead of holding a
+ * thread and a connection until the upstream times out. The state is exported as
+ * {@code upstream_circuit_breaker_state} (0 closed, 1 open, 2 half open), the calls in flight as
+ * {@code upstream_bulkhead_in_flight} and the outcome of every call as {@code upstream_calls}.
+ */
+@Slf4j
+public class UpstreamGuard {
+
+    private static final String STATE_METRIC = "upstream_circuit_breaker_state";
+    private static final String IN_FLIGHT_METRIC = "upstream_bulkhead_in_flight";
+    private static final String CALLS_METRIC = "upstream_calls";
+
+    private final String upstream;
+    private final String endpointClass;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry registry;
+
+    /**
+     * @param enabled when false every call is permitted and nothing is recorded
+     */
+    public UpstreamGuard(@NonNull String upstream,
+                         @NonNull String endpointClass,
+                         @NonNull ResilienceSettings settings,
+                         boolean enabled,
+                         @NonNull MeterRegistry registry) {
+        this.upstream = upstream;
+        this.endpointClass = endpointClass;
+        this.registry = registry;
+        if (!enabled) {
+            this.circuitBreaker = null;
+            this.bulkhead = null;
+            return;
+        }
+        this.circuitBreaker = new CircuitBreaker(settings, System.nanoTime(), this::logTransition);
+        this.bulkhead = new Bulkhead(settings.getMaxConcurrent());
+
+        Gauge.builder(STATE_METRIC, circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the circuit breaker of an upstream endpoint class: 0 closed, 1 open, 2 half open")
+                .tags("upstream", upstream, "endpoint_class", endpointClass)
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_METRIC, bulkhead, Bulkhead::getInFlight)
+                .description("Calls in flight to an upstream endpoint class")
+                .tags("upstream", upstream, "endpoint_class", endpointClass)
+                .register(registry);
+    }
+
+    /**
+     * @return permit which must be completed with the result of the call
+     * @throws CallNotPermittedException when the circuit is open or the bulkhead is full
+     */
+    public Permit acquire() {
+        if (circuitBreaker == null) {
+            return Permit.NONE;
+        }
+        if (!bulkhead.tryAcquire()) {
+            count("rejected_bulkhead");
+            throw new CallNotPermittedException(String.format("Too many concurrent calls to %s %s", upstream, endpointClass),
+                    Reason.BULKHEAD_FULL);
+        }
+        long generation = circuitBreaker.tryAcquire(System.nanoTime());
+        if (generation == CircuitBreaker.NOT_PERMITTED) {
+            bulkhead.release();
+            count("rejected_open");
+            throw new CallNotPermittedException(String.format("Circuit of %s %s is open", upstream, endpointClass),
+                    Reason.CIRCUIT_OPEN);
+        }
+        return new Permit(this, generation);
+    }
+
+    private void complete(long generation, boolean failure) {
+        bulkhead.release();
+        circuitBreaker.onResult(generation, failure, System.nanoTime());
+        count(failure ? "failure" : "success");
+    }
+
+    private void count(String result) {
+        Counter.builder(CALLS_METRIC)
+                .description("Calls to an upstream endpoint class by result")
+                .tags("upstream", upstream, "endpoint_class", endpointClass, "result", result)
+                .register(registry)
+                .increment();
+    }
+
+    private void logTransition(State from, State to) {
+        if (to == State.OPEN) {
+            log.warn("Circuit of {} {} opened, was {}", upstream, endpointClass, from);
+        } else {
+            log.info("Circuit of {} {} is {}, was {}", upstream, endpointClass, to, from);
+        }
+    }
+
+    /**
+     * Place of a call in the bulkhead and the circuit breaker. Completing it more than once has no effect.
+     */
+    public static final class Permit {
+
+        static final Permit NONE = new Permit(null, CircuitBreaker.NOT_PERMITTED);
+
+        private final UpstreamGuard guard;
+        private final long generation;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(UpstreamGuard guard, long generation) {
+            this.guard = guard;
+            this.generation = generation;
+        }
+
+        /**
+         * @param failure whether the upstream failed, e.g. an I/O error, a timeout or a 5xx response
+         */
+        public void complete(boolean failure) {
+            if (guard != null && completed.compareAndSet(false, true)) {
+                guard.complete(generation, failure);
+            }
+        }
+    }
+}
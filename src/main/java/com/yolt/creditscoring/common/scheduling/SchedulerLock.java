@@ -0,0 +1,30 @@
+package com.yolt.creditscoring.common.scheduling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@code @Scheduled} method on a single pod at a time. Pods which do not get the lock skip the run.
+ * <p>
+ * The lock is a lease in the {@code scheduler_lock} table. It expires after {@link #lockAtMostFor()}, so a pod which
+ * dies while running the job does not block it forever. The lease should therefore be longer than the job takes. After
+ * the job the lock is held until {@link #lockAtLeastFor()} after the start, so pods with a slightly different clock do
+ * not run a cron job again.
+ * <p>
+ * Durations are in the format of Spring Boot properties, e.g. {@code 30s}, {@code 10m} or {@code PT10M}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SchedulerLock {
+
+    /**
+     * Name of the lock, unique per job.
+     */
+    String name();
+
+    String lockAtMostFor() default "10m";
+
+    String lockAtLeastFor() default "0s";
+}
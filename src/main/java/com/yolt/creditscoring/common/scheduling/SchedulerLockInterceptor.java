@@ -0,0 +1,58 @@
+package com.yolt.creditscoring.common.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Runs methods annotated with {@link SchedulerLock} only when this pod gets the lock. Reports which node ran the job
+ * and how long it took in the logs and in the {@code scheduler_lock_job} metric.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SchedulerLockInterceptor implements MethodInterceptor {
+
+    private static final String JOB_METRIC = "scheduler_lock_job";
+
+    private final ObjectProvider<SchedulerLockService> schedulerLockService;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        SchedulerLock annotation = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), SchedulerLock.class);
+        if (annotation == null) {
+            return invocation.proceed();
+        }
+        SchedulerLockService lockService = schedulerLockService.getObject();
+        MeterRegistry meterRegistry = registry.getObject();
+
+        Optional<SchedulerLockService.Lock> lock = lockService.tryLock(annotation.name(), DurationStyle.detectAndParse(annotation.lockAtMostFor()));
+        if (lock.isEmpty()) {
+            log.debug("Skipping job {}, the lock is held by another node", annotation.name());
+            meterRegistry.counter(JOB_METRIC + "_skipped", "name", annotation.name()).increment();
+            return null;
+        }
+
+        long start = System.nanoTime();
+        String result = "success";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            result = "failure";
+            throw e;
+        } finally {
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            lockService.unlock(lock.get(), DurationStyle.detectAndParse(annotation.lockAtLeastFor()), duration);
+            meterRegistry.timer(JOB_METRIC, "name", annotation.name(), "result", result).record(duration);
+            log.info("Job {} ran on node {} in {} ms ({})", annotation.name(), lockService.getNode(), duration.toMillis(), result);
+        }
+    }
+}
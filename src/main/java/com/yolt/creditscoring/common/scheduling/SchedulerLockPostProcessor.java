@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.common.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+
+/**
+ * Proxies beans with {@link SchedulerLock} methods. The lock service is looked up lazily, because the post-processor is
+ * created before the repositories.
+ */
+public class SchedulerLockPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public SchedulerLockPostProcessor() {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        super.setBeanFactory(beanFactory);
+        this.advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(SchedulerLock.class),
+                new SchedulerLockInterceptor(beanFactory.getBeanProvider(SchedulerLockService.class),
+                        beanFactory.getBeanProvider(MeterRegistry.class)));
+    }
+}
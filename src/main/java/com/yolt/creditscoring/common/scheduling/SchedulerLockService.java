@@ -0,0 +1,84 @@
+package com.yolt.creditscoring.common.scheduling;
+
+import com.yolt.creditscoring.common.scheduling.model.SchedulerLockRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Leases of {@link SchedulerLock}. Every statement commits on its own, so other pods see the lock while the job runs.
+ * Lease times come from the clock of the database, a pod with a skewed clock can not take over a running lease.
+ */
+@Slf4j
+@Service
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Name of this pod in the lock table and the logs.
+     */
+    @Getter
+    private final String node;
+
+    public SchedulerLockService(SchedulerLockRepository schedulerLockRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${HOSTNAME:}") String hostname) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.node = hostname.isBlank() ? localHostName() : hostname;
+    }
+
+    /**
+     * @return the lock when it was taken, empty when another pod holds it
+     */
+    @Transactional
+    public Optional<Lock> tryLock(String name, Duration lockAtMostFor) {
+        return schedulerLockRepository.tryLock(name, node, lockAtMostFor.toMillis())
+                .map(lockedAt -> new Lock(name, lockedAt));
+    }
+
+    /**
+     * Releases the lock, but keeps it until {@code lockAtLeastFor} after the start of the run. Never throws, so it can
+     * be called in a {@code finally} block without hiding the result of the job: a lock which could not be released
+     * is free again when its lease expires.
+     */
+    public void unlock(Lock lock, Duration lockAtLeastFor, Duration duration) {
+        try {
+            Integer released = transactionTemplate.execute(status -> schedulerLockRepository.unlock(
+                    lock.name(), node, lock.lockedAt(), lockAtLeastFor.toMillis(), duration.toMillis()));
+            if (released == null || released == 0) {
+                log.warn("Scheduler lock {} was taken over by another node before {} finished, the lease is shorter than the job",
+                        lock.name(), node);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Scheduler lock {} could not be released by {}, it is free again when the lease expires",
+                    lock.name(), node, e);
+        }
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * @param lockedAt start of the lease as returned by the database, the release matches on this exact value
+     */
+    public record Lock(String name, String lockedAt) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.yolt.creditscoring.common.scheduling.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = SchedulerLockEntity.TABLE_NAME)
+@Accessors(chain = true)
+public class SchedulerLockEntity {
+
+    public static final String TABLE_NAME = "scheduler_lock";
+
+    @Id
+    private String name;
+
+    private OffsetDateTime lockedUntil;
+
+    private OffsetDateTime lockedAt;
+
+    /**
+     * Node which holds the lock, or held it for the last run.
+     */
+    private String lockedBy;
+
+    private OffsetDateTime lastFinishedAt;
+
+    private Long lastDurationMs;
+}
@@ -0,0 +1,48 @@
+package com.yolt.creditscoring.common.scheduling.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLockEntity, String> {
+
+    /**
+     * Takes the lock when it does not exist yet or when the lease of the previous holder has expired. The lease is
+     * computed with the clock of the database, so the clocks of the pods do not matter.
+     *
+     * @return start of the lease as text, which identifies the lease when it is released, empty when another run holds
+     * the lock
+     */
+    @Query(value = """
+            INSERT INTO scheduler_lock (name, locked_until, locked_at, locked_by)
+            VALUES (:name, now() + :lockAtMostForMs * INTERVAL '1 millisecond', now(), :node)
+            ON CONFLICT (name) DO UPDATE
+                SET locked_until = EXCLUDED.locked_until, locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by
+                WHERE scheduler_lock.locked_until <= now()
+            RETURNING CAST(locked_at AS text)
+            """, nativeQuery = true)
+    Optional<String> tryLock(@Param("name") String name,
+                             @Param("node") String node,
+                             @Param("lockAtMostForMs") long lockAtMostForMs);
+
+    /**
+     * Shortens the lease to {@code lockAtLeastForMs} after its start, or to now when that passed, and records the run.
+     * Does nothing when the lease expired and the lock was taken by another run in the meantime.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE scheduler_lock
+            SET locked_until = GREATEST(locked_at + :lockAtLeastForMs * INTERVAL '1 millisecond', now()),
+                last_finished_at = now(),
+                last_duration_ms = :durationMs
+            WHERE name = :name AND locked_by = :node AND locked_at = CAST(:lockedAt AS timestamptz)
+            """, nativeQuery = true)
+    int unlock(@Param("name") String name,
+               @Param("node") String node,
+               @Param("lockedAt") String lockedAt,
+               @Param("lockAtLeastForMs") long lockAtLeastForMs,
+               @Param("durationMs") long durationMs);
+}
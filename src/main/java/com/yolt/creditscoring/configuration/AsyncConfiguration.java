@@ -1,5 +1,13 @@
 package com.yolt.creditscoring.configuration;
 
+import com.yolt.creditscoring.configuration.datasource.RecentWriters;
+import com.yolt.creditscoring.service.email.outbox.EmailOutboxProperties;
+import com.yolt.creditscoring.service.estimate.scoring.EstimateScoringProperties;
+import com.yolt.creditscoring.service.invitation.sweeper.InvitationSweeperProperties;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsProperties;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityProperties;
+import com.yolt.creditscoring.service.webhook.WebhookProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.task.TaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -7,12 +15,25 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfiguration {
 
     public static final String CREDIT_SCORE_EXECUTOR = "creditScoreExecutor";
+    public static final String ESTIMATE_SCORING_EXECUTOR = "estimateScoringExecutor";
+    public static final String MVC_ASYNC_EXECUTOR = "mvcAsyncExecutor";
+    public static final String REPORT_ASSEMBLY_EXECUTOR = "reportAssemblyExecutor";
+    public static final String WEBHOOK_EXECUTOR = "webhookExecutor";
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+    public static final String INVITATION_SWEEPER_EXECUTOR = "invitationSweeperExecutor";
+    public static final String PORTFOLIO_REBUILD_POOL = "portfolioRebuildPool";
+    public static final String SIGNATURE_INTEGRITY_POOL = "signatureIntegrityPool";
 
     @Value("${yolt.creditScoreExecutor.async:true}")
     private boolean asyncEnabled;
@@ -27,4 +48,100 @@ public class AsyncConfiguration {
                 .build();
     }
 
+    @Bean(ESTIMATE_SCORING_EXECUTOR)
+    public TaskExecutor estimateScoringExecutor(TaskExecutorBuilder builder, EstimateScoringProperties properties) {
+        return !asyncEnabled ? new SyncTaskExecutor() : builder
+                .corePoolSize(properties.getConcurrency())
+                .maxPoolSize(properties.getConcurrency())
+                .queueCapacity(properties.getConcurrency())
+                .threadNamePrefix(ESTIMATE_SCORING_EXECUTOR + "-")
+                .build();
+    }
+
+    @Bean(WEBHOOK_EXECUTOR)
+    public TaskExecutor webhookExecutor(TaskExecutorBuilder builder, WebhookProperties properties) {
+        return !asyncEnabled ? new SyncTaskExecutor() : builder
+                .corePoolSize(properties.getConcurrency())
+                .maxPoolSize(properties.getConcurrency())
+                .queueCapacity(properties.getConcurrency())
+                .threadNamePrefix(WEBHOOK_EXECUTOR + "-")
+                .build();
+    }
+
+    @Bean(EMAIL_EXECUTOR)
+    public TaskExecutor emailExecutor(TaskExecutorBuilder builder, EmailOutboxProperties properties) {
+        return !asyncEnabled ? new SyncTaskExecutor() : builder
+                .corePoolSize(properties.getConcurrency())
+                .maxPoolSize(properties.getConcurrency())
+                .queueCapacity(properties.getConcurrency())
+                .threadNamePrefix(EMAIL_EXECUTOR + "-")
+                .build();
+    }
+
+    /**
+     * Removes the Yolt users of expired invitations. The queue is bounded by the batch size of the sweeper.
+     */
+    @Bean(INVITATION_SWEEPER_EXECUTOR)
+    public TaskExecutor invitationSweeperExecutor(TaskExecutorBuilder builder, InvitationSweeperProperties properties) {
+        return !asyncEnabled ? new SyncTaskExecutor() : builder
+                .corePoolSize(properties.getRemovalConcurrency())
+                .maxPoolSize(properties.getRemovalConcurrency())
+                .threadNamePrefix(INVITATION_SWEEPER_EXECUTOR + "-")
+                .build();
+    }
+
+    /**
+     * Rebuilds portfolio statistics. A rebuild forks the parts of the reports to this pool and waits for them, a fork
+     * join pool lets the waiting thread work on the parts instead of blocking a thread of the pool.
+     */
+    @Bean(PORTFOLIO_REBUILD_POOL)
+    public ForkJoinPool portfolioRebuildPool(PortfolioStatisticsProperties properties) {
+        return new ForkJoinPool(properties.getRebuildParallelism());
+    }
+
+    /**
+     * Verifies report signatures during an integrity scan. Verification is CPU bound, so the pool is small and fixed to
+     * not slow down the report calculation running on the same pod.
+     */
+    @Bean(SIGNATURE_INTEGRITY_POOL)
+    public ForkJoinPool signatureIntegrityPool(SignatureIntegrityProperties properties) {
+        return new ForkJoinPool(properties.getParallelism());
+    }
+
+    /**
+     * Fetches independent sections of a report concurrently. When all threads are busy the request thread fetches the
+     * section itself, so load on the database is bounded by the number of request threads plus this pool.
+     * <p>
+     * Sections run with the security context and the read-your-writes window of the request, so they are routed to the
+     * same database as the request itself.
+     */
+    @Bean(REPORT_ASSEMBLY_EXECUTOR)
+    public TaskExecutor reportAssemblyExecutor(TaskExecutorBuilder builder, ObjectProvider<RecentWriters> recentWriters) {
+        if (!asyncEnabled) {
+            return new SyncTaskExecutor();
+        }
+        RecentWriters writers = recentWriters.getIfAvailable();
+        ThreadPoolTaskExecutor executor = builder
+                .corePoolSize(8)
+                .maxPoolSize(8)
+                .queueCapacity(0)
+                .threadNamePrefix(REPORT_ASSEMBLY_EXECUTOR + "-")
+                .taskDecorator(task -> new DelegatingSecurityContextRunnable(writers == null ? task : writers.propagate(task)))
+                .build();
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Writes streaming responses, like the report download. Without it Spring MVC starts a new thread for every response.
+     */
+    @Bean(MVC_ASYNC_EXECUTOR)
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(TaskExecutorBuilder builder) {
+        return builder
+                .corePoolSize(4)
+                .maxPoolSize(20)
+                .queueCapacity(100)
+                .threadNamePrefix(MVC_ASYNC_EXECUTOR + "-")
+                .build();
+    }
 }
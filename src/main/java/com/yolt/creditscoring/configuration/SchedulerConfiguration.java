@@ -1,9 +1,16 @@
 package com.yolt.creditscoring.configuration;
 
+import com.yolt.creditscoring.common.scheduling.SchedulerLockPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableScheduling
 public class SchedulerConfiguration {
+
+    @Bean
+    public static SchedulerLockPostProcessor schedulerLockPostProcessor() {
+        return new SchedulerLockPostProcessor();
+    }
 }
@@ -0,0 +1,62 @@
+package com.yolt.creditscoring.configuration;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * Serving of the React frontend.
+ * <p>
+ * The build writes gzip and brotli variants of the assets (see {@code react-app/scripts/compress-build.js}), which are
+ * served to browsers accepting the encoding. Files under {@code /static} have a content hash in their name, so they are
+ * cached by the browser without revalidation. {@code index.html}, which all frontend routes forward to, references
+ * the current hashes and is therefore revalidated on every visit with an ETag.
+ */
+@Configuration
+public class StaticResourceConfiguration implements WebMvcConfigurer {
+
+    private static final int ONE_YEAR_IN_SECONDS = 31536000;
+
+    /**
+     * {@link CacheControl} of this Spring version has no immutable directive.
+     */
+    private static final CacheControl HASHED_ASSET_CACHE_CONTROL = new CacheControl() {
+        @Override
+        public String getHeaderValue() {
+            return "public, max-age=" + ONE_YEAR_IN_SECONDS + ", immutable";
+        }
+    };
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/static/**")
+                .addResourceLocations("classpath:/static/static/")
+                .setCacheControl(HASHED_ASSET_CACHE_CONTROL)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    /**
+     * The frontend routes forward to {@code /index.html}, so the filter also applies to forwards.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> indexHtmlEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/index.html");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.FORWARD);
+        return registration;
+    }
+}
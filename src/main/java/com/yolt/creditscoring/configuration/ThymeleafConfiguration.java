@@ -4,18 +4,31 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 
 import java.util.Collections;
 
+/**
+ * Template engine of the e-mails. Parsed templates are cached without expiry, the templates are part of the
+ * application and only change with a deployment.
+ */
 @Configuration
 public class ThymeleafConfiguration {
 
+    private static final int TEMPLATE_CACHE_MAX_SIZE = 20;
+    private static final int EXPRESSION_CACHE_MAX_SIZE = 200;
+
     @Bean
     public ITemplateEngine templateEngine() {
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(TEMPLATE_CACHE_MAX_SIZE);
+        cacheManager.setExpressionCacheMaxSize(EXPRESSION_CACHE_MAX_SIZE);
+
         TemplateEngine templateEngine = new TemplateEngine();
+        templateEngine.setCacheManager(cacheManager);
         templateEngine.addTemplateResolver(textTemplateResolver());
         templateEngine.addTemplateResolver(htmlTemplateResolver());
 
@@ -30,7 +43,7 @@ public class ThymeleafConfiguration {
         templateResolver.setPrefix("/mail/");
         templateResolver.setSuffix(".txt");
         templateResolver.setTemplateMode(TemplateMode.TEXT);
-        templateResolver.setCacheable(false);
+        templateResolver.setCacheable(true);
 
         return templateResolver;
     }
@@ -43,7 +56,7 @@ public class ThymeleafConfiguration {
         templateResolver.setPrefix("/mail/");
         templateResolver.setSuffix(".html");
         templateResolver.setTemplateMode(TemplateMode.HTML);
-        templateResolver.setCacheable(false);
+        templateResolver.setCacheable(true);
 
         return templateResolver;
     }
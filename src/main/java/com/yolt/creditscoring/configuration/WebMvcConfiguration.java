@@ -1,20 +1,38 @@
 package com.yolt.creditscoring.configuration;
 
 import com.yolt.creditscoring.configuration.security.HttpHeaderVerificationInterceptor;
-import lombok.RequiredArgsConstructor;
+import com.yolt.creditscoring.configuration.security.customer.ClientTokenRateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Component
-@RequiredArgsConstructor
 public class WebMvcConfiguration implements WebMvcConfigurer {
 
     private final HttpHeaderVerificationInterceptor productServiceInterceptor;
+    private final ClientTokenRateLimitInterceptor clientTokenRateLimitInterceptor;
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    public WebMvcConfiguration(HttpHeaderVerificationInterceptor productServiceInterceptor,
+                               ClientTokenRateLimitInterceptor clientTokenRateLimitInterceptor,
+                               @Qualifier(AsyncConfiguration.MVC_ASYNC_EXECUTOR) ThreadPoolTaskExecutor mvcAsyncExecutor) {
+        this.productServiceInterceptor = productServiceInterceptor;
+        this.clientTokenRateLimitInterceptor = clientTokenRateLimitInterceptor;
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(productServiceInterceptor);
+        registry.addInterceptor(clientTokenRateLimitInterceptor).addPathPatterns("/api/customer/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.yolt.creditscoring.configuration.datasource;
+
+import com.yolt.creditscoring.configuration.security.admin.CookieUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Shares the read-your-writes window of {@link RecentWriters} between pods. A request that writes to the primary gets a
+ * cookie with the end of the window, later requests with that cookie keep their read-only transactions on the primary
+ * until then, whichever pod serves them.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "read-your-writes-until";
+
+    private final RecentWriters recentWriters;
+    private final Duration window;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long stickyUntil = CookieUtils.getCookie(request, COOKIE_NAME)
+                .map(ReadYourWritesFilter::parse)
+                .orElse(0L);
+        recentWriters.beginRequest(stickyUntil, until -> {
+            if (!response.isCommitted()) {
+                response.addCookie(cookie(until));
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            recentWriters.endRequest();
+        }
+    }
+
+    private Cookie cookie(long until) {
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+        cookie.setPath("/");
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        cookie.setHttpOnly(true);
+        cookie.setSecure(true);
+        return cookie;
+    }
+
+    private static long parse(Cookie cookie) {
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.yolt.creditscoring.configuration.datasource;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * Callers which wrote to the primary recently. A caller is the authenticated principal, so the reads of an admin or
+ * client token that follow its own writes in a later request see those writes. Work without an authenticated
+ * principal, like scheduled jobs, is tracked per thread.
+ * <p>
+ * This state is kept in memory of one pod. A later request of the same principal that is served by another pod does
+ * not know about the write, so the window is also handed to the HTTP client: {@link ReadYourWritesFilter} sets a
+ * cookie on the first write of a request and the requests carrying that cookie stay on the primary until the window
+ * ends, whichever pod serves them. Clients that do not send cookies back only get read-your-writes on the same pod.
+ * <p>
+ * Work handed to another thread during a request has to be wrapped with {@link #propagate(Runnable)} to see the
+ * window of the request.
+ */
+public class RecentWriters {
+
+    private static final Clock clock = ClockConfig.getClock();
+
+    private final Duration window;
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteByPrincipal = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> lastWriteOfThread = new ThreadLocal<>();
+    private final ThreadLocal<RequestWrites> requestWrites = new ThreadLocal<>();
+
+    public RecentWriters(Duration window) {
+        this.window = window;
+        this.windowNanos = window.toNanos();
+    }
+
+    void markWrite() {
+        long now = System.nanoTime();
+        String principal = currentPrincipal();
+        if (principal != null) {
+            lastWriteByPrincipal.put(principal, now);
+        } else {
+            lastWriteOfThread.set(now);
+        }
+        RequestWrites request = requestWrites.get();
+        if (request != null) {
+            request.written(clock.millis() + window.toMillis());
+        }
+    }
+
+    boolean wroteRecently() {
+        String principal = currentPrincipal();
+        Long lastWrite = principal != null ? lastWriteByPrincipal.get(principal) : lastWriteOfThread.get();
+        if (lastWrite != null && System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        RequestWrites request = requestWrites.get();
+        return request != null && request.stickyUntil > clock.millis();
+    }
+
+    void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteByPrincipal.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    /**
+     * Starts the read-your-writes window of a request on the current thread.
+     *
+     * @param stickyUntil  epoch millis until which the client asked to stay on the primary, 0 when it did not
+     * @param onFirstWrite called with the epoch millis the window ends on the first write of the request
+     */
+    void beginRequest(long stickyUntil, LongConsumer onFirstWrite) {
+        long maxStickyUntil = clock.millis() + window.toMillis();
+        requestWrites.set(new RequestWrites(Math.min(stickyUntil, maxStickyUntil), onFirstWrite));
+    }
+
+    void endRequest() {
+        requestWrites.remove();
+    }
+
+    /**
+     * @return the task which runs with the read-your-writes window of the current request, if any
+     */
+    public Runnable propagate(Runnable task) {
+        RequestWrites request = requestWrites.get();
+        if (request == null) {
+            return task;
+        }
+        return () -> {
+            RequestWrites previous = requestWrites.get();
+            requestWrites.set(request);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    requestWrites.remove();
+                } else {
+                    requestWrites.set(previous);
+                }
+            }
+        };
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class RequestWrites {
+
+        private final LongConsumer onFirstWrite;
+        private final AtomicBoolean written = new AtomicBoolean();
+        private volatile long stickyUntil;
+
+        private RequestWrites(long stickyUntil, LongConsumer onFirstWrite) {
+            this.stickyUntil = stickyUntil;
+            this.onFirstWrite = onFirstWrite;
+        }
+
+        private void written(long until) {
+            stickyUntil = until;
+            if (written.compareAndSet(false, true)) {
+                onFirstWrite.accept(until);
+            }
+        }
+    }
+}
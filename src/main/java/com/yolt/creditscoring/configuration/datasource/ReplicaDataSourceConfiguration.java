@@ -0,0 +1,87 @@
+package com.yolt.creditscoring.configuration.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the data source of Spring Boot with a {@link ReplicaRoutingDataSource} over a primary and a replica pool.
+ * The primary pool is configured with {@code spring.datasource.*} like before. Both pools publish the Hikari metrics,
+ * tagged with the pool name.
+ */
+@Configuration
+@ConditionalOnProperty(value = "credit-scoring.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+    public static final String REPLICA_DATA_SOURCE = "replicaDataSource";
+
+    @Bean(PRIMARY_DATA_SOURCE)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry registry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return dataSource;
+    }
+
+    @Bean(REPLICA_DATA_SOURCE)
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties, MeterRegistry registry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(properties.getUrl());
+        config.setUsername(properties.getUsername());
+        config.setPassword(properties.getPassword());
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setReadOnly(true);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        // Not started before the first connection, so the application also starts when the replica is down.
+        HikariDataSource dataSource = new HikariDataSource();
+        config.copyStateTo(dataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public RecentWriters recentWriters(ReplicaDataSourceProperties properties) {
+        return new RecentWriters(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier(PRIMARY_DATA_SOURCE) DataSource primary,
+                                               @Qualifier(REPLICA_DATA_SOURCE) DataSource replica,
+                                               ReplicaDataSourceProperties properties,
+                                               RecentWriters recentWriters,
+                                               MeterRegistry registry) {
+        return new ReplicaLagMonitor(primary, replica, properties.getMaxLag(), recentWriters, registry);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(RecentWriters recentWriters, ReplicaDataSourceProperties properties) {
+        return new ReadYourWritesFilter(recentWriters, properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(PRIMARY_DATA_SOURCE) DataSource primary,
+                                 @Qualifier(REPLICA_DATA_SOURCE) DataSource replica,
+                                 ReplicaLagMonitor lagMonitor,
+                                 RecentWriters recentWriters,
+                                 MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, recentWriters, registry));
+    }
+}
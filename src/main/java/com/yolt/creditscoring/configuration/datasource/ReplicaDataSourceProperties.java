@@ -0,0 +1,52 @@
+package com.yolt.creditscoring.configuration.datasource;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Read replica of the database, see {@link ReplicaRoutingDataSource}.
+ * <p>
+ * The replica is not used when it lags more than {@code maxLag} behind the primary. After a caller wrote to the primary,
+ * its read-only transactions stay on the primary for {@code readYourWritesWindow}, which should be larger than
+ * {@code maxLag}. That state is per pod, see {@link RecentWriters} for how it is shared with the next requests of
+ * the client.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private final boolean enabled;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final int maximumPoolSize;
+
+    private final Duration maxLag;
+
+    private final Duration readYourWritesWindow;
+
+    public ReplicaDataSourceProperties(@DefaultValue("false") boolean enabled,
+                                       String url,
+                                       String username,
+                                       String password,
+                                       @DefaultValue("10") int maximumPoolSize,
+                                       @DefaultValue("5s") Duration maxLag,
+                                       @DefaultValue("15s") Duration readYourWritesWindow) {
+        this.enabled = enabled;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maximumPoolSize = maximumPoolSize;
+        this.maxLag = maxLag;
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+}
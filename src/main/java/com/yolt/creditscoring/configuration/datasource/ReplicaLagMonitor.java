@@ -0,0 +1,127 @@
+package com.yolt.creditscoring.configuration.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures the replication lag of the replica. The replica is only used while the lag is below the maximum and the
+ * last check succeeded, until then every transaction goes to the primary.
+ * <p>
+ * The lag is measured against the primary: the replica is in sync when it replayed the WAL position the primary had
+ * at the start of the check. The lag is the time since the replica was last seen in sync, so an idle primary does not
+ * look like lag, and a replica whose WAL receiver stalled keeps lagging further behind although it replayed everything
+ * it received. A replica without a streaming WAL receiver is not used.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    static final String REPLICA_STATUS_QUERY = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                (SELECT status FROM pg_stat_wal_receiver) AS receiver_status,
+                pg_last_wal_replay_lsn()::text AS replay_lsn,
+                EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS replay_age
+            """;
+
+    private static final String STREAMING = "streaming";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final RecentWriters recentWriters;
+
+    private volatile boolean available;
+    private volatile long lagMillis = -1;
+
+    /**
+     * {@link System#nanoTime()} of the last check which found the replica in sync, 0 before that.
+     */
+    private volatile long inSyncAt;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, RecentWriters recentWriters, MeterRegistry registry) {
+        this.primary = new JdbcTemplate(primary);
+        this.primary.setQueryTimeout(1);
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(1);
+        this.maxLag = maxLag;
+        this.recentWriters = recentWriters;
+        Gauge.builder("datasource_replica_lag", this, monitor -> monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("datasource_replica_available", this, monitor -> monitor.available ? 1 : 0)
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${credit-scoring.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        recentWriters.evictExpired();
+        try {
+            // The primary is read first, a replica which replayed this position has everything committed before the check
+            String primaryLsn = primary.queryForObject(PRIMARY_LSN_QUERY, String.class);
+            ReplicaStatus status = replica.queryForObject(REPLICA_STATUS_QUERY, (rs, rowNum) -> new ReplicaStatus(
+                    rs.getBoolean("in_recovery"),
+                    rs.getString("receiver_status"),
+                    rs.getString("replay_lsn"),
+                    rs.getObject("replay_age") == null ? null : rs.getDouble("replay_age")));
+            update(measureLag(primaryLsn, status), status);
+        } catch (RuntimeException e) {
+            markUnavailable(e);
+        }
+    }
+
+    private long measureLag(String primaryLsn, ReplicaStatus status) {
+        long now = System.nanoTime();
+        if (!status.inRecovery() || (status.replayLsn() != null && primaryLsn != null && lsn(status.replayLsn()) >= lsn(primaryLsn))) {
+            inSyncAt = now;
+            return 0;
+        }
+        if (inSyncAt != 0) {
+            return Duration.ofNanos(now - inSyncAt).toMillis();
+        }
+        // Not seen in sync since the start of the application, the last replayed transaction is the best estimate
+        return status.replayAge() == null ? -1 : status.replayAge().longValue();
+    }
+
+    private void update(long lag, ReplicaStatus status) {
+        lagMillis = lag;
+        boolean receiving = !status.inRecovery() || STREAMING.equals(status.receiverStatus());
+        boolean withinMaxLag = receiving && lag >= 0 && lag <= maxLag.toMillis();
+        if (available != withinMaxLag) {
+            log.info("Replica {} with a lag of {} ms, WAL receiver {}", withinMaxLag ? "is used again" : "is not used",
+                    lag, status.inRecovery() ? status.receiverStatus() : "not needed");
+        }
+        available = withinMaxLag;
+    }
+
+    void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("Replica is not used until the next successful lag check", cause);
+        }
+        available = false;
+    }
+
+    boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @param lsn WAL position in the text format of Postgres, e.g. {@code 16/B374D848}
+     */
+    static long lsn(String lsn) {
+        int separator = lsn.indexOf('/');
+        return (Long.parseLong(lsn.substring(0, separator), 16) << 32) | Long.parseLong(lsn.substring(separator + 1), 16);
+    }
+
+    /**
+     * @param receiverStatus status of the WAL receiver, null when no receiver is running
+     */
+    private record ReplicaStatus(boolean inRecovery, String receiverStatus, String replayLsn, Double replayAge) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.yolt.creditscoring.configuration.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary pool.
+ * <p>
+ * Only read-only transactions declared by the application are routed. Spring Data repositories open a read-only
+ * transaction for every read outside a transaction, also right after a write, so those stay on the primary. A read-only
+ * transaction stays on the primary as well when the caller wrote recently (see {@link RecentWriters}) or the replica
+ * lags behind (see {@link ReplicaLagMonitor}).
+ * <p>
+ * The connection is looked up when the transaction already started, so this data source has to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWriters recentWriters;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    DataSource replica,
+                                    ReplicaLagMonitor lagMonitor,
+                                    RecentWriters recentWriters,
+                                    MeterRegistry registry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = recentWriters;
+        this.primaryConnections = registry.counter("datasource_routed_connections", "target", "primary");
+        this.replicaConnections = registry.counter("datasource_routed_connections", "target", "replica");
+        this.replicaFallbacks = registry.counter("datasource_replica_fallbacks");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recentWriters.markWrite();
+            return Target.PRIMARY;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null
+                || transactionName.startsWith(REPOSITORY_TRANSACTION_PREFIX)
+                || !lagMonitor.isAvailable()
+                || recentWriters.wroteRecently()) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != Target.REPLICA) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = super.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            // The transaction did not use the connection yet, so it can still continue on the primary.
+            lagMonitor.markUnavailable(e);
+            replicaFallbacks.increment();
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+}
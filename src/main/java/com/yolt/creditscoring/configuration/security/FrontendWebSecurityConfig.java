@@ -25,6 +25,7 @@ public class FrontendWebSecurityConfig {
                 .antMatchers(
                         "/actuator/**",
                         "/",
+                        "/index.html",
                         "/favicon.ico",
                         "/*.svg",
                         "/*.png",
@@ -0,0 +1,65 @@
+package com.yolt.creditscoring.configuration.security.customer;
+
+import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimiter;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimiter.Permit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the rate limits of the client token to endpoints annotated with {@link RateLimited}. A rejected request
+ * results in 429 with {@code Retry-After}, see
+ * {@link com.yolt.creditscoring.controller.exception.ControllerExceptionHandlers}.
+ * <p>
+ * The place in the bulkhead is kept until the response is complete, also for streamed responses which finish in an
+ * async dispatch.
+ * <p>
+ * Interceptors run before the {@code @PreAuthorize} check of the endpoint, so a token without the permission of the
+ * endpoint is not limited here and does not use up the quota of its client. It is rejected by the endpoint instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientTokenRateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ClientTokenRateLimitInterceptor.class.getName() + ".permit";
+
+    private final ClientTokenRateLimiter clientTokenRateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (rateLimited == null || authentication == null || !(authentication.getPrincipal() instanceof ClientTokenPrincipal principal)
+                || !hasPermission(authentication, rateLimited.value())) {
+            return true;
+        }
+
+        Permit permit = clientTokenRateLimiter.acquire(principal.getTokenId(), principal.getClientId(), rateLimited.value());
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    private static boolean hasPermission(Authentication authentication, ClientTokenPermission permission) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> permission.getPermissionName().equals(authority.getAuthority()));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            permit.release();
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.yolt.creditscoring.configuration.security.customer;
+
+import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests of a client token to the endpoint count against the limits of the permission, see
+ * {@link ClientTokenRateLimitInterceptor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    ClientTokenPermission value();
+}
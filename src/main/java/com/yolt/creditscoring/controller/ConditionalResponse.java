@@ -0,0 +1,40 @@
+package com.yolt.creditscoring.controller;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for resources which can be identified by an ETag without loading them.
+ * Responses are private and have to be revalidated by the browser on every use, because they contain personal data.
+ */
+@UtilityClass
+public class ConditionalResponse {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    /**
+     * @param eTag ETag of the resource, when empty the body is always returned
+     * @param body loads the resource, not called when the client has the current version
+     */
+    public static <T> ResponseEntity<T> conditional(WebRequest request, Optional<String> eTag, Supplier<T> body) {
+        if (eTag.isEmpty()) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag.get())
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag.get())
+                .cacheControl(CACHE_CONTROL)
+                .body(body.get());
+    }
+}
@@ -0,0 +1,24 @@
+package com.yolt.creditscoring.controller;
+
+import com.yolt.creditscoring.service.creditscore.export.ReportExportFormat;
+import com.yolt.creditscoring.usecase.ReportExportUseCase.ReportExport;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Bulk report export written to the response while the reports are read. Errors after the first report can not be
+ * returned as an error response anymore, the client continues with the cursor of the last report it received.
+ */
+@UtilityClass
+public class ExportResponse {
+
+    public static ResponseEntity<StreamingResponseBody> export(ReportExportFormat format, ReportExport export) {
+        return ResponseEntity
+                .ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reports." + format.getFileExtension() + "\"")
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .body(export::writeTo);
+    }
+}
@@ -0,0 +1,42 @@
+package com.yolt.creditscoring.controller.admin.integrity;
+
+import com.yolt.creditscoring.configuration.security.SecurityRoles;
+import com.yolt.creditscoring.configuration.security.admin.AdminClaims;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityScanDTO;
+import com.yolt.creditscoring.usecase.SignatureIntegrityUseCase;
+import lombok.RequiredArgsConstructor;
+import org.jose4j.jwt.JwtClaims;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Secured(SecurityRoles.ROLE_PREFIX + SecurityRoles.CFA_ADMIN)
+public class SignatureIntegrityController {
+
+    public static final String SIGNATURE_INTEGRITY_SCAN_ENDPOINT = "/api/admin/signature-integrity/scan";
+
+    private final SignatureIntegrityUseCase signatureIntegrityUseCase;
+
+    /**
+     * Progress of the running scan or the result of the last scan, 404 when no scan ran yet.
+     */
+    @GetMapping(SIGNATURE_INTEGRITY_SCAN_ENDPOINT)
+    public ResponseEntity<SignatureIntegrityScanDTO> getLatestScan() {
+        return ResponseEntity.of(signatureIntegrityUseCase.getLatestScan());
+    }
+
+    /**
+     * The scan runs in the background, 409 when a scan is already running.
+     */
+    @PostMapping(SIGNATURE_INTEGRITY_SCAN_ENDPOINT)
+    public ResponseEntity<Void> startScan(@AuthenticationPrincipal JwtClaims jwtClaims) {
+        boolean started = signatureIntegrityUseCase.startScan((String) jwtClaims.getClaimValue(AdminClaims.EMAIL));
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+}
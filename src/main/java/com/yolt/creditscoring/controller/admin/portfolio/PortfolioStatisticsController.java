@@ -0,0 +1,39 @@
+package com.yolt.creditscoring.controller.admin.portfolio;
+
+import com.yolt.creditscoring.configuration.security.SecurityRoles;
+import com.yolt.creditscoring.configuration.security.admin.ClientAdminAuthenticationPrincipal;
+import com.yolt.creditscoring.configuration.security.admin.ClientAdminPrincipal;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsDTO;
+import com.yolt.creditscoring.usecase.PortfolioStatisticsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Secured(SecurityRoles.ROLE_PREFIX + SecurityRoles.CLIENT_ADMIN)
+public class PortfolioStatisticsController {
+
+    public static final String PORTFOLIO_STATISTICS_ENDPOINT = "/api/admin/portfolio/statistics";
+    public static final String PORTFOLIO_STATISTICS_REBUILD_ENDPOINT = "/api/admin/portfolio/statistics/rebuild";
+
+    private final PortfolioStatisticsUseCase portfolioStatisticsUseCase;
+
+    @GetMapping(PORTFOLIO_STATISTICS_ENDPOINT)
+    public PortfolioStatisticsDTO getPortfolioStatistics(@ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        return portfolioStatisticsUseCase.getPortfolioStatistics(principal.getClientId());
+    }
+
+    /**
+     * The rebuild runs in the background, 409 when a rebuild is already running.
+     */
+    @PostMapping(PORTFOLIO_STATISTICS_REBUILD_ENDPOINT)
+    public ResponseEntity<Void> rebuildPortfolioStatistics(@ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        boolean started = portfolioStatisticsUseCase.rebuildPortfolioStatistics(principal.getClientId(), principal.getAdminId(), principal.getEmail());
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.yolt.creditscoring.controller.admin.reports;
+
+import com.yolt.creditscoring.configuration.security.SecurityRoles;
+import com.yolt.creditscoring.configuration.security.admin.ClientAdminAuthenticationPrincipal;
+import com.yolt.creditscoring.configuration.security.admin.ClientAdminPrincipal;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportFormat;
+import com.yolt.creditscoring.usecase.ReportExportUseCase;
+import com.yolt.creditscoring.usecase.ReportExportUseCase.ReportExport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.OffsetDateTime;
+
+import static com.yolt.creditscoring.controller.ExportResponse.export;
+
+@RestController
+@RequiredArgsConstructor
+@Secured(SecurityRoles.ROLE_PREFIX + SecurityRoles.CLIENT_ADMIN)
+public class ReportExportController {
+
+    public static final String EXPORT_REPORTS_ENDPOINT = "/api/admin/reports/export";
+
+    private final ReportExportUseCase reportExportUseCase;
+
+    /**
+     * Streams all completed reports of the client. Every exported report carries a cursor, an interrupted export is
+     * continued by passing the cursor of the last received report.
+     */
+    @GetMapping(EXPORT_REPORTS_ENDPOINT)
+    public ResponseEntity<StreamingResponseBody> exportReports(@ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal,
+                                                               @RequestParam(defaultValue = "NDJSON") ReportExportFormat format,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime until,
+                                                               @RequestParam(required = false) String cursor) {
+        ReportExport reportExport = reportExportUseCase.exportReports(principal.getClientId(), principal.getAdminId(),
+                principal.getEmail(), format, from, until, cursor);
+        return export(format, reportExport);
+    }
+}
@@ -1,40 +1,50 @@
 package com.yolt.creditscoring.controller.admin.users;
 
+import com.yolt.creditscoring.common.pagination.KeysetPage;
 import com.yolt.creditscoring.configuration.security.SecurityRoles;
 import com.yolt.creditscoring.configuration.security.admin.ClientAdminAuthenticationPrincipal;
 import com.yolt.creditscoring.configuration.security.admin.ClientAdminPrincipal;
-import com.yolt.creditscoring.controller.admin.estimate.EstimateReportNotFound;
 import com.yolt.creditscoring.controller.exception.FormValidationErrorResponse;
 import com.yolt.creditscoring.controller.exception.Violation;
 import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.invitation.BulkInvitationJobDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
-import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.ReportDownloadDataDTO;
-import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
+import com.yolt.creditscoring.service.user.model.CreditScoreUserFilter;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.usecase.*;
+import com.yolt.creditscoring.usecase.ReportETagUseCase.ReportResource;
+import com.yolt.creditscoring.usecase.dto.AllInOneReportDTO;
 import com.yolt.creditscoring.usecase.dto.CreditScoreAdminMonthsResponseDTO;
 import com.yolt.creditscoring.usecase.dto.CreditScoreAdminOverviewResponseDTO;
 import com.yolt.creditscoring.usecase.dto.CreditScoreAdminResponseDTO;
+import com.yolt.creditscoring.usecase.dto.ReportDownloadDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static com.yolt.creditscoring.controller.ConditionalResponse.conditional;
 import static com.yolt.creditscoring.utility.download.DownloadReportMapper.*;
 
 @RestController
@@ -45,6 +55,8 @@ public class UserManagementController {
 
     public static final String GET_USERS_ENDPOINT = "/api/admin/users";
     public static final String INVITE_USER_ENDPOINT = "/api/admin/users/invite";
+    public static final String BULK_INVITE_USERS_ENDPOINT = "/api/admin/users/invite/bulk";
+    public static final String GET_BULK_INVITATION_ENDPOINT = "/api/admin/users/invite/bulk/{jobId}";
     public static final String RE_INVITE_USER_BY_USERID_ENDPOINT = "/api/admin/users/{creditScoreUserId}/resend-invite";
     public static final String DELETE_USER_BY_USERID_ENDPOINT = "/api/admin/users/{creditScoreUserId}";
     public static final String GET_USER_REPORT_BY_USERID_ENDPOINT = "/api/admin/users/{creditScoreUserId}/credit-report";
@@ -58,22 +70,45 @@ public class UserManagementController {
     private final ReportOverviewUseCase reportOverviewUseCase;
     private final ReportMonthsUseCase reportMonthsUseCase;
     private final ReportCategoriesUseCase reportCategoriesUseCase;
-    private final EstimateReportUseCase estimateReportUseCase;
+    private final AllInOneReportUseCase allInOneReportUseCase;
+    private final ReportETagUseCase reportETagUseCase;
+    private final BulkInvitationUseCase bulkInvitationUseCase;
 
+    /**
+     * Pages are read after the {@code cursor} of the previous page, which is returned in the {@code X-Next-Cursor}
+     * header. The {@code page} parameter is only used without a cursor. The total count is skipped with
+     * {@code count=false}; large counts are cached shortly and can be slightly outdated.
+     */
     @GetMapping(GET_USERS_ENDPOINT)
     public ResponseEntity<List<ViewUserDTO>> viewUsersForLoggedClient(Pageable pageable,
+                                                                      @RequestParam(required = false) Set<InvitationStatus> status,
+                                                                      @RequestParam(required = false) String email,
+                                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime invitedFrom,
+                                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime invitedUntil,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "true") boolean count,
                                                                       @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
-        Page<ViewUserDTO> users = userManagementUseCase.viewAllUsersByClientId(pageable, principal.getClientId());
+        KeysetPage<ViewUserDTO> users = userManagementUseCase.viewUsersByClientId(
+                principal.getClientId(),
+                new CreditScoreUserFilter(status, email, invitedFrom, invitedUntil),
+                pageable,
+                cursor,
+                count);
 
         HttpHeaders responseHeaders = new HttpHeaders();
-        responseHeaders.set("X-Total-Count", String.valueOf(users.getTotalElements()));
-        responseHeaders.set("X-Pagination-Page", String.valueOf(users.getNumber()));
-        responseHeaders.set("X-Pagination-Pages", String.valueOf(users.getTotalPages()));
-        responseHeaders.set("X-Pagination-PageSize", String.valueOf(users.getSize()));
+        if (users.totalCount() != null) {
+            responseHeaders.set("X-Total-Count", String.valueOf(users.totalCount()));
+            responseHeaders.set("X-Pagination-Pages", String.valueOf((users.totalCount() + pageable.getPageSize() - 1) / pageable.getPageSize()));
+        }
+        responseHeaders.set("X-Pagination-Page", String.valueOf(pageable.getPageNumber()));
+        responseHeaders.set("X-Pagination-PageSize", String.valueOf(pageable.getPageSize()));
+        if (users.nextCursor() != null) {
+            responseHeaders.set("X-Next-Cursor", users.nextCursor());
+        }
 
         return ResponseEntity.ok()
                 .headers(responseHeaders)
-                .body(users.getContent());
+                .body(users.content());
     }
 
     @PostMapping(INVITE_USER_ENDPOINT)
@@ -88,6 +123,36 @@ public class UserManagementController {
                 principal.getClientAccessType());
     }
 
+    @PostMapping(value = BULK_INVITE_USERS_ENDPOINT, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkInvitationJobDTO bulkInviteUsers(@RequestBody List<InviteUserDTO> invitations,
+                                                @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        return bulkInvitationUseCase.inviteUsers(
+                invitations,
+                principal.getClientId(),
+                ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString(),
+                principal.getAdminId(),
+                principal.getEmail(),
+                principal.getClientAccessType());
+    }
+
+    @PostMapping(value = BULK_INVITE_USERS_ENDPOINT, consumes = "text/csv")
+    public BulkInvitationJobDTO bulkInviteUsersFromCsv(@RequestBody String csv,
+                                                       @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        return bulkInvitationUseCase.inviteUsersFromCsv(
+                csv,
+                principal.getClientId(),
+                ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString(),
+                principal.getAdminId(),
+                principal.getEmail(),
+                principal.getClientAccessType());
+    }
+
+    @GetMapping(GET_BULK_INVITATION_ENDPOINT)
+    public BulkInvitationJobDTO getBulkInvitation(@PathVariable UUID jobId,
+                                                  @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        return bulkInvitationUseCase.getJob(principal.getClientId(), jobId);
+    }
+
     @PutMapping(RE_INVITE_USER_BY_USERID_ENDPOINT)
     public void resendUserInvite(@PathVariable UUID creditScoreUserId,
                                  @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
@@ -122,84 +187,92 @@ public class UserManagementController {
     }
 
     @GetMapping(GET_USER_OVERVIEW_BY_USERID_ENDPOINT)
-    public @Valid
-    CreditScoreAdminOverviewResponseDTO getCreditReportOverviewByUserId(@PathVariable UUID creditScoreUserId,
-                                                                        @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
-        return reportOverviewUseCase.getUserCreditScore(
-                creditScoreUserId,
-                principal.getClientId());
+    public ResponseEntity<@Valid CreditScoreAdminOverviewResponseDTO> getCreditReportOverviewByUserId(@PathVariable UUID creditScoreUserId,
+                                                                                                     @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal,
+                                                                                                     WebRequest request) {
+        return conditional(request,
+                reportETagUseCase.getReportETag(creditScoreUserId, principal.getClientId(), ReportResource.OVERVIEW),
+                () -> reportOverviewUseCase.getUserCreditScore(
+                        creditScoreUserId,
+                        principal.getClientId()));
     }
 
     @GetMapping(GET_USER_MONTHS_BY_USERID_ENDPOINT)
-    public CreditScoreAdminMonthsResponseDTO getCreditReportMonthsByUserId(@PathVariable UUID creditScoreUserId,
-                                                                           @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
-        return CreditScoreAdminMonthsResponseDTO.builder()
-                .monthlyReports(reportMonthsUseCase.getUserCreditScoreMonths(principal.getClientId(), creditScoreUserId))
-                .build();
+    public ResponseEntity<CreditScoreAdminMonthsResponseDTO> getCreditReportMonthsByUserId(@PathVariable UUID creditScoreUserId,
+                                                                                           @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal,
+                                                                                           WebRequest request) {
+        return conditional(request,
+                reportETagUseCase.getReportETag(creditScoreUserId, principal.getClientId(), ReportResource.MONTHS),
+                () -> CreditScoreAdminMonthsResponseDTO.builder()
+                        .monthlyReports(reportMonthsUseCase.getUserCreditScoreMonths(principal.getClientId(), creditScoreUserId))
+                        .build());
     }
 
     @GetMapping(GET_USER_CATEGORIES_BY_USERID_ENDPOINT)
-    public List<SMECategoryDTO> getReportAggregatedCategoriesByUserId(@PathVariable UUID creditScoreUserId,
-                                                                      @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
-        return reportCategoriesUseCase.getUserCategories(
-                creditScoreUserId,
-                principal.getClientId()
-        );
+    public ResponseEntity<List<SMECategoryDTO>> getReportAggregatedCategoriesByUserId(@PathVariable UUID creditScoreUserId,
+                                                                                      @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal,
+                                                                                      WebRequest request) {
+        return conditional(request,
+                reportETagUseCase.getReportETag(creditScoreUserId, principal.getClientId(), ReportResource.CATEGORIES),
+                () -> reportCategoriesUseCase.getUserCategories(
+                        creditScoreUserId,
+                        principal.getClientId()
+                ));
     }
 
+    /**
+     * All sections are loaded before the response is committed, so errors are still returned as error responses.
+     * The zip itself is written to the response while it is created and never exists in memory as a whole.
+     */
     @RequestMapping(value = DOWNLOAD_REPORT_BY_USERID_ENDPOINT, produces = "application/zip")
-    public ResponseEntity<byte[]> getReportForDownloadByUserId(@PathVariable UUID creditScoreUserId,
-                                                               @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
-        var out = new ByteArrayOutputStream();
-        final ReportDownloadDataDTO reportDownloadDataForUser = reportUseCase.getUserReportDownloadData(creditScoreUserId, principal.getClientId());
-        final TogglesDTO toggles = reportDownloadDataForUser.getToggles();
-
-        try (ZipOutputStream zip = new ZipOutputStream(out)) {
-            if (toggles.isOverviewFeatureToggle()) {
-                byte[] overviewJson = generateJson(reportOverviewUseCase.getUserCreditScore(creditScoreUserId, principal.getClientId()));
-                addToZip(zip, "Overview.json", overviewJson);
-            }
-
-            if (toggles.isCategoryFeatureToggle()) {
-                byte[] categoriesCsv = generateCsvForCategories(reportCategoriesUseCase.getUserCategories(creditScoreUserId, principal.getClientId()));
-                addToZip(zip, "CategoriesReport.csv", categoriesCsv);
-            }
-
-            if (toggles.isMonthsFeatureToggle()) {
-                byte[] monthsCsv = generateCsvForMonths(reportDownloadDataForUser.getCurrency(), reportMonthsUseCase.getUserCreditScoreMonths(principal.getClientId(), creditScoreUserId));
-                var report = reportUseCase.getUserCreditScore(creditScoreUserId, principal.getClientId(), principal.getAdminId(), principal.getEmail());
-
-                String signature = report.getSignature().toEncoded();
-                addToZip(zip, toAvailableAccountNumber(report.getAdminReport())
-                        + "_"
-                        + report.getAdminReport().getNewestTransactionDate()
-                        + "_"
-                        + report.getAdminReport().getOldestTransactionDate()
-                        + "_"
-                        + signature.substring(0, 7)
-                        + "_"
-                        + signature.substring(signature.length() - 8)
-                        + "_"
-                        + "monthly.csv", monthsCsv);
-            }
+    public ResponseEntity<StreamingResponseBody> getReportForDownloadByUserId(@PathVariable UUID creditScoreUserId,
+                                                                              @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        final ReportDownloadDTO download = allInOneReportUseCase.getReportDownload(
+                creditScoreUserId,
+                principal.getClientId(),
+                principal.getAdminId(),
+                principal.getEmail());
+        final AllInOneReportDTO report = download.getReport();
 
-            if (toggles.isEstimateFeatureToggle()) {
-                try {
-                    byte[] estimateJson = generateJson(estimateReportUseCase.getUserRiskScore(creditScoreUserId, principal.getClientId()));
-                    addToZip(zip, "EstimateReport.json", estimateJson);
-                } catch (EstimateReportNotFound e) {
-                    log.warn("Estimate report was missing for download.");
+        StreamingResponseBody body = out -> {
+            try (ZipOutputStream zip = new ZipOutputStream(out)) {
+                if (report.getOverview() != null) {
+                    addToZip(zip, "Overview.json", entry -> writeJson(entry, report.getOverview()));
+                }
+                if (report.getCategories() != null) {
+                    addToZip(zip, "CategoriesReport.csv", entry -> writeCsvForCategories(entry, report.getCategories()));
+                }
+                if (report.getMonths() != null) {
+                    addToZip(zip, monthsFilename(download),
+                            entry -> writeCsvForMonths(entry, download.getAccountDetails().getCurrency(), report.getMonths()));
+                }
+                if (report.getRiskClassification() != null) {
+                    addToZip(zip, "EstimateReport.json", entry -> writeJson(entry, report.getRiskClassification()));
                 }
             }
-        } catch (IOException e) {
-            log.warn("There was an error closing zip stream.");
-        }
+        };
 
         return ResponseEntity
                 .ok()
                 .header("Content-Disposition", "attachment; filename=\"report.zip\"")
                 .header("Content-Type", "application/zip")
-                .body(out.toByteArray());
+                .body(body);
+    }
+
+    private static String monthsFilename(ReportDownloadDTO download) {
+        BankAccountDetailsDTO accountDetails = download.getAccountDetails();
+        String signature = download.getSignature().toEncoded();
+        return toAvailableAccountNumber(accountDetails)
+                + "_"
+                + accountDetails.getNewestTransactionDate()
+                + "_"
+                + accountDetails.getOldestTransactionDate()
+                + "_"
+                + signature.substring(0, 7)
+                + "_"
+                + signature.substring(signature.length() - 8)
+                + "_"
+                + "monthly.csv";
     }
 
     private static String toAvailableAccountNumber(@NotNull BankAccountDetailsDTO accountReference) {
@@ -212,14 +285,15 @@ public class UserManagementController {
         return null;
     }
 
-    private void addToZip(ZipOutputStream zipOutputStream, String filename, byte[] content) {
-        try {
-            zipOutputStream.putNextEntry(new ZipEntry(filename));
-            zipOutputStream.write(content);
-            zipOutputStream.closeEntry();
-        } catch (IOException e) {
-            log.error("There was an error creating report .zip file - {}.", filename);
-        }
+    private static void addToZip(ZipOutputStream zipOutputStream, String filename, ZipEntryWriter entryWriter) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(filename));
+        entryWriter.write(zipOutputStream);
+        zipOutputStream.closeEntry();
+    }
+
+    @FunctionalInterface
+    private interface ZipEntryWriter {
+        void write(OutputStream entry) throws IOException;
     }
 
     /**
@@ -0,0 +1,72 @@
+package com.yolt.creditscoring.controller.admin.webhook;
+
+import com.yolt.creditscoring.configuration.security.SecurityRoles;
+import com.yolt.creditscoring.configuration.security.admin.ClientAdminAuthenticationPrincipal;
+import com.yolt.creditscoring.configuration.security.admin.ClientAdminPrincipal;
+import com.yolt.creditscoring.service.webhook.ClientWebhookDTO;
+import com.yolt.creditscoring.service.webhook.WebhookDeliveryDTO;
+import com.yolt.creditscoring.usecase.ClientWebhookUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@Secured(SecurityRoles.ROLE_PREFIX + SecurityRoles.CLIENT_ADMIN)
+public class WebhookController {
+
+    public static final String WEBHOOK_ENDPOINT = "/api/admin/webhook";
+    public static final String WEBHOOK_DELIVERIES_ENDPOINT = "/api/admin/webhook/deliveries";
+
+    private final ClientWebhookUseCase clientWebhookUseCase;
+
+    @PutMapping(WEBHOOK_ENDPOINT)
+    public @Valid ClientWebhookDTO registerWebhook(@ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal,
+                                                   @Valid @RequestBody RegisterWebhookRequest request) {
+        return clientWebhookUseCase.registerWebhook(
+                principal.getClientId(),
+                principal.getAdminId(),
+                principal.getEmail(),
+                request.url(),
+                request.secret());
+    }
+
+    public record RegisterWebhookRequest(@NotBlank @Size(max = 2048) String url,
+                                         @Size(min = 32, max = 256) String secret) {
+    }
+
+    @GetMapping(WEBHOOK_ENDPOINT)
+    public @Valid ClientWebhookDTO getWebhook(@ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        return clientWebhookUseCase.getWebhook(principal.getClientId());
+    }
+
+    @DeleteMapping(WEBHOOK_ENDPOINT)
+    public void removeWebhook(@ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        clientWebhookUseCase.removeWebhook(principal.getClientId(), principal.getAdminId(), principal.getEmail());
+    }
+
+    @GetMapping(WEBHOOK_DELIVERIES_ENDPOINT)
+    public ResponseEntity<List<WebhookDeliveryDTO>> getDeliveries(Pageable pageable,
+                                                                  @ClientAdminAuthenticationPrincipal ClientAdminPrincipal principal) {
+        Page<WebhookDeliveryDTO> deliveries = clientWebhookUseCase.getDeliveries(principal.getClientId(), pageable);
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.set("X-Total-Count", String.valueOf(deliveries.getTotalElements()));
+        responseHeaders.set("X-Pagination-Page", String.valueOf(deliveries.getNumber()));
+        responseHeaders.set("X-Pagination-Pages", String.valueOf(deliveries.getTotalPages()));
+        responseHeaders.set("X-Pagination-PageSize", String.valueOf(deliveries.getSize()));
+
+        return ResponseEntity.ok()
+                .headers(responseHeaders)
+                .body(deliveries.getContent());
+    }
+}
@@ -2,11 +2,14 @@ package com.yolt.creditscoring.controller.customer;
 
 import com.yolt.creditscoring.configuration.security.SecurityRoles;
 import com.yolt.creditscoring.configuration.security.customer.ClientTokenPrincipal;
+import com.yolt.creditscoring.configuration.security.customer.RateLimited;
 import com.yolt.creditscoring.controller.admin.users.InviteUserDTO;
 import com.yolt.creditscoring.controller.exception.ErrorResponseDTO;
 import com.yolt.creditscoring.controller.exception.FormValidationErrorResponse;
 import com.yolt.creditscoring.controller.exception.Violation;
 import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+import com.yolt.creditscoring.service.invitation.BulkInvitationJobDTO;
+import com.yolt.creditscoring.usecase.BulkInvitationUseCase;
 import com.yolt.creditscoring.usecase.UserManagementUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import nl.ing.lovebird.errorhandling.ErrorDTO;
 import nl.ing.lovebird.springdoc.annotations.ExternalApi;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -26,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -36,8 +41,11 @@ public class CustomerAPIController {
 
     public static final String INVITE_USER_CLIENT_TOKEN_ENDPOINT = "/api/customer/users/invite";
     public static final String DELETE_USER_ENDPOINT = "/api/customer/v1/users/{creditScoreUserId}";
+    public static final String BULK_INVITE_USERS_ENDPOINT = "/api/customer/v1/users/invite/bulk";
+    public static final String GET_BULK_INVITATION_ENDPOINT = "/api/customer/v1/users/invite/bulk/{jobId}";
 
     private final UserManagementUseCase userManagementUseCase;
+    private final BulkInvitationUseCase bulkInvitationUseCase;
 
     @Operation(
             summary = "Invite user",
@@ -66,6 +74,7 @@ public class CustomerAPIController {
                     )
             })
     @PreAuthorize("hasAuthority('" + ClientTokenPermission.Permissions.INVITE_USER + "')")
+    @RateLimited(ClientTokenPermission.INVITE_USER)
     @ExternalApi
     @PostMapping(INVITE_USER_CLIENT_TOKEN_ENDPOINT)
     public CustomerAPIUserInvitationDTO inviteUserByClientToken(@Valid @RequestBody InviteUserDTO inviteUserDTO,
@@ -79,6 +88,87 @@ public class CustomerAPIController {
                 principal.getClientAccessType()));
     }
 
+    @Operation(
+            summary = "Invite users in bulk",
+            description = "Invite many users in one request, as a JSON array or as CSV with the header name,email[,clientEmailId]. " +
+                    "Every row is validated, invalid rows are rejected with their errors and valid rows are invited. " +
+                    "The emails are sent asynchronously, their status can be retrieved with the returned job id.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful",
+                            content = {@Content(schema = @Schema(implementation = BulkInvitationJobDTO.class))}
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Malformed CSV, no rows or too many rows",
+                            content = {@Content(schema = @Schema(implementation = ErrorResponseDTO.class))}
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized.",
+                            content = {@Content(schema = @Schema(implementation = ErrorResponseDTO.class))}
+                    )
+            })
+    @PreAuthorize("hasAuthority('" + ClientTokenPermission.Permissions.INVITE_USER + "')")
+    @RateLimited(ClientTokenPermission.INVITE_USER)
+    @ExternalApi
+    @PostMapping(value = BULK_INVITE_USERS_ENDPOINT, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkInvitationJobDTO bulkInviteUsers(@RequestBody List<InviteUserDTO> invitations,
+                                                @Parameter(hidden = true) @AuthenticationPrincipal ClientTokenPrincipal principal) {
+        return bulkInvitationUseCase.inviteUsers(
+                invitations,
+                principal.getClientId(),
+                ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString(),
+                principal.getTokenId(),
+                principal.getEmail(),
+                principal.getClientAccessType());
+    }
+
+    @PreAuthorize("hasAuthority('" + ClientTokenPermission.Permissions.INVITE_USER + "')")
+    @RateLimited(ClientTokenPermission.INVITE_USER)
+    @ExternalApi
+    @PostMapping(value = BULK_INVITE_USERS_ENDPOINT, consumes = "text/csv")
+    public BulkInvitationJobDTO bulkInviteUsersFromCsv(@RequestBody String csv,
+                                                       @Parameter(hidden = true) @AuthenticationPrincipal ClientTokenPrincipal principal) {
+        return bulkInvitationUseCase.inviteUsersFromCsv(
+                csv,
+                principal.getClientId(),
+                ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString(),
+                principal.getTokenId(),
+                principal.getEmail(),
+                principal.getClientAccessType());
+    }
+
+    @Operation(
+            summary = "Get bulk invitation",
+            description = "Get the result of a bulk invitation, including the email status of every row",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful",
+                            content = {@Content(schema = @Schema(implementation = BulkInvitationJobDTO.class))}
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Bulk invitation (jobId) not found",
+                            content = {@Content(schema = @Schema(implementation = ErrorResponseDTO.class))}
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized.",
+                            content = {@Content(schema = @Schema(implementation = ErrorResponseDTO.class))}
+                    )
+            })
+    @PreAuthorize("hasAuthority('" + ClientTokenPermission.Permissions.INVITE_USER + "')")
+    @RateLimited(ClientTokenPermission.INVITE_USER)
+    @ExternalApi
+    @GetMapping(GET_BULK_INVITATION_ENDPOINT)
+    public BulkInvitationJobDTO getBulkInvitation(@PathVariable UUID jobId,
+                                                  @Parameter(hidden = true) @AuthenticationPrincipal ClientTokenPrincipal principal) {
+        return bulkInvitationUseCase.getJob(principal.getClientId(), jobId);
+    }
+
     @Operation(
             summary = "Delete user",
             description = "Delete a user",
@@ -101,6 +191,7 @@ public class CustomerAPIController {
 
             })
     @PreAuthorize("hasAuthority('" + ClientTokenPermission.Permissions.DELETE_USER + "')")
+    @RateLimited(ClientTokenPermission.DELETE_USER)
     @ExternalApi
     @DeleteMapping(DELETE_USER_ENDPOINT)
     public void deleteUser(@PathVariable UUID creditScoreUserId,
@@ -2,18 +2,21 @@ package com.yolt.creditscoring.controller.customer;
 
 import com.yolt.creditscoring.configuration.security.SecurityRoles;
 import com.yolt.creditscoring.configuration.security.customer.ClientTokenPrincipal;
-import com.yolt.creditscoring.controller.admin.estimate.EstimateReportNotFound;
+import com.yolt.creditscoring.configuration.security.customer.RateLimited;
 import com.yolt.creditscoring.controller.exception.ErrorResponseDTO;
 import com.yolt.creditscoring.exception.CreditScoreReportNotFoundException;
 import com.yolt.creditscoring.service.audit.AdminAuditService;
 import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
 import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportFormat;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
-import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.ReportDownloadDataDTO;
-import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
-import com.yolt.creditscoring.usecase.*;
+import com.yolt.creditscoring.usecase.AllInOneReportUseCase;
+import com.yolt.creditscoring.usecase.ReportETagUseCase;
+import com.yolt.creditscoring.usecase.ReportETagUseCase.ReportResource;
+import com.yolt.creditscoring.usecase.ReportExportUseCase;
+import com.yolt.creditscoring.usecase.dto.AllInOneReportDTO;
 import com.yolt.creditscoring.usecase.dto.CreditScoreAdminOverviewResponseDTO;
 import com.yolt.creditscoring.usecase.dto.RiskClassificationDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,30 +27,40 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nl.ing.lovebird.springdoc.annotations.ExternalApi;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+import static com.yolt.creditscoring.controller.ConditionalResponse.conditional;
+import static com.yolt.creditscoring.controller.ExportResponse.export;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @Secured(value = SecurityRoles.ROLE_PREFIX + SecurityRoles.CLIENT_TOKEN)
 public class CustomerCreditReportController {
     public static final String FETCH_USER_REPORT_V1_ENDPOINT = "/api/customer/v1/users/{creditScoreUserId}/report";
+    public static final String EXPORT_REPORTS_V1_ENDPOINT = "/api/customer/v1/reports/export";
 
-    private final ReportUseCase reportUseCase;
-    private final ReportOverviewUseCase reportOverviewUseCase;
-    private final ReportMonthsUseCase reportMonthsUseCase;
-    private final ReportCategoriesUseCase reportCategoriesUseCase;
-    private final EstimateReportUseCase estimateReportUseCase;
+    private final AllInOneReportUseCase allInOneReportUseCase;
     private final AdminAuditService adminAuditService;
+    private final ReportETagUseCase reportETagUseCase;
+    private final ReportExportUseCase reportExportUseCase;
 
     @Operation(
             summary = "Get overview report",
@@ -58,6 +71,10 @@ public class CustomerCreditReportController {
                             description = "Successful",
                             content = { @Content(schema = @Schema(implementation = AllInOneReport.class)) }
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified, the report matches the ETag sent in If-None-Match"
+                    ),
                     @ApiResponse(
                             responseCode = "401",
                             description = "Unauthorized.",
@@ -70,62 +87,68 @@ public class CustomerCreditReportController {
                     ),
             })
     @PreAuthorize("hasAuthority('" + ClientTokenPermission.Permissions.DOWNLOAD_REPORT + "')")
+    @RateLimited(ClientTokenPermission.DOWNLOAD_REPORT)
     @ExternalApi
     @GetMapping(FETCH_USER_REPORT_V1_ENDPOINT)
-    public AllInOneReport getAllInOneReportByUserId(@PathVariable UUID creditScoreUserId,
-                                                    @Parameter(hidden = true) @AuthenticationPrincipal ClientTokenPrincipal principal) {
-        ReportDownloadDataDTO reportDownloadDataForUser;
-        TogglesDTO toggles;
-        CreditScoreAdminOverviewResponseDTO overviewJson = null;
-        BankAccountDetailsDTO bankAccountDetails = null;
-        List<SMECategoryDTO> categoriesCsv = null;
-        Set<MonthlyAdminReportDTO> monthsCsv = null;
-        RiskClassificationDTO estimateJson = null;
-        InvitationStatus status = InvitationStatus.COMPLETED;
+    public ResponseEntity<AllInOneReport> getAllInOneReportByUserId(@PathVariable UUID creditScoreUserId,
+                                                                    @Parameter(hidden = true) @AuthenticationPrincipal ClientTokenPrincipal principal,
+                                                                    @Parameter(hidden = true) WebRequest request) {
+        Optional<String> eTag = reportETagUseCase.getReportETag(creditScoreUserId, principal.getClientId(), ReportResource.ALL_IN_ONE);
+        ResponseEntity<AllInOneReport> response = conditional(request, eTag, () -> fetchAllInOneReport(creditScoreUserId, principal));
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            // The client still reads the report, only from its own copy
+            adminAuditService.adminFetchCreditReport(principal.getClientId(), principal.getTokenId(), principal.getEmail(), creditScoreUserId);
+        }
+        return response;
+    }
 
+    private AllInOneReport fetchAllInOneReport(UUID creditScoreUserId, ClientTokenPrincipal principal) {
+        AllInOneReportDTO report;
         try {
-            reportDownloadDataForUser = reportUseCase.getUserReportDownloadDataForAllInOneReport(creditScoreUserId, principal.getClientId());
-            toggles = reportDownloadDataForUser.getToggles();
+            report = allInOneReportUseCase.getAllInOneReport(creditScoreUserId, principal.getClientId());
         } catch (CreditScoreReportNotFoundException e) {
             log.info(e.getMessage(), e);
-            return new AllInOneReport(overviewJson, bankAccountDetails, categoriesCsv, monthsCsv, estimateJson, e.getStatus());
-        }
-
-        if (toggles.isOverviewFeatureToggle()) {
-            CreditScoreAdminOverviewResponseDTO creditScoreOverviewJson = reportOverviewUseCase.getUserCreditScore(creditScoreUserId, principal.getClientId());
-            try {
-                bankAccountDetails = reportUseCase.getUserBankAccountDetails(creditScoreUserId, principal.getClientId());
-            } catch (CreditScoreReportNotFoundException e) {
-                log.info(e.getMessage(), e);
-                status = e.getStatus();
-            }
-            overviewJson = creditScoreOverviewJson;
-        }
-
-        if (toggles.isCategoryFeatureToggle()) {
-            try {
-                categoriesCsv = reportCategoriesUseCase.getUserCategoriesForAllInOneReport(creditScoreUserId, principal.getClientId());
-            } catch (CreditScoreReportNotFoundException e) {
-                log.info(e.getMessage(), e);
-                status = e.getStatus();
-            }
-        }
-
-        if (toggles.isMonthsFeatureToggle()) {
-            monthsCsv = reportMonthsUseCase.getUserCreditScoreMonths(principal.getClientId(), creditScoreUserId);
-        }
-
-        if (toggles.isEstimateFeatureToggle()) {
-            try {
-                estimateJson = estimateReportUseCase.getUserRiskScore(creditScoreUserId, principal.getClientId());
-            } catch (EstimateReportNotFound e) {
-                log.warn("Estimate report was missing for customer api.");
-            }
+            return new AllInOneReport(null, null, null, null, null, e.getStatus());
         }
 
         adminAuditService.adminFetchCreditReport(principal.getClientId(), principal.getTokenId(), principal.getEmail(), creditScoreUserId);
 
-        return new AllInOneReport(overviewJson, bankAccountDetails, categoriesCsv, monthsCsv, estimateJson, status);
+        return new AllInOneReport(report.getOverview(), report.getAccountDetails(), report.getCategories(), report.getMonths(),
+                report.getRiskClassification(), InvitationStatus.COMPLETED);
+    }
+
+    @Operation(
+            summary = "Export completed reports",
+            description = "Streams all completed reports as newline delimited JSON or CSV. Every report carries a cursor, " +
+                    "an interrupted export is continued by passing the cursor of the last received report.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid period or cursor",
+                            content = { @Content(schema = @Schema(implementation = ErrorResponseDTO.class)) }
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized.",
+                            content = { @Content(schema = @Schema(implementation = ErrorResponseDTO.class)) }
+                    ),
+            })
+    @PreAuthorize("hasAuthority('" + ClientTokenPermission.Permissions.DOWNLOAD_REPORT + "')")
+    @RateLimited(ClientTokenPermission.DOWNLOAD_REPORT)
+    @ExternalApi
+    @GetMapping(EXPORT_REPORTS_V1_ENDPOINT)
+    public ResponseEntity<StreamingResponseBody> exportReports(@RequestParam(defaultValue = "NDJSON") ReportExportFormat format,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime until,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @Parameter(hidden = true) @AuthenticationPrincipal ClientTokenPrincipal principal) {
+        ReportExportUseCase.ReportExport reportExport = reportExportUseCase.exportReports(principal.getClientId(),
+                principal.getTokenId(), principal.getEmail(), format, from, until, cursor);
+        return export(format, reportExport);
     }
 
     public record AllInOneReport(CreditScoreAdminOverviewResponseDTO overview,
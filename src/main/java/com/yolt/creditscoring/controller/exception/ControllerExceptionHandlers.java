@@ -5,11 +5,13 @@ import com.yolt.creditscoring.controller.admin.estimate.FeatureToggleDisableExce
 import com.yolt.creditscoring.exception.*;
 import com.yolt.creditscoring.service.client.ClientFeatureDisabledException;
 import com.yolt.creditscoring.service.clienttoken.TooManyTokensException;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.RateLimitExceededException;
 import com.yolt.creditscoring.service.yoltapi.exception.SiteAuthenticationException;
 import com.yolt.creditscoring.service.yoltapi.exception.SiteCreationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -122,6 +124,46 @@ public class ControllerExceptionHandlers {
         return new ErrorResponseDTO(ErrorType.TOKEN_NOT_FOUND);
     }
 
+    @ExceptionHandler(WebhookNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ResponseBody
+    public ErrorResponseDTO handle(WebhookNotFoundException e) {
+        log.info(e.getMessage());
+        return new ErrorResponseDTO(ErrorType.WEBHOOK_NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidWebhookUrlException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponseDTO handle(InvalidWebhookUrlException e) {
+        log.info(e.getMessage());
+        return new ErrorResponseDTO(ErrorType.WEBHOOK_URL_INVALID);
+    }
+
+    @ExceptionHandler(BulkInvitationNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ResponseBody
+    public ErrorResponseDTO handle(BulkInvitationNotFoundException e) {
+        log.info(e.getMessage());
+        return new ErrorResponseDTO(ErrorType.BULK_INVITATION_NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidBulkInvitationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponseDTO handle(InvalidBulkInvitationException e) {
+        log.info(e.getMessage());
+        return new ErrorResponseDTO(ErrorType.BULK_INVITATION_INVALID);
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponseDTO handle(InvalidPageRequestException e) {
+        log.info(e.getMessage());
+        return new ErrorResponseDTO(ErrorType.PAGE_REQUEST_INVALID);
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ResponseBody
@@ -159,6 +201,17 @@ public class ControllerExceptionHandlers {
         return new ErrorResponseDTO(ErrorType.TOO_MANY_TOKENS);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handle(RateLimitExceededException e) {
+        log.info(e.getMessage());
+        // Retry-After is in whole seconds, rounded up so the client does not retry too early
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(new ErrorResponseDTO(ErrorType.TOO_MANY_REQUESTS));
+    }
+
     @ExceptionHandler(FeatureToggleDisableException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ResponseEntity<String> handle(FeatureToggleDisableException exception) {
@@ -14,5 +14,11 @@ public enum ErrorType {
     INVITE_STILL_PENDING,
     TOKEN_INVALID,
     TOKEN_NOT_FOUND,
-    REPORT_NOT_FOUND
+    REPORT_NOT_FOUND,
+    WEBHOOK_NOT_FOUND,
+    WEBHOOK_URL_INVALID,
+    BULK_INVITATION_NOT_FOUND,
+    BULK_INVITATION_INVALID,
+    PAGE_REQUEST_INVALID,
+    TOO_MANY_REQUESTS
 }
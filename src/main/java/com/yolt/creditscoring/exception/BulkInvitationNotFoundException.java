@@ -0,0 +1,10 @@
+package com.yolt.creditscoring.exception;
+
+import java.util.UUID;
+
+public class BulkInvitationNotFoundException extends RuntimeException {
+
+    public BulkInvitationNotFoundException(UUID jobId) {
+        super("Bulk invitation was not found with ID: " + jobId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.yolt.creditscoring.exception;
+
+public class InvalidBulkInvitationException extends RuntimeException {
+
+    public InvalidBulkInvitationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.yolt.creditscoring.exception;
+
+public class InvalidWebhookUrlException extends RuntimeException {
+
+    public InvalidWebhookUrlException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,13 @@
 package com.yolt.creditscoring.service.audit;
 
+import com.yolt.creditscoring.common.eventlog.EventLogDispatcher;
 import com.yolt.creditscoring.configuration.security.admin.ClientAccessType;
 import com.yolt.creditscoring.configuration.security.admin.OAuth2AdminUser;
 import com.yolt.creditscoring.exception.OAuth2NotRegisteredAdminException;
 import com.yolt.creditscoring.service.clientadmin.model.ClientAdmin;
 import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import nl.ing.lovebird.logging.AuditLogger;
 import org.springframework.stereotype.Service;
 
@@ -14,26 +16,36 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Audit events are written by the {@link EventLogDispatcher}, the methods return before the event is logged.
+ */
 @Service
+@RequiredArgsConstructor
 public class AdminAuditService {
 
     private static final String USER_ID_FIELD = "userId";
 
+    private final EventLogDispatcher eventLogDispatcher;
+
     public void adminLogIn(OAuth2AdminUser oAuth2AdminUser, String adminIpAddress, String userAgent) {
-        AuditLogger.logSuccess("Cashflow Analyser client admin login", AdminAuditDTO.builder()
-                .adminEmail(oAuth2AdminUser.getEmail())
-                .idpId(oAuth2AdminUser.getIdpId())
-                .clientId(oAuth2AdminUser.getClientAdmin().map(ClientAdmin::getClientId).orElse(null))
-                .adminId(oAuth2AdminUser.getClientAdmin().map(ClientAdmin::getId).orElse(null))
+        String adminEmail = oAuth2AdminUser.getEmail();
+        String idpId = oAuth2AdminUser.getIdpId();
+        UUID clientId = oAuth2AdminUser.getClientAdmin().map(ClientAdmin::getClientId).orElse(null);
+        UUID adminId = oAuth2AdminUser.getClientAdmin().map(ClientAdmin::getId).orElse(null);
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin login", AdminAuditDTO.builder()
+                .adminEmail(adminEmail)
+                .idpId(idpId)
+                .clientId(clientId)
+                .adminId(adminId)
                 .detail("ipAddress", adminIpAddress)
                 .detail("userAgent", userAgent)
-                .build());
+                .build()));
     }
 
     public void inviteNewUser(@NonNull UUID clientId, @NonNull UUID adminId, @NonNull String adminEmail,
                               @NonNull UUID userId, @NonNull String userName, @NonNull String userEmail,
                               @NonNull ClientAccessType clientAccessType) {
-        AuditLogger.logSuccess("Cashflow Analyser client invited user, access type: " + clientAccessType, ClientAdminAuditDTO.builder()
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client invited user, access type: " + clientAccessType, ClientAdminAuditDTO.builder()
                 .clientId(clientId)
                 .adminId(adminId)
                 .adminEmail(adminEmail)
@@ -41,66 +53,113 @@ public class AdminAuditService {
                 .detail(USER_ID_FIELD, userId.toString())
                 .detail("userName", userName)
                 .detail("userEmail", userEmail)
-                .build());
+                .build()));
     }
 
     public void reinviteUser(UUID clientId, UUID adminId, String adminEmail, UUID userId, String userName, String userEmail) {
-        AuditLogger.logSuccess("Cashflow Analyser client admin re-invited user", ClientAdminAuditDTO.builder()
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin re-invited user", ClientAdminAuditDTO.builder()
                 .clientId(clientId)
                 .adminId(adminId)
                 .adminEmail(adminEmail)
                 .detail(USER_ID_FIELD, userId.toString())
                 .detail("userName", userName)
                 .detail("userEmail", userEmail)
-                .build());
+                .build()));
     }
 
     public void deleteUser(UUID clientId, UUID adminId, String adminEmail, UUID userId, String userEmail,
                            @NonNull ClientAccessType clientAccessType) {
 
-        AuditLogger.logSuccess("Cashflow Analyser client deleted user", ClientAdminAuditDTO.builder()
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client deleted user", ClientAdminAuditDTO.builder()
                 .clientId(clientId)
                 .adminId(adminId)
                 .adminEmail(adminEmail)
                 .clientAccessType(clientAccessType)
                 .detail(USER_ID_FIELD, userId.toString())
                 .detail("userEmail", userEmail)
-                .build());
+                .build()));
     }
 
     public void adminViewedCreditReport(UUID clientId, UUID adminId, String adminEmail, UUID userId) {
-        AuditLogger.logSuccess("Cashflow Analyser client admin viewed user report", ClientAdminAuditDTO.builder()
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin viewed user report", ClientAdminAuditDTO.builder()
                 .clientId(clientId)
                 .adminId(adminId)
                 .adminEmail(adminEmail)
                 .detail(USER_ID_FIELD, userId.toString())
-                .build());
+                .build()));
     }
 
     public void adminCreatedClientToken(UUID clientId, UUID adminId, String adminEmail, OffsetDateTime createdDate, List<ClientTokenPermission> permissions) {
-        AuditLogger.logSuccess("Cashflow Analyser client admin created client token", ClientAdminAuditDTO.builder()
+        String permissionNames = permissions.stream().map(Enum::name).collect(Collectors.joining(","));
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin created client token", ClientAdminAuditDTO.builder()
                 .clientId(clientId)
                 .adminId(adminId)
                 .adminEmail(adminEmail)
                 .detail("createdDate", createdDate.toString())
-                .detail("permissions", String.join(",", permissions.stream().map(Enum::name).collect(Collectors.joining(","))))
-                .build());
+                .detail("permissions", permissionNames)
+                .build()));
     }
 
     public void adminFetchCreditReport(UUID clientId, UUID adminId, String adminEmail, UUID userId) {
-        AuditLogger.logSuccess("Cashflow Analyser client admin fetch user report via API", ClientAdminAuditDTO.builder()
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin fetch user report via API", ClientAdminAuditDTO.builder()
                 .clientId(clientId)
                 .adminId(adminId)
                 .adminEmail(adminEmail)
                 .detail(USER_ID_FIELD, userId.toString())
-                .build());
+                .build()));
+    }
+
+    public void adminStartedCreditReportsExport(UUID clientId, UUID adminId, String adminEmail,
+                                                OffsetDateTime from, OffsetDateTime until, String cursor) {
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin started credit reports export", ClientAdminAuditDTO.builder()
+                .clientId(clientId)
+                .adminId(adminId)
+                .adminEmail(adminEmail)
+                .detail("from", from.toString())
+                .detail("until", until.toString())
+                .detail("cursor", cursor != null ? cursor : "")
+                .build()));
+    }
+
+    public void adminExportedCreditReports(UUID clientId, UUID adminId, String adminEmail, long exportedReports) {
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin exported credit reports", ClientAdminAuditDTO.builder()
+                .clientId(clientId)
+                .adminId(adminId)
+                .adminEmail(adminEmail)
+                .detail("exportedReports", Long.toString(exportedReports))
+                .build()));
+    }
+
+    public void adminStartedPortfolioStatisticsRebuild(UUID clientId, UUID adminId, String adminEmail) {
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin started portfolio statistics rebuild", ClientAdminAuditDTO.builder()
+                .clientId(clientId)
+                .adminId(adminId)
+                .adminEmail(adminEmail)
+                .build()));
+    }
+
+    public void adminRegisteredWebhook(UUID clientId, UUID adminId, String adminEmail, String url) {
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin registered webhook", ClientAdminAuditDTO.builder()
+                .clientId(clientId)
+                .adminId(adminId)
+                .adminEmail(adminEmail)
+                .detail("url", url)
+                .build()));
+    }
+
+    public void adminRemovedWebhook(UUID clientId, UUID adminId, String adminEmail) {
+        eventLogDispatcher.audit(() -> AuditLogger.logSuccess("Cashflow Analyser client admin removed webhook", ClientAdminAuditDTO.builder()
+                .clientId(clientId)
+                .adminId(adminId)
+                .adminEmail(adminEmail)
+                .build()));
     }
 
     public void adminNotRegisteredLogIn(String idpId, String provider, OAuth2NotRegisteredAdminException exception) {
-        AuditLogger.logError("Cashflow Analyser client admin fetch user report via API",
+        eventLogDispatcher.audit(() -> AuditLogger.logError("Cashflow Analyser client admin fetch user report via API",
                 AdminNotRegisteredLogInDTO.builder()
                         .idpId(idpId)
                         .provider(provider),
-                exception);
+                exception));
     }
 }
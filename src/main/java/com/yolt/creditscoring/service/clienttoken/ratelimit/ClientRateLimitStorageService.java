@@ -0,0 +1,36 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit;
+
+import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.model.ClientRateLimitRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ClientRateLimitStorageService {
+
+    private final ClientRateLimitRepository clientRateLimitRepository;
+
+    /**
+     * Commits on its own, the count must not wait for the transaction of the request.
+     *
+     * @return false when the client reached the limit of the current minute
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryCount(UUID clientId, ClientTokenPermission permission, int requestsPerMinute) {
+        return clientRateLimitRepository.tryCount(clientId + ":" + permission.name(), requestsPerMinute) > 0;
+    }
+
+    /**
+     * @return time until the count starts again, by the clock of the database
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Duration untilNextWindow() {
+        return Duration.ofMillis(clientRateLimitRepository.millisUntilNextWindow());
+    }
+}
@@ -0,0 +1,74 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit;
+
+import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Limits of the customer API per permission of the client token, see {@link ClientTokenRateLimiter}.
+ * A permission without configured limits uses the defaults of {@link Limit}. With {@code clusterWide} enabled the
+ * requests of a client per minute are also counted over all pods in the database.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.client-token-rate-limit")
+public class ClientTokenRateLimitProperties {
+
+    private final boolean enabled;
+
+    private final boolean clusterWide;
+
+    private final Map<ClientTokenPermission, Limit> limits;
+
+    public ClientTokenRateLimitProperties(@DefaultValue("true") boolean enabled,
+                                          @DefaultValue("false") boolean clusterWide,
+                                          Map<ClientTokenPermission, Limit> limits) {
+        this.enabled = enabled;
+        this.clusterWide = clusterWide;
+        this.limits = new EnumMap<>(ClientTokenPermission.class);
+        if (limits != null) {
+            this.limits.putAll(limits);
+        }
+    }
+
+    public Limit getLimit(ClientTokenPermission permission) {
+        return limits.getOrDefault(permission, Limit.DEFAULT);
+    }
+
+    /**
+     * Token bucket of a client token and of all tokens of a client: {@code burst} requests at once, refilled with
+     * {@code requestsPerSecond}. At most {@code maxConcurrent} requests of a client are handled at the same time.
+     */
+    @Getter
+    public static class Limit {
+
+        static final Limit DEFAULT = new Limit(5, 20, 10, 40, 10);
+
+        private final double requestsPerSecond;
+
+        private final int burst;
+
+        private final double clientRequestsPerSecond;
+
+        private final int clientBurst;
+
+        private final int maxConcurrent;
+
+        public Limit(@DefaultValue("5") double requestsPerSecond,
+                     @DefaultValue("20") int burst,
+                     @DefaultValue("10") double clientRequestsPerSecond,
+                     @DefaultValue("40") int clientBurst,
+                     @DefaultValue("10") int maxConcurrent) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+            this.clientRequestsPerSecond = clientRequestsPerSecond;
+            this.clientBurst = clientBurst;
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+}
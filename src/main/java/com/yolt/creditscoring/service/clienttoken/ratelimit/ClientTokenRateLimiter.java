@@ -0,0 +1,153 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit;
+
+import com.yolt.creditscoring.common.resilience.Bulkhead;
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimitProperties.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Protects the customer API against a single client using all request threads and database connections.
+ * <p>
+ * Every request with a permission takes a place in the bulkhead of its client which limits the concurrent requests, a
+ * token from the bucket of its client token and a token from the bucket of its client. The bulkhead is checked first
+ * because its place can be given back, and tokens taken by earlier stages are refunded when a later stage rejects the
+ * request, so a rejected request does not use up quota. The buckets and bulkheads are kept in memory per pod and are
+ * lock free. Tokens are created and revoked over time, so buckets which are idle are evicted periodically. An evicted
+ * bucket was full, so a request which still used it at the same time gets at most the token it would have got anyway.
+ * <p>
+ * The in memory limits apply per pod. With {@code cluster-wide} enabled the requests of a client per minute are also
+ * counted in the database, which costs one statement per request. The minute is taken from the database clock, so
+ * {@code Retry-After} of a request rejected there is calculated by the database as well.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientTokenRateLimiter {
+
+    private static final Clock clock = ClockConfig.getClock();
+    private static final String REJECTED_METRIC = "client_token_rate_limit_rejected";
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ClientTokenRateLimitProperties properties;
+    private final ClientRateLimitStorageService clientRateLimitStorageService;
+    private final MeterRegistry registry;
+
+    private final Map<Key, TokenBucket> tokenBuckets = new ConcurrentHashMap<>();
+    private final Map<Key, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final Map<Key, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * @return permit which must be released when the request finished
+     * @throws RateLimitExceededException when the client token or the client exceeds a limit of the permission
+     */
+    public Permit acquire(@NonNull UUID tokenId, @NonNull UUID clientId, @NonNull ClientTokenPermission permission) {
+        if (!properties.isEnabled()) {
+            return Permit.NONE;
+        }
+        Limit limit = properties.getLimit(permission);
+        long now = System.nanoTime();
+
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(new Key(permission, clientId), key -> new Bulkhead(limit.getMaxConcurrent()));
+        if (!bulkhead.tryAcquire()) {
+            throw rejected(permission, "concurrency", BULKHEAD_RETRY_AFTER);
+        }
+
+        TokenBucket tokenBucket = tokenBuckets.computeIfAbsent(new Key(permission, tokenId),
+                key -> new TokenBucket(limit.getRequestsPerSecond(), limit.getBurst(), now));
+        long wait = tokenBucket.tryAcquire(now);
+        if (wait > 0) {
+            bulkhead.release();
+            throw rejected(permission, "token", Duration.ofNanos(wait));
+        }
+        TokenBucket clientBucket = clientBuckets.computeIfAbsent(new Key(permission, clientId),
+                key -> new TokenBucket(limit.getClientRequestsPerSecond(), limit.getClientBurst(), now));
+        wait = clientBucket.tryAcquire(now);
+        if (wait > 0) {
+            tokenBucket.refund();
+            bulkhead.release();
+            throw rejected(permission, "client", Duration.ofNanos(wait));
+        }
+        if (properties.isClusterWide() && !countInCluster(clientId, permission, limit)) {
+            clientBucket.refund();
+            tokenBucket.refund();
+            bulkhead.release();
+            throw rejected(permission, "cluster", untilNextClusterWindow(clientId));
+        }
+        return new Permit(bulkhead);
+    }
+
+    @Scheduled(fixedDelayString = "${credit-scoring.client-token-rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        tokenBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+        clientBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    /**
+     * The limits in memory still apply when the database is not available, so the request is allowed.
+     */
+    private boolean countInCluster(UUID clientId, ClientTokenPermission permission, Limit limit) {
+        try {
+            return clientRateLimitStorageService.tryCount(clientId, permission, (int) Math.ceil(limit.getClientRequestsPerSecond() * 60));
+        } catch (DataAccessException e) {
+            log.warn("Could not count the request of client {} in the database", clientId, e);
+            return true;
+        }
+    }
+
+    /**
+     * The window is a minute of the database clock, the clock of the pod is only used when the database is not available.
+     */
+    private Duration untilNextClusterWindow(UUID clientId) {
+        try {
+            return clientRateLimitStorageService.untilNextWindow();
+        } catch (DataAccessException e) {
+            log.warn("Could not get the rate limit window of client {} from the database", clientId, e);
+            return Duration.ofSeconds(60L - OffsetDateTime.now(clock).getSecond());
+        }
+    }
+
+    private RateLimitExceededException rejected(ClientTokenPermission permission, String limit, Duration retryAfter) {
+        registry.counter(REJECTED_METRIC, "permission", permission.name(), "limit", limit).increment();
+        return new RateLimitExceededException("Rate limit " + limit + " of " + permission + " exceeded", retryAfter);
+    }
+
+    private record Key(ClientTokenPermission permission, UUID id) {
+    }
+
+    /**
+     * Place of a request in the bulkhead of its client. Releasing it more than once has no effect.
+     */
+    public static class Permit {
+
+        static final Permit NONE = new Permit(null);
+
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        public void release() {
+            if (bulkhead != null && released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free token bucket. Instead of a number of tokens the bucket keeps the time at which it is full again (the
+ * generic cell rate algorithm), so taking a token is a single compare-and-set.
+ */
+class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Time to refill one token.
+     */
+    private final long refillNanos;
+
+    /**
+     * Time to refill an empty bucket.
+     */
+    private final long capacityNanos;
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(double tokensPerSecond, int capacity, long now) {
+        this.refillNanos = Math.max(1, (long) (NANOS_PER_SECOND / tokensPerSecond));
+        this.capacityNanos = refillNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @param now {@link System#nanoTime()}
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket which has been full for longer than it takes to refill it behaves like a new bucket, so it can be removed.
+     *
+     * @param now {@link System#nanoTime()}
+     */
+    boolean isIdle(long now) {
+        return now - fullAt.get() > capacityNanos;
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}, e.g. when a later limit rejected the request. A bucket which
+     * refilled in the meantime stays full.
+     */
+    void refund() {
+        fullAt.addAndGet(-refillNanos);
+    }
+}
@@ -0,0 +1,34 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+
+import static com.yolt.creditscoring.service.clienttoken.ratelimit.model.ClientRateLimitEntity.TABLE_NAME;
+
+/**
+ * Requests of a client with a permission in the current minute, counted over all pods.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class ClientRateLimitEntity {
+    public static final String TABLE_NAME = "client_rate_limit";
+
+    /**
+     * Client id and permission, e.g. {@code 0b4cee11-0bd6-4e86-806f-45c913ad7bd5:DOWNLOAD_REPORT}.
+     */
+    @Id
+    private String id;
+
+    private OffsetDateTime windowStart;
+
+    private int requests;
+}
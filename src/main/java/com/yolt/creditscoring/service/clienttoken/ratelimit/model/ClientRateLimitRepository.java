@@ -0,0 +1,36 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ClientRateLimitRepository extends JpaRepository<ClientRateLimitEntity, String> {
+
+    /**
+     * Counts a request in the current minute of the database clock, so all pods use the same window. The count starts
+     * again in the next minute.
+     *
+     * @return 1 when the request was counted, 0 when the limit of the minute was reached
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO client_rate_limit (id, window_start, requests)
+            VALUES (:id, date_trunc('minute', now()), 1)
+            ON CONFLICT (id) DO UPDATE
+                SET requests = CASE WHEN client_rate_limit.window_start = EXCLUDED.window_start
+                        THEN client_rate_limit.requests + 1 ELSE 1 END,
+                    window_start = EXCLUDED.window_start
+                WHERE client_rate_limit.window_start <> EXCLUDED.window_start
+                    OR client_rate_limit.requests < :limit
+            """, nativeQuery = true)
+    int tryCount(@Param("id") String id, @Param("limit") int limit);
+
+    /**
+     * Milliseconds until the next minute of the database clock, when {@link #tryCount} starts counting again.
+     */
+    @Query(value = """
+            SELECT CAST(CEIL(EXTRACT(EPOCH FROM date_trunc('minute', now()) + INTERVAL '1 minute' - now()) * 1000) AS BIGINT)
+            """, nativeQuery = true)
+    long millisUntilNextWindow();
+}
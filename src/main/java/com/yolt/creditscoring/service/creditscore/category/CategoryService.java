@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -21,6 +22,7 @@ public class CategoryService {
     /**
      * @param begin date is included (closed interval)
      * @param end   date is included (closed interval)
+     * @return categories in the order of {@link Category}, so responses with categories are the same for the same report
      */
     public Map<Category, SMECategoryDTO> getCategoriesForUser(UUID userId, LocalDate begin, LocalDate end) {
 
@@ -34,6 +36,7 @@ public class CategoryService {
                         .totalTransactions(groupedUserCategory.getTransactionTotal())
                         .averageTransactionAmount(BigDecimal.valueOf((long) (100 * groupedUserCategory.getAveragePerTransaction()), 2))
                         .build())
-                .collect(Collectors.toMap(SMECategoryDTO::getCategoryName, Function.identity()));
+                .collect(Collectors.toMap(SMECategoryDTO::getCategoryName, Function.identity(),
+                        (first, second) -> first, () -> new EnumMap<>(Category.class)));
     }
 }
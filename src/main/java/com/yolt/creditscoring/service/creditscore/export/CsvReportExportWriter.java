@@ -0,0 +1,159 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes one line per month of a report, a report without months is written as a single line with empty month columns.
+ * Every category has an amount and a transactions column, so all lines have the same columns.
+ */
+class CsvReportExportWriter implements ReportExportWriter {
+
+    private static final String DELIMITER = ";";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final String[] reportHeaders = {
+            "Cursor",
+            "Report id",
+            "User id",
+            "User email",
+            "User name",
+            "Signature",
+            "Last data fetch time",
+            "Currency",
+            "IBAN",
+            "BBAN",
+            "Masked PAN",
+            "Sort code account number",
+            "Account holder",
+            "Initial balance",
+            "Credit limit",
+            "Newest transaction date",
+            "Oldest transaction date",
+            "# transactions"
+    };
+    private static final String[] monthHeaders = {
+            "Year",
+            "Month",
+            "Highest balance",
+            "Lowest balance",
+            "Average balance",
+            "Total incoming",
+            "# incoming transactions",
+            "Total outgoing",
+            "# outgoing transactions"
+    };
+
+    private final Writer writer;
+    private boolean headerWritten;
+
+    CsvReportExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(ExportedReportDTO report) throws IOException {
+        if (report.getMonths().isEmpty()) {
+            writeLine(report, null);
+        }
+        for (ExportedMonthDTO month : report.getMonths()) {
+            writeLine(report, month);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeHeader();
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        headerWritten = true;
+        List<String> headers = new ArrayList<>(List.of(reportHeaders));
+        headers.addAll(List.of(monthHeaders));
+        for (Category category : Category.values()) {
+            headers.add(category.getValue() + " amount");
+            headers.add(category.getValue() + " # transactions");
+        }
+        writer.write(String.join(DELIMITER, headers));
+        writer.write('\n');
+    }
+
+    private void writeLine(ExportedReportDTO report, ExportedMonthDTO month) throws IOException {
+        writeHeader();
+        BankAccountDetailsDTO account = report.getAccountDetails();
+        List<String> values = new ArrayList<>(List.of(
+                value(report.getCursor()),
+                value(report.getReportId()),
+                value(account.getUserId()),
+                text(report.getUserEmail()),
+                text(report.getUserName()),
+                value(report.getSignature()),
+                value(account.getLastDataFetchTime()),
+                text(account.getCurrency()),
+                text(account.getIban()),
+                text(account.getBban()),
+                text(account.getMaskedPan()),
+                text(account.getSortCodeAccountNumber()),
+                text(account.getAccountHolder()),
+                value(account.getInitialBalance()),
+                value(account.getCreditLimit()),
+                value(account.getNewestTransactionDate()),
+                value(account.getOldestTransactionDate()),
+                value(account.getTransactionsSize())));
+        if (month == null) {
+            for (int i = 0; i < monthHeaders.length + 2 * Category.values().length; i++) {
+                values.add("");
+            }
+        } else {
+            values.addAll(List.of(
+                    value(month.getYear()),
+                    value(month.getMonth()),
+                    value(month.getHighestBalance()),
+                    value(month.getLowestBalance()),
+                    value(month.getAverageBalance()),
+                    value(month.getTotalIncoming()),
+                    value(month.getIncomingTransactionsSize()),
+                    value(month.getTotalOutgoing()),
+                    value(month.getOutgoingTransactionsSize())));
+            for (Category category : Category.values()) {
+                ExportedCategoryAmountDTO amount = month.getCategories().get(category);
+                values.add(amount != null ? value(amount.getAmount()) : "");
+                values.add(amount != null ? value(amount.getTransactions()) : "");
+            }
+        }
+        writer.write(String.join(DELIMITER, values));
+        writer.write('\n');
+    }
+
+    /**
+     * Text entered by users or received from banks. Text starting with a character that spreadsheets read as the start
+     * of a formula is prefixed with a quote, so it is shown as text instead of being evaluated. Values created by the
+     * application, like the cursor and the signature, are written as they are, so they can still be used.
+     */
+    private static String text(String text) {
+        if (text != null && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            return value("'" + text);
+        }
+        return value(text);
+    }
+
+    /**
+     * Quotes values which contain the delimiter, a quote or a line break.
+     */
+    private static String value(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.contains(DELIMITER) || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,15 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class ExportedCategoryAmountDTO {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal amount;
+
+    Integer transactions;
+}
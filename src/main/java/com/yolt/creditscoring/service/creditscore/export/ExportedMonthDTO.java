@@ -0,0 +1,42 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Value
+@Builder
+public class ExportedMonthDTO {
+
+    Integer year;
+
+    Integer month;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal highestBalance;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal lowestBalance;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal averageBalance;
+
+    Integer incomingTransactionsSize;
+
+    Integer outgoingTransactionsSize;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal totalIncoming;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal totalOutgoing;
+
+    /**
+     * In the order of {@link Category}.
+     */
+    Map<Category, ExportedCategoryAmountDTO> categories;
+}
@@ -0,0 +1,152 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+import static com.yolt.creditscoring.utility.reportwindow.ReportWindow.windowBegin;
+import static com.yolt.creditscoring.utility.reportwindow.ReportWindow.windowEnd;
+
+/**
+ * Assembles reports from the rows of {@link ReportExportRepository#streamCompletedReports}. The rows are ordered by
+ * report and month, so only the report which is being assembled is kept in memory.
+ */
+final class ExportedReportAssembler {
+
+    private final ReportExportCursor start;
+
+    private ReportExportRow report;
+    private final List<ExportedMonthDTO> months = new ArrayList<>();
+    private ReportExportRow month;
+    private final Map<Category, ExportedCategoryAmountDTO> monthCategories = new EnumMap<>(Category.class);
+
+    ExportedReportAssembler(ReportExportCursor start) {
+        this.start = start;
+    }
+
+    /**
+     * @return the previous report, when the row is the first row of the next report
+     */
+    Optional<ExportedReportDTO> add(ReportExportRow row) {
+        Optional<ExportedReportDTO> completed = Optional.empty();
+        if (report != null && !report.getReportId().equals(row.getReportId())) {
+            completed = finish();
+        }
+        if (report == null) {
+            report = row;
+        }
+        if (month != null && !month.getMonthId().equals(row.getMonthId())) {
+            finishMonth();
+        }
+        if (month == null && row.getMonthId() != null) {
+            month = row;
+        }
+        if (row.getCategory() != null) {
+            monthCategories.put(Category.valueOf(row.getCategory()),
+                    new ExportedCategoryAmountDTO(row.getAmount(), row.getTransactionTotal()));
+        }
+        return completed;
+    }
+
+    /**
+     * @return the report which is being assembled, empty when there are no more rows
+     */
+    Optional<ExportedReportDTO> finish() {
+        if (report == null) {
+            return Optional.empty();
+        }
+        finishMonth();
+        ExportedReportDTO exported = ExportedReportDTO.builder()
+                .cursor(start.after(report.getLastDataFetchTime(), report.getReportId()).encode())
+                .reportId(report.getReportId())
+                .userEmail(report.getUserEmail())
+                .userName(report.getUserName())
+                .signature(report.getSignature())
+                .accountDetails(accountDetails(report))
+                .months(List.copyOf(months))
+                .categories(windowCategories(report.getLastDataFetchTime().toLocalDate(), months))
+                .build();
+        report = null;
+        months.clear();
+        return Optional.of(exported);
+    }
+
+    private void finishMonth() {
+        if (month == null) {
+            return;
+        }
+        Map<Category, ExportedCategoryAmountDTO> categories = new EnumMap<>(monthCategories);
+        months.add(ExportedMonthDTO.builder()
+                .year(month.getYear())
+                .month(month.getMonth())
+                .highestBalance(month.getHighestBalance())
+                .lowestBalance(month.getLowestBalance())
+                .averageBalance(month.getAverageBalance())
+                .incomingTransactionsSize(month.getIncomingTransactionsSize())
+                .outgoingTransactionsSize(month.getOutgoingTransactionsSize())
+                .totalIncoming(total(categories, true))
+                .totalOutgoing(total(categories, false))
+                .categories(categories)
+                .build());
+        month = null;
+        monthCategories.clear();
+    }
+
+    private static BigDecimal total(Map<Category, ExportedCategoryAmountDTO> categories, boolean incoming) {
+        return categories.entrySet().stream()
+                .filter(category -> Category.isIncomeCategory(category.getKey()) == incoming)
+                .map(category -> category.getValue().getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static List<SMECategoryDTO> windowCategories(LocalDate reportFetchTime, List<ExportedMonthDTO> months) {
+        LocalDate begin = windowBegin(reportFetchTime);
+        LocalDate end = windowEnd(reportFetchTime);
+        Map<Category, BigDecimal> amounts = new EnumMap<>(Category.class);
+        Map<Category, Integer> transactions = new EnumMap<>(Category.class);
+        for (ExportedMonthDTO month : months) {
+            LocalDate firstDay = LocalDate.of(month.getYear(), month.getMonth(), 1);
+            if (firstDay.isBefore(begin) || firstDay.isAfter(end)) {
+                continue;
+            }
+            month.getCategories().forEach((category, amount) -> {
+                amounts.merge(category, amount.getAmount(), BigDecimal::add);
+                transactions.merge(category, amount.getTransactions(), Integer::sum);
+            });
+        }
+        return amounts.entrySet().stream()
+                .map(category -> SMECategoryDTO.builder()
+                        .categoryName(category.getKey())
+                        .categoryType(category.getKey().getSmeCategoryType())
+                        .totalTransactionAmount(category.getValue())
+                        .totalTransactions(transactions.get(category.getKey()))
+                        .averageTransactionAmount(transactions.get(category.getKey()) == 0
+                                ? BigDecimal.ZERO.setScale(2)
+                                : category.getValue().divide(BigDecimal.valueOf(transactions.get(category.getKey())), 2, RoundingMode.DOWN))
+                        .build())
+                .toList();
+    }
+
+    private static BankAccountDetailsDTO accountDetails(ReportExportRow report) {
+        return BankAccountDetailsDTO.builder()
+                .userId(report.getUserId())
+                .iban(report.getIban())
+                .bban(report.getBban())
+                .maskedPan(report.getMaskedPan())
+                .sortCodeAccountNumber(report.getSortCodeAccountNumber())
+                .initialBalance(report.getInitialBalance())
+                .lastDataFetchTime(report.getLastDataFetchTime())
+                .currency(report.getCurrency())
+                .newestTransactionDate(report.getNewestTransactionDate())
+                .oldestTransactionDate(report.getOldestTransactionDate())
+                .creditLimit(report.getCreditLimit())
+                .transactionsSize(report.getTransactionsSize())
+                .accountHolder(report.getAccountHolder())
+                .build();
+    }
+}
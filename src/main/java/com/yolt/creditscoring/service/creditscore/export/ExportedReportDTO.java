@@ -0,0 +1,39 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Report of the bulk export.
+ */
+@Value
+@Builder
+public class ExportedReportDTO {
+
+    /**
+     * Position after this report, the export can be resumed from here.
+     */
+    String cursor;
+
+    UUID reportId;
+
+    String userEmail;
+
+    String userName;
+
+    String signature;
+
+    BankAccountDetailsDTO accountDetails;
+
+    List<ExportedMonthDTO> months;
+
+    /**
+     * Categories of the months in the report window, like in the report itself.
+     */
+    List<SMECategoryDTO> categories;
+}
@@ -0,0 +1,39 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+class NdjsonReportExportWriter implements ReportExportWriter {
+
+    /**
+     * ObjectWriter is immutable and thread safe, it is shared by all exports.
+     */
+    private static final ObjectWriter JSON_WRITER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+            .writer();
+
+    private final OutputStream out;
+
+    NdjsonReportExportWriter(OutputStream out) {
+        this.out = new BufferedOutputStream(out);
+    }
+
+    @Override
+    public void write(ExportedReportDTO report) throws IOException {
+        JSON_WRITER.writeValue(out, report);
+        out.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+}
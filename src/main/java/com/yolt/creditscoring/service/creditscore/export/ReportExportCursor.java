@@ -0,0 +1,53 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.yolt.creditscoring.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a bulk report export: the export continues after the report with the given data fetch time and id.
+ * The upper bound of the export is part of the cursor, so a resumed export covers the same reports as the first try.
+ *
+ * @param until         reports fetched before this time are exported
+ * @param afterFetchTime data fetch time of the last exported report
+ * @param afterReportId  id of the last exported report
+ */
+public record ReportExportCursor(OffsetDateTime until, OffsetDateTime afterFetchTime, UUID afterReportId) {
+
+    /**
+     * The smallest UUID, so the first position includes the reports fetched exactly at the start.
+     */
+    private static final UUID NIL = new UUID(0, 0);
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final String SEPARATOR = "|";
+
+    public static ReportExportCursor start(OffsetDateTime from, OffsetDateTime until) {
+        return new ReportExportCursor(until, from != null ? from : EPOCH, NIL);
+    }
+
+    public ReportExportCursor after(OffsetDateTime fetchTime, UUID reportId) {
+        return new ReportExportCursor(until, fetchTime, reportId);
+    }
+
+    public String encode() {
+        String cursor = String.join(SEPARATOR, until.toString(), afterFetchTime.toString(), afterReportId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReportExportCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new InvalidPageRequestException("Export cursor is malformed");
+            }
+            return new ReportExportCursor(OffsetDateTime.parse(parts[0]), OffsetDateTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidPageRequestException("Export cursor is malformed");
+        }
+    }
+}
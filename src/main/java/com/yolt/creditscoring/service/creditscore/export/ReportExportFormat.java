@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.OutputStream;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor
+public enum ReportExportFormat {
+    /**
+     * One JSON document per report and line.
+     */
+    NDJSON("application/x-ndjson", "ndjson", NdjsonReportExportWriter::new),
+    /**
+     * One line per month of a report, the report columns are repeated on every line.
+     */
+    CSV("text/csv", "csv", CsvReportExportWriter::new);
+
+    private final String contentType;
+    private final String fileExtension;
+    private final Function<OutputStream, ReportExportWriter> writerFactory;
+
+    public ReportExportWriter writer(OutputStream out) {
+        return writerFactory.apply(out);
+    }
+}
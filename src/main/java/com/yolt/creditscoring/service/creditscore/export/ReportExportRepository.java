@@ -0,0 +1,54 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.yolt.creditscoring.service.creditscore.model.CreditScoreReport;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface ReportExportRepository extends Repository<CreditScoreReport, UUID> {
+
+    /**
+     * Streams the rows of the completed reports of a client after the given position, ordered by report and month.
+     * The rows are read with a server side cursor in batches of the fetch size, so the stream has to be consumed and
+     * closed within a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query(value = """
+            SELECT csr.id AS "reportId", csu.id AS "userId", csu.email AS "userEmail", csu.name AS "userName",
+                csr.signature AS "signature", csr.last_data_fetch_time AS "lastDataFetchTime", csr.currency AS "currency",
+                csr.iban AS "iban", csr.bban AS "bban", csr.masked_pan AS "maskedPan",
+                csr.sort_code_account_number AS "sortCodeAccountNumber", csr.account_holder AS "accountHolder",
+                csr.initial_balance AS "initialBalance", csr.credit_limit AS "creditLimit",
+                csr.newest_transaction_date AS "newestTransactionDate", csr.oldest_transaction_date AS "oldestTransactionDate",
+                csr.transactions_size AS "transactionsSize",
+                m.id AS "monthId", m.year AS "year", m.month AS "month",
+                m.highest_balance AS "highestBalance", m.lowest_balance AS "lowestBalance", m.average_balance AS "averageBalance",
+                m.incoming_transactions_size AS "incomingTransactionsSize", m.outgoing_transactions_size AS "outgoingTransactionsSize",
+                c.category AS "category", c.amount AS "amount", c.transaction_total AS "transactionTotal"
+            FROM credit_score_report csr
+            JOIN credit_score_user csu ON csu.id = csr.credit_score_user_id
+            LEFT JOIN credit_score_monthly_report m ON m.credit_score_report_id = csr.id
+            LEFT JOIN credit_score_monthly_category_report c ON c.credit_score_monthly_report_id = m.id
+            WHERE csu.client_id = :clientId
+                AND csu.status = 'COMPLETED'
+                AND (csr.last_data_fetch_time, csr.id) > (:afterTime, :afterId)
+                AND csr.last_data_fetch_time < :until
+            ORDER BY csr.last_data_fetch_time, csr.id, m.year, m.month, m.id, c.category
+            """, nativeQuery = true)
+    Stream<ReportExportRow> streamCompletedReports(@Param("clientId") UUID clientId,
+                                                   @Param("afterTime") OffsetDateTime afterTime,
+                                                   @Param("afterId") UUID afterId,
+                                                   @Param("until") OffsetDateTime until);
+}
@@ -0,0 +1,69 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the bulk report export query: a category of a month of a report. The month and category values are null for
+ * a report without months and a month without categories.
+ */
+public interface ReportExportRow {
+
+    UUID getReportId();
+
+    UUID getUserId();
+
+    String getUserEmail();
+
+    String getUserName();
+
+    String getSignature();
+
+    OffsetDateTime getLastDataFetchTime();
+
+    String getCurrency();
+
+    String getIban();
+
+    String getBban();
+
+    String getMaskedPan();
+
+    String getSortCodeAccountNumber();
+
+    String getAccountHolder();
+
+    BigDecimal getInitialBalance();
+
+    BigDecimal getCreditLimit();
+
+    LocalDate getNewestTransactionDate();
+
+    LocalDate getOldestTransactionDate();
+
+    Integer getTransactionsSize();
+
+    UUID getMonthId();
+
+    Integer getYear();
+
+    Integer getMonth();
+
+    BigDecimal getHighestBalance();
+
+    BigDecimal getLowestBalance();
+
+    BigDecimal getAverageBalance();
+
+    Integer getIncomingTransactionsSize();
+
+    Integer getOutgoingTransactionsSize();
+
+    String getCategory();
+
+    BigDecimal getAmount();
+
+    Integer getTransactionTotal();
+}
@@ -0,0 +1,49 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streams the completed reports of a client. The rows are read with a server side cursor and every report is written
+ * as soon as its last row has been read, so the memory used by an export does not depend on the number of reports.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    private final ReportExportRepository reportExportRepository;
+
+    /**
+     * @return number of exported reports
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID clientId, ReportExportCursor cursor, ReportExportWriter writer) throws IOException {
+        ExportedReportAssembler assembler = new ExportedReportAssembler(cursor);
+        long exported = 0;
+        try (Stream<ReportExportRow> rows = reportExportRepository.streamCompletedReports(
+                clientId, cursor.afterFetchTime(), cursor.afterReportId(), cursor.until())) {
+            Iterator<ReportExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Optional<ExportedReportDTO> report = assembler.add(iterator.next());
+                if (report.isPresent()) {
+                    writer.write(report.get());
+                    exported++;
+                }
+            }
+        }
+        Optional<ExportedReportDTO> last = assembler.finish();
+        if (last.isPresent()) {
+            writer.write(last.get());
+            exported++;
+        }
+        writer.finish();
+        return exported;
+    }
+}
@@ -0,0 +1,14 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import java.io.IOException;
+
+/**
+ * Writes exported reports to the response one by one. {@link #finish()} flushes the buffered output, the underlying
+ * stream is left open.
+ */
+public interface ReportExportWriter {
+
+    void write(ExportedReportDTO report) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -35,6 +35,14 @@ public class CategorizedAmountEntity {
     @Enumerated(EnumType.STRING)
     private Category category;
 
+    /**
+     * Position of this row in the rows signature of the report. Null for reports signed before rows were signed.
+     */
+    private Integer signatureLeafIndex;
+
+    @ToString.Exclude
+    private byte[] signatureProof;
+
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     @ManyToOne
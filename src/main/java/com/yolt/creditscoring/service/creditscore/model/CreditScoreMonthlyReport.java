@@ -1,6 +1,7 @@
 package com.yolt.creditscoring.service.creditscore.model;
 
 import com.yolt.creditscoring.common.signature.SignatureCreditScoreMonthlyReport;
+import com.yolt.creditscoring.utility.id.IdGenerators;
 import lombok.*;
 
 import javax.persistence.*;
@@ -37,6 +38,14 @@ public class CreditScoreMonthlyReport implements SignatureCreditScoreMonthlyRepo
 
     private Integer outgoingTransactionsSize;
 
+    /**
+     * Position of this row in the rows signature of the report. Null for reports signed before rows were signed.
+     */
+    private Integer signatureLeafIndex;
+
+    @ToString.Exclude
+    private byte[] signatureProof;
+
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumns({
             @JoinColumn(name = "credit_score_monthly_report_id", referencedColumnName = "id")})
@@ -71,7 +80,12 @@ public class CreditScoreMonthlyReport implements SignatureCreditScoreMonthlyRepo
 
         public CreditScoreMonthlyReportBuilder categorizedAmount(Category category, BigDecimal amount, int transactionTotal) {
             this.categorizedAmounts = Objects.requireNonNullElse(categorizedAmounts, new HashMap<>());
-            this.categorizedAmounts.put(category, new CategorizedAmountEntity(UUID.randomUUID(), amount, transactionTotal, category, null));
+            this.categorizedAmounts.put(category, CategorizedAmountEntity.builder()
+                    .id(IdGenerators.getPersistenceIds().generate())
+                    .amount(amount)
+                    .transactionTotal(transactionTotal)
+                    .category(category)
+                    .build());
             return this;
         }
     }
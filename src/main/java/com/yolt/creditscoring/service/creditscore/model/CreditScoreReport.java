@@ -65,6 +65,16 @@ public class CreditScoreReport implements SignatureCreditScoreReport {
 
     private String accountHolder;
 
+    /**
+     * Signature of the Merkle root of monthly and category rows, see {@link com.yolt.creditscoring.service.creditscore.storage.ReportLeaves}.
+     * Null for reports created before rows were signed, these are verified with {@link #signature} only.
+     */
+    private String rowsSignature;
+
+    private UUID rowsSignatureKeyId;
+
+    private Integer rowsSignatureLeafCount;
+
     @OneToMany(fetch = FetchType.EAGER, mappedBy = "creditScoreReport", cascade = CascadeType.ALL)
     private Set<CreditScoreMonthlyReport> creditScoreMonthly;
 
@@ -1,5 +1,7 @@
 package com.yolt.creditscoring.service.creditscore.model;
 
+import com.yolt.creditscoring.common.jpa.InsertRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
@@ -7,13 +9,25 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface CreditScoreReportRepository extends CrudRepository<CreditScoreReport, UUID> {
+public interface CreditScoreReportRepository extends CrudRepository<CreditScoreReport, UUID>, InsertRepository<CreditScoreReport> {
 
     Optional<CreditScoreReport> findByCreditScoreUserId(UUID creditScoreUserId);
 
+    /**
+     * Loads monthly and category rows with the report in one query, instead of one query for categories per month.
+     */
+    @EntityGraph(attributePaths = {"creditScoreMonthly", "creditScoreMonthly.categorizedAmounts"})
+    Optional<CreditScoreReport> findWithMonthlyReportsByCreditScoreUserId(UUID creditScoreUserId);
+
     @Query("select c.id from CreditScoreReport c where c.creditScoreUserId = ?1")
     Optional<UUID> getCreditScoreReportIDByUserId(UUID creditScoreUserId);
 
+    @Query(value = "select csr.signature as signature, er.status as estimateStatus from credit_score_report csr " +
+            "join credit_score_user csu on csr.credit_score_user_id = csu.id " +
+            "left join estimate_report er on er.user_id = csu.id " +
+            "WHERE csu.id = ? AND csu.client_id = ?", nativeQuery = true)
+    Optional<ReportVersion> findReportVersion(UUID creditScoreUserId, UUID clientId);
+
     void deleteByCreditScoreUserId(UUID creditScoreUserId);
 
     List<CreditScoreReport> findBySignatureIsNull();
@@ -1,5 +1,5 @@
 package com.yolt.creditscoring.service.creditscore.model;
 
 public enum PdStatus {
-    ERROR, ERROR_NOT_ENOUGH_TRANSACTIONS, COMPLETED
+    PENDING, ERROR, ERROR_NOT_ENOUGH_TRANSACTIONS, COMPLETED
 }
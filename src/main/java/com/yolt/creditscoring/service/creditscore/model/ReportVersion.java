@@ -0,0 +1,15 @@
+package com.yolt.creditscoring.service.creditscore.model;
+
+/**
+ * Values that change when report data returned to the client changes. A report is immutable after it was calculated,
+ * only the estimate is calculated asynchronously and can change later.
+ */
+public interface ReportVersion {
+
+    String getSignature();
+
+    /**
+     * Null when estimate was not requested for the report.
+     */
+    String getEstimateStatus();
+}
@@ -1,11 +1,12 @@
 package com.yolt.creditscoring.service.creditscore.recurringtransactions;
 
+import com.yolt.creditscoring.common.jpa.InsertRepository;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.Set;
 import java.util.UUID;
 
-public interface RecurringTransactionsMonthlyReportRepository extends CrudRepository<RecurringTransactionsMonthlyReportEntity, UUID> {
+public interface RecurringTransactionsMonthlyReportRepository extends CrudRepository<RecurringTransactionsMonthlyReportEntity, UUID>, InsertRepository<RecurringTransactionsMonthlyReportEntity> {
 
     Set<RecurringTransactionsMonthlyReportEntity> findAllByCreditScoreId(UUID creditScoreId);
 
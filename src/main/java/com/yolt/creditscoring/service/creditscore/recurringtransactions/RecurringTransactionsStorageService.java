@@ -1,5 +1,6 @@
 package com.yolt.creditscoring.service.creditscore.recurringtransactions;
 
+import com.yolt.creditscoring.utility.id.IdGenerators;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -19,7 +20,7 @@ public class RecurringTransactionsStorageService {
         List<RecurringTransactionsMonthlyReportEntity> recurringTransactionsMonthlyReports = monthlyCycleTransactionsReportSaveDTOs.stream()
                 .map(monthlyRecurringTransactions ->
                         RecurringTransactionsMonthlyReportEntity.builder()
-                                .id(UUID.randomUUID())
+                                .id(IdGenerators.getPersistenceIds().generate())
                                 .creditScoreId(creditReportId)
                                 .year(monthlyRecurringTransactions.getYear())
                                 .month(monthlyRecurringTransactions.getMonth())
@@ -30,7 +31,7 @@ public class RecurringTransactionsStorageService {
                                 .build())
                 .toList();
 
-        cycleTransactionsMonthlyReportRepository.saveAll(recurringTransactionsMonthlyReports);
+        cycleTransactionsMonthlyReportRepository.insertAll(recurringTransactionsMonthlyReports);
     }
 
     public List<MonthlyRecurringTransactionsDTO> getMonthlyRecurringTransactionsReportSaveDTOs(UUID creditReportId) {
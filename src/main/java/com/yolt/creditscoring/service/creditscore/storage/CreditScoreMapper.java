@@ -4,10 +4,11 @@ import com.yolt.creditscoring.service.creditscore.model.*;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.OverviewInfoDTO;
-import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyCategoryReportSaveDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyReportSaveDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.ReportSaveDTO;
 import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
+import com.yolt.creditscoring.service.securitymodule.signature.RowsSignature;
+import com.yolt.creditscoring.utility.id.IdGenerators;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -19,12 +20,15 @@ public class CreditScoreMapper {
      * Mapping from ReportSaveDTO to CreditScoreReport entity
      *
      * @param calculatedSignature signature that will be stored in CreditScoreReport
+     * @param rowsSignature       signature of monthly and category rows, null when report has no rows
      * @return mapped CreditScoreReport
      */
     public static CreditScoreReport mapReportSaveToEntity(ReportSaveDTO reportSaveDTO,
-                                                          ReportSignature calculatedSignature) {
+                                                          ReportSignature calculatedSignature,
+                                                          RowsSignature rowsSignature) {
+        Map<String, Integer> leafIndexes = leafIndexes(reportSaveDTO, rowsSignature);
         return CreditScoreReport.builder()
-                .id(UUID.randomUUID())
+                .id(IdGenerators.getPersistenceIds().generate())
                 .accountReference(AccountReference.builder()
                         .iban(reportSaveDTO.getIban())
                         .bban(reportSaveDTO.getBban())
@@ -42,17 +46,39 @@ public class CreditScoreMapper {
                 .signature(calculatedSignature.getSignature().toString())
                 .signatureKeyId(calculatedSignature.getKeyId())
                 .signatureJsonPaths(calculatedSignature.getJsonPaths())
+                .rowsSignature(rowsSignature == null ? null : rowsSignature.getSignature().toString())
+                .rowsSignatureKeyId(rowsSignature == null ? null : rowsSignature.getKeyId())
+                .rowsSignatureLeafCount(rowsSignature == null ? null : rowsSignature.getLeafCount())
                 .creditScoreMonthly(
                         reportSaveDTO.getCreditScoreMonthly().stream()
-                                .map(CreditScoreMapper::mapToMonthlyReportEntity)
+                                .map(dto -> mapToMonthlyReportEntity(dto, leafIndexes, rowsSignature))
                                 .collect(Collectors.toSet())
                 )
                 .build();
     }
 
-    private static CreditScoreMonthlyReport mapToMonthlyReportEntity(MonthlyReportSaveDTO dto) {
+    private static Map<String, Integer> leafIndexes(ReportSaveDTO reportSaveDTO, RowsSignature rowsSignature) {
+        if (rowsSignature == null) {
+            return Map.of();
+        }
+        List<ReportLeaves.ReportLeaf> leaves = ReportLeaves.of(reportSaveDTO);
+        Map<String, Integer> leafIndexes = new HashMap<>();
+        for (int i = 0; i < leaves.size(); i++) {
+            leafIndexes.put(leaves.get(i).key(), i);
+        }
+        return leafIndexes;
+    }
+
+    private static byte[] proof(RowsSignature rowsSignature, Integer leafIndex) {
+        return leafIndex == null ? null : rowsSignature.getProofs().get(leafIndex);
+    }
+
+    private static CreditScoreMonthlyReport mapToMonthlyReportEntity(MonthlyReportSaveDTO dto,
+                                                                     Map<String, Integer> leafIndexes,
+                                                                     RowsSignature rowsSignature) {
+        Integer leafIndex = leafIndexes.get(ReportLeaves.monthlyKey(dto.getYear(), dto.getMonth()));
         return CreditScoreMonthlyReport.builder()
-                .id(UUID.randomUUID())
+                .id(IdGenerators.getPersistenceIds().generate())
                 .year(dto.getYear())
                 .month(dto.getMonth())
                 .highestBalance(dto.getHighestBalance())
@@ -60,13 +86,27 @@ public class CreditScoreMapper {
                 .averageBalance(dto.getAverageBalance())
                 .incomingTransactionsSize(dto.getIncomingTransactionsSize())
                 .outgoingTransactionsSize(dto.getOutgoingTransactionsSize())
-                .categorizedAmounts(toCategorizedAmounts(dto.getCategoriesAmounts()))
+                .signatureLeafIndex(leafIndex)
+                .signatureProof(proof(rowsSignature, leafIndex))
+                .categorizedAmounts(toCategorizedAmounts(dto, leafIndexes, rowsSignature))
                 .build();
     }
 
-    private static Map<Category, CategorizedAmountEntity> toCategorizedAmounts(List<MonthlyCategoryReportSaveDTO> categorizedAmounts) {
-        return categorizedAmounts.stream()
-                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getCategory(), new CategorizedAmountEntity(UUID.randomUUID(), entry.getAmount(), entry.getTotalTransactions(), entry.getCategory(), null)))
+    private static Map<Category, CategorizedAmountEntity> toCategorizedAmounts(MonthlyReportSaveDTO monthly,
+                                                                               Map<String, Integer> leafIndexes,
+                                                                               RowsSignature rowsSignature) {
+        return monthly.getCategoriesAmounts().stream()
+                .map(entry -> {
+                    Integer leafIndex = leafIndexes.get(ReportLeaves.categoryKey(monthly.getYear(), monthly.getMonth(), entry.getCategory()));
+                    return new AbstractMap.SimpleEntry<>(entry.getCategory(), CategorizedAmountEntity.builder()
+                            .id(IdGenerators.getPersistenceIds().generate())
+                            .amount(entry.getAmount())
+                            .transactionTotal(entry.getTotalTransactions())
+                            .category(entry.getCategory())
+                            .signatureLeafIndex(leafIndex)
+                            .signatureProof(proof(rowsSignature, leafIndex))
+                            .build());
+                })
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
                         Map.Entry::getValue
@@ -2,13 +2,20 @@ package com.yolt.creditscoring.service.creditscore.storage;
 
 import com.yolt.creditscoring.controller.admin.users.Based64;
 import com.yolt.creditscoring.exception.CreditScoreReportNotFoundException;
+import com.yolt.creditscoring.service.creditscore.model.CategorizedAmountEntity;
+import com.yolt.creditscoring.service.creditscore.model.CreditScoreMonthlyReport;
 import com.yolt.creditscoring.service.creditscore.model.CreditScoreReport;
 import com.yolt.creditscoring.service.creditscore.model.CreditScoreReportRepository;
+import com.yolt.creditscoring.service.creditscore.model.ReportVersion;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.CreditScoreReportSnapshotDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.OverviewInfoDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.SignedCreditScoreMonthsDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.ReportSaveDTO;
 import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
+import com.yolt.creditscoring.service.securitymodule.signature.RowsSignature;
+import com.yolt.creditscoring.service.securitymodule.signature.SignedRow;
 import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -16,9 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @Validated
@@ -29,15 +34,16 @@ public class CreditScoreStorageService {
 
     public void saveCreditScoreReportForGivenUser(@Valid ReportSaveDTO creditScoreReportDTO,
                                                   ReportSignature calculatedSignature,
+                                                  RowsSignature rowsSignature,
                                                   @NonNull UUID creditScoreUserId) {
 
-        CreditScoreReport creditScoreReport = CreditScoreMapper.mapReportSaveToEntity(creditScoreReportDTO, calculatedSignature);
+        CreditScoreReport creditScoreReport = CreditScoreMapper.mapReportSaveToEntity(creditScoreReportDTO, calculatedSignature, rowsSignature);
         creditScoreReport.setCreditScoreUserId(creditScoreUserId);
 
         creditScoreReport.getCreditScoreMonthly()
                 .forEach(c -> c.setCreditScoreReport(creditScoreReport));
 
-        creditScoreReportRepository.save(creditScoreReport);
+        creditScoreReportRepository.insert(creditScoreReport);
     }
 
     public void deleteByCreditScoreUserId(UUID userId) {
@@ -53,6 +59,15 @@ public class CreditScoreStorageService {
         return creditScoreReportRepository.getCreditScoreReportIDByUserId(userId);
     }
 
+    /**
+     * Header-only lookup of the report version, without loading the report.
+     *
+     * @return empty when user of the client does not exist or has no report
+     */
+    public Optional<ReportVersion> findReportVersion(@NonNull UUID userId, @NonNull UUID clientId) {
+        return creditScoreReportRepository.findReportVersion(userId, clientId);
+    }
+
     public Optional<BankAccountDetailsDTO> getCreditScoreReportBankAccountDetails(UUID userId) {
         return creditScoreReportRepository.findByCreditScoreUserId(userId)
                 .map(creditScoreReport -> CreditScoreMapper.mapCreditScoreReportToAdminReportDTO(creditScoreReport, userId));
@@ -76,6 +91,51 @@ public class CreditScoreStorageService {
                 .orElseThrow(() -> new CreditScoreReportNotFoundException(user.getStatus(), "Report was not found with ID: " + userId));
     }
 
+    public SignedCreditScoreMonthsDTO getSignedCreditScoreMonths(@NonNull CreditScoreUserDTO user) {
+        UUID userId = user.getId();
+        return creditScoreReportRepository.findByCreditScoreUserId(userId)
+                .map(CreditScoreStorageService::toSignedCreditScoreMonths)
+                .orElseThrow(() -> new CreditScoreReportNotFoundException(user.getStatus(), "Report was not found with ID: " + userId));
+    }
+
+    public CreditScoreReportSnapshotDTO getCreditScoreReportSnapshot(@NonNull CreditScoreUserDTO user) {
+        UUID userId = user.getId();
+        return creditScoreReportRepository.findWithMonthlyReportsByCreditScoreUserId(userId)
+                .map(creditScoreReport -> CreditScoreReportSnapshotDTO.builder()
+                        .reportId(creditScoreReport.getId())
+                        .bankAccountDetails(CreditScoreMapper.mapCreditScoreReportToAdminReportDTO(creditScoreReport, userId))
+                        .signedMonths(toSignedCreditScoreMonths(creditScoreReport))
+                        .signature(Based64.fromEncoded(creditScoreReport.getSignature()))
+                        .build())
+                .orElseThrow(() -> new CreditScoreReportNotFoundException(user.getStatus(), "Report was not found with ID: " + userId));
+    }
+
+    private static SignedCreditScoreMonthsDTO toSignedCreditScoreMonths(CreditScoreReport creditScoreReport) {
+        List<SignedRow> signedRows = new ArrayList<>();
+        int rowCount = 0;
+        for (CreditScoreMonthlyReport monthly : creditScoreReport.getCreditScoreMonthly()) {
+            rowCount++;
+            if (monthly.getSignatureLeafIndex() != null) {
+                signedRows.add(new SignedRow(ReportLeaves.monthlyLeaf(monthly), monthly.getSignatureLeafIndex(), monthly.getSignatureProof()));
+            }
+            for (CategorizedAmountEntity category : monthly.getCategorizedAmounts().values()) {
+                rowCount++;
+                if (category.getSignatureLeafIndex() != null) {
+                    signedRows.add(new SignedRow(ReportLeaves.categoryLeaf(monthly, category), category.getSignatureLeafIndex(), category.getSignatureProof()));
+                }
+            }
+        }
+
+        return SignedCreditScoreMonthsDTO.builder()
+                .months(CreditScoreMapper.mapCreditScoreMonthlyReportToMonthlyAdminReportDTO(creditScoreReport.getCreditScoreMonthly()))
+                .signedRows(signedRows)
+                .rowCount(rowCount)
+                .leafCount(creditScoreReport.getRowsSignatureLeafCount())
+                .rowsSignature(creditScoreReport.getRowsSignature() == null ? null : Based64.fromEncoded(creditScoreReport.getRowsSignature()))
+                .rowsSignatureKeyId(creditScoreReport.getRowsSignatureKeyId())
+                .build();
+    }
+
     public @Valid OverviewInfoDTO getCreditScoreOverviewInfoDTO(@NonNull CreditScoreUserDTO user) {
         UUID userId = user.getId();
         return creditScoreReportRepository.findByCreditScoreUserId(userId)
@@ -0,0 +1,82 @@
+package com.yolt.creditscoring.service.creditscore.storage;
+
+import com.yolt.creditscoring.service.creditscore.model.CategorizedAmountEntity;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.creditscore.model.CreditScoreMonthlyReport;
+import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyCategoryReportSaveDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyReportSaveDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.save.ReportSaveDTO;
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Canonical representation of the monthly and category rows of a report, used as leaves of the rows signature.
+ * The same representation is created from the DTOs when the report is signed and from the entities when rows are verified,
+ * so it must only contain stored values. Changes in this class impacts signature verification of existing reports.
+ */
+@UtilityClass
+public class ReportLeaves {
+
+    public record ReportLeaf(String key, String leaf) {
+    }
+
+    /**
+     * @return leaves ordered by year and month, every monthly row followed by its category rows ordered by category
+     */
+    public List<ReportLeaf> of(ReportSaveDTO report) {
+        List<ReportLeaf> leaves = new ArrayList<>();
+        report.getCreditScoreMonthly().stream()
+                .sorted(Comparator.comparing(MonthlyReportSaveDTO::getYear).thenComparing(MonthlyReportSaveDTO::getMonth))
+                .forEach(monthly -> {
+                    leaves.add(new ReportLeaf(monthlyKey(monthly.getYear(), monthly.getMonth()),
+                            monthlyLeaf(monthly.getYear(), monthly.getMonth(), monthly.getHighestBalance(), monthly.getLowestBalance(),
+                                    monthly.getAverageBalance(), monthly.getIncomingTransactionsSize(), monthly.getOutgoingTransactionsSize())));
+                    monthly.getCategoriesAmounts().stream()
+                            .sorted(Comparator.comparing(MonthlyCategoryReportSaveDTO::getCategory))
+                            .forEach(category -> leaves.add(new ReportLeaf(
+                                    categoryKey(monthly.getYear(), monthly.getMonth(), category.getCategory()),
+                                    categoryLeaf(monthly.getYear(), monthly.getMonth(), category.getCategory(),
+                                            category.getAmount(), category.getTotalTransactions()))));
+                });
+        return leaves;
+    }
+
+    public String monthlyLeaf(CreditScoreMonthlyReport monthly) {
+        return monthlyLeaf(monthly.getYear(), monthly.getMonth(), monthly.getHighestBalance(), monthly.getLowestBalance(),
+                monthly.getAverageBalance(), monthly.getIncomingTransactionsSize(), monthly.getOutgoingTransactionsSize());
+    }
+
+    public String categoryLeaf(CreditScoreMonthlyReport monthly, CategorizedAmountEntity category) {
+        return categoryLeaf(monthly.getYear(), monthly.getMonth(), category.getCategory(), category.getAmount(), category.getTransactionTotal());
+    }
+
+    String monthlyKey(Integer year, Integer month) {
+        return "monthly;" + year + ";" + month;
+    }
+
+    String categoryKey(Integer year, Integer month, Category category) {
+        return "category;" + year + ";" + month + ";" + category;
+    }
+
+    public String monthlyLeaf(Integer year, Integer month, BigDecimal highestBalance, BigDecimal lowestBalance,
+                               BigDecimal averageBalance, Integer incomingTransactionsSize, Integer outgoingTransactionsSize) {
+        return String.join(";", monthlyKey(year, month),
+                amount(highestBalance), amount(lowestBalance), amount(averageBalance),
+                String.valueOf(incomingTransactionsSize), String.valueOf(outgoingTransactionsSize));
+    }
+
+    public String categoryLeaf(Integer year, Integer month, Category category, BigDecimal amount, int transactionTotal) {
+        return String.join(";", categoryKey(year, month, category), amount(amount), String.valueOf(transactionTotal));
+    }
+
+    /**
+     * Scale of a stored amount can differ from the calculated one, only the value is part of the leaf.
+     */
+    private String amount(BigDecimal amount) {
+        return amount == null ? "" : amount.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.yolt.creditscoring.service.creditscore.storage.dto.response.admin;
+
+import com.yolt.creditscoring.controller.admin.users.Based64;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Parts of the stored report needed to assemble all sections of a report response, loaded with one query.
+ */
+@Builder
+@Value
+public class CreditScoreReportSnapshotDTO {
+
+    UUID reportId;
+
+    BankAccountDetailsDTO bankAccountDetails;
+
+    SignedCreditScoreMonthsDTO signedMonths;
+
+    Based64 signature;
+}
@@ -0,0 +1,38 @@
+package com.yolt.creditscoring.service.creditscore.storage.dto.response.admin;
+
+import com.yolt.creditscoring.controller.admin.users.Based64;
+import com.yolt.creditscoring.service.securitymodule.signature.SignedRow;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Months of the report together with the stored rows and their inclusion proofs.
+ * Rows signature fields are null for reports created before rows were signed.
+ */
+@Builder
+@Value
+public class SignedCreditScoreMonthsDTO {
+
+    Set<MonthlyAdminReportDTO> months;
+
+    List<SignedRow> signedRows;
+
+    /**
+     * Number of monthly and category rows stored for the report, including rows without a leaf index.
+     */
+    int rowCount;
+
+    Integer leafCount;
+
+    Based64 rowsSignature;
+
+    UUID rowsSignatureKeyId;
+
+    public boolean hasRowsSignature() {
+        return rowsSignature != null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.yolt.creditscoring.service.email;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invitation e-mail body rendered for a client e-mail configuration, with placeholders for the per-recipient
+ * variables. Values are escaped the same way as {@code th:text} and {@code th:href} escape them, so the result is
+ * equal to rendering the whole template for the recipient.
+ */
+final class InvitationEmailSkeleton {
+
+    enum Variable {
+        USER_NAME,
+        REDIRECT_URL
+    }
+
+    /**
+     * Static parts of the body, one more than there are variables.
+     */
+    private final List<String> fragments;
+    private final List<Variable> variables;
+    private final int staticLength;
+
+    private InvitationEmailSkeleton(List<String> fragments, List<Variable> variables) {
+        this.fragments = fragments;
+        this.variables = variables;
+        this.staticLength = fragments.stream().mapToInt(String::length).sum();
+    }
+
+    static InvitationEmailSkeleton of(String renderedBody, String userNamePlaceholder, String redirectUrlPlaceholder) {
+        List<String> fragments = new ArrayList<>();
+        List<Variable> variables = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            int userName = renderedBody.indexOf(userNamePlaceholder, start);
+            int redirectUrl = renderedBody.indexOf(redirectUrlPlaceholder, start);
+            if (userName < 0 && redirectUrl < 0) {
+                break;
+            }
+            boolean userNameFirst = redirectUrl < 0 || (userName >= 0 && userName < redirectUrl);
+            int index = userNameFirst ? userName : redirectUrl;
+            fragments.add(renderedBody.substring(start, index));
+            variables.add(userNameFirst ? Variable.USER_NAME : Variable.REDIRECT_URL);
+            start = index + (userNameFirst ? userNamePlaceholder : redirectUrlPlaceholder).length();
+        }
+        fragments.add(renderedBody.substring(start));
+        return new InvitationEmailSkeleton(List.copyOf(fragments), List.copyOf(variables));
+    }
+
+    String render(String userName, String redirectUrl) {
+        String escapedUserName = HtmlEscape.escapeHtml4Xml(userName);
+        String escapedRedirectUrl = HtmlEscape.escapeHtml4Xml(redirectUrl);
+
+        StringBuilder body = new StringBuilder(staticLength + variables.size() * Math.max(escapedUserName.length(), escapedRedirectUrl.length()));
+        for (int i = 0; i < variables.size(); i++) {
+            body.append(fragments.get(i))
+                    .append(variables.get(i) == Variable.USER_NAME ? escapedUserName : escapedRedirectUrl);
+        }
+        return body.append(fragments.get(variables.size())).toString();
+    }
+}
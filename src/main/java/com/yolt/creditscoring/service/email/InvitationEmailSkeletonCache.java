@@ -0,0 +1,78 @@
+package com.yolt.creditscoring.service.email;
+
+import com.yolt.creditscoring.service.client.ClientEmailDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.*;
+
+/**
+ * Bounded cache of invitation e-mail bodies rendered per client e-mail configuration, see {@link InvitationEmailSkeleton}.
+ * <p>
+ * The key holds every value of the configuration which is rendered in the body, so a configuration changed on another
+ * pod never uses a stale skeleton. {@link #invalidate(UUID)} only frees the memory of an outdated configuration.
+ */
+@Slf4j
+@Service
+public class InvitationEmailSkeletonCache {
+
+    static final String INVITATION_TEMPLATE = "html/UserInvitation_template";
+    private static final int MAX_SIZE = 200;
+
+    private final ITemplateEngine templateEngine;
+    private final String userNamePlaceholder = "cfa-user-name-" + UUID.randomUUID();
+    private final String redirectUrlPlaceholder = "cfa-redirect-url-" + UUID.randomUUID();
+    private final Map<SkeletonKey, InvitationEmailSkeleton> skeletons = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<SkeletonKey, InvitationEmailSkeleton> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            });
+
+    public InvitationEmailSkeletonCache(ITemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+    }
+
+    String render(ClientEmailDTO clientEmail, String clientLogoUrl, String userName, String redirectUrl) {
+        SkeletonKey key = new SkeletonKey(clientEmail, clientLogoUrl);
+        InvitationEmailSkeleton skeleton = skeletons.get(key);
+        if (skeleton == null) {
+            skeleton = createSkeleton(clientEmail, clientLogoUrl);
+            skeletons.put(key, skeleton);
+        }
+        return skeleton.render(userName, redirectUrl);
+    }
+
+    public void invalidate(UUID clientEmailId) {
+        synchronized (skeletons) {
+            skeletons.keySet().removeIf(key -> key.clientEmail().getId().equals(clientEmailId));
+        }
+    }
+
+    public void invalidateAll() {
+        skeletons.clear();
+    }
+
+    private InvitationEmailSkeleton createSkeleton(ClientEmailDTO clientEmail, String clientLogoUrl) {
+        Map<String, Object> variablesTemplate = new HashMap<>();
+        variablesTemplate.put("userName", userNamePlaceholder);
+        variablesTemplate.put("redirectUrl", redirectUrlPlaceholder);
+        variablesTemplate.put("clientLogoUrl", clientLogoUrl);
+        variablesTemplate.put("title", clientEmail.getTitle());
+        variablesTemplate.put("subtitle", clientEmail.getSubtitle());
+        variablesTemplate.put("welcomeBox", clientEmail.getWelcomeBox());
+        variablesTemplate.put("buttonText", clientEmail.getButtonText());
+        variablesTemplate.put("summaryBox", clientEmail.getSummaryBox());
+        variablesTemplate.put("websiteUrl", clientEmail.getWebsiteUrl());
+
+        log.info("Rendering invitation e-mail skeleton for client e-mail {}", clientEmail.getId());
+        String body = templateEngine.process(INVITATION_TEMPLATE, new Context(Locale.getDefault(), variablesTemplate));
+        return InvitationEmailSkeleton.of(body, userNamePlaceholder, redirectUrlPlaceholder);
+    }
+
+    private record SkeletonKey(ClientEmailDTO clientEmail, String clientLogoUrl) {
+    }
+}
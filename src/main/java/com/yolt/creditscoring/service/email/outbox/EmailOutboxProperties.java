@@ -0,0 +1,48 @@
+package com.yolt.creditscoring.service.email.outbox;
+
+import com.yolt.creditscoring.common.outbox.ExponentialBackoff;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the e-mail outbox dispatcher.
+ * A single pod sends at most {@code maxSendRate} e-mails per second on {@code concurrency} threads. The SES sending
+ * quota is per account, so the rate should be the quota divided by the number of pods. Failed e-mails are retried
+ * with exponential backoff, starting at {@code initialBackoff} and capped at {@code maxBackoff}, until
+ * {@code maxAttempts} is reached.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.outbox.email")
+public class EmailOutboxProperties {
+
+    private final double maxSendRate;
+
+    private final int concurrency;
+
+    private final int maxAttempts;
+
+    private final ExponentialBackoff backoff;
+
+    /**
+     * Time after which a claimed e-mail is picked up again when no result was stored, e.g. because the pod died.
+     */
+    private final Duration lease;
+
+    public EmailOutboxProperties(@DefaultValue("5") double maxSendRate,
+                                 @DefaultValue("4") int concurrency,
+                                 @DefaultValue("8") int maxAttempts,
+                                 @DefaultValue("30s") Duration initialBackoff,
+                                 @DefaultValue("1h") Duration maxBackoff,
+                                 @DefaultValue("5m") Duration lease) {
+        this.maxSendRate = maxSendRate;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.backoff = new ExponentialBackoff(initialBackoff, maxBackoff);
+        this.lease = lease;
+    }
+}
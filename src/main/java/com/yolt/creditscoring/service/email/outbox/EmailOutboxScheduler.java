@@ -0,0 +1,22 @@
+package com.yolt.creditscoring.service.email.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class EmailOutboxScheduler {
+
+    private final EmailOutboxService emailOutboxService;
+
+    @Scheduled(fixedDelayString = "${credit-scoring.outbox.email.poll-interval-ms:1000}")
+    public void processPendingEmails() {
+        int submitted = emailOutboxService.processPendingEmails();
+        if (submitted > 0) {
+            log.info("Submitted {} pending e-mail(s)", submitted);
+        }
+    }
+}
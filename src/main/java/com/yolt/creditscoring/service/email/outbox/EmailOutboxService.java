@@ -0,0 +1,146 @@
+package com.yolt.creditscoring.service.email.outbox;
+
+import com.yolt.creditscoring.common.outbox.OutboxDispatcher;
+import com.yolt.creditscoring.configuration.AsyncConfiguration;
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.client.ClientStorageService;
+import com.yolt.creditscoring.service.email.EmailService;
+import com.yolt.creditscoring.service.email.model.InvitationEmailData;
+import com.yolt.creditscoring.service.user.PendingInvitation;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.utility.id.IdGenerators;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.ses.model.MessageRejectedException;
+import software.amazon.awssdk.services.ses.model.SesException;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.yolt.creditscoring.service.invitation.InvitationLinks.clientLogoUrl;
+import static com.yolt.creditscoring.service.invitation.InvitationLinks.invitationRedirectUrl;
+
+/**
+ * Sends invitation e-mails outside of the transaction which invites the user.
+ * E-mails are stored in the outbox in the same transaction as the user and are sent later by
+ * {@link #processPendingEmails()}, so SES latency and throttling never affect the invitation request. Sending is
+ * spread over a pool of threads and limited to the configured rate to stay within the SES sending quota.
+ */
+@Slf4j
+@Service
+public class EmailOutboxService {
+
+    private static final Clock clock = ClockConfig.getClock();
+    private static final String EMAILS_METRIC = "email_outbox_emails";
+    private static final String RATE_LIMIT_WAIT_METRIC = "email_outbox_rate_limit_wait";
+
+    private final EmailOutboxStorageService emailOutboxStorageService;
+    private final UserStorageService userStorageService;
+    private final ClientStorageService clientStorageService;
+    private final EmailService emailService;
+    private final EmailOutboxProperties properties;
+    private final MeterRegistry registry;
+    private final OutboxDispatcher<PendingEmail> dispatcher;
+    private final SendRateLimiter rateLimiter;
+
+    public EmailOutboxService(EmailOutboxStorageService emailOutboxStorageService,
+                              UserStorageService userStorageService,
+                              ClientStorageService clientStorageService,
+                              EmailService emailService,
+                              EmailOutboxProperties properties,
+                              @Qualifier(AsyncConfiguration.EMAIL_EXECUTOR) TaskExecutor executor,
+                              MeterRegistry registry) {
+        this.emailOutboxStorageService = emailOutboxStorageService;
+        this.userStorageService = userStorageService;
+        this.clientStorageService = clientStorageService;
+        this.emailService = emailService;
+        this.properties = properties;
+        this.registry = registry;
+        this.dispatcher = new OutboxDispatcher<>("E-mail", properties.getConcurrency(), executor,
+                limit -> emailOutboxStorageService.claimPendingEmails(OffsetDateTime.now(clock), properties.getLease(), limit),
+                this::send);
+        this.rateLimiter = new SendRateLimiter(properties.getMaxSendRate());
+    }
+
+    /**
+     * Store the invitation e-mail in the outbox. Should be called in the transaction which invites the user, so the
+     * e-mail is only sent when the invitation is committed.
+     *
+     * @return id of the outbox e-mail
+     */
+    public UUID enqueueInvitation(@NonNull UUID clientId, @NonNull UUID userId, @NonNull UUID clientEmailId, @NonNull String baseUrl) {
+        UUID id = IdGenerators.getPersistenceIds().generate();
+        emailOutboxStorageService.savePending(id, clientId, userId, clientEmailId, baseUrl, OffsetDateTime.now(clock));
+        registry.counter(EMAILS_METRIC, "result", "enqueued").increment();
+        return id;
+    }
+
+    /**
+     * Claim the pending e-mails which are due and send them. Only as many e-mails are claimed as there are free
+     * slots, the rest stays available for other pods.
+     *
+     * @return number of e-mails submitted for sending
+     */
+    public int processPendingEmails() {
+        return dispatcher.dispatch();
+    }
+
+    void send(PendingEmail email) {
+        Optional<PendingInvitation> invitation = userStorageService.findPendingInvitation(email.creditScoreUserId());
+        if (invitation.isEmpty()) {
+            emailOutboxStorageService.notSent(email.id(), OffsetDateTime.now(clock));
+            registry.counter(EMAILS_METRIC, "result", "not_sent").increment();
+            return;
+        }
+
+        registry.timer(RATE_LIMIT_WAIT_METRIC).record(rateLimiter.acquire(), TimeUnit.NANOSECONDS);
+
+        int attempts = email.attempts() + 1;
+        OffsetDateTime attemptTime = OffsetDateTime.now(clock);
+        try {
+            emailService.sendInvitationForUser(email.clientId(), email.creditScoreUserId(), InvitationEmailData.builder()
+                    .clientEmail(clientStorageService.getClientEmailById(email.clientEmailId()))
+                    .recipientEmail(invitation.get().email())
+                    .userName(invitation.get().name())
+                    .clientLogoUrl(clientLogoUrl(email.baseUrl(), email.clientId()))
+                    .redirectUrl(invitationRedirectUrl(email.baseUrl(), invitation.get().invitationHash()))
+                    .build());
+            emailOutboxStorageService.sent(email.id(), attempts, attemptTime);
+            registry.counter(EMAILS_METRIC, "result", "sent").increment();
+        } catch (Exception e) {
+            failedAttempt(email, attempts, attemptTime, e);
+        }
+    }
+
+    private void failedAttempt(PendingEmail email, int attempts, OffsetDateTime attemptTime, Exception e) {
+        String error = e.getCause() != null ? e.getMessage() + ": " + e.getCause().getMessage() : e.getMessage();
+
+        if (e.getCause() instanceof MessageRejectedException) {
+            log.warn("E-mail {} was rejected by SES: {}", email.id(), error);
+            emailOutboxStorageService.failed(email.id(), attempts, attemptTime, error);
+            registry.counter(EMAILS_METRIC, "result", "rejected").increment();
+        } else if (attempts < properties.getMaxAttempts()) {
+            OffsetDateTime nextAttemptTime = attemptTime.plus(properties.getBackoff().delay(attempts));
+            log.info("E-mail {} failed, attempt {} of {}, next attempt at {}: {}",
+                    email.id(), attempts, properties.getMaxAttempts(), nextAttemptTime, error);
+            emailOutboxStorageService.scheduleRetry(email.id(), attempts, attemptTime, nextAttemptTime, error);
+            registry.counter(EMAILS_METRIC, "result", isThrottled(e) ? "throttled" : "retry").increment();
+        } else {
+            log.warn("E-mail {} failed after {} attempts: {}", email.id(), attempts, error);
+            emailOutboxStorageService.failed(email.id(), attempts, attemptTime, error);
+            registry.counter(EMAILS_METRIC, "result", "failed").increment();
+        }
+    }
+
+    private static boolean isThrottled(Exception e) {
+        return e.getCause() instanceof SesException sesException && sesException.isThrottlingException();
+    }
+}
@@ -0,0 +1,101 @@
+package com.yolt.creditscoring.service.email.outbox;
+
+import com.yolt.creditscoring.service.email.outbox.model.EmailOutboxEntity;
+import com.yolt.creditscoring.service.email.outbox.model.EmailOutboxRepository;
+import com.yolt.creditscoring.service.email.outbox.model.EmailOutboxStatus;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxStorageService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    public void savePending(@NonNull UUID id, @NonNull UUID clientId, @NonNull UUID userId, @NonNull UUID clientEmailId,
+                            @NonNull String baseUrl, @NonNull OffsetDateTime createdDate) {
+        emailOutboxRepository.insert(new EmailOutboxEntity()
+                .setId(id)
+                .setClientId(clientId)
+                .setCreditScoreUserId(userId)
+                .setClientEmailId(clientEmailId)
+                .setBaseUrl(baseUrl)
+                .setStatus(EmailOutboxStatus.PENDING)
+                .setCreatedDate(createdDate)
+                .setNextAttemptTime(createdDate));
+    }
+
+    public Map<UUID, EmailOutboxStatus> findStatuses(@NonNull Collection<UUID> ids) {
+        return emailOutboxRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(EmailOutboxEntity::getId, EmailOutboxEntity::getStatus));
+    }
+
+    /**
+     * Claims e-mails which are due. The next attempt time of claimed e-mails is moved by {@code lease}, so an e-mail is
+     * picked up again when the pod sending it dies before storing the result.
+     */
+    @Transactional
+    public List<PendingEmail> claimPendingEmails(@NonNull OffsetDateTime now, @NonNull Duration lease, int limit) {
+        return emailOutboxRepository.findDueForSendingAndLock(now, limit).stream()
+                .map(entity -> {
+                    entity.setNextAttemptTime(now.plus(lease));
+                    return new PendingEmail(entity.getId(), entity.getClientId(), entity.getCreditScoreUserId(),
+                            entity.getClientEmailId(), entity.getBaseUrl(), entity.getAttempts());
+                })
+                .toList();
+    }
+
+    @Transactional
+    public void sent(@NonNull UUID id, int attempts, @NonNull OffsetDateTime attemptTime) {
+        emailOutboxRepository.findById(id).ifPresent(entity -> entity
+                .setStatus(EmailOutboxStatus.SENT)
+                .setAttempts(attempts)
+                .setLastAttemptTime(attemptTime)
+                .setLastError(null)
+                .setNextAttemptTime(null));
+    }
+
+    @Transactional
+    public void notSent(@NonNull UUID id, @NonNull OffsetDateTime attemptTime) {
+        emailOutboxRepository.findById(id).ifPresent(entity -> entity
+                .setStatus(EmailOutboxStatus.NOT_SENT)
+                .setLastAttemptTime(attemptTime)
+                .setNextAttemptTime(null));
+    }
+
+    @Transactional
+    public void scheduleRetry(@NonNull UUID id, int attempts, @NonNull OffsetDateTime attemptTime,
+                              @NonNull OffsetDateTime nextAttemptTime, String error) {
+        emailOutboxRepository.findById(id).ifPresent(entity -> entity
+                .setAttempts(attempts)
+                .setLastAttemptTime(attemptTime)
+                .setLastError(truncate(error))
+                .setNextAttemptTime(nextAttemptTime));
+    }
+
+    @Transactional
+    public void failed(@NonNull UUID id, int attempts, @NonNull OffsetDateTime attemptTime, String error) {
+        emailOutboxRepository.findById(id).ifPresent(entity -> entity
+                .setStatus(EmailOutboxStatus.FAILED)
+                .setAttempts(attempts)
+                .setLastAttemptTime(attemptTime)
+                .setLastError(truncate(error))
+                .setNextAttemptTime(null));
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
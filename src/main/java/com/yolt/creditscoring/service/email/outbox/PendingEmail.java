@@ -0,0 +1,16 @@
+package com.yolt.creditscoring.service.email.outbox;
+
+import com.yolt.creditscoring.common.outbox.OutboxEntry;
+
+import java.util.UUID;
+
+/**
+ * Outbox e-mail claimed for sending.
+ */
+public record PendingEmail(UUID id,
+                           UUID clientId,
+                           UUID creditScoreUserId,
+                           UUID clientEmailId,
+                           String baseUrl,
+                           int attempts) implements OutboxEntry {
+}
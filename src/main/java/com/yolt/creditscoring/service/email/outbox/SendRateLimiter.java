@@ -0,0 +1,43 @@
+package com.yolt.creditscoring.service.email.outbox;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces calls evenly to at most {@code permitsPerSecond}. Every caller reserves the next free slot without locking
+ * and waits until that slot is reached, so concurrent senders together stay below the rate.
+ */
+class SendRateLimiter {
+
+    private final long intervalNanos;
+    private final AtomicLong nextFreeSlot = new AtomicLong(System.nanoTime());
+
+    SendRateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate should be positive, was " + permitsPerSecond);
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @return time waited in nanoseconds
+     */
+    long acquire() {
+        long now = System.nanoTime();
+        long slot = nextFreeSlot.getAndAccumulate(now, (next, current) -> Math.max(next, current) + intervalNanos);
+        long wait = Math.max(slot, now) - now;
+        long deadline = now + wait;
+        while (wait > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            wait = deadline - System.nanoTime();
+        }
+        return Math.max(slot - now, 0);
+    }
+}
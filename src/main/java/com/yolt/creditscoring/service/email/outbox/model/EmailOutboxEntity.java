@@ -0,0 +1,52 @@
+package com.yolt.creditscoring.service.email.outbox.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.email.outbox.model.EmailOutboxEntity.TABLE_NAME;
+
+/**
+ * Invitation e-mail which is sent after the transaction that stored it is committed.
+ * The recipient and the invitation link are read from the user at send time, so the outbox holds no personal data and
+ * always sends the latest invitation link.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class EmailOutboxEntity {
+    public static final String TABLE_NAME = "email_outbox";
+
+    @Id
+    private UUID id;
+
+    private UUID clientId;
+
+    private UUID creditScoreUserId;
+
+    private UUID clientEmailId;
+
+    /**
+     * Base url of the invitation link and the client logo.
+     */
+    private String baseUrl;
+
+    @Enumerated(EnumType.STRING)
+    private EmailOutboxStatus status;
+
+    private int attempts;
+
+    private OffsetDateTime createdDate;
+
+    private OffsetDateTime nextAttemptTime;
+
+    private OffsetDateTime lastAttemptTime;
+
+    private String lastError;
+}
@@ -0,0 +1,26 @@
+package com.yolt.creditscoring.service.email.outbox.model;
+
+import com.yolt.creditscoring.common.jpa.InsertRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, UUID>, InsertRepository<EmailOutboxEntity> {
+
+    /**
+     * Locks e-mails which are due for (another) attempt. E-mails locked by other pods are skipped, so every e-mail is
+     * sent by a single pod.
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_time <= :now
+            ORDER BY next_attempt_time
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutboxEntity> findDueForSendingAndLock(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,17 @@
+package com.yolt.creditscoring.service.email.outbox.model;
+
+public enum EmailOutboxStatus {
+    /**
+     * Waiting for the first attempt or for a retry.
+     */
+    PENDING,
+    SENT,
+    /**
+     * All attempts failed, or SES rejected the message.
+     */
+    FAILED,
+    /**
+     * User was removed or already left the INVITED status before the e-mail was sent.
+     */
+    NOT_SENT
+}
@@ -0,0 +1,42 @@
+package com.yolt.creditscoring.service.estimate.provider;
+
+import com.yolt.creditscoring.common.resilience.ResilienceSettings;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Timeouts, circuit breaker and bulkhead of the PD endpoint of the Estimate API, see {@link EstimateHttpClient}.
+ * PD requests are few and slow, so the circuit only needs a handful of calls to open and stays open longer than the
+ * circuits of the Yolt API. The response timeout should stay a little above the p99 latency of the PD endpoint, so a
+ * hanging Estimate API counts as a failure for the circuit within a minute instead of holding a scoring thread for
+ * minutes.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "yolt.estimate-api.resilience")
+public class EstimateApiResilienceProperties {
+
+    private static final ResilienceSettings PD_DEFAULT = new ResilienceSettings(50, 5, Duration.ofMinutes(5), Duration.ofMinutes(1), 1, 8);
+
+    private final boolean enabled;
+
+    private final Duration connectTimeout;
+
+    private final Duration responseTimeout;
+
+    private final ResilienceSettings pd;
+
+    public EstimateApiResilienceProperties(@DefaultValue("true") boolean enabled,
+                                           @DefaultValue("5s") Duration connectTimeout,
+                                           @DefaultValue("60s") Duration responseTimeout,
+                                           ResilienceSettings pd) {
+        this.enabled = enabled;
+        this.connectTimeout = connectTimeout;
+        this.responseTimeout = responseTimeout;
+        this.pd = pd != null ? pd : PD_DEFAULT;
+    }
+}
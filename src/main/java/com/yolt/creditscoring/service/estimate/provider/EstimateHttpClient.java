@@ -4,12 +4,16 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yolt.creditscoring.common.resilience.CallNotPermittedException;
+import com.yolt.creditscoring.common.resilience.UpstreamGuard;
 import com.yolt.creditscoring.service.estimate.provider.dto.EstimatePDRequestDTO;
 import com.yolt.creditscoring.service.estimate.provider.dto.EstimateProbabilityOfDefaultDTO;
 import com.yolt.creditscoring.service.estimate.provider.exception.EstimateAPIException;
 import com.yolt.creditscoring.service.estimate.provider.exception.NotEnoughTransactionDataException;
 import com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService;
 import com.yolt.creditscoring.service.yoltapi.exception.FetchDataException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import lombok.extern.slf4j.Slf4j;
@@ -36,20 +40,19 @@ import java.io.IOException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
-import java.time.Duration;
-import java.util.Base64;
 
 @Slf4j
 @Service
 @Validated
 public class EstimateHttpClient {
 
-    private static final Base64.Encoder ENCODER = Base64.getEncoder();
     private final VaultSecretKeyService vaultSecretKeyService;
     private final String baseUrl;
     private final boolean isIspProxyHostEnabled;
     private final String ispProxyHost;
     private final Integer ispProxyPort;
+    private final EstimateApiResilienceProperties resilienceProperties;
+    private final UpstreamGuard pdGuard;
     private TrustOnFirstUseManagerFactory trustManagerFactory;
 
     public EstimateHttpClient(@Value("${yolt.estimate-api.base-url}") String baseUrl,
@@ -57,12 +60,17 @@ public class EstimateHttpClient {
                               @Value("${isp.proxy.host}") String ispProxyHost,
                               @Value("${isp.proxy.port}") Integer ispProxyPort,
                               VaultSecretKeyService vaultSecretKeyService,
-                              EstimateSemaEventService estimateSemaEventService) {
+                              EstimateSemaEventService estimateSemaEventService,
+                              EstimateApiResilienceProperties resilienceProperties,
+                              MeterRegistry meterRegistry) {
         this.isIspProxyHostEnabled = isIspProxyHostEnabled;
         this.ispProxyHost = ispProxyHost;
         this.ispProxyPort = ispProxyPort;
         this.vaultSecretKeyService = vaultSecretKeyService;
         this.baseUrl = baseUrl;
+        this.resilienceProperties = resilienceProperties;
+        this.pdGuard = new UpstreamGuard("estimate_api", "pd", resilienceProperties.getPd(),
+                resilienceProperties.isEnabled(), meterRegistry);
         try {
             trustManagerFactory = new TrustOnFirstUseManagerFactory(createTrustManagerFactory(vaultSecretKeyService.getTrustKeyStore()), estimateSemaEventService);
         } catch (NoSuchAlgorithmException e) {
@@ -72,23 +80,51 @@ public class EstimateHttpClient {
         }
     }
 
+    /**
+     * The request passes the circuit breaker and bulkhead of the PD endpoint first. When the circuit is open or the
+     * bulkhead is full it fails immediately with a transient {@link EstimateAPIException}, so the scoring retries it
+     * with backoff. I/O errors, timeouts, 5xx and 429 responses count as failures of the Estimate API.
+     */
     public @Valid EstimateProbabilityOfDefaultDTO getPDScoreForGivenAccount(EstimatePDRequestDTO requestBody) throws NoSuchAlgorithmException, KeyStoreException, IOException {
         WebClient webClient = getWebClient();
 
+        UpstreamGuard.Permit permit;
+        try {
+            permit = pdGuard.acquire();
+        } catch (CallNotPermittedException e) {
+            log.warn("Not calling Estimate API: {}", e.getMessage());
+            throw new EstimateAPIException(e.getMessage(), true);
+        }
+        boolean failure = true;
+        try {
+            EstimateProbabilityOfDefaultDTO result = fetchPDScore(webClient, requestBody);
+            failure = false;
+            return result;
+        } catch (EstimateAPIException e) {
+            failure = e.isTransientFailure();
+            throw e;
+        } catch (NotEnoughTransactionDataException | FetchDataException | IOException e) {
+            failure = false;
+            throw e;
+        } finally {
+            permit.complete(failure);
+        }
+    }
+
+    private EstimateProbabilityOfDefaultDTO fetchPDScore(WebClient webClient, EstimatePDRequestDTO requestBody) throws IOException {
+
         ClientResponse clientResponse = webClient.post()
                 .uri("/credit-score")
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .header(HttpHeaders.AUTHORIZATION, "Basic " +
-                        ENCODER.encodeToString((vaultSecretKeyService.getEstimateApiUser() + ":" +
-                                vaultSecretKeyService.getEstimateApiPassword()).getBytes()))
+                .header(HttpHeaders.AUTHORIZATION, vaultSecretKeyService.getEstimateBasicAuthorization())
                 .body(BodyInserters.fromValue(requestBody))
                 .exchange()
                 .block();
 
         if (clientResponse == null) {
             log.warn("Missing client response");
-            throw new EstimateAPIException("Missing client response");
+            throw new EstimateAPIException("Missing client response", true);
         }
 
         if (clientResponse.statusCode().isError()) {
@@ -101,14 +137,15 @@ public class EstimateHttpClient {
                 throw new NotEnoughTransactionDataException(responseBody);
             }
 
-            throw new EstimateAPIException(responseStatus.toString());
+            throw new EstimateAPIException(responseStatus.toString(),
+                    responseStatus.is5xxServerError() || responseStatus == HttpStatus.TOO_MANY_REQUESTS);
         }
 
         ResponseEntity<String> responseEntity = clientResponse.toEntity(String.class).block();
 
         if (responseEntity == null) {
             log.warn("Missing response entity");
-            throw new EstimateAPIException("Missing response entity");
+            throw new EstimateAPIException("Missing response entity", true);
         }
 
         if (!MediaType.APPLICATION_JSON.equals(responseEntity.getHeaders().getContentType())) {
@@ -136,7 +173,8 @@ public class EstimateHttpClient {
 
         HttpClient httpClient = HttpClient.create()
                 .secure(sslContextSpec -> sslContextSpec.sslContext(sslContext))
-                .responseTimeout(Duration.ofMinutes(10))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) resilienceProperties.getConnectTimeout().toMillis())
+                .responseTimeout(resilienceProperties.getResponseTimeout())
                 .compress(true);
 
         if (isIspProxyHostEnabled) {
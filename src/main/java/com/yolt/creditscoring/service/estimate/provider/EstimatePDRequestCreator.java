@@ -6,13 +6,13 @@ import com.yolt.creditscoring.service.estimate.provider.dto.EstimateTransactionD
 import com.yolt.creditscoring.service.estimate.provider.exception.EstimateAPIException;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreTransactionDTO;
+import com.yolt.creditscoring.utility.id.IdGenerators;
 import lombok.experimental.UtilityClass;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.List;
-import java.util.UUID;
 import java.util.function.Predicate;
 
 @UtilityClass
@@ -20,7 +20,7 @@ public class EstimatePDRequestCreator {
 
     public EstimatePDRequestDTO createRequest(CreditScoreAccountDTO account) {
         return EstimatePDRequestDTO.builder()
-                .referenceId(UUID.randomUUID())
+                .referenceId(IdGenerators.getUniqueIds().generate())
                 .currentBalance(amountMapper(account.getBalance()))
                 .transactions(transactionMapper(account.getTransactions()))
                 .build();
@@ -35,7 +35,7 @@ public class EstimatePDRequestCreator {
         return transactions.stream()
                 .filter(getFullSixMonthsOfTransaction(newestTransactionDate))
                 .map(transaction -> EstimateTransactionDTO.builder()
-                        .id(UUID.randomUUID())
+                        .id(IdGenerators.getUniqueIds().generate())
                         .amount(amountMapper(transaction.getAmount()))
                         .currencyCode(transaction.getCurrency().getCurrencyCode())
                         .dateBooked(transaction.getDate())
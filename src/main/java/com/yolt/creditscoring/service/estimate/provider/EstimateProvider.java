@@ -5,11 +5,14 @@ import com.yolt.creditscoring.service.estimate.provider.dto.EstimatePDRequestDTO
 import com.yolt.creditscoring.service.estimate.provider.dto.EstimateProbabilityOfDefaultDTO;
 import com.yolt.creditscoring.service.estimate.provider.dto.ProbabilityOfDefaultStorage;
 import com.yolt.creditscoring.service.estimate.provider.exception.NotEnoughTransactionDataException;
-import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -17,10 +20,12 @@ public class EstimateProvider {
 
     private final EstimateHttpClient httpClient;
 
-    public ProbabilityOfDefaultStorage calculatePDForReport(CreditScoreAccountDTO account) {
+    /**
+     * Fetch PD score for the given request. Errors other than not enough transaction data are passed to the caller,
+     * which decides whether the request should be retried.
+     */
+    public ProbabilityOfDefaultStorage calculatePD(EstimatePDRequestDTO request) throws NoSuchAlgorithmException, KeyStoreException, IOException {
         try {
-            EstimatePDRequestDTO request = EstimatePDRequestCreator.createRequest(account);
-
             EstimateProbabilityOfDefaultDTO scoreForGivenAccount = httpClient.getPDScoreForGivenAccount(request);
 
             return ProbabilityOfDefaultStorage.builder()
@@ -32,11 +37,6 @@ public class EstimateProvider {
             return ProbabilityOfDefaultStorage.builder()
                     .status(PdStatus.ERROR_NOT_ENOUGH_TRANSACTIONS)
                     .build();
-        } catch (Exception e) {
-            log.error("There was an error when fetching PD score from Estimate API", e);
-            return ProbabilityOfDefaultStorage.builder()
-                    .status(PdStatus.ERROR)
-                    .build();
         }
     }
 }
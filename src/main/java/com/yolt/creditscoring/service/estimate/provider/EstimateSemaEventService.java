@@ -1,5 +1,6 @@
 package com.yolt.creditscoring.service.estimate.provider;
 
+import com.yolt.creditscoring.common.eventlog.EventLogDispatcher;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import net.logstash.logback.marker.Markers;
@@ -13,21 +14,24 @@ import java.util.Base64;
 import java.util.HashMap;
 
 @Service
+@RequiredArgsConstructor
 public class EstimateSemaEventService {
     private static final Base64.Encoder ENCODER = Base64.getEncoder();
 
+    private final EventLogDispatcher eventLogDispatcher;
+
     public void newCertEvent(X509Certificate cert, byte[] digest) {
         final String offeredServerCertBase64 = base64(cert);
         final HashMap<String, String> markers = new HashMap<>();
         markers.put("subject", cert.getSubjectX500Principal().getName());
         markers.put("new-cert", offeredServerCertBase64);
         markers.put("new-cert-sha256", ENCODER.encodeToString(digest));
-        SemaEventLogger.log(new ChangedPeerCertificateSEMaEvent("One of our peers new server certificate:\n"
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(new ChangedPeerCertificateSEMaEvent("One of our peers new server certificate:\n"
                 + "subject: " + cert.getSubjectX500Principal().getName() + "\n"
                 + "new cert: " + offeredServerCertBase64 + "\n"
                 + "Note: trusting \"new cert\".",
                 Markers.appendEntries(markers)
-        ));
+        )));
     }
 
     public void differentCertEvent(X509Certificate cert, byte[] referenceDigest, byte[] digest) {
@@ -37,13 +41,13 @@ public class EstimateSemaEventService {
         markers.put("old-cert-sha256", ENCODER.encodeToString(referenceDigest));
         markers.put("new-cert", offeredServerCertBase64);
         markers.put("new-cert-sha256", ENCODER.encodeToString(digest));
-        SemaEventLogger.log(new ChangedPeerCertificateSEMaEvent("One of our peers rotated their server certificate:\n"
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(new ChangedPeerCertificateSEMaEvent("One of our peers rotated their server certificate:\n"
                 + "subject: " + cert.getSubjectX500Principal().getName() + "\n"
                 + "reference cert SHA-256: " + ENCODER.encodeToString(referenceDigest) + "\n"
                 + "new cert: " + offeredServerCertBase64 + "\n"
                 + "Note: not trusting \"new cert\".",
                 Markers.appendEntries(markers)
-        ));
+        )));
     }
 
     /**
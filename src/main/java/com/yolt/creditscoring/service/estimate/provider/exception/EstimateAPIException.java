@@ -1,7 +1,21 @@
 package com.yolt.creditscoring.service.estimate.provider.exception;
 
+import lombok.Getter;
+
+@Getter
 public class EstimateAPIException extends RuntimeException {
+
+    /**
+     * Whether the same request could succeed when it is sent again later, e.g. on a 5xx response.
+     */
+    private final boolean transientFailure;
+
     public EstimateAPIException(String message) {
+        this(message, false);
+    }
+
+    public EstimateAPIException(String message, boolean transientFailure) {
         super(message);
+        this.transientFailure = transientFailure;
     }
 }
@@ -0,0 +1,44 @@
+package com.yolt.creditscoring.service.estimate.scoring;
+
+import com.yolt.creditscoring.common.outbox.ExponentialBackoff;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the asynchronous Estimate PD scoring stage.
+ * At most {@code concurrency} requests are sent to the Estimate API at the same time by a single pod.
+ * Transient failures are retried with exponential backoff, starting at {@code initialBackoff} and capped at
+ * {@code maxBackoff}, until {@code maxAttempts} is reached.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.outbox.estimate-scoring")
+public class EstimateScoringProperties {
+
+    private final int concurrency;
+
+    private final int maxAttempts;
+
+    private final ExponentialBackoff backoff;
+
+    /**
+     * Time after which a claimed request is picked up again when no result was stored, e.g. because the pod died.
+     * Should be higher than the response timeout of the Estimate API.
+     */
+    private final Duration lease;
+
+    public EstimateScoringProperties(@DefaultValue("4") int concurrency,
+                                     @DefaultValue("6") int maxAttempts,
+                                     @DefaultValue("30s") Duration initialBackoff,
+                                     @DefaultValue("30m") Duration maxBackoff,
+                                     @DefaultValue("15m") Duration lease) {
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.backoff = new ExponentialBackoff(initialBackoff, maxBackoff);
+        this.lease = lease;
+    }
+}
@@ -0,0 +1,22 @@
+package com.yolt.creditscoring.service.estimate.scoring;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class EstimateScoringScheduler {
+
+    private final EstimateScoringService estimateScoringService;
+
+    @Scheduled(fixedDelayString = "${credit-scoring.outbox.estimate-scoring.poll-interval-ms:5000}")
+    public void processPendingRequests() {
+        int submitted = estimateScoringService.processPendingRequests();
+        if (submitted > 0) {
+            log.info("Submitted {} pending Estimate request(s)", submitted);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.yolt.creditscoring.service.estimate.scoring;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yolt.creditscoring.common.outbox.OutboxDispatcher;
+import com.yolt.creditscoring.configuration.AsyncConfiguration;
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.creditscore.model.PdStatus;
+import com.yolt.creditscoring.service.estimate.provider.EstimatePDRequestCreator;
+import com.yolt.creditscoring.service.estimate.provider.EstimateProvider;
+import com.yolt.creditscoring.service.estimate.provider.dto.EstimatePDRequestDTO;
+import com.yolt.creditscoring.service.estimate.provider.dto.ProbabilityOfDefaultStorage;
+import com.yolt.creditscoring.service.estimate.provider.exception.EstimateAPIException;
+import com.yolt.creditscoring.service.estimate.storage.EstimateStorageService;
+import com.yolt.creditscoring.service.estimate.storage.PendingEstimateRequest;
+import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Asynchronous stage which fetches the PD score from the Estimate API.
+ * The credit report is stored without waiting for Estimate; the request is persisted as {@link PdStatus#PENDING}
+ * and processed later by {@link #processPendingRequests()}, so the report is not held back by a slow Estimate API.
+ */
+@Slf4j
+@Service
+public class EstimateScoringService {
+
+    private static final Clock clock = ClockConfig.getClock();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final EstimateProvider estimateProvider;
+    private final EstimateStorageService estimateStorageService;
+    private final EstimateScoringProperties properties;
+    private final OutboxDispatcher<PendingEstimateRequest> dispatcher;
+
+    public EstimateScoringService(EstimateProvider estimateProvider,
+                                  EstimateStorageService estimateStorageService,
+                                  EstimateScoringProperties properties,
+                                  @Qualifier(AsyncConfiguration.ESTIMATE_SCORING_EXECUTOR) TaskExecutor executor) {
+        this.estimateProvider = estimateProvider;
+        this.estimateStorageService = estimateStorageService;
+        this.properties = properties;
+        this.dispatcher = new OutboxDispatcher<>("Estimate request", properties.getConcurrency(), executor,
+                limit -> estimateStorageService.claimPendingRequests(OffsetDateTime.now(clock), properties.getLease(), limit),
+                this::process);
+    }
+
+    /**
+     * Store the Estimate API request for the given account, so it can be sent once the Yolt user is already removed.
+     */
+    public void enqueue(@NonNull UUID userId, @NonNull CreditScoreAccountDTO account) {
+        String request;
+        try {
+            request = OBJECT_MAPPER.writeValueAsString(EstimatePDRequestCreator.createRequest(account));
+        } catch (Exception e) {
+            log.error("There was an error when creating the request for Estimate API", e);
+            estimateStorageService.save(userId, ProbabilityOfDefaultStorage.builder()
+                    .status(PdStatus.ERROR)
+                    .build());
+            return;
+        }
+        estimateStorageService.savePending(userId, request, OffsetDateTime.now(clock));
+    }
+
+    /**
+     * Claim the pending requests which are due and send them to the Estimate API. Only as many requests are claimed
+     * as there are free slots, the rest stays available for other pods.
+     *
+     * @return number of requests submitted for processing
+     */
+    public int processPendingRequests() {
+        return dispatcher.dispatch();
+    }
+
+    void process(PendingEstimateRequest pendingRequest) {
+        int attempts = pendingRequest.attempts() + 1;
+        try {
+            EstimatePDRequestDTO request = OBJECT_MAPPER.readValue(pendingRequest.request(), EstimatePDRequestDTO.class);
+            ProbabilityOfDefaultStorage result = estimateProvider.calculatePD(request);
+            estimateStorageService.complete(pendingRequest.id(), attempts, result, null);
+            log.info("PD score stored with status {} after {} attempt(s)", result.getStatus(), attempts);
+        } catch (Exception e) {
+            if (isTransient(e) && attempts < properties.getMaxAttempts()) {
+                Duration backoff = properties.getBackoff().delay(attempts);
+                log.warn("Transient error when fetching PD score from Estimate API, attempt {} of {}, next attempt in {}",
+                        attempts, properties.getMaxAttempts(), backoff, e);
+                estimateStorageService.scheduleRetry(pendingRequest.id(), attempts, OffsetDateTime.now(clock).plus(backoff), e.getMessage());
+                return;
+            }
+            log.error("There was an error when fetching PD score from Estimate API", e);
+            estimateStorageService.complete(pendingRequest.id(), attempts, ProbabilityOfDefaultStorage.builder()
+                    .status(PdStatus.ERROR)
+                    .build(), e.getMessage());
+        }
+    }
+
+    private static boolean isTransient(Exception e) {
+        return (e instanceof EstimateAPIException apiException && apiException.isTransientFailure())
+                || e instanceof WebClientRequestException;
+    }
+}
@@ -9,6 +9,7 @@ import lombok.experimental.Accessors;
 import javax.persistence.*;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 import static com.yolt.creditscoring.service.estimate.storage.EstimateEntity.TABLE_NAME;
@@ -36,4 +37,16 @@ public class EstimateEntity {
     @Enumerated(EnumType.STRING)
     private PdStatus status;
 
+    /**
+     * Serialized Estimate API request, kept only while the score is {@link PdStatus#PENDING}.
+     * The Yolt user and its transactions are removed once the credit report is calculated.
+     */
+    private String request;
+
+    private int attempts;
+
+    private OffsetDateTime nextAttemptTime;
+
+    private String lastError;
+
 }
@@ -1,11 +1,28 @@
 package com.yolt.creditscoring.service.estimate.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface EstimateRepository extends JpaRepository<EstimateEntity, UUID> {
 
     Optional<EstimateEntity> findByUserId(UUID userId);
+
+    /**
+     * Locks pending requests which are due for (another) attempt. Rows locked by other pods are skipped,
+     * so every request is processed by a single pod.
+     */
+    @Query(value = """
+            SELECT * FROM estimate_report
+            WHERE status = 'PENDING' AND next_attempt_time <= :now
+            ORDER BY next_attempt_time
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EstimateEntity> findDueForScoringAndLock(@Param("now") OffsetDateTime now, @Param("limit") int limit);
 }
@@ -1,13 +1,19 @@
 package com.yolt.creditscoring.service.estimate.storage;
 
 import com.yolt.creditscoring.controller.admin.estimate.EstimateReportNotFound;
+import com.yolt.creditscoring.service.creditscore.model.PdStatus;
 import com.yolt.creditscoring.service.estimate.provider.dto.ProbabilityOfDefaultStorage;
+import com.yolt.creditscoring.utility.id.IdGenerators;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -30,11 +36,58 @@ public class EstimateStorageService {
 
     public void save(UUID userId, ProbabilityOfDefaultStorage pdresult) {
         creditScoreReportRepository.save(new EstimateEntity()
-                .setId(UUID.randomUUID())
+                .setId(IdGenerators.getPersistenceIds().generate())
                 .setUserId(userId)
                 .setGrade(pdresult.getGrade())
                 .setScore(pdresult.getScore())
                 .setStatus(pdresult.getStatus()));
 
     }
+
+    public void savePending(@NonNull UUID userId, @NonNull String request, @NonNull OffsetDateTime firstAttemptTime) {
+        creditScoreReportRepository.save(new EstimateEntity()
+                .setId(IdGenerators.getPersistenceIds().generate())
+                .setUserId(userId)
+                .setStatus(PdStatus.PENDING)
+                .setRequest(request)
+                .setNextAttemptTime(firstAttemptTime));
+    }
+
+    /**
+     * Claims pending requests which are due. The next attempt time of claimed requests is moved by {@code lease},
+     * so a request is picked up again when the pod processing it dies before storing the result.
+     */
+    @Transactional
+    public List<PendingEstimateRequest> claimPendingRequests(@NonNull OffsetDateTime now, @NonNull Duration lease, int limit) {
+        return creditScoreReportRepository.findDueForScoringAndLock(now, limit).stream()
+                .map(entity -> {
+                    entity.setNextAttemptTime(now.plus(lease));
+                    return new PendingEstimateRequest(entity.getId(), entity.getUserId(), entity.getRequest(), entity.getAttempts());
+                })
+                .toList();
+    }
+
+    /**
+     * Stores the final result of a pending request. The user could have been removed in the meantime,
+     * in which case there is nothing to update.
+     */
+    @Transactional
+    public void complete(@NonNull UUID id, int attempts, @NonNull ProbabilityOfDefaultStorage pdresult, String error) {
+        creditScoreReportRepository.findById(id).ifPresent(entity -> entity
+                .setGrade(pdresult.getGrade())
+                .setScore(pdresult.getScore())
+                .setStatus(pdresult.getStatus())
+                .setAttempts(attempts)
+                .setLastError(error)
+                .setRequest(null)
+                .setNextAttemptTime(null));
+    }
+
+    @Transactional
+    public void scheduleRetry(@NonNull UUID id, int attempts, @NonNull OffsetDateTime nextAttemptTime, String error) {
+        creditScoreReportRepository.findById(id).ifPresent(entity -> entity
+                .setAttempts(attempts)
+                .setLastError(error)
+                .setNextAttemptTime(nextAttemptTime));
+    }
 }
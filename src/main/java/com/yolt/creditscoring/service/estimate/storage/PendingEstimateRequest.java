@@ -0,0 +1,8 @@
+package com.yolt.creditscoring.service.estimate.storage;
+
+import com.yolt.creditscoring.common.outbox.OutboxEntry;
+
+import java.util.UUID;
+
+public record PendingEstimateRequest(UUID id, UUID userId, String request, int attempts) implements OutboxEntry {
+}
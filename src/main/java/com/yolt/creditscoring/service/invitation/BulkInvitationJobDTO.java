@@ -0,0 +1,31 @@
+package com.yolt.creditscoring.service.invitation;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class BulkInvitationJobDTO {
+
+    UUID jobId;
+
+    OffsetDateTime createdDate;
+
+    int rowCount;
+
+    int invitedCount;
+
+    int rejectedCount;
+
+    int emailsPending;
+
+    int emailsSent;
+
+    int emailsFailed;
+
+    List<BulkInvitationRowDTO> rows;
+}
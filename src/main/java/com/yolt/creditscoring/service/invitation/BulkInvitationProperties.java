@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.service.invitation;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of bulk invitations. A request has at most {@code maxRows} rows, all of them are inserted in one transaction.
+ * Jobs are removed {@code retention} after they were created, once none of their invitation e-mails is pending.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.bulk-invitation")
+public class BulkInvitationProperties {
+
+    private final int maxRows;
+
+    private final Duration retention;
+
+    public BulkInvitationProperties(@DefaultValue("5000") int maxRows,
+                                    @DefaultValue("30d") Duration retention) {
+        this.maxRows = maxRows;
+        this.retention = retention;
+    }
+}
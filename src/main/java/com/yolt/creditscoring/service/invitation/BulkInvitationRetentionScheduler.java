@@ -0,0 +1,34 @@
+package com.yolt.creditscoring.service.invitation;
+
+import com.yolt.creditscoring.common.scheduling.SchedulerLock;
+import com.yolt.creditscoring.configuration.ClockConfig;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+
+/**
+ * Removes finished bulk invitation jobs after their retention, see {@link BulkInvitationProperties}.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class BulkInvitationRetentionScheduler {
+
+    private static final Clock clock = ClockConfig.getClock();
+
+    private final BulkInvitationStorageService bulkInvitationStorageService;
+    private final BulkInvitationProperties properties;
+
+    @Scheduled(cron = "${credit-scoring.bulk-invitation.retention-cron:0 30 2 * * *}")
+    @SchedulerLock(name = "bulk-invitation-retention", lockAtMostFor = "30m")
+    public void purge() {
+        int deleted = bulkInvitationStorageService.deleteFinishedJobsCreatedBefore(OffsetDateTime.now(clock).minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.info("Removed {} finished bulk invitation job(s) after retention of {}", deleted, properties.getRetention());
+        }
+    }
+}
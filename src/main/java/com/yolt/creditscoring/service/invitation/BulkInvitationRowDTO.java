@@ -0,0 +1,27 @@
+package com.yolt.creditscoring.service.invitation;
+
+import com.yolt.creditscoring.service.email.outbox.model.EmailOutboxStatus;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationRowStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class BulkInvitationRowDTO {
+
+    int rowNumber;
+
+    BulkInvitationRowStatus status;
+
+    List<String> errors;
+
+    UUID creditScoreUserId;
+
+    /**
+     * Status of the invitation e-mail, empty for rejected rows.
+     */
+    EmailOutboxStatus emailStatus;
+}
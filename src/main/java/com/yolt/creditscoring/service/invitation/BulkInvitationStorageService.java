@@ -0,0 +1,84 @@
+package com.yolt.creditscoring.service.invitation;
+
+import com.yolt.creditscoring.service.email.outbox.EmailOutboxStorageService;
+import com.yolt.creditscoring.service.email.outbox.model.EmailOutboxStatus;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationJobEntity;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationJobRepository;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationRowEntity;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationRowRepository;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BulkInvitationStorageService {
+
+    private static final String ERROR_SEPARATOR = "\n";
+
+    private final BulkInvitationJobRepository jobRepository;
+    private final BulkInvitationRowRepository rowRepository;
+    private final EmailOutboxStorageService emailOutboxStorageService;
+
+    /**
+     * Inserts the job and all its rows in JDBC batches. The job is flushed first, so the rows never reach the database
+     * before the job they reference.
+     */
+    @Transactional
+    public void saveJob(@NonNull BulkInvitationJobEntity job, @NonNull List<BulkInvitationRowEntity> rows) {
+        jobRepository.insert(job);
+        jobRepository.flush();
+        rowRepository.insertAll(rows);
+    }
+
+    /**
+     * @return number of removed jobs
+     */
+    @Transactional
+    public int deleteFinishedJobsCreatedBefore(@NonNull OffsetDateTime createdBefore) {
+        return jobRepository.deleteFinishedJobsCreatedBefore(createdBefore);
+    }
+
+    public Optional<BulkInvitationJobDTO> findJob(@NonNull UUID jobId, @NonNull UUID clientId) {
+        return jobRepository.findByIdAndClientId(jobId, clientId)
+                .map(job -> {
+                    List<BulkInvitationRowEntity> rows = rowRepository.findAllByJobIdOrderByRowNumber(jobId);
+                    Map<UUID, EmailOutboxStatus> emailStatuses = emailOutboxStorageService.findStatuses(rows.stream()
+                            .map(BulkInvitationRowEntity::getEmailOutboxId)
+                            .filter(Objects::nonNull)
+                            .toList());
+                    return mapJob(job, rows, emailStatuses);
+                });
+    }
+
+    private static BulkInvitationJobDTO mapJob(BulkInvitationJobEntity job, List<BulkInvitationRowEntity> rows,
+                                               Map<UUID, EmailOutboxStatus> emailStatuses) {
+        Map<EmailOutboxStatus, Long> emailStatusCounts = emailStatuses.values().stream()
+                .collect(Collectors.groupingBy(status -> status, () -> new EnumMap<>(EmailOutboxStatus.class), Collectors.counting()));
+
+        return BulkInvitationJobDTO.builder()
+                .jobId(job.getId())
+                .createdDate(job.getCreatedDate())
+                .rowCount(job.getRowCount())
+                .invitedCount(job.getInvitedCount())
+                .rejectedCount(job.getRejectedCount())
+                .emailsPending(emailStatusCounts.getOrDefault(EmailOutboxStatus.PENDING, 0L).intValue())
+                .emailsSent(emailStatusCounts.getOrDefault(EmailOutboxStatus.SENT, 0L).intValue())
+                .emailsFailed(emailStatusCounts.getOrDefault(EmailOutboxStatus.FAILED, 0L).intValue())
+                .rows(rows.stream()
+                        .map(row -> BulkInvitationRowDTO.builder()
+                                .rowNumber(row.getRowNumber())
+                                .status(row.getStatus())
+                                .errors(row.getErrors() == null ? List.of() : List.of(row.getErrors().split(ERROR_SEPARATOR)))
+                                .creditScoreUserId(row.getCreditScoreUserId())
+                                .emailStatus(row.getEmailOutboxId() == null ? null : emailStatuses.get(row.getEmailOutboxId()))
+                                .build())
+                        .toList())
+                .build();
+    }
+}
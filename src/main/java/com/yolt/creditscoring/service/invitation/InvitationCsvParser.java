@@ -0,0 +1,121 @@
+package com.yolt.creditscoring.service.invitation;
+
+import com.yolt.creditscoring.controller.admin.users.InviteUserDTO;
+import com.yolt.creditscoring.exception.InvalidBulkInvitationException;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Reads bulk invitations from CSV (RFC 4180). The first line is a header with the columns {@code name},
+ * {@code email} and optionally {@code clientEmailId}, in any order. Empty lines are skipped.
+ * <p>
+ * A value which can not be read, like a malformed {@code clientEmailId}, is returned as a {@link ParsedRow#error()}
+ * so the row is rejected together with the other validation errors.
+ */
+@UtilityClass
+public class InvitationCsvParser {
+
+    private static final String NAME = "name";
+    private static final String EMAIL = "email";
+    private static final String CLIENT_EMAIL_ID = "clientemailid";
+
+    public record ParsedRow(InviteUserDTO invitation, String error) {
+    }
+
+    public static List<ParsedRow> parse(String csv) {
+        List<List<String>> records = readRecords(csv.startsWith("\uFEFF") ? csv.substring(1) : csv);
+        if (records.isEmpty()) {
+            throw new InvalidBulkInvitationException("CSV has no header");
+        }
+
+        List<String> header = records.get(0).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int nameIndex = header.indexOf(NAME);
+        int emailIndex = header.indexOf(EMAIL);
+        int clientEmailIdIndex = header.indexOf(CLIENT_EMAIL_ID);
+        if (nameIndex < 0 || emailIndex < 0) {
+            throw new InvalidBulkInvitationException("CSV header has to contain the columns name and email");
+        }
+
+        List<ParsedRow> rows = new ArrayList<>(records.size() - 1);
+        for (List<String> values : records.subList(1, records.size())) {
+            String clientEmailId = value(values, clientEmailIdIndex);
+            UUID parsedClientEmailId = null;
+            String error = null;
+            if (clientEmailId != null) {
+                try {
+                    parsedClientEmailId = UUID.fromString(clientEmailId);
+                } catch (IllegalArgumentException e) {
+                    error = "clientEmailId: must be a valid id";
+                }
+            }
+            rows.add(new ParsedRow(
+                    new InviteUserDTO(value(values, nameIndex), value(values, emailIndex), parsedClientEmailId),
+                    error));
+        }
+        return rows;
+    }
+
+    private static String value(List<String> values, int index) {
+        if (index < 0 || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<List<String>> readRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean lineHasContent = false;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                lineHasContent = true;
+            } else if (c == ',') {
+                record.add(value.toString());
+                value.setLength(0);
+                lineHasContent = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (lineHasContent || value.length() > 0) {
+                    record.add(value.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                value.setLength(0);
+                lineHasContent = false;
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidBulkInvitationException("CSV has an unterminated quoted value");
+        }
+        if (lineHasContent || value.length() > 0) {
+            record.add(value.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
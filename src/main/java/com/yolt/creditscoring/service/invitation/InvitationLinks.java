@@ -0,0 +1,19 @@
+package com.yolt.creditscoring.service.invitation;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.UUID;
+
+@UtilityClass
+public class InvitationLinks {
+
+    private static final String INVITATION_ENDPOINT = "/consent/";
+
+    public static String invitationRedirectUrl(String baseUrl, String invitationHash) {
+        return baseUrl + INVITATION_ENDPOINT + invitationHash;
+    }
+
+    public static String clientLogoUrl(String baseUrl, UUID clientId) {
+        return "%s/clients/%s/logo".formatted(baseUrl, clientId);
+    }
+}
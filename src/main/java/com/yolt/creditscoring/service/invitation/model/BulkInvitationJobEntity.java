@@ -0,0 +1,42 @@
+package com.yolt.creditscoring.service.invitation.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.invitation.model.BulkInvitationJobEntity.TABLE_NAME;
+
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class BulkInvitationJobEntity {
+    public static final String TABLE_NAME = "bulk_invitation_job";
+
+    @Id
+    private UUID id;
+
+    private UUID clientId;
+
+    /**
+     * Client admin or client token e-mail address.
+     */
+    private String createdByEmail;
+
+    private String baseUrl;
+
+    private int rowCount;
+
+    private int invitedCount;
+
+    private int rejectedCount;
+
+    private OffsetDateTime createdDate;
+}
@@ -0,0 +1,31 @@
+package com.yolt.creditscoring.service.invitation.model;
+
+import com.yolt.creditscoring.common.jpa.InsertRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BulkInvitationJobRepository extends JpaRepository<BulkInvitationJobEntity, UUID>, InsertRepository<BulkInvitationJobEntity> {
+
+    Optional<BulkInvitationJobEntity> findByIdAndClientId(UUID id, UUID clientId);
+
+    /**
+     * Deletes jobs created before the given time without pending invitation e-mails, their rows are deleted by cascade.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM bulk_invitation_job j
+            WHERE j.created_date < :createdBefore
+              AND NOT EXISTS (SELECT 1
+                              FROM bulk_invitation_row r
+                                       JOIN email_outbox e ON e.id = r.email_outbox_id
+                              WHERE r.job_id = j.id
+                                AND e.status = 'PENDING')
+            """, nativeQuery = true)
+    int deleteFinishedJobsCreatedBefore(@Param("createdBefore") OffsetDateTime createdBefore);
+}
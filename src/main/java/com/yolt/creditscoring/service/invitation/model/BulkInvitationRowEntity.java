@@ -0,0 +1,50 @@
+package com.yolt.creditscoring.service.invitation.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.*;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.invitation.model.BulkInvitationRowEntity.TABLE_NAME;
+
+/**
+ * Result of a single row of a bulk invitation. The name and e-mail of the row are not kept, an invited row refers to
+ * the user, so they are removed together with the user, and a rejected row is identified by its row number.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class BulkInvitationRowEntity {
+    public static final String TABLE_NAME = "bulk_invitation_row";
+
+    @Id
+    private UUID id;
+
+    private UUID jobId;
+
+    /**
+     * Position of the row in the request, starting at 1.
+     */
+    private int rowNumber;
+
+    private UUID clientEmailId;
+
+    @Enumerated(EnumType.STRING)
+    private BulkInvitationRowStatus status;
+
+    /**
+     * Validation errors of a rejected row, one per line.
+     */
+    private String errors;
+
+    private UUID creditScoreUserId;
+
+    /**
+     * Invitation e-mail of an invited user in the e-mail outbox.
+     */
+    private UUID emailOutboxId;
+}
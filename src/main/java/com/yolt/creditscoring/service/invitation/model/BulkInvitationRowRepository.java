@@ -0,0 +1,12 @@
+package com.yolt.creditscoring.service.invitation.model;
+
+import com.yolt.creditscoring.common.jpa.InsertRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface BulkInvitationRowRepository extends JpaRepository<BulkInvitationRowEntity, UUID>, InsertRepository<BulkInvitationRowEntity> {
+
+    List<BulkInvitationRowEntity> findAllByJobIdOrderByRowNumber(UUID jobId);
+}
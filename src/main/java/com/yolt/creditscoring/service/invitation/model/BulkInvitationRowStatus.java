@@ -0,0 +1,12 @@
+package com.yolt.creditscoring.service.invitation.model;
+
+public enum BulkInvitationRowStatus {
+    /**
+     * User was created, the invitation e-mail is sent by the e-mail outbox.
+     */
+    INVITED,
+    /**
+     * Row did not pass validation, no user was created.
+     */
+    REJECTED
+}
@@ -0,0 +1,46 @@
+package com.yolt.creditscoring.service.invitation.sweeper;
+
+import com.yolt.creditscoring.service.user.SweptUser;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
+import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Expires a batch of overdue invitations together with their journey events and webhooks in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class InvitationExpiryService {
+
+    private final UserStorageService userStorageService;
+    private final UserJourneyService userJourneyService;
+    private final WebhookService webhookService;
+
+    /**
+     * @return the expired users
+     */
+    @Transactional
+    public List<SweptUser> expireOverdueInvitations(@NonNull OffsetDateTime invitedBefore,
+                                                    @NonNull OffsetDateTime abandonedBefore,
+                                                    int limit) {
+        List<SweptUser> expired = userStorageService.expireOverdueInvitations(invitedBefore, abandonedBefore, limit);
+
+        expired.stream()
+                .collect(Collectors.groupingBy(SweptUser::clientId, Collectors.mapping(SweptUser::id, Collectors.toList())))
+                .forEach(userJourneyService::registerExpired);
+        expired.forEach(user -> webhookService.enqueue(user.clientId(), user.id(),
+                WebhookEventType.INVITATION_EXPIRED, InvitationStatus.EXPIRED));
+
+        return expired;
+    }
+}
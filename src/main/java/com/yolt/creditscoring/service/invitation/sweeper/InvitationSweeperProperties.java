@@ -0,0 +1,54 @@
+package com.yolt.creditscoring.service.invitation.sweeper;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the invitation sweeper.
+ * Invitations which are not used within {@code invitationValidity} and flows without activity for
+ * {@code abandonedAfter} after the consent are expired. A run handles at most {@code maxBatchesPerRun} batches of
+ * {@code batchSize} users, Yolt users are removed on {@code removalConcurrency} threads. With {@code dryRun} the
+ * sweeper only reports what it would do.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.invitation-sweeper")
+public class InvitationSweeperProperties {
+
+    private final boolean dryRun;
+
+    private final Duration invitationValidity;
+
+    private final Duration abandonedAfter;
+
+    private final int batchSize;
+
+    private final int maxBatchesPerRun;
+
+    private final int removalConcurrency;
+
+    /**
+     * Time after which a Yolt user is claimed again when its removal did not succeed, e.g. because the Yolt API failed.
+     */
+    private final Duration removalLease;
+
+    public InvitationSweeperProperties(@DefaultValue("false") boolean dryRun,
+                                       @DefaultValue("72h") Duration invitationValidity,
+                                       @DefaultValue("7d") Duration abandonedAfter,
+                                       @DefaultValue("500") int batchSize,
+                                       @DefaultValue("20") int maxBatchesPerRun,
+                                       @DefaultValue("4") int removalConcurrency,
+                                       @DefaultValue("1h") Duration removalLease) {
+        this.dryRun = dryRun;
+        this.invitationValidity = invitationValidity;
+        this.abandonedAfter = abandonedAfter;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.removalConcurrency = removalConcurrency;
+        this.removalLease = removalLease;
+    }
+}
@@ -0,0 +1,25 @@
+package com.yolt.creditscoring.service.invitation.sweeper;
+
+import com.yolt.creditscoring.common.scheduling.SchedulerLock;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class InvitationSweeperScheduler {
+
+    private final InvitationSweeperService invitationSweeperService;
+
+    @Scheduled(fixedDelayString = "${credit-scoring.invitation-sweeper.interval-ms:900000}",
+            initialDelayString = "${credit-scoring.invitation-sweeper.initial-delay-ms:60000}")
+    @SchedulerLock(name = "invitation-sweeper", lockAtMostFor = "30m")
+    public void sweep() {
+        InvitationSweeperService.SweepResult result = invitationSweeperService.sweep();
+        if (result.expired() > 0 || result.yoltUsersRemoved() > 0 || result.yoltUserRemovalsFailed() > 0) {
+            log.info("Invitation sweep: {}", result);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.yolt.creditscoring.service.invitation.sweeper;
+
+import com.yolt.creditscoring.configuration.AsyncConfiguration;
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.user.SweptUser;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.yoltapi.YoltProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Expires invitations which were never used and removes the Yolt users of expired invitations.
+ * <p>
+ * Without the sweeper an invitation only expires when the user opens the link after the validity, so the Yolt user
+ * created at consent lives on upstream. Every step claims its users with {@code FOR UPDATE SKIP LOCKED}, so the sweeper
+ * runs on all pods without handling a user twice.
+ */
+@Slf4j
+@Service
+public class InvitationSweeperService {
+
+    private static final Clock clock = ClockConfig.getClock();
+    private static final String USERS_METRIC = "invitation_sweeper_users";
+    private static final String RUN_METRIC = "invitation_sweeper_run";
+
+    private final InvitationExpiryService invitationExpiryService;
+    private final UserStorageService userStorageService;
+    private final YoltProvider yoltProvider;
+    private final InvitationSweeperProperties properties;
+    private final TaskExecutor executor;
+    private final MeterRegistry registry;
+
+    public InvitationSweeperService(InvitationExpiryService invitationExpiryService,
+                                    UserStorageService userStorageService,
+                                    YoltProvider yoltProvider,
+                                    InvitationSweeperProperties properties,
+                                    @Qualifier(AsyncConfiguration.INVITATION_SWEEPER_EXECUTOR) TaskExecutor executor,
+                                    MeterRegistry registry) {
+        this.invitationExpiryService = invitationExpiryService;
+        this.userStorageService = userStorageService;
+        this.yoltProvider = yoltProvider;
+        this.properties = properties;
+        this.executor = executor;
+        this.registry = registry;
+    }
+
+    public SweepResult sweep() {
+        Timer.Sample sample = Timer.start(registry);
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        OffsetDateTime invitedBefore = now.minus(properties.getInvitationValidity());
+        OffsetDateTime abandonedBefore = now.minus(properties.getAbandonedAfter());
+        OffsetDateTime leaseExpiredBefore = now.minus(properties.getRemovalLease());
+
+        SweepResult result = properties.isDryRun()
+                ? dryRun(invitedBefore, abandonedBefore, leaseExpiredBefore)
+                : new SweepResult(false, expire(invitedBefore, abandonedBefore), 0, 0).plus(removeYoltUsers(leaseExpiredBefore));
+
+        sample.stop(registry.timer(RUN_METRIC, "dry_run", String.valueOf(properties.isDryRun())));
+        return result;
+    }
+
+    private SweepResult dryRun(OffsetDateTime invitedBefore, OffsetDateTime abandonedBefore, OffsetDateTime leaseExpiredBefore) {
+        long expired = userStorageService.countOverdueInvitations(invitedBefore, abandonedBefore);
+        long yoltUsers = userStorageService.countYoltUsersToRemove(leaseExpiredBefore);
+        log.info("Invitation sweeper dry run: would expire {} invitation(s) and remove at least {} Yolt user(s)", expired, yoltUsers);
+        count("expired", true, expired);
+        count("yolt_user_removed", true, yoltUsers);
+        return new SweepResult(true, expired, yoltUsers, 0);
+    }
+
+    private long expire(OffsetDateTime invitedBefore, OffsetDateTime abandonedBefore) {
+        long expired = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int size = invitationExpiryService.expireOverdueInvitations(invitedBefore, abandonedBefore, properties.getBatchSize()).size();
+            expired += size;
+            count("expired", false, size);
+            if (size < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Removes the Yolt users of expired invitations, including the ones expired when the user opened the link. Users of
+     * which the removal failed are claimed again after the lease.
+     */
+    private SweepResult removeYoltUsers(OffsetDateTime leaseExpiredBefore) {
+        long removed = 0;
+        long failed = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            List<SweptUser> users = userStorageService.claimYoltUsersToRemove(leaseExpiredBefore, properties.getBatchSize());
+
+            List<CompletableFuture<UUID>> removals = users.stream()
+                    .map(user -> CompletableFuture.supplyAsync(() -> removeYoltUser(user), executor))
+                    .toList();
+            List<UUID> removedUserIds = removals.stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .toList();
+            userStorageService.removeYoltUsers(removedUserIds);
+
+            removed += removedUserIds.size();
+            failed += users.size() - removedUserIds.size();
+            count("yolt_user_removed", false, removedUserIds.size());
+            count("yolt_user_removal_failed", false, users.size() - removedUserIds.size());
+            if (users.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return new SweepResult(false, 0, removed, failed);
+    }
+
+    /**
+     * @return id of the user when the Yolt user was removed, null otherwise
+     */
+    private UUID removeYoltUser(SweptUser user) {
+        try {
+            yoltProvider.removeUser(user.yoltUserId());
+            return user.id();
+        } catch (RuntimeException e) {
+            log.warn("Removing Yolt user of expired user {} failed, it will be retried after the lease", user.id(), e);
+            return null;
+        }
+    }
+
+    private void count(String result, boolean dryRun, long amount) {
+        if (amount > 0) {
+            registry.counter(USERS_METRIC, "result", result, "dry_run", String.valueOf(dryRun)).increment(amount);
+        }
+    }
+
+    public record SweepResult(boolean dryRun, long expired, long yoltUsersRemoved, long yoltUserRemovalsFailed) {
+
+        SweepResult plus(SweepResult other) {
+            return new SweepResult(dryRun, expired + other.expired, yoltUsersRemoved + other.yoltUsersRemoved,
+                    yoltUserRemovalsFailed + other.yoltUserRemovalsFailed);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryType;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Share of a category in the total incoming or outgoing amount over the reports of the portfolio.
+ */
+@Value
+@Builder
+public class CategoryShareDTO {
+
+    Category category;
+
+    SMECategoryType categoryType;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal averageShare;
+
+    /**
+     * Number of reports per share of 0-10%, 10-20%, ..., 90-100%.
+     */
+    List<Long> histogram;
+}
@@ -0,0 +1,41 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Distribution of a value over the reports of the portfolio. The percentiles are at most 1% off.
+ */
+@Value
+@Builder
+public class DistributionDTO {
+
+    long reports;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal min;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal p10;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal p25;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal median;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal p75;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal p90;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal max;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    BigDecimal mean;
+}
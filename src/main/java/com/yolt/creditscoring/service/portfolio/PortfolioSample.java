@@ -0,0 +1,20 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.yolt.creditscoring.service.creditscore.model.Category;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Values of one report which are added to the statistics of the portfolio. All values are calculated over the report
+ * window, like the overview of the report.
+ *
+ * @param categoryShares share of a category in the total incoming or outgoing amount, for every category
+ */
+public record PortfolioSample(BigDecimal monthlyAverageIncome,
+                              BigDecimal monthlyAverageCost,
+                              BigDecimal averageRecurringCosts,
+                              BigDecimal lowestBalance,
+                              BigDecimal averageBalance,
+                              Map<Category, Double> categoryShares) {
+}
@@ -0,0 +1,123 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.yolt.creditscoring.exception.CreditScoreReportNotFoundException;
+import com.yolt.creditscoring.exception.UserNotFoundException;
+import com.yolt.creditscoring.service.creditscore.category.CategoryService;
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.indicators.IncomeAndOutcomeYearIndicatorsCalculator;
+import com.yolt.creditscoring.service.creditscore.indicators.IncomeAndOutcomeYearIndicatorsDTO;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.AverageRecurringTransactionCalculator;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.CreditScoreReportSnapshotDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
+import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+import static com.yolt.creditscoring.service.creditscore.indicators.IncomeAndOutcomeYearIndicatorsCalculator.getTwelveFullMonthsOfTransactions;
+import static com.yolt.creditscoring.utility.reportwindow.ReportWindow.windowBegin;
+import static com.yolt.creditscoring.utility.reportwindow.ReportWindow.windowEnd;
+
+/**
+ * Calculates the values of a stored report which are part of the portfolio statistics, in the same way as the overview
+ * of the report.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioSampleCalculator {
+
+    private final UserStorageService userStorageService;
+    private final CreditScoreStorageService creditScoreStorageService;
+    private final RecurringTransactionsStorageService recurringTransactionsStorageService;
+    private final CategoryService categoryService;
+    private final IncomeAndOutcomeYearIndicatorsCalculator incomeAndOutcomeYearIndicatorsCalculator;
+    private final AverageRecurringTransactionCalculator averageRecurringTransactionCalculator;
+
+    /**
+     * @return empty when the user or the report has been deleted in the meantime
+     */
+    public Optional<PortfolioSample> sample(UUID userId) {
+        CreditScoreUserDTO user;
+        CreditScoreReportSnapshotDTO report;
+        try {
+            user = userStorageService.findById(userId);
+            report = creditScoreStorageService.getCreditScoreReportSnapshot(user);
+        } catch (UserNotFoundException | CreditScoreReportNotFoundException e) {
+            log.info("Report of user {} is not part of the portfolio statistics, it was deleted", userId);
+            return Optional.empty();
+        }
+        if (report.getBankAccountDetails().getLastDataFetchTime() == null) {
+            return Optional.empty();
+        }
+
+        LocalDate reportFetchTime = report.getBankAccountDetails().getLastDataFetchTime().toLocalDate();
+        Set<MonthlyAdminReportDTO> months = report.getSignedMonths().getMonths();
+        IncomeAndOutcomeYearIndicatorsDTO indicators = incomeAndOutcomeYearIndicatorsCalculator
+                .calculateIncomeAndOutcomeYearIndicatorsReport(months, reportFetchTime);
+        BigDecimal averageRecurringCosts = averageRecurringTransactionCalculator.calculateAverageRecurringValue(
+                        recurringTransactionsStorageService.getMonthlyRecurringTransactionsReportSaveDTOs(report.getReportId()),
+                        reportFetchTime)
+                .getOutcomeAverage();
+        List<MonthlyAdminReportDTO> windowMonths = getTwelveFullMonthsOfTransactions(months,
+                windowBegin(reportFetchTime), windowEnd(reportFetchTime), MonthlyAdminReportDTO::getYear, MonthlyAdminReportDTO::getMonth);
+        Map<Category, SMECategoryDTO> categories =
+                categoryService.getCategoriesForUser(userId, windowBegin(reportFetchTime), windowEnd(reportFetchTime));
+
+        return Optional.of(new PortfolioSample(
+                indicators.getMonthlyAverageIncome(),
+                indicators.getMonthlyAverageCost(),
+                averageRecurringCosts,
+                windowMonths.stream()
+                        .map(MonthlyAdminReportDTO::getLowestBalance)
+                        .min(Comparator.naturalOrder())
+                        .orElse(null),
+                averageBalance(windowMonths),
+                categoryShares(categories)));
+    }
+
+    private static BigDecimal averageBalance(List<MonthlyAdminReportDTO> windowMonths) {
+        if (windowMonths.isEmpty()) {
+            return null;
+        }
+        return windowMonths.stream()
+                .map(MonthlyAdminReportDTO::getAverageBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(BigDecimal.valueOf(windowMonths.size()), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Incoming categories are a share of all incoming amounts, outgoing categories of all outgoing amounts. Categories
+     * without transactions have a share of 0, so every report counts for every category.
+     */
+    static Map<Category, Double> categoryShares(Map<Category, SMECategoryDTO> categories) {
+        BigDecimal totalIncoming = BigDecimal.ZERO;
+        BigDecimal totalOutgoing = BigDecimal.ZERO;
+        for (SMECategoryDTO category : categories.values()) {
+            if (Category.isIncomeCategory(category.getCategoryName())) {
+                totalIncoming = totalIncoming.add(category.getTotalTransactionAmount().abs());
+            } else {
+                totalOutgoing = totalOutgoing.add(category.getTotalTransactionAmount().abs());
+            }
+        }
+
+        Map<Category, Double> shares = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            BigDecimal total = Category.isIncomeCategory(category) ? totalIncoming : totalOutgoing;
+            SMECategoryDTO amount = categories.get(category);
+            shares.put(category, amount == null || total.signum() == 0
+                    ? 0
+                    : amount.getTotalTransactionAmount().abs().doubleValue() / total.doubleValue());
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,120 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import lombok.Getter;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Statistics of all reports of a client. The statistics are mergeable: statistics of separate sets of reports can be
+ * calculated in parallel and merged into the statistics of all reports.
+ */
+@Getter
+public final class PortfolioStatistics {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private long reportCount;
+    private final QuantileSketch monthlyAverageIncome = new QuantileSketch();
+    private final QuantileSketch monthlyAverageCost = new QuantileSketch();
+    private final QuantileSketch averageRecurringCosts = new QuantileSketch();
+    private final QuantileSketch lowestBalance = new QuantileSketch();
+    private final QuantileSketch averageBalance = new QuantileSketch();
+    private final Map<Category, ShareHistogram> categoryShares = new EnumMap<>(Category.class);
+
+    public void add(PortfolioSample sample) {
+        reportCount++;
+        add(monthlyAverageIncome, sample.monthlyAverageIncome());
+        add(monthlyAverageCost, sample.monthlyAverageCost());
+        add(averageRecurringCosts, sample.averageRecurringCosts());
+        add(lowestBalance, sample.lowestBalance());
+        add(averageBalance, sample.averageBalance());
+        sample.categoryShares().forEach((category, share) ->
+                categoryShares.computeIfAbsent(category, key -> new ShareHistogram()).add(share));
+    }
+
+    public void merge(PortfolioStatistics other) {
+        reportCount += other.reportCount;
+        monthlyAverageIncome.merge(other.monthlyAverageIncome);
+        monthlyAverageCost.merge(other.monthlyAverageCost);
+        averageRecurringCosts.merge(other.averageRecurringCosts);
+        lowestBalance.merge(other.lowestBalance);
+        averageBalance.merge(other.averageBalance);
+        other.categoryShares.forEach((category, histogram) ->
+                categoryShares.computeIfAbsent(category, key -> new ShareHistogram()).merge(histogram));
+    }
+
+    public Map<Category, ShareHistogram> getCategoryShares() {
+        return Collections.unmodifiableMap(categoryShares);
+    }
+
+    /**
+     * Reports without e.g. a balance in the report window do not count for that statistic.
+     */
+    private static void add(QuantileSketch sketch, BigDecimal value) {
+        if (value != null) {
+            sketch.add(value.doubleValue());
+        }
+    }
+
+    public byte[] toBytes() {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(reportCount);
+            monthlyAverageIncome.writeTo(out);
+            monthlyAverageCost.writeTo(out);
+            averageRecurringCosts.writeTo(out);
+            lowestBalance.writeTo(out);
+            averageBalance.writeTo(out);
+            out.writeInt(categoryShares.size());
+            for (Map.Entry<Category, ShareHistogram> category : categoryShares.entrySet()) {
+                // By name, so the stored statistics do not depend on the order of the categories
+                out.writeUTF(category.getKey().name());
+                category.getValue().writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalStateException when the statistics were stored in another format, they should be rebuilt
+     */
+    public static PortfolioStatistics fromBytes(byte[] bytes) {
+        var statistics = new PortfolioStatistics();
+        if (bytes.length == 0) {
+            return statistics;
+        }
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Portfolio statistics are stored in format " + version + ", expected " + FORMAT_VERSION);
+            }
+            statistics.reportCount = in.readLong();
+            statistics.monthlyAverageIncome.merge(QuantileSketch.readFrom(in));
+            statistics.monthlyAverageCost.merge(QuantileSketch.readFrom(in));
+            statistics.averageRecurringCosts.merge(QuantileSketch.readFrom(in));
+            statistics.lowestBalance.merge(QuantileSketch.readFrom(in));
+            statistics.averageBalance.merge(QuantileSketch.readFrom(in));
+            int categories = in.readInt();
+            for (int i = 0; i < categories; i++) {
+                String name = in.readUTF();
+                ShareHistogram histogram = ShareHistogram.readFrom(in);
+                Arrays.stream(Category.values())
+                        .filter(category -> category.name().equals(name))
+                        .findFirst()
+                        .ifPresent(category -> statistics.categoryShares.put(category, histogram));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return statistics;
+    }
+}
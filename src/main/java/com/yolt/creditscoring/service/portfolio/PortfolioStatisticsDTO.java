@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class PortfolioStatisticsDTO {
+
+    long reports;
+
+    OffsetDateTime updatedAt;
+
+    DistributionDTO monthlyAverageIncome;
+
+    DistributionDTO monthlyAverageCost;
+
+    DistributionDTO averageRecurringCosts;
+
+    DistributionDTO lowestBalance;
+
+    DistributionDTO averageBalance;
+
+    List<CategoryShareDTO> categoryShares;
+}
@@ -0,0 +1,42 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the portfolio statistics.
+ * Every run adds at most {@code batchSize} pending reports of at most {@code clientsPerRun} clients. A rebuild reads
+ * the reports of a client in chunks of {@code rebuildChunkSize} on {@code rebuildParallelism} threads, a rebuild of
+ * the same client is not started again within {@code rebuildLease}.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.portfolio-statistics")
+public class PortfolioStatisticsProperties {
+
+    private final int batchSize;
+
+    private final int clientsPerRun;
+
+    private final int rebuildParallelism;
+
+    private final int rebuildChunkSize;
+
+    private final Duration rebuildLease;
+
+    public PortfolioStatisticsProperties(@DefaultValue("100") int batchSize,
+                                         @DefaultValue("10") int clientsPerRun,
+                                         @DefaultValue("4") int rebuildParallelism,
+                                         @DefaultValue("200") int rebuildChunkSize,
+                                         @DefaultValue("1h") Duration rebuildLease) {
+        this.batchSize = batchSize;
+        this.clientsPerRun = clientsPerRun;
+        this.rebuildParallelism = rebuildParallelism;
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.rebuildLease = rebuildLease;
+    }
+}
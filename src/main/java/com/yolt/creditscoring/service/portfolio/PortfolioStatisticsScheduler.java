@@ -0,0 +1,22 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class PortfolioStatisticsScheduler {
+
+    private final PortfolioStatisticsService portfolioStatisticsService;
+
+    @Scheduled(fixedDelayString = "${credit-scoring.portfolio-statistics.poll-interval-ms:10000}")
+    public void addPendingReports() {
+        int added = portfolioStatisticsService.addPendingReports();
+        if (added > 0) {
+            log.info("Added {} report(s) to the portfolio statistics", added);
+        }
+    }
+}
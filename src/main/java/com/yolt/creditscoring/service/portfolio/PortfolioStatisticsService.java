@@ -0,0 +1,177 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.yolt.creditscoring.common.scheduling.SchedulerLockService;
+import com.yolt.creditscoring.common.scheduling.SchedulerLockService.Lock;
+import com.yolt.creditscoring.configuration.AsyncConfiguration;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsStorageService.PortfolioStatisticsSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Statistics of the reports of all users of a client, so a client can compare a single report with its portfolio.
+ * <p>
+ * Saved reports are added by {@link #addPendingReports()} shortly after the report calculation. The statistics are
+ * stored as mergeable sketches, so reading them takes the same time for any number of reports and a rebuild can
+ * calculate the statistics of parts of the reports in parallel.
+ */
+@Slf4j
+@Service
+public class PortfolioStatisticsService {
+
+    private static final String REPORTS_METRIC = "portfolio_statistics_reports";
+    private static final String REBUILD_METRIC = "portfolio_statistics_rebuild";
+    private static final String REBUILD_LOCK_PREFIX = "portfolio-rebuild-";
+
+    private final PortfolioStatisticsStorageService portfolioStatisticsStorageService;
+    private final SchedulerLockService schedulerLockService;
+    private final PortfolioStatisticsProperties properties;
+    private final ForkJoinPool rebuildPool;
+    private final MeterRegistry registry;
+
+    public PortfolioStatisticsService(PortfolioStatisticsStorageService portfolioStatisticsStorageService,
+                                      SchedulerLockService schedulerLockService,
+                                      PortfolioStatisticsProperties properties,
+                                      @Qualifier(AsyncConfiguration.PORTFOLIO_REBUILD_POOL) ForkJoinPool rebuildPool,
+                                      MeterRegistry registry) {
+        this.portfolioStatisticsStorageService = portfolioStatisticsStorageService;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.rebuildPool = rebuildPool;
+        this.registry = registry;
+    }
+
+    /**
+     * Marks the report of the user to be added to the statistics. Should be called in the transaction which saves the
+     * report, so only committed reports are added.
+     */
+    public void enqueue(@NonNull UUID clientId, @NonNull UUID userId) {
+        portfolioStatisticsStorageService.savePending(clientId, userId);
+    }
+
+    /**
+     * @return number of added reports
+     */
+    public int addPendingReports() {
+        int added = 0;
+        for (UUID clientId : portfolioStatisticsStorageService.findClientIdsWithPendingReports(properties.getClientsPerRun())) {
+            try {
+                added += portfolioStatisticsStorageService.addPendingReports(clientId, properties.getBatchSize());
+            } catch (RuntimeException e) {
+                log.error("Pending reports of client {} could not be added to the portfolio statistics", clientId, e);
+            }
+        }
+        registry.counter(REPORTS_METRIC, "source", "pending").increment(added);
+        return added;
+    }
+
+    /**
+     * @return empty statistics when no report of the client was added yet
+     */
+    public PortfolioStatisticsDTO getStatistics(@NonNull UUID clientId) {
+        return toDTO(portfolioStatisticsStorageService.findStatistics(clientId)
+                .orElseGet(() -> new PortfolioStatisticsSnapshot(new PortfolioStatistics(), null)));
+    }
+
+    /**
+     * Starts a rebuild of the statistics of the client in the background.
+     *
+     * @return false when a rebuild of the client is already running
+     */
+    public boolean startRebuild(@NonNull UUID clientId) {
+        Optional<Lock> lock = schedulerLockService.tryLock(REBUILD_LOCK_PREFIX + clientId, properties.getRebuildLease());
+        if (lock.isEmpty()) {
+            return false;
+        }
+        rebuildPool.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                rebuildInPool(clientId);
+            } catch (RuntimeException e) {
+                log.error("Rebuild of the portfolio statistics of client {} failed", clientId, e);
+            } finally {
+                schedulerLockService.unlock(lock.get(), Duration.ZERO, Duration.ofNanos(System.nanoTime() - start));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Recalculates the statistics of the client from all its reports, e.g. after a change of the statistics or to remove
+     * the reports of deleted users. Must run on the rebuild pool, the parts are forked to the pool and joined by this
+     * thread.
+     */
+    private void rebuildInPool(UUID clientId) {
+        Timer.Sample sample = Timer.start(registry);
+        List<UUID> userIds = portfolioStatisticsStorageService.findUserIdsWithReport(clientId);
+
+        List<ForkJoinTask<PortfolioStatistics>> parts = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += properties.getRebuildChunkSize()) {
+            List<UUID> chunk = userIds.subList(from, Math.min(from + properties.getRebuildChunkSize(), userIds.size()));
+            parts.add(ForkJoinTask.adapt(() -> portfolioStatisticsStorageService.calculateStatistics(chunk)));
+        }
+        PortfolioStatistics rebuilt = new PortfolioStatistics();
+        for (ForkJoinTask<PortfolioStatistics> part : ForkJoinTask.invokeAll(parts)) {
+            rebuilt.merge(part.join());
+        }
+
+        portfolioStatisticsStorageService.replaceStatistics(clientId, rebuilt, new HashSet<>(userIds));
+        registry.counter(REPORTS_METRIC, "source", "rebuild").increment(rebuilt.getReportCount());
+        sample.stop(registry.timer(REBUILD_METRIC));
+        log.info("Rebuilt the portfolio statistics of client {} from {} report(s)", clientId, rebuilt.getReportCount());
+    }
+
+    private static PortfolioStatisticsDTO toDTO(PortfolioStatisticsSnapshot snapshot) {
+        PortfolioStatistics statistics = snapshot.statistics();
+        return PortfolioStatisticsDTO.builder()
+                .reports(statistics.getReportCount())
+                .updatedAt(snapshot.updatedAt())
+                .monthlyAverageIncome(distribution(statistics.getMonthlyAverageIncome()))
+                .monthlyAverageCost(distribution(statistics.getMonthlyAverageCost()))
+                .averageRecurringCosts(distribution(statistics.getAverageRecurringCosts()))
+                .lowestBalance(distribution(statistics.getLowestBalance()))
+                .averageBalance(distribution(statistics.getAverageBalance()))
+                .categoryShares(statistics.getCategoryShares().entrySet().stream()
+                        .map(category -> categoryShare(category.getKey(), category.getValue()))
+                        .toList())
+                .build();
+    }
+
+    private static DistributionDTO distribution(QuantileSketch sketch) {
+        return DistributionDTO.builder()
+                .reports(sketch.getCount())
+                .min(amount(sketch.getMin()))
+                .p10(amount(sketch.quantile(0.1)))
+                .p25(amount(sketch.quantile(0.25)))
+                .median(amount(sketch.quantile(0.5)))
+                .p75(amount(sketch.quantile(0.75)))
+                .p90(amount(sketch.quantile(0.9)))
+                .max(amount(sketch.getMax()))
+                .mean(amount(sketch.getMean()))
+                .build();
+    }
+
+    private static BigDecimal amount(OptionalDouble value) {
+        return value.isPresent() ? BigDecimal.valueOf(value.getAsDouble()).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    private static CategoryShareDTO categoryShare(Category category, ShareHistogram histogram) {
+        return CategoryShareDTO.builder()
+                .category(category)
+                .categoryType(category.getSmeCategoryType())
+                .averageShare(BigDecimal.valueOf(histogram.getMean()).setScale(4, RoundingMode.HALF_UP))
+                .histogram(histogram.getCounts())
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsEntity;
+import com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsPendingEntity;
+import com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsPendingRepository;
+import com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsRepository;
+import com.yolt.creditscoring.utility.id.IdGenerators;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioStatisticsStorageService {
+
+    private static final Clock clock = ClockConfig.getClock();
+
+    private final PortfolioStatisticsRepository portfolioStatisticsRepository;
+    private final PortfolioStatisticsPendingRepository portfolioStatisticsPendingRepository;
+    private final PortfolioSampleCalculator portfolioSampleCalculator;
+
+    public void savePending(@NonNull UUID clientId, @NonNull UUID userId) {
+        portfolioStatisticsPendingRepository.insert(new PortfolioStatisticsPendingEntity()
+                .setId(IdGenerators.getPersistenceIds().generate())
+                .setClientId(clientId)
+                .setCreditScoreUserId(userId)
+                .setCreatedDate(OffsetDateTime.now(clock)));
+    }
+
+    public List<UUID> findClientIdsWithPendingReports(int limit) {
+        return portfolioStatisticsPendingRepository.findClientIdsWithPendingReports(limit);
+    }
+
+    /**
+     * Adds the oldest pending reports of the client to its statistics.
+     *
+     * @return number of processed pending reports
+     */
+    @Transactional
+    public int addPendingReports(@NonNull UUID clientId, int limit) {
+        PortfolioStatisticsEntity entity = lockStatistics(clientId);
+        List<PortfolioStatisticsPendingEntity> pending = portfolioStatisticsPendingRepository
+                .findByClientIdOrderByCreatedDate(clientId, PageRequest.of(0, limit));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        PortfolioStatistics statistics = PortfolioStatistics.fromBytes(entity.getStatistics());
+        for (PortfolioStatisticsPendingEntity report : pending) {
+            addReport(statistics, report.getCreditScoreUserId());
+        }
+        store(entity, statistics);
+        portfolioStatisticsPendingRepository.deleteAllInBatch(pending);
+        return pending.size();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PortfolioStatisticsSnapshot> findStatistics(@NonNull UUID clientId) {
+        return portfolioStatisticsRepository.findById(clientId)
+                .map(entity -> new PortfolioStatisticsSnapshot(PortfolioStatistics.fromBytes(entity.getStatistics()), entity.getUpdatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findUserIdsWithReport(@NonNull UUID clientId) {
+        return portfolioStatisticsRepository.findUserIdsWithReport(clientId);
+    }
+
+    /**
+     * Statistics of the reports of the given users, one part of a rebuild.
+     */
+    @Transactional(readOnly = true)
+    public PortfolioStatistics calculateStatistics(@NonNull Collection<UUID> userIds) {
+        PortfolioStatistics statistics = new PortfolioStatistics();
+        for (UUID userId : userIds) {
+            addReport(statistics, userId);
+        }
+        return statistics;
+    }
+
+    /**
+     * Replaces the statistics of the client by rebuilt statistics. Reports which were saved after the rebuild read the
+     * users are added now, pending reports which are part of the result are removed. The lock on the statistics
+     * blocks {@link #addPendingReports}, so every report is counted once.
+     *
+     * @param rebuiltUserIds users whose reports are part of {@code rebuilt}
+     */
+    @Transactional
+    public void replaceStatistics(@NonNull UUID clientId, @NonNull PortfolioStatistics rebuilt, @NonNull Set<UUID> rebuiltUserIds) {
+        PortfolioStatisticsEntity entity = lockStatistics(clientId);
+        Set<UUID> userIds = new HashSet<>(portfolioStatisticsRepository.findUserIdsWithReport(clientId));
+        for (UUID userId : userIds) {
+            if (!rebuiltUserIds.contains(userId)) {
+                addReport(rebuilt, userId);
+            }
+        }
+        // Pending reports of users which were not read yet are committed after the query above and stay pending
+        List<PortfolioStatisticsPendingEntity> counted = portfolioStatisticsPendingRepository.findByClientId(clientId).stream()
+                .filter(pending -> userIds.contains(pending.getCreditScoreUserId()))
+                .toList();
+        portfolioStatisticsPendingRepository.deleteAllInBatch(counted);
+        store(entity, rebuilt);
+    }
+
+    /**
+     * A report which can not be sampled is left out, it should not block the statistics of the other reports.
+     */
+    private void addReport(PortfolioStatistics statistics, UUID userId) {
+        try {
+            portfolioSampleCalculator.sample(userId).ifPresent(statistics::add);
+        } catch (RuntimeException e) {
+            log.error("Report of user {} could not be added to the portfolio statistics", userId, e);
+        }
+    }
+
+    private PortfolioStatisticsEntity lockStatistics(UUID clientId) {
+        portfolioStatisticsRepository.insertIfAbsent(clientId, OffsetDateTime.now(clock));
+        return portfolioStatisticsRepository.findByClientIdAndLock(clientId);
+    }
+
+    private static void store(PortfolioStatisticsEntity entity, PortfolioStatistics statistics) {
+        entity.setStatistics(statistics.toBytes())
+                .setReportCount(statistics.getReportCount())
+                .setUpdatedAt(OffsetDateTime.now(clock));
+    }
+
+    public record PortfolioStatisticsSnapshot(PortfolioStatistics statistics, OffsetDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+/**
+ * Quantile sketch with a relative error guarantee (the DDSketch algorithm). Values are counted in logarithmically sized
+ * buckets, so merging two sketches adds up their bucket counts and gives exactly the sketch of all values together.
+ * The size only depends on the range of the values: amounts between a cent and a billion need at most ~1300 buckets
+ * per sign.
+ */
+public final class QuantileSketch {
+
+    /**
+     * Quantiles are at most 1% off from a value of the sketch.
+     */
+    static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    /**
+     * Amounts below half a cent are counted as zero.
+     */
+    private static final double MIN_INDEXABLE_VALUE = 0.005;
+
+    private final NavigableMap<Integer, Long> positive = new TreeMap<>();
+    private final NavigableMap<Integer, Long> negative = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double sum;
+
+    public void add(double value) {
+        if (value >= MIN_INDEXABLE_VALUE) {
+            positive.merge(index(value), 1L, Long::sum);
+        } else if (value <= -MIN_INDEXABLE_VALUE) {
+            negative.merge(index(-value), 1L, Long::sum);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sum += value;
+    }
+
+    public void merge(QuantileSketch other) {
+        other.positive.forEach((index, bucketCount) -> positive.merge(index, bucketCount, Long::sum));
+        other.negative.forEach((index, bucketCount) -> negative.merge(index, bucketCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sum += other.sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public OptionalDouble getMin() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(min);
+    }
+
+    public OptionalDouble getMax() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(max);
+    }
+
+    public OptionalDouble getMean() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum / count);
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.5 for the median
+     */
+    public OptionalDouble quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile should be between 0 and 1");
+        }
+        if (count == 0) {
+            return OptionalDouble.empty();
+        }
+        if (quantile == 0) {
+            return OptionalDouble.of(min);
+        }
+        if (quantile == 1) {
+            return OptionalDouble.of(max);
+        }
+        double rank = quantile * (count - 1);
+        long seen = 0;
+        // From the most negative value to the highest value
+        for (Map.Entry<Integer, Long> bucket : negative.descendingMap().entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return OptionalDouble.of(clamp(-value(bucket.getKey())));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return OptionalDouble.of(clamp(0));
+        }
+        for (Map.Entry<Integer, Long> bucket : positive.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return OptionalDouble.of(clamp(value(bucket.getKey())));
+            }
+        }
+        return OptionalDouble.of(max);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(zeroCount);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeDouble(sum);
+        writeBuckets(out, positive);
+        writeBuckets(out, negative);
+    }
+
+    static QuantileSketch readFrom(DataInput in) throws IOException {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.count = in.readLong();
+        sketch.zeroCount = in.readLong();
+        sketch.min = in.readDouble();
+        sketch.max = in.readDouble();
+        sketch.sum = in.readDouble();
+        readBuckets(in, sketch.positive);
+        readBuckets(in, sketch.negative);
+        return sketch;
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    /**
+     * The value in the middle of the bucket, which is at most {@link #RELATIVE_ACCURACY} off from all its values.
+     */
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    private static void writeBuckets(DataOutput out, NavigableMap<Integer, Long> buckets) throws IOException {
+        out.writeInt(buckets.size());
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            out.writeInt(bucket.getKey());
+            out.writeLong(bucket.getValue());
+        }
+    }
+
+    private static void readBuckets(DataInput in, NavigableMap<Integer, Long> buckets) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            buckets.put(in.readInt(), in.readLong());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Histogram of shares between 0 and 1 in buckets of 10%. The last bucket includes a share of exactly 1.
+ */
+public final class ShareHistogram {
+
+    static final int BUCKETS = 10;
+
+    private final long[] counts = new long[BUCKETS];
+    private double sum;
+
+    public void add(double share) {
+        double clamped = Math.max(0, Math.min(1, share));
+        counts[Math.min((int) (clamped * BUCKETS), BUCKETS - 1)]++;
+        sum += clamped;
+    }
+
+    public void merge(ShareHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        sum += other.sum;
+    }
+
+    public long getCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public List<Long> getCounts() {
+        return Arrays.stream(counts).boxed().toList();
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+        out.writeDouble(sum);
+    }
+
+    static ShareHistogram readFrom(DataInput in) throws IOException {
+        ShareHistogram histogram = new ShareHistogram();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.counts[i] = in.readLong();
+        }
+        histogram.sum = in.readDouble();
+        return histogram;
+    }
+}
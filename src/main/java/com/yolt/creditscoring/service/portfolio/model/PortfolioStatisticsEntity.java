@@ -0,0 +1,37 @@
+package com.yolt.creditscoring.service.portfolio.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsEntity.TABLE_NAME;
+
+/**
+ * Statistics of all reports of a client, see {@link com.yolt.creditscoring.service.portfolio.PortfolioStatistics}.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class PortfolioStatisticsEntity {
+    public static final String TABLE_NAME = "portfolio_statistics";
+
+    @Id
+    private UUID clientId;
+
+    private long reportCount;
+
+    /**
+     * Serialized sketches and histograms.
+     */
+    private byte[] statistics;
+
+    private OffsetDateTime updatedAt;
+}
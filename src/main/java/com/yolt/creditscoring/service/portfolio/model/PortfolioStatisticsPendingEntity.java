@@ -0,0 +1,35 @@
+package com.yolt.creditscoring.service.portfolio.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsPendingEntity.TABLE_NAME;
+
+/**
+ * Report which is not yet part of the portfolio statistics. Stored in the transaction which saves the report, so the
+ * report calculation does not wait for the lock on the statistics of the client.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class PortfolioStatisticsPendingEntity {
+    public static final String TABLE_NAME = "portfolio_statistics_pending";
+
+    @Id
+    private UUID id;
+
+    private UUID clientId;
+
+    private UUID creditScoreUserId;
+
+    private OffsetDateTime createdDate;
+}
@@ -0,0 +1,33 @@
+package com.yolt.creditscoring.service.portfolio.model;
+
+import com.yolt.creditscoring.common.jpa.InsertRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pending reports are only read and deleted by a transaction which holds the lock on the statistics of their client,
+ * see {@link PortfolioStatisticsRepository#findByClientIdAndLock(UUID)}.
+ */
+public interface PortfolioStatisticsPendingRepository extends JpaRepository<PortfolioStatisticsPendingEntity, UUID>,
+        InsertRepository<PortfolioStatisticsPendingEntity> {
+
+    /**
+     * Clients with pending reports, the client with the oldest pending report first.
+     */
+    @Query(value = """
+            SELECT client_id FROM portfolio_statistics_pending
+            GROUP BY client_id
+            ORDER BY min(created_date)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findClientIdsWithPendingReports(@Param("limit") int limit);
+
+    List<PortfolioStatisticsPendingEntity> findByClientIdOrderByCreatedDate(UUID clientId, Pageable pageable);
+
+    List<PortfolioStatisticsPendingEntity> findByClientId(UUID clientId);
+}
@@ -0,0 +1,46 @@
+package com.yolt.creditscoring.service.portfolio.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface PortfolioStatisticsRepository extends JpaRepository<PortfolioStatisticsEntity, UUID> {
+
+    /**
+     * Creates empty statistics for the client, unless another transaction already did.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO portfolio_statistics (client_id, report_count, statistics, updated_at)
+            VALUES (:clientId, 0, '', :now)
+            ON CONFLICT (client_id) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("clientId") UUID clientId, @Param("now") OffsetDateTime now);
+
+    /**
+     * Locks the statistics until the end of the transaction. Updates of the statistics of a client are serialized by
+     * this lock, so no update is lost.
+     */
+    @Query(value = """
+            SELECT * FROM portfolio_statistics
+            WHERE client_id = :clientId
+            FOR UPDATE
+            """, nativeQuery = true)
+    PortfolioStatisticsEntity findByClientIdAndLock(@Param("clientId") UUID clientId);
+
+    /**
+     * Users of the client which have a report, the reports which are part of rebuilt statistics.
+     */
+    @Query(value = """
+            SELECT csr.credit_score_user_id
+            FROM credit_score_report csr
+            JOIN credit_score_user csu ON csu.id = csr.credit_score_user_id
+            WHERE csu.client_id = :clientId AND csr.last_data_fetch_time IS NOT NULL
+            """, nativeQuery = true)
+    List<UUID> findUserIdsWithReport(@Param("clientId") UUID clientId);
+}
@@ -0,0 +1,26 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the report signature integrity scan.
+ * Reports are read in pages of {@code pageSize} and the signatures of a page are verified on {@code parallelism} threads.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.signature-integrity")
+public class SignatureIntegrityProperties {
+
+    private final int pageSize;
+
+    private final int parallelism;
+
+    public SignatureIntegrityProperties(@DefaultValue("500") int pageSize,
+                                        @DefaultValue("4") int parallelism) {
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+    }
+}
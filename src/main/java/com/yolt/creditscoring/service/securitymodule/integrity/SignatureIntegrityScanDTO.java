@@ -0,0 +1,34 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanStatus;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanTrigger;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Value
+@Builder
+public class SignatureIntegrityScanDTO {
+
+    UUID id;
+
+    ScanTrigger trigger;
+
+    ScanStatus status;
+
+    OffsetDateTime startedAt;
+
+    OffsetDateTime updatedAt;
+
+    OffsetDateTime finishedAt;
+
+    long total;
+
+    long scanned;
+
+    long invalid;
+
+    long errors;
+}
@@ -0,0 +1,20 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import com.yolt.creditscoring.common.scheduling.SchedulerLock;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanTrigger;
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class SignatureIntegrityScheduler {
+
+    private final SignatureIntegrityService signatureIntegrityService;
+
+    @Scheduled(cron = "${credit-scoring.signature-integrity.cron:0 0 1 * * SUN}")
+    @SchedulerLock(name = SignatureIntegrityService.LOCK_NAME, lockAtMostFor = SignatureIntegrityService.LOCK_AT_MOST_FOR)
+    public void scan() {
+        signatureIntegrityService.scan(ScanTrigger.SCHEDULED);
+    }
+}
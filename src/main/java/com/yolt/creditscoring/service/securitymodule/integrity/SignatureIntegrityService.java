@@ -0,0 +1,275 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import com.yolt.creditscoring.common.scheduling.SchedulerLockService;
+import com.yolt.creditscoring.common.scheduling.SchedulerLockService.Lock;
+import com.yolt.creditscoring.configuration.AsyncConfiguration;
+import com.yolt.creditscoring.controller.admin.users.Based64;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityStorageService.RowLeaf;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityStorageService.SignedReport;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanTrigger;
+import com.yolt.creditscoring.service.securitymodule.semaevent.InvalidSignatureDTO;
+import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
+import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
+import com.yolt.creditscoring.service.securitymodule.signature.SecurityModuleService;
+import com.yolt.creditscoring.service.securitymodule.signature.SignatureService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies the signatures of all reports, so a report changed in the database is found without an admin opening it.
+ * Both the signature of the report fields and the rows signature over the monthly and category rows are verified.
+ * <p>
+ * Reports are read in pages ordered by id. The signatures of a page are verified in parallel on the integrity pool
+ * while the next page is read. After every page the position is stored, a scan which was interrupted continues from
+ * there on the next run. Invalid signatures are reported as SEMA events, like an invalid signature found when a report
+ * is viewed.
+ */
+@Slf4j
+@Service
+public class SignatureIntegrityService {
+
+    public static final String LOCK_NAME = "signature-integrity-scan";
+    public static final String LOCK_AT_MOST_FOR = "12h";
+
+    private static final String REPORTS_METRIC = "signature_integrity_reports";
+    private static final String PAGE_METRIC = "signature_integrity_page";
+    private static final String PROGRESS_METRIC = "signature_integrity_scan_progress";
+
+    private final SignatureIntegrityStorageService signatureIntegrityStorageService;
+    private final SignatureService signatureService;
+    private final SecurityModuleService securityModuleService;
+    private final SemaEventService semaEventService;
+    private final SchedulerLockService schedulerLockService;
+    private final SignatureIntegrityProperties properties;
+    private final ForkJoinPool integrityPool;
+    private final MeterRegistry registry;
+
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+
+    public SignatureIntegrityService(SignatureIntegrityStorageService signatureIntegrityStorageService,
+                                     SignatureService signatureService,
+                                     SecurityModuleService securityModuleService,
+                                     SemaEventService semaEventService,
+                                     SchedulerLockService schedulerLockService,
+                                     SignatureIntegrityProperties properties,
+                                     @Qualifier(AsyncConfiguration.SIGNATURE_INTEGRITY_POOL) ForkJoinPool integrityPool,
+                                     MeterRegistry registry) {
+        this.signatureIntegrityStorageService = signatureIntegrityStorageService;
+        this.signatureService = signatureService;
+        this.securityModuleService = securityModuleService;
+        this.semaEventService = semaEventService;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.integrityPool = integrityPool;
+        this.registry = registry;
+        Gauge.builder(PROGRESS_METRIC, this, SignatureIntegrityService::progress)
+                .description("Share of the reports verified by the running or last signature integrity scan")
+                .register(registry);
+    }
+
+    /**
+     * Starts a scan in the background.
+     *
+     * @return false when a scan is already running
+     */
+    public boolean startScan(@NonNull ScanTrigger trigger) {
+        Optional<Lock> lock = schedulerLockService.tryLock(LOCK_NAME, DurationStyle.detectAndParse(LOCK_AT_MOST_FOR));
+        if (lock.isEmpty()) {
+            return false;
+        }
+        integrityPool.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                scanInPool(trigger);
+            } catch (RuntimeException e) {
+                log.error("Signature integrity scan failed, it continues from the last checkpoint on the next run", e);
+            } finally {
+                schedulerLockService.unlock(lock.get(), Duration.ZERO, Duration.ofNanos(System.nanoTime() - start));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Runs a scan and blocks until it finished. The caller must hold the {@link #LOCK_NAME} lock.
+     */
+    public SignatureIntegrityScanDTO scan(@NonNull ScanTrigger trigger) {
+        return integrityPool.invoke(ForkJoinTask.adapt(() -> scanInPool(trigger)));
+    }
+
+    public Optional<SignatureIntegrityScanDTO> getLatestScan() {
+        return signatureIntegrityStorageService.findLatestScan().map(SignatureIntegrityService::toDTO);
+    }
+
+    /**
+     * Must run on the integrity pool, the verifications are forked to the pool and joined by this thread.
+     */
+    private SignatureIntegrityScanDTO scanInPool(ScanTrigger trigger) {
+        SignatureIntegrityScanEntity scan = signatureIntegrityStorageService.startOrResumeScan(trigger);
+        long scannedReports = scan.getScanned();
+        long invalidReports = scan.getInvalid();
+        long errorReports = scan.getErrors();
+        total.set(scan.getTotal());
+        scanned.set(scannedReports);
+
+        // Reports are signed with a few keys, every key is read from the database once per scan
+        Map<UUID, PublicKey> publicKeys = new ConcurrentHashMap<>();
+        List<SignedReport> page = signatureIntegrityStorageService.findSignedReportsAfter(scan.getLastReportId(), properties.getPageSize());
+        while (!page.isEmpty()) {
+            Timer.Sample sample = Timer.start(registry);
+            List<ForkJoinTask<VerificationResult>> verifications = page.stream()
+                    .map(report -> ForkJoinTask.adapt(() -> verify(report, publicKeys)).fork())
+                    .toList();
+
+            UUID lastReportId = page.get(page.size() - 1).report().getReportId();
+            List<SignedReport> nextPage = signatureIntegrityStorageService.findSignedReportsAfter(lastReportId, properties.getPageSize());
+
+            for (ForkJoinTask<VerificationResult> verification : verifications) {
+                VerificationResult result = verification.join();
+                if (result == VerificationResult.INVALID) {
+                    invalidReports++;
+                } else if (result == VerificationResult.ERROR) {
+                    errorReports++;
+                }
+                registry.counter(REPORTS_METRIC, "result", result.getTag()).increment();
+            }
+            scannedReports += page.size();
+            signatureIntegrityStorageService.checkpoint(scan.getId(), lastReportId, scannedReports, invalidReports, errorReports);
+            scanned.set(scannedReports);
+            sample.stop(registry.timer(PAGE_METRIC));
+            page = nextPage;
+        }
+
+        SignatureIntegrityScanEntity finished = signatureIntegrityStorageService.finishScan(scan.getId());
+        log.info("Signature integrity scan {} finished: {} report(s) scanned, {} invalid, {} could not be verified",
+                scan.getId(), scannedReports, invalidReports, errorReports);
+        return toDTO(finished);
+    }
+
+    private VerificationResult verify(SignedReport signedReport, Map<UUID, PublicKey> publicKeys) {
+        SignedReportRow report = signedReport.report();
+        try {
+            PublicKey publicKey = publicKeys.computeIfAbsent(report.getSignatureKeyId(), securityModuleService::getPublicKeyByKeyId);
+            ReportSignature reportSignature = ReportSignature.builder()
+                    .signature(Based64.fromEncoded(report.getSignature()))
+                    .keyId(report.getSignatureKeyId())
+                    .jsonPaths(signedReport.jsonPaths())
+                    .build();
+            boolean valid = true;
+            if (!signatureService.verify(toBankAccountDetails(report), reportSignature, publicKey)) {
+                logIncorrectSignature(report, reportSignature.getSignature(), null);
+                valid = false;
+            }
+            if (report.getRowsSignature() != null && !verifyRows(signedReport, publicKeys)) {
+                logIncorrectSignature(report, Based64.fromEncoded(report.getRowsSignature()), "Monthly report rows do not match rows signature");
+                valid = false;
+            }
+            return valid ? VerificationResult.VALID : VerificationResult.INVALID;
+        } catch (RuntimeException e) {
+            log.error("Signature of report {} could not be verified", report.getReportId(), e);
+            return VerificationResult.ERROR;
+        }
+    }
+
+    /**
+     * Rebuilds the Merkle root from all stored rows. A changed, added, removed or reordered row changes the root, so
+     * unlike the inclusion proofs no separate count check is needed besides the signed leaf count.
+     */
+    private boolean verifyRows(SignedReport signedReport, Map<UUID, PublicKey> publicKeys) {
+        SignedReportRow report = signedReport.report();
+        Integer leafCount = report.getRowsSignatureLeafCount();
+        List<RowLeaf> rows = signedReport.rows();
+        if (leafCount == null || rows.size() != leafCount || rows.stream().anyMatch(row -> row.leafIndex() == null)) {
+            return false;
+        }
+        List<RowLeaf> ordered = rows.stream().sorted(Comparator.comparing(RowLeaf::leafIndex)).toList();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (ordered.get(i).leafIndex() != i) {
+                return false;
+            }
+        }
+        PublicKey publicKey = publicKeys.computeIfAbsent(report.getRowsSignatureKeyId(), securityModuleService::getPublicKeyByKeyId);
+        return signatureService.verifyRowsRoot(report.getUserId(), ordered.stream().map(RowLeaf::leaf).toList(),
+                Based64.fromEncoded(report.getRowsSignature()), publicKey);
+    }
+
+    private void logIncorrectSignature(SignedReportRow report, Based64 signature, String message) {
+        semaEventService.logIncorrectSignature(InvalidSignatureDTO.builder()
+                        .userId(report.getUserId())
+                        .signature(signature)
+                        .message(message)
+                        .build(),
+                report.getUserId(), report.getClientId());
+    }
+
+    private double progress() {
+        long totalReports = total.get();
+        return totalReports == 0 ? 0 : Math.min(1.0, (double) scanned.get() / totalReports);
+    }
+
+    /**
+     * Same fields as {@link com.yolt.creditscoring.service.creditscore.storage.CreditScoreMapper#mapCreditScoreReportToAdminReportDTO},
+     * which the report is signed with.
+     */
+    private static BankAccountDetailsDTO toBankAccountDetails(SignedReportRow report) {
+        return BankAccountDetailsDTO.builder()
+                .userId(report.getUserId())
+                .initialBalance(report.getInitialBalance())
+                .lastDataFetchTime(report.getLastDataFetchTime())
+                .newestTransactionDate(report.getNewestTransactionDate())
+                .oldestTransactionDate(report.getOldestTransactionDate())
+                .currency(report.getCurrency())
+                .iban(report.getIban())
+                .bban(report.getBban())
+                .sortCodeAccountNumber(report.getSortCodeAccountNumber())
+                .maskedPan(report.getMaskedPan())
+                .creditLimit(report.getCreditLimit())
+                .transactionsSize(report.getTransactionsSize())
+                .accountHolder(report.getAccountHolder())
+                .build();
+    }
+
+    private static SignatureIntegrityScanDTO toDTO(SignatureIntegrityScanEntity scan) {
+        return SignatureIntegrityScanDTO.builder()
+                .id(scan.getId())
+                .trigger(scan.getTrigger())
+                .status(scan.getStatus())
+                .startedAt(scan.getStartedAt())
+                .updatedAt(scan.getUpdatedAt())
+                .finishedAt(scan.getFinishedAt())
+                .total(scan.getTotal())
+                .scanned(scan.getScanned())
+                .invalid(scan.getInvalid())
+                .errors(scan.getErrors())
+                .build();
+    }
+
+    private enum VerificationResult {
+        VALID, INVALID, ERROR;
+
+        String getTag() {
+            return name().toLowerCase();
+        }
+    }
+}
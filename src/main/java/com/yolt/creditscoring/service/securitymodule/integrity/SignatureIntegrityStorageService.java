@@ -0,0 +1,137 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.creditscore.storage.ReportLeaves;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanStatus;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanTrigger;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanRepository;
+import com.yolt.creditscoring.utility.id.IdGenerators;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SignatureIntegrityStorageService {
+
+    private static final Clock clock = ClockConfig.getClock();
+
+    /**
+     * Lowest UUID in the ordering of Postgres, the first page starts after it.
+     */
+    static final UUID FIRST_REPORT_ID = new UUID(0, 0);
+
+    private final SignatureIntegrityScanRepository signatureIntegrityScanRepository;
+    private final SignedReportRepository signedReportRepository;
+
+    /**
+     * @return the running scan of a node which stopped before the scan finished, otherwise a new scan
+     */
+    @Transactional
+    public SignatureIntegrityScanEntity startOrResumeScan(@NonNull ScanTrigger trigger) {
+        Optional<SignatureIntegrityScanEntity> running = signatureIntegrityScanRepository.findFirstByStatusOrderByStartedAtDesc(ScanStatus.RUNNING);
+        if (running.isPresent()) {
+            log.info("Resuming signature integrity scan {} after report {}", running.get().getId(), running.get().getLastReportId());
+            return running.get();
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        SignatureIntegrityScanEntity scan = new SignatureIntegrityScanEntity()
+                .setId(IdGenerators.getPersistenceIds().generate())
+                .setTrigger(trigger)
+                .setStatus(ScanStatus.RUNNING)
+                .setStartedAt(now)
+                .setUpdatedAt(now)
+                .setLastReportId(FIRST_REPORT_ID)
+                .setTotal(signedReportRepository.countSignedReports());
+        signatureIntegrityScanRepository.insert(scan);
+        return scan;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SignedReport> findSignedReportsAfter(@NonNull UUID afterReportId, int limit) {
+        List<SignedReportRow> rows = signedReportRepository.findSignedReportsAfter(afterReportId, limit);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> reportIds = rows.stream().map(SignedReportRow::getReportId).toList();
+        Map<UUID, List<String>> jsonPaths = new HashMap<>();
+        for (SignatureJsonPathRow path : signedReportRepository.findSignatureJsonPaths(reportIds)) {
+            jsonPaths.computeIfAbsent(path.getReportId(), reportId -> new ArrayList<>()).add(path.getJsonPath());
+        }
+
+        Map<UUID, List<RowLeaf>> rowLeaves = new HashMap<>();
+        for (SignedMonthlyRow monthly : signedReportRepository.findMonthlyRows(reportIds)) {
+            rowLeaves.computeIfAbsent(monthly.getReportId(), reportId -> new ArrayList<>())
+                    .add(new RowLeaf(monthly.getLeafIndex(), ReportLeaves.monthlyLeaf(monthly.getYear(), monthly.getMonth(),
+                            monthly.getHighestBalance(), monthly.getLowestBalance(), monthly.getAverageBalance(),
+                            monthly.getIncomingTransactionsSize(), monthly.getOutgoingTransactionsSize())));
+        }
+        for (SignedCategoryRow category : signedReportRepository.findCategoryRows(reportIds)) {
+            rowLeaves.computeIfAbsent(category.getReportId(), reportId -> new ArrayList<>())
+                    .add(new RowLeaf(category.getLeafIndex(), ReportLeaves.categoryLeaf(category.getYear(), category.getMonth(),
+                            Category.valueOf(category.getCategory()), category.getAmount(), category.getTransactionTotal())));
+        }
+
+        return rows.stream()
+                .map(row -> new SignedReport(row,
+                        jsonPaths.getOrDefault(row.getReportId(), List.of()),
+                        rowLeaves.getOrDefault(row.getReportId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Stores the progress of the scan, counts are the totals of the scan so far.
+     */
+    @Transactional
+    public SignatureIntegrityScanEntity checkpoint(@NonNull UUID scanId, @NonNull UUID lastReportId, long scanned, long invalid, long errors) {
+        return signatureIntegrityScanRepository.save(getScan(scanId)
+                .setLastReportId(lastReportId)
+                .setScanned(scanned)
+                .setInvalid(invalid)
+                .setErrors(errors)
+                .setUpdatedAt(OffsetDateTime.now(clock)));
+    }
+
+    @Transactional
+    public SignatureIntegrityScanEntity finishScan(@NonNull UUID scanId) {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        return signatureIntegrityScanRepository.save(getScan(scanId)
+                .setStatus(ScanStatus.FINISHED)
+                .setUpdatedAt(now)
+                .setFinishedAt(now));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SignatureIntegrityScanEntity> findLatestScan() {
+        return signatureIntegrityScanRepository.findFirstByOrderByStartedAtDesc();
+    }
+
+    private SignatureIntegrityScanEntity getScan(UUID scanId) {
+        return signatureIntegrityScanRepository.findById(scanId)
+                .orElseThrow(() -> new IllegalStateException("Signature integrity scan " + scanId + " not found"));
+    }
+
+    /**
+     * @param rows monthly and category rows of the report in no particular order
+     */
+    public record SignedReport(SignedReportRow report, List<String> jsonPaths, List<RowLeaf> rows) {
+    }
+
+    /**
+     * @param leafIndex position of the row in the rows signature, null when the row is not part of it
+     * @param leaf      canonical representation of the row, see {@link ReportLeaves}
+     */
+    public record RowLeaf(Integer leafIndex, String leaf) {
+    }
+}
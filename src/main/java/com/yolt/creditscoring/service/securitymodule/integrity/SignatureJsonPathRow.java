@@ -0,0 +1,10 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import java.util.UUID;
+
+public interface SignatureJsonPathRow {
+
+    UUID getReportId();
+
+    String getJsonPath();
+}
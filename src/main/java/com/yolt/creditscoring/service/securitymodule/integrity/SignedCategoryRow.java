@@ -0,0 +1,24 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Category row of a signed report, see {@link com.yolt.creditscoring.service.creditscore.storage.ReportLeaves}.
+ */
+public interface SignedCategoryRow {
+
+    UUID getReportId();
+
+    Integer getLeafIndex();
+
+    Integer getYear();
+
+    Integer getMonth();
+
+    String getCategory();
+
+    BigDecimal getAmount();
+
+    Integer getTransactionTotal();
+}
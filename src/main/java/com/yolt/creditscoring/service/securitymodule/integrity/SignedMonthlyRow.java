@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Monthly row of a signed report, see {@link com.yolt.creditscoring.service.creditscore.storage.ReportLeaves}.
+ */
+public interface SignedMonthlyRow {
+
+    UUID getReportId();
+
+    Integer getLeafIndex();
+
+    Integer getYear();
+
+    Integer getMonth();
+
+    BigDecimal getHighestBalance();
+
+    BigDecimal getLowestBalance();
+
+    BigDecimal getAverageBalance();
+
+    Integer getIncomingTransactionsSize();
+
+    Integer getOutgoingTransactionsSize();
+}
@@ -0,0 +1,71 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import com.yolt.creditscoring.service.creditscore.model.CreditScoreReport;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the signed fields of reports and their monthly and category rows, without loading the report entities.
+ */
+public interface SignedReportRepository extends Repository<CreditScoreReport, UUID> {
+
+    @Query(value = "SELECT count(*) FROM credit_score_report WHERE signature IS NOT NULL", nativeQuery = true)
+    long countSignedReports();
+
+    /**
+     * Page of signed reports ordered by id, starting after the given report. Reads the next page from the primary key
+     * index, so the time per page does not grow with the position in the table.
+     */
+    @Query(value = """
+            SELECT csr.id AS "reportId", csu.id AS "userId", csu.client_id AS "clientId",
+                csr.signature AS "signature", csr.signature_key_id AS "signatureKeyId",
+                csr.iban AS "iban", csr.bban AS "bban", csr.masked_pan AS "maskedPan",
+                csr.sort_code_account_number AS "sortCodeAccountNumber",
+                csr.initial_balance AS "initialBalance", csr.last_data_fetch_time AS "lastDataFetchTime",
+                csr.currency AS "currency", csr.newest_transaction_date AS "newestTransactionDate",
+                csr.oldest_transaction_date AS "oldestTransactionDate", csr.credit_limit AS "creditLimit",
+                csr.transactions_size AS "transactionsSize", csr.account_holder AS "accountHolder",
+                csr.rows_signature AS "rowsSignature", csr.rows_signature_key_id AS "rowsSignatureKeyId",
+                csr.rows_signature_leaf_count AS "rowsSignatureLeafCount"
+            FROM credit_score_report csr
+            JOIN credit_score_user csu ON csu.id = csr.credit_score_user_id
+            WHERE csr.id > :afterId AND csr.signature IS NOT NULL
+            ORDER BY csr.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SignedReportRow> findSignedReportsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT credit_score_report_id AS "reportId", signature_json_paths AS "jsonPath"
+            FROM credit_score_report_signature_json_paths
+            WHERE credit_score_report_id IN (:reportIds)
+            ORDER BY credit_score_report_id, signature_json_paths_order
+            """, nativeQuery = true)
+    List<SignatureJsonPathRow> findSignatureJsonPaths(@Param("reportIds") Collection<UUID> reportIds);
+
+    @Query(value = """
+            SELECT m.credit_score_report_id AS "reportId", m.signature_leaf_index AS "leafIndex",
+                m.year AS "year", m.month AS "month", m.highest_balance AS "highestBalance",
+                m.lowest_balance AS "lowestBalance", m.average_balance AS "averageBalance",
+                m.incoming_transactions_size AS "incomingTransactionsSize",
+                m.outgoing_transactions_size AS "outgoingTransactionsSize"
+            FROM credit_score_monthly_report m
+            WHERE m.credit_score_report_id IN (:reportIds)
+            """, nativeQuery = true)
+    List<SignedMonthlyRow> findMonthlyRows(@Param("reportIds") Collection<UUID> reportIds);
+
+    @Query(value = """
+            SELECT m.credit_score_report_id AS "reportId", c.signature_leaf_index AS "leafIndex",
+                m.year AS "year", m.month AS "month", c.category AS "category", c.amount AS "amount",
+                c.transaction_total AS "transactionTotal"
+            FROM credit_score_monthly_category_report c
+            JOIN credit_score_monthly_report m ON m.id = c.credit_score_monthly_report_id
+            WHERE m.credit_score_report_id IN (:reportIds)
+            """, nativeQuery = true)
+    List<SignedCategoryRow> findCategoryRows(@Param("reportIds") Collection<UUID> reportIds);
+}
@@ -0,0 +1,54 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Signed fields of a report with its signature, see
+ * {@link com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO}, and the
+ * signature of its monthly and category rows. The rows signature is null for reports signed before rows were signed.
+ */
+public interface SignedReportRow {
+
+    UUID getReportId();
+
+    UUID getUserId();
+
+    UUID getClientId();
+
+    String getSignature();
+
+    UUID getSignatureKeyId();
+
+    String getIban();
+
+    String getBban();
+
+    String getMaskedPan();
+
+    String getSortCodeAccountNumber();
+
+    BigDecimal getInitialBalance();
+
+    OffsetDateTime getLastDataFetchTime();
+
+    String getCurrency();
+
+    LocalDate getNewestTransactionDate();
+
+    LocalDate getOldestTransactionDate();
+
+    BigDecimal getCreditLimit();
+
+    Integer getTransactionsSize();
+
+    String getAccountHolder();
+
+    String getRowsSignature();
+
+    UUID getRowsSignatureKeyId();
+
+    Integer getRowsSignatureLeafCount();
+}
@@ -0,0 +1,59 @@
+package com.yolt.creditscoring.service.securitymodule.integrity.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.TABLE_NAME;
+
+/**
+ * Checkpoint of a signature integrity scan. Updated after every page, so a scan which was interrupted continues after
+ * {@link #lastReportId} instead of starting again.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class SignatureIntegrityScanEntity {
+    public static final String TABLE_NAME = "signature_integrity_scan";
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    private ScanTrigger trigger;
+
+    @Enumerated(EnumType.STRING)
+    private ScanStatus status;
+
+    private OffsetDateTime startedAt;
+
+    private OffsetDateTime updatedAt;
+
+    private OffsetDateTime finishedAt;
+
+    private UUID lastReportId;
+
+    private long total;
+
+    private long scanned;
+
+    private long invalid;
+
+    private long errors;
+
+    public enum ScanTrigger {
+        SCHEDULED,
+        ON_DEMAND
+    }
+
+    public enum ScanStatus {
+        RUNNING,
+        FINISHED
+    }
+}
@@ -0,0 +1,16 @@
+package com.yolt.creditscoring.service.securitymodule.integrity.model;
+
+import com.yolt.creditscoring.common.jpa.InsertRepository;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SignatureIntegrityScanRepository extends JpaRepository<SignatureIntegrityScanEntity, UUID>,
+        InsertRepository<SignatureIntegrityScanEntity> {
+
+    Optional<SignatureIntegrityScanEntity> findFirstByStatusOrderByStartedAtDesc(ScanStatus status);
+
+    Optional<SignatureIntegrityScanEntity> findFirstByOrderByStartedAtDesc();
+}
@@ -1,5 +1,6 @@
 package com.yolt.creditscoring.service.securitymodule.semaevent;
 
+import com.yolt.creditscoring.common.eventlog.EventLogDispatcher;
 import com.yolt.creditscoring.configuration.security.admin.OAuth2AdminUser;
 import com.yolt.creditscoring.service.clientadmin.model.ClientAdmin;
 import lombok.RequiredArgsConstructor;
@@ -11,11 +12,16 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * SEMA events are written by the {@link EventLogDispatcher}, which never drops them.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SemaEventService {
 
+    private final EventLogDispatcher eventLogDispatcher;
+
     public void logIncorrectSignatureFromExternalSystem(InvalidSignatureDTO invalidSignatureDTO, UUID userId, UUID clientId) {
         var invalidSignatureSemaEvent = InvalidSignatureSemaEvent.builder()
                 .message("Verification of report signature failed on the frontend application")
@@ -24,7 +30,7 @@ public class SemaEventService {
                 .signature(invalidSignatureDTO.getSignature().toString())
                 .userId(invalidSignatureDTO.getUserId())
                 .build();
-        SemaEventLogger.log(invalidSignatureSemaEvent);
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(invalidSignatureSemaEvent));
         log.error("Verification of report signature failed on the frontend application for user {}", invalidSignatureDTO.getUserId());
     }
 
@@ -36,7 +42,7 @@ public class SemaEventService {
                 .signature(invalidSignatureDTO.getSignature().toString())
                 .userId(invalidSignatureDTO.getUserId())
                 .build();
-        SemaEventLogger.log(invalidSignatureSemaEvent);
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(invalidSignatureSemaEvent));
         log.error("Verification of report signature failed for user {}", invalidSignatureDTO.getUserId());
     }
 
@@ -44,48 +50,52 @@ public class SemaEventService {
         var invalidSignatureSemaEvent = InvalidSignatureSemaEvent.builder()
                 .message("Signature public key thumbprint in Secret Pipeline differ then stored in database for the same key ID: " + kid.toString())
                 .build();
-        SemaEventLogger.log(invalidSignatureSemaEvent);
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(invalidSignatureSemaEvent));
         log.error("Signature public key thumbprint in Secret Pipeline differ then stored in database for the same key ID: {}", kid);
     }
 
     public void logAdminLoginToApplication(OAuth2AdminUser principal) {
-        SemaEventLogger.log(AdminLoginSemaEvent.builder()
-                .clientId(principal.getClientAdmin().map(ClientAdmin::getClientId).orElse(null))
-                .idpId(principal.getIdpId())
-                .adminEmail(principal.getEmail())
-                .build());
+        UUID clientId = principal.getClientAdmin().map(ClientAdmin::getClientId).orElse(null);
+        String idpId = principal.getIdpId();
+        String adminEmail = principal.getEmail();
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(AdminLoginSemaEvent.builder()
+                .clientId(clientId)
+                .idpId(idpId)
+                .adminEmail(adminEmail)
+                .build()));
     }
 
     public void logUserInvitation(UUID clientId, UUID adminId) {
-        SemaEventLogger.log(InvitationSpikesSemaEvent.builder()
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(InvitationSpikesSemaEvent.builder()
                 .clientId(clientId)
                 .adminId(adminId)
-                .build());
+                .build()));
     }
 
     public void logNotMatchingAdminEmailWithIdpId(UUID clientId, String idpId, String storedEmail, String responseEmail, String provider) {
-        SemaEventLogger.log(AdminEmailDoesNotMatchIdpIdEvent.builder()
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(AdminEmailDoesNotMatchIdpIdEvent.builder()
                 .clientId(clientId)
                 .idpId(idpId)
                 .storedEmail(storedEmail)
                 .responseEmail(responseEmail)
                 .provider(provider)
-                .build());
+                .build()));
     }
 
     public void logClientTokenAccessToUnauthorizedEndpoint(UUID clientId, String endpointURI, List<? extends GrantedAuthority> permissions) {
-        SemaEventLogger.log(ClientTokenAccessToUnauthorizedEndpointEvent.builder()
+        List<? extends GrantedAuthority> grantedPermissions = List.copyOf(permissions);
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(ClientTokenAccessToUnauthorizedEndpointEvent.builder()
                 .clientId(clientId)
                 .endpointURI(endpointURI)
-                .permissions(permissions)
-                .build());
+                .permissions(grantedPermissions)
+                .build()));
     }
 
     public void logNotRegisteredAdminLogin(String idpId, String provider, String ipAddress) {
-        SemaEventLogger.log(NotRegisteredAdminLoginSemaEvent.builder()
+        eventLogDispatcher.sema(() -> SemaEventLogger.log(NotRegisteredAdminLoginSemaEvent.builder()
                 .idpId(idpId)
                 .provider(provider)
                 .ipAddress(ipAddress)
-                .build());
+                .build()));
     }
 }
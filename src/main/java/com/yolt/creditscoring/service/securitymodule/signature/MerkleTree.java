@@ -0,0 +1,125 @@
+package com.yolt.creditscoring.service.securitymodule.signature;
+
+import com.yolt.creditscoring.exception.SignatureException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle tree over report rows.
+ * <p>
+ * Leaves and inner nodes are hashed with a different prefix byte (as in RFC 6962), so an inner node can not be presented
+ * as a leaf. A node without a sibling is promoted to the next level unchanged.
+ * The inclusion proof of a leaf is the concatenation of the sibling hashes from the leaf up to the root. Together with the
+ * leaf index and the number of leaves it is enough to recalculate the root in O(log n) hashes.
+ */
+public class MerkleTree {
+
+    public static final int HASH_LENGTH = 32;
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private final List<byte[][]> levels = new ArrayList<>();
+
+    public MerkleTree(List<String> leaves) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+        }
+        MessageDigest digest = sha256();
+        byte[][] level = leaves.stream()
+                .map(leaf -> leafHash(digest, leaf))
+                .toArray(byte[][]::new);
+        levels.add(level);
+        while (level.length > 1) {
+            byte[][] parents = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < parents.length; i++) {
+                int left = 2 * i;
+                parents[i] = left + 1 < level.length ? nodeHash(digest, level[left], level[left + 1]) : level[left];
+            }
+            levels.add(parents);
+            level = parents;
+        }
+    }
+
+    public int getLeafCount() {
+        return levels.get(0).length;
+    }
+
+    public byte[] getRoot() {
+        return levels.get(levels.size() - 1)[0].clone();
+    }
+
+    public byte[] getProof(int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= getLeafCount()) {
+            throw new IllegalArgumentException("Leaf index out of range: " + leafIndex);
+        }
+        byte[] proof = new byte[0];
+        int index = leafIndex;
+        for (int level = 0; level < levels.size() - 1; level++) {
+            byte[][] nodes = levels.get(level);
+            int sibling = index ^ 1;
+            if (sibling < nodes.length) {
+                proof = Arrays.copyOf(proof, proof.length + HASH_LENGTH);
+                System.arraycopy(nodes[sibling], 0, proof, proof.length - HASH_LENGTH, HASH_LENGTH);
+            }
+            index >>= 1;
+        }
+        return proof;
+    }
+
+    /**
+     * @return root of the tree the leaf is part of according to the proof
+     * @throws IllegalArgumentException when the proof does not match the leaf index and the number of leaves
+     */
+    public static byte[] rootFromProof(String leaf, int leafIndex, int leafCount, byte[] proof) {
+        if (leafIndex < 0 || leafIndex >= leafCount || proof.length % HASH_LENGTH != 0) {
+            throw new IllegalArgumentException("Invalid inclusion proof");
+        }
+        MessageDigest digest = sha256();
+        byte[] hash = leafHash(digest, leaf);
+        int offset = 0;
+        int index = leafIndex;
+        int size = leafCount;
+        while (size > 1) {
+            boolean hasSibling = (index ^ 1) < size;
+            if (hasSibling) {
+                if (offset + HASH_LENGTH > proof.length) {
+                    throw new IllegalArgumentException("Invalid inclusion proof");
+                }
+                byte[] sibling = Arrays.copyOfRange(proof, offset, offset + HASH_LENGTH);
+                offset += HASH_LENGTH;
+                hash = (index & 1) == 0 ? nodeHash(digest, hash, sibling) : nodeHash(digest, sibling, hash);
+            }
+            index >>= 1;
+            size = (size + 1) / 2;
+        }
+        if (offset != proof.length) {
+            throw new IllegalArgumentException("Invalid inclusion proof");
+        }
+        return hash;
+    }
+
+    private static byte[] leafHash(MessageDigest digest, String leaf) {
+        digest.update(LEAF_PREFIX);
+        return digest.digest(leaf.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] nodeHash(MessageDigest digest, byte[] left, byte[] right) {
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        return digest.digest(right);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new SignatureException("Could not get instance of MessageDigest: " + e.getMessage());
+        }
+    }
+}
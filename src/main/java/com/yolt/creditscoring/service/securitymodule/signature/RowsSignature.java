@@ -0,0 +1,27 @@
+package com.yolt.creditscoring.service.securitymodule.signature;
+
+import com.yolt.creditscoring.controller.admin.users.Based64;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Signature of the Merkle root over the report rows, with the inclusion proof of every row in leaf order.
+ */
+@Value
+@Builder
+public class RowsSignature {
+    @NonNull
+    Based64 signature;
+
+    @NonNull
+    UUID keyId;
+
+    int leafCount;
+
+    @NonNull
+    List<byte[]> proofs;
+}
@@ -19,7 +19,6 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -39,18 +38,26 @@ public class SecurityModuleService {
         this.semaEventService = semaEventService;
     }
 
+    /**
+     * Stores the public keys of the current Vault keys, so signatures made with rotated keys can be verified.
+     */
     @PostConstruct
     public void init() {
-        final UUID reportSignKeyId = vaultSecretKeyService.getReportSignKeyId();
-        final UUID jwtSignKeyId = vaultSecretKeyService.getJwtSignKeyId();
+        storePublicKeys(vaultSecretKeyService.getPublicKeys());
+    }
 
-        Stream.of(Map.entry(reportSignKeyId, vaultSecretKeyService.getReportSignPublicKey().getEncoded()),
-                Map.entry(jwtSignKeyId, vaultSecretKeyService.getJwtSigningPublicKey().getEncoded())).forEach(entry -> {
-            final Optional<PublicKeyEntity> publicKey = publicKeyRepository.findById(entry.getKey());
+    /**
+     * Stores public keys which are not stored yet. Called before rotated Vault keys are used, so every signature can
+     * be verified as soon as it is made.
+     */
+    public void storePublicKeys(Map<UUID, PublicKey> publicKeys) {
+        publicKeys.forEach((keyId, key) -> {
+            final byte[] encodedPublicKey = key.getEncoded();
+            final Optional<PublicKeyEntity> publicKey = publicKeyRepository.findById(keyId);
             if (publicKey.isPresent()) {
-                checkIfPublicKeyInDatabaseIsTheSameAsInVault(entry.getKey(), publicKey.get(), entry.getValue());
+                checkIfPublicKeyInDatabaseIsTheSameAsInVault(keyId, publicKey.get(), encodedPublicKey);
             } else {
-                savePublicKeyEntity(entry.getKey(), entry.getValue());
+                savePublicKeyEntity(keyId, encodedPublicKey);
             }
         });
     }
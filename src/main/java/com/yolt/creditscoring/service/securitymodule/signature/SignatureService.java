@@ -16,12 +16,16 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.Signature;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
@@ -29,22 +33,31 @@ import java.util.UUID;
 public class SignatureService {
 
     public static final PathLeaves PATH_LEAVES = new PathLeaves();
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA/PSS";
+
+    /**
+     * {@link Signature} is stateful and not thread safe, every thread signs and verifies with its own instance.
+     */
+    private static final ThreadLocal<Signature> SIGNATURES = ThreadLocal.withInitial(SignatureService::newSignature);
 
     private final VaultSecretKeyService secretKeyService;
     private final SecurityModuleService securityModuleService;
     private final ObjectMapper mapper;
-    private Signature signature;
 
     public SignatureService(VaultSecretKeyService secretKeyService, SecurityModuleService securityModuleService, ObjectMapper mapper) throws NoSuchAlgorithmException {
         this.secretKeyService = secretKeyService;
         this.securityModuleService = securityModuleService;
+        // Fails the start of the application when the algorithm is not available
+        SIGNATURES.get();
+        this.mapper = mapper;
+    }
+
+    private static Signature newSignature() {
         try {
-            this.signature = Signature.getInstance("SHA256withRSA/PSS");
+            return Signature.getInstance(SIGNATURE_ALGORITHM);
         } catch (NoSuchAlgorithmException e) {
-            this.signature = null;
             throw new SignatureException("Could not get instance of Signature: " + e.getMessage());
         }
-        this.mapper = mapper;
     }
 
     /**
@@ -65,6 +78,7 @@ public class SignatureService {
     public @Valid ReportSignature sign(@NonNull SignatureCreditScoreReport report) {
 
         var privateKey = secretKeyService.getReportSignPrivateKey();
+        Signature signature = SIGNATURES.get();
 
         try {
             signature.initSign(privateKey);
@@ -73,7 +87,7 @@ public class SignatureService {
 
             final String digest = digest(report, pathLeaves);
 
-            this.signature.update(digest.getBytes()); //MAPPER is configured to serialize only not empty fields.
+            signature.update(digest.getBytes()); //MAPPER is configured to serialize only not empty fields.
 
             return ReportSignature.builder()
                     .signature(Based64.of(signature.sign()))
@@ -86,25 +100,132 @@ public class SignatureService {
     }
 
     public boolean verify(@NotNull SignatureCreditScoreReport report, @NotNull ReportSignature reportSignature) {
-        var publicKey = securityModuleService.getPublicKeyByKeyId(reportSignature.getKeyId());
+        return verify(report, reportSignature, securityModuleService.getPublicKeyByKeyId(reportSignature.getKeyId()));
+    }
 
+    /**
+     * Verify with a public key which was already loaded, e.g. when many reports signed with the same key are verified.
+     *
+     * @param publicKey public key of {@link ReportSignature#getKeyId()}
+     */
+    public boolean verify(@NotNull SignatureCreditScoreReport report, @NotNull ReportSignature reportSignature, PublicKey publicKey) {
         if (publicKey == null) {
             log.error("verify: public key is null, can't continue");
             throw new SignatureException("Public key is null");
         }
+        Signature signature = SIGNATURES.get();
         try {
-            this.signature.initVerify(publicKey);
+            signature.initVerify(publicKey);
 
             final String digest = digest(report, reportSignature.getJsonPaths());
 
-            this.signature.update(digest.getBytes()); //MAPPER is configured to serialize only not empty fields.
+            signature.update(digest.getBytes()); //MAPPER is configured to serialize only not empty fields.
 
-            return this.signature.verify(reportSignature.getSignature().toBytes());
+            return signature.verify(reportSignature.getSignature().toBytes());
         } catch (InvalidKeyException | java.security.SignatureException | JsonProcessingException e) {
             throw new SignatureException("Error verifying Signature");
         }
     }
 
+    /**
+     * Sign the rows of the report of the given user as a Merkle tree. Only the root is signed, every row gets an
+     * inclusion proof, so rows can be verified later without loading the whole report.
+     *
+     * @param leaves canonical representation of the rows, the index in the list is the leaf index
+     */
+    public @Valid RowsSignature signRows(@NonNull UUID userId, @NonNull List<String> leaves) {
+        var privateKey = secretKeyService.getReportSignPrivateKey();
+        MerkleTree tree = new MerkleTree(leaves);
+
+        try {
+            Signature rowsSignature = SIGNATURES.get();
+            rowsSignature.initSign(privateKey);
+            rowsSignature.update(rowsDigest(userId, tree.getLeafCount(), tree.getRoot()));
+
+            return RowsSignature.builder()
+                    .signature(Based64.of(rowsSignature.sign()))
+                    .keyId(secretKeyService.getReportSignKeyId())
+                    .leafCount(tree.getLeafCount())
+                    .proofs(IntStream.range(0, tree.getLeafCount()).mapToObj(tree::getProof).toList())
+                    .build();
+        } catch (InvalidKeyException | java.security.SignatureException e) {
+            throw new SignatureException("Error calculating rows Signature");
+        }
+    }
+
+    /**
+     * Verify a subset of the signed rows of a report. Every row costs O(log n) hashes, the signature of the root is
+     * verified once.
+     *
+     * @return false if any row does not belong to the signed tree, or when no rows are given
+     */
+    public boolean verifyRows(@NonNull UUID userId, @NonNull List<SignedRow> rows, int leafCount,
+                              @NonNull Based64 signedRoot, @NonNull UUID keyId) {
+        var publicKey = securityModuleService.getPublicKeyByKeyId(keyId);
+
+        if (publicKey == null) {
+            log.error("verifyRows: public key is null, can't continue");
+            throw new SignatureException("Public key is null");
+        }
+
+        byte[] root = null;
+        for (SignedRow row : rows) {
+            byte[] rowRoot;
+            try {
+                rowRoot = MerkleTree.rootFromProof(row.leaf(), row.leafIndex(), leafCount, row.proof());
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            if (root != null && !Arrays.equals(root, rowRoot)) {
+                return false;
+            }
+            root = rowRoot;
+        }
+        if (root == null) {
+            return false;
+        }
+
+        try {
+            Signature rowsSignature = SIGNATURES.get();
+            rowsSignature.initVerify(publicKey);
+            rowsSignature.update(rowsDigest(userId, leafCount, root));
+            return rowsSignature.verify(signedRoot.toBytes());
+        } catch (InvalidKeyException | java.security.SignatureException e) {
+            throw new SignatureException("Error verifying rows Signature");
+        }
+    }
+
+    /**
+     * Verify all rows of a report at once, by rebuilding the Merkle root from the rows instead of using their proofs.
+     *
+     * @param leaves    canonical representation of all rows, ordered by leaf index
+     * @param publicKey public key of the rows signature
+     */
+    public boolean verifyRowsRoot(@NonNull UUID userId, @NonNull List<String> leaves, @NonNull Based64 signedRoot,
+                                  PublicKey publicKey) {
+        if (publicKey == null) {
+            log.error("verifyRowsRoot: public key is null, can't continue");
+            throw new SignatureException("Public key is null");
+        }
+        if (leaves.isEmpty()) {
+            return false;
+        }
+        MerkleTree tree = new MerkleTree(leaves);
+
+        try {
+            Signature rowsSignature = SIGNATURES.get();
+            rowsSignature.initVerify(publicKey);
+            rowsSignature.update(rowsDigest(userId, tree.getLeafCount(), tree.getRoot()));
+            return rowsSignature.verify(signedRoot.toBytes());
+        } catch (InvalidKeyException | java.security.SignatureException e) {
+            throw new SignatureException("Error verifying rows Signature");
+        }
+    }
+
+    private static byte[] rowsDigest(UUID userId, int leafCount, byte[] root) {
+        return ("rows;" + userId + ";" + leafCount + ";" + HexFormat.of().formatHex(root)).getBytes(StandardCharsets.UTF_8);
+    }
+
     private String digest(SignatureCreditScoreReport report, List<String> pathLeaves) throws JsonProcessingException {
         ReadContext ctx = JsonPath.parse(mapper.writeValueAsString(report));
         StringBuilder digestBuilder = new StringBuilder();
@@ -0,0 +1,9 @@
+package com.yolt.creditscoring.service.securitymodule.signature;
+
+/**
+ * Report row with its position in the Merkle tree and its inclusion proof.
+ *
+ * @param leaf canonical representation of the row
+ */
+public record SignedRow(String leaf, int leafIndex, byte[] proof) {
+}
@@ -0,0 +1,84 @@
+package com.yolt.creditscoring.service.securitymodule.vault;
+
+import nl.ing.lovebird.secretspipeline.VaultKeys;
+import org.jose4j.jwk.RsaJsonWebKey;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService.*;
+
+/**
+ * Key material resolved once from {@link VaultKeys}. Never changed after creation, a rotation creates a new snapshot.
+ */
+record VaultKeySnapshot(VaultKeys vaultKeys,
+                        PrivateKey signingPrivateKey,
+                        UUID reportSignKeyId,
+                        PrivateKey reportSignPrivateKey,
+                        PublicKey reportSignPublicKey,
+                        UUID jwtSignKeyId,
+                        PrivateKey jwtSigningPrivateKey,
+                        PublicKey jwtSigningPublicKey,
+                        Key jwtEncryptionKey,
+                        String estimateApiUser,
+                        String estimateApiPassword,
+                        String estimateBasicAuthorization) {
+
+    static VaultKeySnapshot resolve(VaultKeys vaultKeys) {
+        RsaJsonWebKey reportSignKey = rsaJsonWebKey(vaultKeys, REPORT_SIGN_PRIVATE_KEY);
+        RsaJsonWebKey jwtSignKey = rsaJsonWebKey(vaultKeys, JWT_SIGNING_VAULT_KEY_NAME);
+        String estimateApiUser = new String(vaultKeys.getPassword(ESTIMATE_API_USER).getEncoded());
+        String estimateApiPassword = new String(vaultKeys.getPassword(ESTIMATE_API_PASSWORD).getEncoded());
+
+        return new VaultKeySnapshot(vaultKeys,
+                vaultKeys.getPrivateKey(SIGNING_VAULT_KEY_NAME).getKey(),
+                UUID.fromString(reportSignKey.getKeyId()),
+                reportSignKey.getRsaPrivateKey(),
+                reportSignKey.getRsaPublicKey(),
+                UUID.fromString(jwtSignKey.getKeyId()),
+                jwtSignKey.getRsaPrivateKey(),
+                jwtSignKey.getRsaPublicKey(),
+                vaultKeys.getSymmetricKey(JWT_ENCRYPTION_VAULT_KEY_NAME).getKey(),
+                estimateApiUser,
+                estimateApiPassword,
+                "Basic " + Base64.getEncoder().encodeToString((estimateApiUser + ":" + estimateApiPassword).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return true when any of the keys or credentials differs from the other snapshot
+     */
+    boolean isRotated(VaultKeySnapshot other) {
+        return !signingPrivateKey.equals(other.signingPrivateKey)
+                || !reportSignKeyId.equals(other.reportSignKeyId)
+                || !reportSignPrivateKey.equals(other.reportSignPrivateKey)
+                || !jwtSignKeyId.equals(other.jwtSignKeyId)
+                || !jwtSigningPrivateKey.equals(other.jwtSigningPrivateKey)
+                || !jwtEncryptionKey.equals(other.jwtEncryptionKey)
+                || !estimateBasicAuthorization.equals(other.estimateBasicAuthorization);
+    }
+
+    /**
+     * @return public keys of the signing keys by key id
+     */
+    Map<UUID, PublicKey> publicKeys() {
+        Map<UUID, PublicKey> publicKeys = new LinkedHashMap<>();
+        publicKeys.put(reportSignKeyId, reportSignPublicKey);
+        publicKeys.put(jwtSignKeyId, jwtSigningPublicKey);
+        return publicKeys;
+    }
+
+    @Override
+    public String toString() {
+        return "VaultKeySnapshot[reportSignKeyId=" + reportSignKeyId + ", jwtSignKeyId=" + jwtSignKeyId + "]";
+    }
+
+    private static RsaJsonWebKey rsaJsonWebKey(VaultKeys vaultKeys, String name) {
+        return (RsaJsonWebKey) vaultKeys.getJsonWebKey(name);
+    }
+}
@@ -0,0 +1,75 @@
+package com.yolt.creditscoring.service.securitymodule.vault;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.securitymodule.signature.SecurityModuleService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.lovebird.secretspipeline.VaultKeys;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads the keys of {@link VaultSecretKeyService} when the configuration is refreshed, e.g. after Vault rotated
+ * secrets. The public keys of rotated keys are stored before the keys are used, so every signature can be verified.
+ * Rotations are counted in {@code vault_keys_refresh} and published as {@link VaultKeysRotatedEvent}.
+ */
+@Slf4j
+@Component
+public class VaultKeysRefreshListener {
+
+    private static final Clock clock = ClockConfig.getClock();
+    private static final String REFRESH_METRIC = "vault_keys_refresh";
+
+    private final VaultSecretKeyService vaultSecretKeyService;
+    private final SecurityModuleService securityModuleService;
+    private final ObjectProvider<VaultKeys> vaultKeys;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry registry;
+    private final AtomicLong lastRotationEpochSecond = new AtomicLong();
+
+    public VaultKeysRefreshListener(VaultSecretKeyService vaultSecretKeyService,
+                                    SecurityModuleService securityModuleService,
+                                    ObjectProvider<VaultKeys> vaultKeys,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry registry) {
+        this.vaultSecretKeyService = vaultSecretKeyService;
+        this.securityModuleService = securityModuleService;
+        this.vaultKeys = vaultKeys;
+        this.eventPublisher = eventPublisher;
+        this.registry = registry;
+        Gauge.builder("vault_keys_last_rotation", lastRotationEpochSecond, AtomicLong::get)
+                .description("Epoch second of the last key rotation since the start of the pod, 0 when none")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onRefresh(RefreshScopeRefreshedEvent event) {
+        refresh();
+    }
+
+    public void refresh() {
+        boolean rotated;
+        try {
+            rotated = vaultSecretKeyService.refresh(vaultKeys.getObject(), securityModuleService::storePublicKeys);
+        } catch (RuntimeException e) {
+            log.error("Refreshing Vault keys failed, the previous keys are kept", e);
+            registry.counter(REFRESH_METRIC, "result", "failed").increment();
+            return;
+        }
+
+        if (!rotated) {
+            registry.counter(REFRESH_METRIC, "result", "unchanged").increment();
+            return;
+        }
+        registry.counter(REFRESH_METRIC, "result", "rotated").increment();
+        lastRotationEpochSecond.set(clock.instant().getEpochSecond());
+        eventPublisher.publishEvent(new VaultKeysRotatedEvent(vaultSecretKeyService.getReportSignKeyId(), vaultSecretKeyService.getJwtSignKeyId()));
+    }
+}
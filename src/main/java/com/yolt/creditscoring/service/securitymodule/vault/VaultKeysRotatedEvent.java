@@ -0,0 +1,9 @@
+package com.yolt.creditscoring.service.securitymodule.vault;
+
+import java.util.UUID;
+
+/**
+ * Published after {@link VaultSecretKeyService} switched to rotated keys.
+ */
+public record VaultKeysRotatedEvent(UUID reportSignKeyId, UUID jwtSignKeyId) {
+}
@@ -2,15 +2,22 @@ package com.yolt.creditscoring.service.securitymodule.vault;
 
 import lombok.extern.slf4j.Slf4j;
 import nl.ing.lovebird.secretspipeline.VaultKeys;
-import org.jose4j.jwk.RsaJsonWebKey;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.*;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Map;
 import java.util.UUID;
-
+import java.util.function.Consumer;
+
+/**
+ * Key material from Vault. The keys are resolved once into an immutable snapshot, so the getters, which are called per
+ * request by the JWT filters and per report by signing, only read a volatile field.
+ * {@link #refresh(VaultKeys, Consumer)} swaps the snapshot when Vault rotates secrets, after the new public keys were
+ * handed to the given consumer.
+ */
 @Slf4j
 public class VaultSecretKeyService {
     /**
@@ -24,23 +31,50 @@ public class VaultSecretKeyService {
     public static final String REPORT_SIGN_PRIVATE_KEY = "yts-app-rep-sign-jwks";
     public static final String ESTIMATE_API_USER = "estimate-api-user";
     public static final String ESTIMATE_API_PASSWORD = "estimate-api-password";
-    private final VaultKeys vaultKeys;
     private final KeyStore trustStore;
+    private volatile VaultKeySnapshot snapshot;
 
     public VaultSecretKeyService(VaultKeys vaultKeys,
                                  String trustStoreLocation,
                                  String password) throws CertificateException, NoSuchAlgorithmException, KeyStoreException, IOException {
-        this.vaultKeys = vaultKeys;
+        this.snapshot = VaultKeySnapshot.resolve(vaultKeys);
         trustStore = loadTrustStore(trustStoreLocation, password);
     }
 
+    /**
+     * Resolves the keys of the given Vault keys and replaces the current snapshot when they were rotated. Calls already
+     * holding a key keep using the previous key until they finish.
+     *
+     * @param beforeSwap gets the public keys of the rotated signing keys by key id before anything is signed with
+     *                   them, the previous keys are kept when it throws
+     * @return true when the keys were rotated
+     */
+    public boolean refresh(VaultKeys vaultKeys, Consumer<Map<UUID, PublicKey>> beforeSwap) {
+        VaultKeySnapshot refreshed = VaultKeySnapshot.resolve(vaultKeys);
+        VaultKeySnapshot previous = snapshot;
+        if (!refreshed.isRotated(previous)) {
+            return false;
+        }
+        beforeSwap.accept(refreshed.publicKeys());
+        snapshot = refreshed;
+        log.info("Vault keys rotated from {} to {}", previous, refreshed);
+        return true;
+    }
+
+    /**
+     * @return public keys of the current signing keys by key id
+     */
+    public Map<UUID, PublicKey> getPublicKeys() {
+        return snapshot.publicKeys();
+    }
+
     /**
      * Unfortunately, this functionality is kept in the application so CFA can also be run locally.
      * This will only resolve to a private key when configured. That will only be from a local environment for now.
      * Note that on PRD/team-envs, CFA points to the client-proxy directly. It bypasses the ingress that enforces TLS-MA
      */
     public PrivateKey getTransportPrivateKey() {
-        return vaultKeys.getPrivateKey(TRANSPORT_VAULT_KEY_NAME).getKey();
+        return snapshot.vaultKeys().getPrivateKey(TRANSPORT_VAULT_KEY_NAME).getKey();
     }
 
     /**
@@ -49,7 +83,7 @@ public class VaultSecretKeyService {
      * Note that on PRD/team-envs, CFA points to the client-proxy directly. It bypasses the ingress that enforces TLS-MA
      */
     public X509Certificate getTransportCertificate() {
-        return (X509Certificate) vaultKeys.getCertificate(TRANSPORT_VAULT_CERT_NAME);
+        return (X509Certificate) snapshot.vaultKeys().getCertificate(TRANSPORT_VAULT_CERT_NAME);
     }
 
     public KeyStore getTrustKeyStore() {
@@ -57,47 +91,54 @@ public class VaultSecretKeyService {
     }
 
     public PrivateKey getSigningPrivateKey() {
-        return vaultKeys.getPrivateKey(SIGNING_VAULT_KEY_NAME).getKey();
+        return snapshot.signingPrivateKey();
     }
 
     public PrivateKey getReportSignPrivateKey() {
         // Not returned vaultKeys.getJsonWebKey(REPORT_SIGN_PRIVATE_KEY) because we send public key to front-end
         // and don't want to compromise private key by mistake in code.
-        return ((RsaJsonWebKey) vaultKeys.getJsonWebKey(REPORT_SIGN_PRIVATE_KEY)).getRsaPrivateKey();
+        return snapshot.reportSignPrivateKey();
     }
 
     public PublicKey getReportSignPublicKey() {
         // Not returned vaultKeys.getJsonWebKey(REPORT_SIGN_PRIVATE_KEY) because we send public key to front-end
         // and don't want to compromise private key by mistake in code.
-        return ((RsaJsonWebKey) vaultKeys.getJsonWebKey(REPORT_SIGN_PRIVATE_KEY)).getRsaPublicKey();
+        return snapshot.reportSignPublicKey();
     }
 
     public UUID getReportSignKeyId() {
-        return UUID.fromString(vaultKeys.getJsonWebKey(REPORT_SIGN_PRIVATE_KEY).getKeyId());
+        return snapshot.reportSignKeyId();
     }
 
     public UUID getJwtSignKeyId() {
-        return UUID.fromString(vaultKeys.getJsonWebKey(JWT_SIGNING_VAULT_KEY_NAME).getKeyId());
+        return snapshot.jwtSignKeyId();
     }
 
     public PrivateKey getJwtSigningPrivateKey() {
-        return ((RsaJsonWebKey) vaultKeys.getJsonWebKey(JWT_SIGNING_VAULT_KEY_NAME)).getRsaPrivateKey();
+        return snapshot.jwtSigningPrivateKey();
     }
 
     public PublicKey getJwtSigningPublicKey() {
-        return ((RsaJsonWebKey) vaultKeys.getJsonWebKey(JWT_SIGNING_VAULT_KEY_NAME)).getRsaPublicKey();
+        return snapshot.jwtSigningPublicKey();
     }
 
     public String getEstimateApiUser() {
-        return new String(vaultKeys.getPassword(ESTIMATE_API_USER).getEncoded());
+        return snapshot.estimateApiUser();
     }
 
     public String getEstimateApiPassword() {
-        return new String(vaultKeys.getPassword(ESTIMATE_API_PASSWORD).getEncoded());
+        return snapshot.estimateApiPassword();
+    }
+
+    /**
+     * @return value of the Authorization header of the Estimate API
+     */
+    public String getEstimateBasicAuthorization() {
+        return snapshot.estimateBasicAuthorization();
     }
 
     public Key getJwtEncryptionKey() {
-        return vaultKeys.getSymmetricKey(JWT_ENCRYPTION_VAULT_KEY_NAME).getKey();
+        return snapshot.jwtEncryptionKey();
     }
 
     public static KeyStore loadTrustStore(String filename, String changeit) throws KeyStoreException, IOException, NoSuchAlgorithmException, CertificateException {
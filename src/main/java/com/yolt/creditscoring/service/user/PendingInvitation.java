@@ -0,0 +1,7 @@
+package com.yolt.creditscoring.service.user;
+
+/**
+ * Recipient and invitation hash of a user which is still in the INVITED status.
+ */
+public record PendingInvitation(String name, String email, String invitationHash) {
+}
@@ -0,0 +1,9 @@
+package com.yolt.creditscoring.service.user;
+
+import java.util.UUID;
+
+/**
+ * User expired or claimed by the invitation sweeper. The Yolt user id is null when no Yolt user was created.
+ */
+public record SweptUser(UUID id, UUID clientId, UUID yoltUserId) {
+}
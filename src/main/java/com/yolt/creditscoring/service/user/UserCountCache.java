@@ -0,0 +1,73 @@
+package com.yolt.creditscoring.service.user;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.user.model.CreditScoreUserFilter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of the total counts of the admin user list.
+ * <p>
+ * Counting all users of a large client scans the whole index range of the client on every page. Counts of at least
+ * {@link #MIN_CACHED_COUNT} users are therefore reused for {@link #TIME_TO_LIVE}, so they are approximate. Smaller
+ * counts are cheap and always exact.
+ */
+class UserCountCache {
+
+    static final long MIN_CACHED_COUNT = 1_000;
+    static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+    private static final int MAX_SIZE = 1_000;
+
+    private final Clock clock;
+    private final Map<CountKey, CachedCount> counts = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CountKey, CachedCount> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            });
+
+    UserCountCache() {
+        this(ClockConfig.getClock());
+    }
+
+    UserCountCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    long count(UUID clientId, CreditScoreUserFilter filter, LongSupplier counter) {
+        CountKey key = new CountKey(clientId, filter);
+        Instant now = clock.instant();
+        CachedCount cached = counts.get(key);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return cached.count();
+        }
+
+        long count = counter.getAsLong();
+        if (count >= MIN_CACHED_COUNT) {
+            counts.put(key, new CachedCount(count, now.plus(TIME_TO_LIVE)));
+        } else {
+            counts.remove(key);
+        }
+        return count;
+    }
+
+    void invalidate(UUID clientId) {
+        synchronized (counts) {
+            counts.keySet().removeIf(key -> key.clientId().equals(clientId));
+        }
+    }
+
+    private record CountKey(UUID clientId, CreditScoreUserFilter filter) {
+    }
+
+    private record CachedCount(long count, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.yolt.creditscoring.service.user;
+
+import com.yolt.creditscoring.exception.InvalidPageRequestException;
+import com.yolt.creditscoring.service.user.model.CreditScoreUser;
+import com.yolt.creditscoring.service.user.model.CreditScoreUserKeyset;
+import com.yolt.creditscoring.service.user.model.UserSortKey;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque cursor of the admin user list. It holds the sort of the list next to the position, so a cursor can not be
+ * used with another sort than it was created for.
+ */
+final class UserListCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private UserListCursor() {
+    }
+
+    static String encode(UserSortKey sortKey, Sort.Direction direction, CreditScoreUser lastUser) {
+        String cursor = String.join(SEPARATOR,
+                sortKey.name(),
+                direction.name(),
+                lastUser.getId().toString(),
+                String.valueOf(sortKey.getExtractor().apply(lastUser)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CreditScoreUserKeyset decode(String cursor, UserSortKey sortKey, Sort.Direction direction) {
+        try {
+            // The sort value is last and may contain the separator itself.
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+            if (parts.length != 4 || !sortKey.name().equals(parts[0]) || !direction.name().equals(parts[1])) {
+                throw new InvalidPageRequestException("Cursor does not match the sort " + sortKey + " " + direction);
+            }
+            return new CreditScoreUserKeyset(sortKey.getParser().apply(parts[3]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidPageRequestException("Cursor is malformed");
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.yolt.creditscoring.service.user;
 
+import com.yolt.creditscoring.common.pagination.KeysetPage;
 import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.exception.InvalidPageRequestException;
 import com.yolt.creditscoring.exception.UserNotFoundException;
-import com.yolt.creditscoring.service.user.model.CreditScoreUser;
-import com.yolt.creditscoring.service.user.model.CreditScoreUserRepository;
-import com.yolt.creditscoring.service.user.model.InvitationStatus;
+import com.yolt.creditscoring.service.user.model.*;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -16,6 +16,8 @@ import org.springframework.validation.annotation.Validated;
 import javax.validation.Valid;
 import java.time.Clock;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.UnaryOperator;
@@ -29,7 +31,10 @@ public class UserStorageService {
 
     private static final Clock clock = ClockConfig.getClock();
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final CreditScoreUserRepository creditScoreUserRepository;
+    private final UserCountCache userCountCache = new UserCountCache();
 
     public boolean isInvitationStatusExpired(@NonNull UUID creditScoreUserId) {
         var user = findById(creditScoreUserId);
@@ -214,9 +219,43 @@ public class UserStorageService {
                 .orElseThrow(() -> new UserNotFoundException(userId));
     }
 
-    public Page<CreditScoreUserDTO> findAllByClientIdOrderByEmailAsc(@NonNull UUID loggedUserClientId, Pageable pageable) {
-        return creditScoreUserRepository.findByClientId(loggedUserClientId, pageable)
-                .map(UserStorageService::mapCreditScoreUserToCreditScoreUserDTO);
+    /**
+     * Finds a page of the users of a client. The page starts after the cursor, or at the offset of the pageable when
+     * no cursor is given. Only the first sort order of the pageable is used, by default the newest invitations come first.
+     *
+     * @param cursor         {@link KeysetPage#nextCursor()} of the previous page
+     * @param withTotalCount whether to count all users matching the filter, see {@link UserCountCache}
+     */
+    public KeysetPage<CreditScoreUserDTO> findUsers(@NonNull UUID clientId,
+                                                    @NonNull CreditScoreUserFilter filter,
+                                                    @NonNull Pageable pageable,
+                                                    String cursor,
+                                                    boolean withTotalCount) {
+        Sort.Order order = pageable.getSort().stream()
+                .findFirst()
+                .orElse(Sort.Order.desc(UserSortKey.DATE_INVITED.getProperty()));
+        UserSortKey sortKey = UserSortKey.fromProperty(order.getProperty())
+                .orElseThrow(() -> new InvalidPageRequestException("Users can not be sorted on " + order.getProperty()));
+        CreditScoreUserKeyset after = cursor != null ? UserListCursor.decode(cursor, sortKey, order.getDirection()) : null;
+
+        int pageSize = pageable.isPaged() ? pageable.getPageSize() : DEFAULT_PAGE_SIZE;
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        // One more user is read to find out whether there is a next page.
+        List<CreditScoreUser> users = creditScoreUserRepository.findPage(
+                clientId, filter, sortKey, order.getDirection(), after, offset, pageSize + 1);
+
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextCursor = UserListCursor.encode(sortKey, order.getDirection(), users.get(pageSize - 1));
+        }
+        Long totalCount = withTotalCount
+                ? userCountCache.count(clientId, filter, () -> creditScoreUserRepository.count(clientId, filter))
+                : null;
+
+        return new KeysetPage<>(users.stream().map(UserStorageService::mapCreditScoreUserToCreditScoreUserDTO).toList(),
+                nextCursor,
+                totalCount);
     }
 
     public void deleteById(@NonNull UUID userID) {
@@ -226,9 +265,28 @@ public class UserStorageService {
     public @Valid CreditScoreUserDTO create(@Valid UnaryOperator<CreditScoreUser> userOperator) {
         final CreditScoreUser user = userOperator.apply(new CreditScoreUser())
                 .setStatus(INVITED);
+        userCountCache.invalidate(user.getClientId());
         return mapCreditScoreUserToCreditScoreUserDTO(creditScoreUserRepository.save(user));
     }
 
+    /**
+     * Inserts new invited users in JDBC batches. The users need an assigned id.
+     */
+    public void createAll(@NonNull List<CreditScoreUser> users) {
+        users.forEach(user -> user.setStatus(INVITED));
+        users.stream().map(CreditScoreUser::getClientId).distinct().forEach(userCountCache::invalidate);
+        creditScoreUserRepository.insertAll(users);
+    }
+
+    /**
+     * @return invitation of the user, empty when the user was removed or is not in the INVITED status anymore
+     */
+    public Optional<PendingInvitation> findPendingInvitation(@NonNull UUID userId) {
+        return creditScoreUserRepository.findById(userId)
+                .filter(u -> INVITED == u.getStatus())
+                .map(u -> new PendingInvitation(u.getName(), u.getEmail(), u.getInvitationHash()));
+    }
+
     private static CreditScoreUserDTO mapCreditScoreUserToCreditScoreUserDTO(CreditScoreUser user) {
         return CreditScoreUserDTO.builder()
                 .id(user.getId())
@@ -271,4 +329,45 @@ public class UserStorageService {
                 .map(UserStorageService::mapCreditScoreUserToCreditScoreUserDTO)
                 .orElseThrow(() -> new IllegalStateException("Report share is not allowed for user"));
     }
+
+    /**
+     * Sets the status of at most {@code limit} overdue invitations to EXPIRED, see
+     * {@link CreditScoreUserRepository#expireOverdueInvitations}.
+     */
+    @Transactional
+    public List<SweptUser> expireOverdueInvitations(@NonNull OffsetDateTime invitedBefore,
+                                                    @NonNull OffsetDateTime abandonedBefore,
+                                                    int limit) {
+        return creditScoreUserRepository.expireOverdueInvitations(invitedBefore, abandonedBefore, OffsetDateTime.now(clock), limit)
+                .stream()
+                .map(UserStorageService::mapSweptCreditScoreUser)
+                .toList();
+    }
+
+    public long countOverdueInvitations(@NonNull OffsetDateTime invitedBefore, @NonNull OffsetDateTime abandonedBefore) {
+        return creditScoreUserRepository.countOverdueInvitations(invitedBefore, abandonedBefore);
+    }
+
+    @Transactional
+    public List<SweptUser> claimYoltUsersToRemove(@NonNull OffsetDateTime leaseExpiredBefore, int limit) {
+        return creditScoreUserRepository.claimYoltUsersToRemove(leaseExpiredBefore, OffsetDateTime.now(clock), limit)
+                .stream()
+                .map(UserStorageService::mapSweptCreditScoreUser)
+                .toList();
+    }
+
+    public long countYoltUsersToRemove(@NonNull OffsetDateTime leaseExpiredBefore) {
+        return creditScoreUserRepository.countYoltUsersToRemove(leaseExpiredBefore);
+    }
+
+    @Transactional
+    public void removeYoltUsers(@NonNull Collection<UUID> userIds) {
+        if (!userIds.isEmpty()) {
+            creditScoreUserRepository.removeYoltUsers(userIds);
+        }
+    }
+
+    private static SweptUser mapSweptCreditScoreUser(SweptCreditScoreUser user) {
+        return new SweptUser(user.getId(), user.getClientId(), user.getYoltUserId());
+    }
 }
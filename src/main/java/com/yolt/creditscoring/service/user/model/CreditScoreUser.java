@@ -75,6 +75,11 @@ public class CreditScoreUser {
 
     private UUID yoltUserId;
 
+    /**
+     * Start of the last attempt to remove the Yolt user of an expired invitation.
+     */
+    private OffsetDateTime yoltUserRemovalTime;
+
     private UUID yoltUserSiteId;
 
     private UUID yoltActivityId;
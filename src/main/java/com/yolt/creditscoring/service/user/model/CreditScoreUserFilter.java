@@ -0,0 +1,25 @@
+package com.yolt.creditscoring.service.user.model;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+/**
+ * Filter of the admin user list. Every criterion is optional.
+ *
+ * @param statuses     users with one of these statuses, all statuses when null or empty
+ * @param emailPrefix  case insensitive prefix of the e-mail address
+ * @param invitedFrom  invited at or after this time
+ * @param invitedUntil invited before this time
+ */
+public record CreditScoreUserFilter(Set<InvitationStatus> statuses,
+                                    String emailPrefix,
+                                    OffsetDateTime invitedFrom,
+                                    OffsetDateTime invitedUntil) {
+
+    public static final CreditScoreUserFilter NONE = new CreditScoreUserFilter(null, null, null, null);
+
+    public CreditScoreUserFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        emailPrefix = emailPrefix == null || emailPrefix.isBlank() ? null : emailPrefix.strip();
+    }
+}
@@ -0,0 +1,9 @@
+package com.yolt.creditscoring.service.user.model;
+
+import java.util.UUID;
+
+/**
+ * Position in the admin user list: the sort value and id of the last user of the previous page.
+ */
+public record CreditScoreUserKeyset(Object sortValue, UUID id) {
+}
@@ -0,0 +1,30 @@
+package com.yolt.creditscoring.service.user.model;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository fragment for the filtered admin user list.
+ * <p>
+ * Pages are read with keyset pagination: the next page starts after the {@link CreditScoreUserKeyset} of the last user
+ * of the previous page, so the database seeks in an index instead of skipping every preceding row as with an offset.
+ */
+public interface CreditScoreUserListRepository {
+
+    /**
+     * @param after  last user of the previous page, or null for the first page
+     * @param offset number of users to skip, only used without {@code after}
+     */
+    List<CreditScoreUser> findPage(UUID clientId,
+                                   CreditScoreUserFilter filter,
+                                   UserSortKey sortKey,
+                                   Sort.Direction direction,
+                                   @Nullable CreditScoreUserKeyset after,
+                                   long offset,
+                                   int limit);
+
+    long count(UUID clientId, CreditScoreUserFilter filter);
+}
@@ -0,0 +1,93 @@
+package com.yolt.creditscoring.service.user.model;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+@Transactional(readOnly = true)
+public class CreditScoreUserListRepositoryImpl implements CreditScoreUserListRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CreditScoreUser> findPage(UUID clientId,
+                                          CreditScoreUserFilter filter,
+                                          UserSortKey sortKey,
+                                          Sort.Direction direction,
+                                          @Nullable CreditScoreUserKeyset after,
+                                          long offset,
+                                          int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM credit_score_user WHERE ")
+                .append(where(clientId, filter, parameters));
+
+        String column = sortKey.getColumn();
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        if (after != null) {
+            // Row value comparison, so the database can seek to the position in the (client_id, column, id) index.
+            sql.append(" AND (").append(column).append(", id) ")
+                    .append(direction.isAscending() ? ">" : "<")
+                    .append(" (:afterValue, :afterId)");
+            parameters.put("afterValue", after.sortValue());
+            parameters.put("afterId", after.id());
+        }
+        sql.append(" ORDER BY ").append(column).append(' ').append(order).append(", id ").append(order)
+                .append(" LIMIT :limit");
+        parameters.put("limit", limit);
+        if (after == null && offset > 0) {
+            sql.append(" OFFSET :offset");
+            parameters.put("offset", offset);
+        }
+
+        Query query = entityManager.createNativeQuery(sql.toString(), CreditScoreUser.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public long count(UUID clientId, CreditScoreUserFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        Query query = entityManager.createNativeQuery("SELECT count(*) FROM credit_score_user WHERE " + where(clientId, filter, parameters));
+        parameters.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private static String where(UUID clientId, CreditScoreUserFilter filter, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder("client_id = :clientId");
+        parameters.put("clientId", clientId);
+        if (!filter.statuses().isEmpty()) {
+            where.append(" AND status IN (:statuses)");
+            parameters.put("statuses", filter.statuses().stream().map(Enum::name).toList());
+        }
+        if (filter.emailPrefix() != null) {
+            where.append(" AND lower(email) LIKE :emailPrefix ESCAPE '\\'");
+            parameters.put("emailPrefix", escapeLike(filter.emailPrefix().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (filter.invitedFrom() != null) {
+            where.append(" AND date_time_invited >= :invitedFrom");
+            parameters.put("invitedFrom", filter.invitedFrom());
+        }
+        if (filter.invitedUntil() != null) {
+            where.append(" AND date_time_invited < :invitedUntil");
+            parameters.put("invitedUntil", filter.invitedUntil());
+        }
+        return where.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,18 +1,89 @@
 package com.yolt.creditscoring.service.user.model;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.yolt.creditscoring.common.jpa.InsertRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface CreditScoreUserRepository extends CrudRepository<CreditScoreUser, UUID> {
+public interface CreditScoreUserRepository extends CrudRepository<CreditScoreUser, UUID>, InsertRepository<CreditScoreUser>,
+        CreditScoreUserListRepository {
 
-    List<CreditScoreUser> findAllByClientId(UUID clientId);
+    String OVERDUE_INVITATION_CONDITION = """
+            (status = 'INVITED' AND date_time_invited < :invitedBefore
+                AND (NOT consent OR date_time_consent < :abandonedBefore))
+            OR (status = 'ACCOUNT_SELECTED'
+                AND GREATEST(date_time_invited, date_time_consent, date_time_status_change) < :abandonedBefore)
+            """;
+
+    String YOLT_USER_TO_REMOVE_CONDITION = """
+            status = 'EXPIRED' AND yolt_user_id IS NOT NULL
+            AND (yolt_user_removal_time IS NULL OR yolt_user_removal_time < :leaseExpiredBefore)
+            """;
 
-    Page<CreditScoreUser> findByClientId(UUID clientId, Pageable pageable);
+    List<CreditScoreUser> findAllByClientId(UUID clientId);
 
     Optional<CreditScoreUser> findByInvitationHash(String invitationHash);
+
+    /**
+     * Expires invitations which were not used in time and flows which were abandoned after the consent. Users locked
+     * by another pod are skipped, so every user is expired by a single pod.
+     */
+    @Query(value = """
+            WITH overdue AS (
+                SELECT id FROM credit_score_user
+                WHERE """ + OVERDUE_INVITATION_CONDITION + """
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE credit_score_user u SET status = 'EXPIRED', date_time_status_change = :now
+            FROM overdue
+            WHERE u.id = overdue.id
+            RETURNING u.id AS "id", u.client_id AS "clientId", u.yolt_user_id AS "yoltUserId"
+            """, nativeQuery = true)
+    List<SweptCreditScoreUser> expireOverdueInvitations(@Param("invitedBefore") OffsetDateTime invitedBefore,
+                                                        @Param("abandonedBefore") OffsetDateTime abandonedBefore,
+                                                        @Param("now") OffsetDateTime now,
+                                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT count(*) FROM credit_score_user WHERE " + OVERDUE_INVITATION_CONDITION, nativeQuery = true)
+    long countOverdueInvitations(@Param("invitedBefore") OffsetDateTime invitedBefore,
+                                 @Param("abandonedBefore") OffsetDateTime abandonedBefore);
+
+    /**
+     * Claims expired users of which the Yolt user still has to be removed. The removal time works as a lease: a user
+     * is claimed again when the removal did not succeed within the lease.
+     */
+    @Query(value = """
+            WITH claimed AS (
+                SELECT id FROM credit_score_user
+                WHERE """ + YOLT_USER_TO_REMOVE_CONDITION + """
+                ORDER BY yolt_user_removal_time NULLS FIRST
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE credit_score_user u SET yolt_user_removal_time = :now
+            FROM claimed
+            WHERE u.id = claimed.id
+            RETURNING u.id AS "id", u.client_id AS "clientId", u.yolt_user_id AS "yoltUserId"
+            """, nativeQuery = true)
+    List<SweptCreditScoreUser> claimYoltUsersToRemove(@Param("leaseExpiredBefore") OffsetDateTime leaseExpiredBefore,
+                                                      @Param("now") OffsetDateTime now,
+                                                      @Param("limit") int limit);
+
+    @Query(value = "SELECT count(*) FROM credit_score_user WHERE " + YOLT_USER_TO_REMOVE_CONDITION, nativeQuery = true)
+    long countYoltUsersToRemove(@Param("leaseExpiredBefore") OffsetDateTime leaseExpiredBefore);
+
+    @Modifying
+    @Query("""
+            UPDATE CreditScoreUser u SET u.yoltUserId = NULL, u.yoltUserSiteId = NULL, u.selectedAccountId = NULL
+            WHERE u.id IN :ids
+            """)
+    int removeYoltUsers(@Param("ids") Collection<UUID> ids);
 }
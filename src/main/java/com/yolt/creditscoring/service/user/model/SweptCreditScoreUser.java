@@ -0,0 +1,15 @@
+package com.yolt.creditscoring.service.user.model;
+
+import java.util.UUID;
+
+/**
+ * User returned by the set-based updates of the invitation sweeper.
+ */
+public interface SweptCreditScoreUser {
+
+    UUID getId();
+
+    UUID getClientId();
+
+    UUID getYoltUserId();
+}
@@ -0,0 +1,32 @@
+package com.yolt.creditscoring.service.user.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Columns the admin user list can be sorted on. Every column is not null and covered by an index on
+ * {@code (client_id, <column>, id)}, so a page is read by seeking in the index.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserSortKey {
+    DATE_INVITED("dateTimeInvited", "date_time_invited", CreditScoreUser::getDateTimeInvited, OffsetDateTime::parse),
+    EMAIL("email", "email", CreditScoreUser::getEmail, value -> value),
+    NAME("name", "name", CreditScoreUser::getName, value -> value);
+
+    private final String property;
+    private final String column;
+    private final Function<CreditScoreUser, Object> extractor;
+    private final Function<String, Object> parser;
+
+    public static Optional<UserSortKey> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst();
+    }
+}
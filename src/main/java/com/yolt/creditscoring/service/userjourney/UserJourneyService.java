@@ -5,6 +5,7 @@ import com.yolt.creditscoring.service.client.model.ClientEntity;
 import com.yolt.creditscoring.service.client.model.ClientRepository;
 import com.yolt.creditscoring.service.userjourney.model.UserJourneyMetric;
 import com.yolt.creditscoring.service.userjourney.model.UserJourneyRepository;
+import com.yolt.creditscoring.utility.id.IdGenerators;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.NonNull;
@@ -14,7 +15,9 @@ import org.springframework.stereotype.Service;
 import javax.validation.constraints.NotNull;
 import java.time.Clock;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -38,6 +41,23 @@ public class UserJourneyService {
         metricIncrement(JourneyStatus.INVITED, clientId);
     }
 
+    public void registerInvited(@NonNull UUID clientId, @NotNull Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<UserJourneyMetric> userJourneyMetrics = userIds.stream()
+                .map(userId -> {
+                    UserJourneyMetric userJourneyMetric = createUserJourneyMetric(clientId, userId);
+                    userJourneyMetric.setStatus(JourneyStatus.INVITED);
+                    return userJourneyMetric;
+                })
+                .toList();
+
+        userJourneyRepository.insertAll(userJourneyMetrics);
+
+        metricIncrement(JourneyStatus.INVITED, clientId, userIds.size());
+    }
+
     public void registerConsentGenerated(@NonNull UUID clientId, @NotNull UUID userId) {
         UserJourneyMetric userJourneyMetric = createUserJourneyMetric(clientId, userId);
         userJourneyMetric.setStatus(JourneyStatus.CONSENT_ACCEPTED);
@@ -119,9 +139,26 @@ public class UserJourneyService {
         metricIncrement(JourneyStatus.EXPIRED, clientId);
     }
 
+    public void registerExpired(@NonNull UUID clientId, @NotNull Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<UserJourneyMetric> userJourneyMetrics = userIds.stream()
+                .map(userId -> {
+                    UserJourneyMetric userJourneyMetric = createUserJourneyMetric(clientId, userId);
+                    userJourneyMetric.setStatus(JourneyStatus.EXPIRED);
+                    return userJourneyMetric;
+                })
+                .toList();
+
+        userJourneyRepository.insertAll(userJourneyMetrics);
+
+        metricIncrement(JourneyStatus.EXPIRED, clientId, userIds.size());
+    }
+
     private static UserJourneyMetric createUserJourneyMetric(@NonNull UUID clientId, @NotNull UUID userId) {
         UserJourneyMetric userJourneyMetric = new UserJourneyMetric();
-        userJourneyMetric.setId(UUID.randomUUID());
+        userJourneyMetric.setId(IdGenerators.getPersistenceIds().generate());
         userJourneyMetric.setClientId(clientId);
         userJourneyMetric.setUserId(userId);
         userJourneyMetric.setCreatedDate(OffsetDateTime.now(clock));
@@ -129,6 +166,10 @@ public class UserJourneyService {
     }
 
     private void metricIncrement(JourneyStatus journeyStatus, UUID clientId) {
+        metricIncrement(journeyStatus, clientId, 1);
+    }
+
+    private void metricIncrement(JourneyStatus journeyStatus, UUID clientId, int amount) {
         Counter counter = counters.computeIfAbsent(journeyStatus.name() + "_" + clientId.toString(), s -> {
             ClientEntity client = clientRepository.findById(clientId).orElseThrow();
             return Counter.builder("users_journey_" + journeyStatus.name().toLowerCase())
@@ -136,7 +177,7 @@ public class UserJourneyService {
                     .register(registry);
         });
 
-        counter.increment();
+        counter.increment(amount);
     }
 
     public boolean isConsentGeneratedRegistered(UUID clientId, UUID userId) {
@@ -1,5 +1,6 @@
 package com.yolt.creditscoring.service.userjourney.model;
 
+import com.yolt.creditscoring.common.jpa.InsertRepository;
 import com.yolt.creditscoring.service.userjourney.JourneyStatus;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -9,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserJourneyRepository extends CrudRepository<UserJourneyMetric, UUID> {
+public interface UserJourneyRepository extends CrudRepository<UserJourneyMetric, UUID>, InsertRepository<UserJourneyMetric> {
 
     @Query(value = "SELECT Client.name AS clientname, status, count(DISTINCT user_id) FROM user_journey_metric u " +
             "LEFT JOIN Client ON u.client_id = Client.id " +
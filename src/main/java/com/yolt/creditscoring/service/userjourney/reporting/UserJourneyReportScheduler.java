@@ -1,5 +1,6 @@
 package com.yolt.creditscoring.service.userjourney.reporting;
 
+import com.yolt.creditscoring.common.scheduling.SchedulerLock;
 import com.yolt.creditscoring.configuration.ClockConfig;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ public class UserJourneyReportScheduler {
     private final UserJourneyReportService userJourneyReportService;
 
     @Scheduled(cron = "${credit-scoring.invoicing.report-cron:0 0 0 * * *}")
+    @SchedulerLock(name = "invoicing-report", lockAtMostFor = "30m", lockAtLeastFor = "5m")
     public void scheduleFixedDelayTask() {
         LocalDate now = LocalDate.now(amsterdamClock);
 
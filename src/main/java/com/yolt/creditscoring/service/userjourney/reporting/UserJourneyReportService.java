@@ -7,6 +7,7 @@ import com.yolt.creditscoring.service.userjourney.model.UserJourneyRepository;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.time.temporal.TemporalAdjusters;
@@ -35,6 +36,7 @@ public class UserJourneyReportService {
      * @param zoneId of report
      * @return
      */
+    @Transactional(readOnly = true)
     public UserJourneyMonthReport reportForMonth(@NonNull LocalDate date, @NonNull ZoneId zoneId) {
         LocalDate previousDay = date.minusDays(1);
         LocalDate reportMonth = previousDay.with(TemporalAdjusters.firstDayOfMonth());
@@ -61,6 +63,7 @@ public class UserJourneyReportService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<ClientMetricsDTO> getClientMetrics(UUID clientId, Optional<Integer> year) {
         Integer yearForQuery = year.orElseGet(() -> Year.now(clock).getValue());
 
@@ -77,6 +80,7 @@ public class UserJourneyReportService {
                 ).toList();
     }
 
+    @Transactional(readOnly = true)
     public List<Integer> getAllAvailableYearsClientMetricYears(UUID clientId) {
         return userJourneyRepository.findAllAvailableMetricsYears(clientId);
     }
@@ -0,0 +1,25 @@
+package com.yolt.creditscoring.service.webhook;
+
+import lombok.Builder;
+import lombok.Value;
+
+import javax.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
+
+@Value
+@Builder
+public class ClientWebhookDTO {
+
+    @NotNull
+    String url;
+
+    /**
+     * Only returned when the webhook is registered.
+     */
+    String secret;
+
+    boolean enabled;
+
+    @NotNull
+    OffsetDateTime createdDate;
+}
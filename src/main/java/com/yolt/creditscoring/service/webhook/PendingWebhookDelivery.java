@@ -0,0 +1,8 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.yolt.creditscoring.common.outbox.OutboxEntry;
+
+import java.util.UUID;
+
+public record PendingWebhookDelivery(UUID id, UUID clientId, String payload, int attempts) implements OutboxEntry {
+}
@@ -0,0 +1,64 @@
+package com.yolt.creditscoring.service.webhook;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves webhook hosts when the connection is opened and refuses addresses which are not public, so the address
+ * that was checked is the address connected to. Without it the host could resolve to a public address for the check
+ * before the delivery and to an internal one for the connection.
+ * <p>
+ * Only used when webhooks are sent without the proxy, with the proxy the host is resolved by the proxy.
+ */
+class PublicAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new PublicNameResolver(executor).asAddressResolver();
+    }
+
+    private static class PublicNameResolver extends InetNameResolver {
+
+        PublicNameResolver(EventExecutor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            try {
+                promise.setSuccess(requirePublic(InetAddress.getByName(inetHost)));
+            } catch (UnknownHostException e) {
+                promise.setFailure(e);
+            }
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            try {
+                InetAddress[] addresses = InetAddress.getAllByName(inetHost);
+                for (InetAddress address : addresses) {
+                    requirePublic(address);
+                }
+                promise.setSuccess(Arrays.asList(addresses));
+            } catch (UnknownHostException e) {
+                promise.setFailure(e);
+            }
+        }
+
+        private static InetAddress requirePublic(InetAddress address) throws UnknownHostException {
+            if (!WebhookUrlValidator.isPublic(address)) {
+                throw new UnknownHostException("Webhook host resolved to address which is not public");
+            }
+            return address;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.yolt.creditscoring.service.webhook.model.WebhookDeliveryStatus;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Value
+@Builder
+public class WebhookDeliveryDTO {
+
+    UUID id;
+
+    UUID creditScoreUserId;
+
+    WebhookEventType eventType;
+
+    WebhookDeliveryStatus status;
+
+    int attempts;
+
+    OffsetDateTime createdDate;
+
+    OffsetDateTime lastAttemptTime;
+
+    OffsetDateTime nextAttemptTime;
+
+    Integer lastResponseStatus;
+
+    String lastError;
+}
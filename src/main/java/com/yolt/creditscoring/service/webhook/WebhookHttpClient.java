@@ -0,0 +1,72 @@
+package com.yolt.creditscoring.service.webhook;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.transport.ProxyProvider;
+
+import java.net.URI;
+
+/**
+ * Sends webhook deliveries to the endpoints registered by clients. Redirects are not followed and the response body
+ * is ignored, only the status code is stored in the delivery log.
+ * <p>
+ * Without the proxy, hosts are resolved by {@link PublicAddressResolverGroup}, which refuses internal addresses.
+ * With the proxy, the proxy resolves the host and has to block internal addresses itself.
+ */
+@Slf4j
+@Service
+public class WebhookHttpClient {
+
+    private final WebClient webClient;
+
+    public WebhookHttpClient(WebClient.Builder webClientBuilder,
+                             WebhookProperties properties,
+                             @Value("${isp.proxy.host}") String ispProxyHost,
+                             @Value("${isp.proxy.port}") Integer ispProxyPort) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                .followRedirect(false);
+
+        if (properties.isProxyEnabled()) {
+            log.info("Webhook proxy host: {}:{}", ispProxyHost, ispProxyPort);
+            httpClient = httpClient.proxy(proxy -> proxy
+                    .type(ProxyProvider.Proxy.HTTP)
+                    .host(ispProxyHost)
+                    .port(ispProxyPort));
+        } else if (!properties.isAllowPrivateAddresses()) {
+            httpClient = httpClient.resolver(new PublicAddressResolverGroup());
+        }
+
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * @return HTTP status code of the response
+     */
+    public int post(URI url, String deliveryId, long timestamp, String signature, String payload) {
+        Integer status = webClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+                .header(WebhookSignature.DELIVERY_ID_HEADER, deliveryId)
+                .header(WebhookSignature.TIMESTAMP_HEADER, String.valueOf(timestamp))
+                .header(WebhookSignature.SIGNATURE_HEADER, signature)
+                .bodyValue(payload)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.rawStatusCode()))
+                .block();
+        if (status == null) {
+            throw new IllegalStateException("Missing webhook response");
+        }
+        return status;
+    }
+}
@@ -0,0 +1,71 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.yolt.creditscoring.common.outbox.ExponentialBackoff;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the report webhook deliveries.
+ * At most {@code concurrency} deliveries are sent at the same time by a single pod. Failed deliveries are retried with
+ * exponential backoff, starting at {@code initialBackoff} and capped at {@code maxBackoff}, until {@code maxAttempts}
+ * is reached.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "credit-scoring.outbox.webhook")
+public class WebhookProperties {
+
+    private final int concurrency;
+
+    private final int maxAttempts;
+
+    private final ExponentialBackoff backoff;
+
+    /**
+     * Time after which a claimed delivery is picked up again when no result was stored, e.g. because the pod died.
+     * Should be higher than {@code responseTimeout}.
+     */
+    private final Duration lease;
+
+    private final Duration connectTimeout;
+
+    private final Duration responseTimeout;
+
+    /**
+     * Only https endpoints can be registered. Disabled in tests, which deliver to a local http stub.
+     */
+    private final boolean requireHttps;
+
+    /**
+     * Endpoints resolving to loopback, private, link-local, multicast or wildcard addresses can not be registered or
+     * delivered to. Allowed in tests, which deliver to a stub on localhost.
+     */
+    private final boolean allowPrivateAddresses;
+
+    private final boolean proxyEnabled;
+
+    public WebhookProperties(@DefaultValue("4") int concurrency,
+                             @DefaultValue("10") int maxAttempts,
+                             @DefaultValue("30s") Duration initialBackoff,
+                             @DefaultValue("6h") Duration maxBackoff,
+                             @DefaultValue("5m") Duration lease,
+                             @DefaultValue("5s") Duration connectTimeout,
+                             @DefaultValue("10s") Duration responseTimeout,
+                             @DefaultValue("true") boolean requireHttps,
+                             @DefaultValue("false") boolean allowPrivateAddresses,
+                             @DefaultValue("true") boolean proxyEnabled) {
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.backoff = new ExponentialBackoff(initialBackoff, maxBackoff);
+        this.lease = lease;
+        this.connectTimeout = connectTimeout;
+        this.responseTimeout = responseTimeout;
+        this.requireHttps = requireHttps;
+        this.allowPrivateAddresses = allowPrivateAddresses;
+        this.proxyEnabled = proxyEnabled;
+    }
+}
@@ -0,0 +1,22 @@
+package com.yolt.creditscoring.service.webhook;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class WebhookScheduler {
+
+    private final WebhookService webhookService;
+
+    @Scheduled(fixedDelayString = "${credit-scoring.outbox.webhook.poll-interval-ms:5000}")
+    public void processPendingDeliveries() {
+        int submitted = webhookService.processPendingDeliveries();
+        if (submitted > 0) {
+            log.info("Submitted {} pending webhook delivery(ies)", submitted);
+        }
+    }
+}
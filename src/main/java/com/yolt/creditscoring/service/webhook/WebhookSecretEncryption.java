@@ -0,0 +1,60 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.yolt.creditscoring.exception.EncryptionException;
+import com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts the webhook secrets stored in the database with the encryption key from Vault, like the client tokens.
+ * Unlike the tokens the secrets are encrypted with AES-GCM, every value gets a random IV, which is stored in front of
+ * the cipher text.
+ * <p>
+ * Secrets can not be decrypted anymore when the encryption key in Vault is replaced, the webhook has to be registered
+ * again then.
+ */
+@Service
+@RequiredArgsConstructor
+public class WebhookSecretEncryption {
+
+    private static final String ENCRYPTION_ALGORITHM = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final VaultSecretKeyService secretKeyService;
+
+    public String encrypt(String secret) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            SECURE_RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
+            cipher.init(Cipher.ENCRYPT_MODE, secretKeyService.getJwtEncryptionKey(), new GCMParameterSpec(TAG_BITS, iv));
+            byte[] cipherText = cipher.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(iv.length + cipherText.length)
+                    .put(iv)
+                    .put(cipherText)
+                    .array());
+        } catch (Exception e) {
+            throw new EncryptionException("There was an error when encrypting webhook secret");
+        }
+    }
+
+    public String decrypt(String encryptedSecret) {
+        try {
+            byte[] encrypted = Base64.getUrlDecoder().decode(encryptedSecret);
+            Cipher cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
+            cipher.init(Cipher.DECRYPT_MODE, secretKeyService.getJwtEncryptionKey(), new GCMParameterSpec(TAG_BITS, encrypted, 0, IV_BYTES));
+            return new String(cipher.doFinal(encrypted, IV_BYTES, encrypted.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw new EncryptionException("There was an error when decrypting webhook secret");
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yolt.creditscoring.common.outbox.OutboxDispatcher;
+import com.yolt.creditscoring.configuration.AsyncConfiguration;
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
+import com.yolt.creditscoring.service.webhook.model.ClientWebhookEntity;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
+import com.yolt.creditscoring.utility.id.IdGenerators;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Notifies clients about report events, so they don't have to poll the customer API.
+ * Events are stored in the outbox in the transaction which changes the user status and are sent later by
+ * {@link #processPendingDeliveries()}, so a slow or failing client endpoint never affects the user journey.
+ */
+@Slf4j
+@Service
+public class WebhookService {
+
+    private static final Clock clock = ClockConfig.getClock();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final String DELIVERIES_METRIC = "webhook_deliveries";
+
+    private final WebhookStorageService webhookStorageService;
+    private final WebhookHttpClient webhookHttpClient;
+    private final WebhookUrlValidator webhookUrlValidator;
+    private final WebhookSecretEncryption webhookSecretEncryption;
+    private final WebhookProperties properties;
+    private final MeterRegistry registry;
+    private final OutboxDispatcher<PendingWebhookDelivery> dispatcher;
+
+    public WebhookService(WebhookStorageService webhookStorageService,
+                          WebhookHttpClient webhookHttpClient,
+                          WebhookUrlValidator webhookUrlValidator,
+                          WebhookSecretEncryption webhookSecretEncryption,
+                          WebhookProperties properties,
+                          @Qualifier(AsyncConfiguration.WEBHOOK_EXECUTOR) TaskExecutor executor,
+                          MeterRegistry registry) {
+        this.webhookStorageService = webhookStorageService;
+        this.webhookHttpClient = webhookHttpClient;
+        this.webhookUrlValidator = webhookUrlValidator;
+        this.webhookSecretEncryption = webhookSecretEncryption;
+        this.properties = properties;
+        this.registry = registry;
+        this.dispatcher = new OutboxDispatcher<>("Webhook delivery", properties.getConcurrency(), executor,
+                limit -> webhookStorageService.claimPendingDeliveries(OffsetDateTime.now(clock), properties.getLease(), limit),
+                this::deliver);
+    }
+
+    /**
+     * Store the event in the outbox when the client registered a webhook. Should be called in the transaction which
+     * changes the user status, so the event is stored only when the status change is committed.
+     */
+    public void enqueue(@NonNull UUID clientId, @NonNull UUID userId,
+                        @NonNull WebhookEventType eventType, @NonNull InvitationStatus userInvitationStatus) {
+        if (!webhookStorageService.hasEnabledWebhook(clientId)) {
+            return;
+        }
+
+        UUID deliveryId = IdGenerators.getPersistenceIds().generate();
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        String payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsString(new WebhookPayload(deliveryId, eventType, userId, userInvitationStatus, now));
+        } catch (JsonProcessingException e) {
+            log.error("There was an error when creating the webhook payload", e);
+            return;
+        }
+        webhookStorageService.savePending(deliveryId, clientId, userId, eventType, payload, now);
+        registry.counter(DELIVERIES_METRIC, "result", "enqueued").increment();
+    }
+
+    /**
+     * Claim the pending deliveries which are due and send them. Only as many deliveries are claimed as there are
+     * free slots, the rest stays available for other pods.
+     *
+     * @return number of deliveries submitted for sending
+     */
+    public int processPendingDeliveries() {
+        return dispatcher.dispatch();
+    }
+
+    /**
+     * Encrypts the secrets of webhooks registered before secrets were encrypted. Runs on every pod, a secret is only
+     * replaced while it is still the plain one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void encryptPlainSecrets() {
+        for (ClientWebhookEntity webhook : webhookStorageService.findWebhooksWithPlainSecret()) {
+            webhookStorageService.encryptSecret(webhook.getClientId(), webhook.getSecret(),
+                    webhookSecretEncryption.encrypt(webhook.getSecret()));
+        }
+    }
+
+    void deliver(PendingWebhookDelivery delivery) {
+        int attempts = delivery.attempts() + 1;
+        OffsetDateTime attemptTime = OffsetDateTime.now(clock);
+
+        Optional<ClientWebhookEntity> webhook = webhookStorageService.findWebhook(delivery.clientId())
+                .filter(ClientWebhookEntity::isEnabled);
+        if (webhook.isEmpty()) {
+            webhookStorageService.failed(delivery.id(), attempts, attemptTime, null, "Webhook was removed or disabled");
+            registry.counter(DELIVERIES_METRIC, "result", "failed").increment();
+            return;
+        }
+
+        Integer responseStatus = null;
+        String error;
+        try {
+            URI url = URI.create(webhook.get().getUrl());
+            webhookUrlValidator.validateAddresses(url.getHost());
+            long timestamp = attemptTime.toEpochSecond();
+            String signature = WebhookSignature.sign(secret(webhook.get()), timestamp, delivery.payload());
+            responseStatus = webhookHttpClient.post(url, delivery.id().toString(), timestamp, signature, delivery.payload());
+            if (responseStatus >= 200 && responseStatus < 300) {
+                webhookStorageService.delivered(delivery.id(), attempts, attemptTime, responseStatus);
+                registry.counter(DELIVERIES_METRIC, "result", "delivered").increment();
+                return;
+            }
+            error = "Webhook endpoint responded with status " + responseStatus;
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+
+        if (attempts < properties.getMaxAttempts()) {
+            OffsetDateTime nextAttemptTime = attemptTime.plus(properties.getBackoff().delay(attempts));
+            log.info("Webhook delivery {} failed, attempt {} of {}, next attempt at {}: {}",
+                    delivery.id(), attempts, properties.getMaxAttempts(), nextAttemptTime, error);
+            webhookStorageService.scheduleRetry(delivery.id(), attempts, attemptTime, nextAttemptTime, responseStatus, error);
+            registry.counter(DELIVERIES_METRIC, "result", "retry").increment();
+        } else {
+            log.warn("Webhook delivery {} failed after {} attempts: {}", delivery.id(), attempts, error);
+            webhookStorageService.failed(delivery.id(), attempts, attemptTime, responseStatus, error);
+            registry.counter(DELIVERIES_METRIC, "result", "failed").increment();
+        }
+    }
+
+    private String secret(ClientWebhookEntity webhook) {
+        return webhook.isSecretEncrypted() ? webhookSecretEncryption.decrypt(webhook.getSecret()) : webhook.getSecret();
+    }
+
+    /**
+     * Body of a webhook delivery. Clients should fetch the report with the customer API, the delivery only tells that
+     * it is available.
+     */
+    record WebhookPayload(UUID id,
+                          WebhookEventType type,
+                          UUID creditScoreUserId,
+                          InvitationStatus userInvitationStatus,
+                          OffsetDateTime createdDate) {
+    }
+}
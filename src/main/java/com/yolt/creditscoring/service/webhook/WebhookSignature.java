@@ -0,0 +1,41 @@
+package com.yolt.creditscoring.service.webhook;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * HMAC-SHA256 signature of a webhook delivery. The timestamp is signed together with the body, so the client can
+ * reject replayed deliveries. The client verifies a delivery by calculating
+ * {@code hex(HMAC-SHA256(secret, timestamp + "." + body))} and comparing it with the signature header.
+ */
+@UtilityClass
+public class WebhookSignature {
+
+    public static final String SIGNATURE_HEADER = "X-CFA-Webhook-Signature";
+    public static final String TIMESTAMP_HEADER = "X-CFA-Webhook-Timestamp";
+    public static final String DELIVERY_ID_HEADER = "X-CFA-Webhook-Id";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION_PREFIX = "v1=";
+
+    /**
+     * @param timestamp epoch seconds of the attempt
+     * @return value of the {@link #SIGNATURE_HEADER}
+     */
+    public static String sign(@NonNull String secret, long timestamp, @NonNull String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] signature = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return VERSION_PREFIX + HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign webhook payload", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.yolt.creditscoring.service.webhook.model.*;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class WebhookStorageService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ClientWebhookRepository clientWebhookRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+
+    public Optional<ClientWebhookEntity> findWebhook(@NonNull UUID clientId) {
+        return clientWebhookRepository.findById(clientId);
+    }
+
+    public boolean hasEnabledWebhook(@NonNull UUID clientId) {
+        return clientWebhookRepository.existsByClientIdAndEnabledTrue(clientId);
+    }
+
+    public ClientWebhookEntity saveWebhook(@NonNull ClientWebhookEntity webhook) {
+        return clientWebhookRepository.save(webhook);
+    }
+
+    public List<ClientWebhookEntity> findWebhooksWithPlainSecret() {
+        return clientWebhookRepository.findAllBySecretEncryptedFalse();
+    }
+
+    @Transactional
+    public void encryptSecret(@NonNull UUID clientId, @NonNull String plainSecret, @NonNull String encryptedSecret) {
+        clientWebhookRepository.encryptSecret(clientId, plainSecret, encryptedSecret);
+    }
+
+    public void deleteWebhook(@NonNull UUID clientId) {
+        clientWebhookRepository.deleteById(clientId);
+    }
+
+    public void savePending(@NonNull UUID id, @NonNull UUID clientId, @NonNull UUID userId,
+                            @NonNull WebhookEventType eventType, @NonNull String payload, @NonNull OffsetDateTime createdDate) {
+        webhookDeliveryRepository.save(new WebhookDeliveryEntity()
+                .setId(id)
+                .setClientId(clientId)
+                .setCreditScoreUserId(userId)
+                .setEventType(eventType)
+                .setPayload(payload)
+                .setStatus(WebhookDeliveryStatus.PENDING)
+                .setCreatedDate(createdDate)
+                .setNextAttemptTime(createdDate));
+    }
+
+    public Page<WebhookDeliveryDTO> findDeliveries(@NonNull UUID clientId, @NonNull Pageable pageable) {
+        return webhookDeliveryRepository.findAllByClientIdOrderByCreatedDateDesc(clientId, pageable)
+                .map(delivery -> WebhookDeliveryDTO.builder()
+                        .id(delivery.getId())
+                        .creditScoreUserId(delivery.getCreditScoreUserId())
+                        .eventType(delivery.getEventType())
+                        .status(delivery.getStatus())
+                        .attempts(delivery.getAttempts())
+                        .createdDate(delivery.getCreatedDate())
+                        .lastAttemptTime(delivery.getLastAttemptTime())
+                        .nextAttemptTime(delivery.getNextAttemptTime())
+                        .lastResponseStatus(delivery.getLastResponseStatus())
+                        .lastError(delivery.getLastError())
+                        .build());
+    }
+
+    /**
+     * Claims pending deliveries which are due. The next attempt time of claimed deliveries is moved by {@code lease},
+     * so a delivery is picked up again when the pod sending it dies before storing the result.
+     */
+    @Transactional
+    public List<PendingWebhookDelivery> claimPendingDeliveries(@NonNull OffsetDateTime now, @NonNull Duration lease, int limit) {
+        return webhookDeliveryRepository.findDueForDeliveryAndLock(now, limit).stream()
+                .map(entity -> {
+                    entity.setNextAttemptTime(now.plus(lease));
+                    return new PendingWebhookDelivery(entity.getId(), entity.getClientId(), entity.getPayload(), entity.getAttempts());
+                })
+                .toList();
+    }
+
+    @Transactional
+    public void delivered(@NonNull UUID id, int attempts, @NonNull OffsetDateTime attemptTime, int responseStatus) {
+        webhookDeliveryRepository.findById(id).ifPresent(entity -> entity
+                .setStatus(WebhookDeliveryStatus.DELIVERED)
+                .setAttempts(attempts)
+                .setLastAttemptTime(attemptTime)
+                .setLastResponseStatus(responseStatus)
+                .setLastError(null)
+                .setNextAttemptTime(null));
+    }
+
+    @Transactional
+    public void scheduleRetry(@NonNull UUID id, int attempts, @NonNull OffsetDateTime attemptTime,
+                              @NonNull OffsetDateTime nextAttemptTime, Integer responseStatus, String error) {
+        webhookDeliveryRepository.findById(id).ifPresent(entity -> entity
+                .setAttempts(attempts)
+                .setLastAttemptTime(attemptTime)
+                .setLastResponseStatus(responseStatus)
+                .setLastError(truncate(error))
+                .setNextAttemptTime(nextAttemptTime));
+    }
+
+    @Transactional
+    public void failed(@NonNull UUID id, int attempts, @NonNull OffsetDateTime attemptTime, Integer responseStatus, String error) {
+        webhookDeliveryRepository.findById(id).ifPresent(entity -> entity
+                .setStatus(WebhookDeliveryStatus.FAILED)
+                .setAttempts(attempts)
+                .setLastAttemptTime(attemptTime)
+                .setLastResponseStatus(responseStatus)
+                .setLastError(truncate(error))
+                .setNextAttemptTime(null));
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,81 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.yolt.creditscoring.exception.InvalidWebhookUrlException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+
+/**
+ * Makes sure webhooks are only sent to public endpoints, so a client admin can not use the webhook to reach services
+ * inside the cluster. The addresses of the host are checked when the webhook is registered and again before every
+ * delivery, because the DNS record of the host can be changed after the registration.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebhookUrlValidator {
+
+    private final WebhookProperties properties;
+
+    /**
+     * @throws InvalidWebhookUrlException when the url is not an absolute https url without credentials, or when its
+     *                                    host does not resolve to public addresses only
+     */
+    public URI validate(@NonNull String url) {
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            throw new InvalidWebhookUrlException("Webhook url is not a valid URI");
+        }
+        String scheme = uri.getScheme();
+        boolean allowedScheme = "https".equalsIgnoreCase(scheme)
+                || (!properties.isRequireHttps() && "http".equalsIgnoreCase(scheme));
+        if (!allowedScheme || uri.getHost() == null || uri.getUserInfo() != null) {
+            throw new InvalidWebhookUrlException("Webhook url has to be an absolute https url without credentials");
+        }
+        validateAddresses(uri.getHost());
+        return uri;
+    }
+
+    /**
+     * @throws InvalidWebhookUrlException when the host can not be resolved or one of its addresses is not public
+     */
+    public void validateAddresses(@NonNull String host) {
+        if (properties.isAllowPrivateAddresses()) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new InvalidWebhookUrlException("Webhook url host can not be resolved");
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new InvalidWebhookUrlException("Webhook url has to resolve to public addresses only");
+            }
+        }
+    }
+
+    static boolean isPublic(InetAddress address) {
+        return !address.isLoopbackAddress()
+                && !address.isSiteLocalAddress()
+                && !address.isLinkLocalAddress()
+                && !address.isMulticastAddress()
+                && !address.isAnyLocalAddress()
+                && !isUniqueLocal(address);
+    }
+
+    /**
+     * IPv6 unique local addresses (fc00::/7) replaced the site-local addresses, which {@link InetAddress} still checks.
+     */
+    private static boolean isUniqueLocal(InetAddress address) {
+        return address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc;
+    }
+}
@@ -0,0 +1,61 @@
+package com.yolt.creditscoring.service.webhook.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PastOrPresent;
+import javax.validation.constraints.Size;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Webhook subscription of a client. A client has at most one subscription, which receives all report events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = ClientWebhookEntity.TABLE_NAME)
+@Entity
+@Builder
+public class ClientWebhookEntity {
+
+    public static final String TABLE_NAME = "client_webhook";
+
+    @Id
+    @NotNull
+    private UUID clientId;
+
+    @NotNull
+    @Size(max = 2048)
+    private String url;
+
+    /**
+     * Key of the HMAC signature of every delivery, encrypted with {@link com.yolt.creditscoring.service.webhook.WebhookSecretEncryption}.
+     * Shown to the client admin only when the webhook is registered.
+     */
+    @NotNull
+    @Size(max = 2048)
+    @ToString.Exclude
+    private String secret;
+
+    /**
+     * False for secrets stored before they were encrypted, until they are encrypted when the application starts.
+     */
+    private boolean secretEncrypted;
+
+    private boolean enabled;
+
+    @NotNull
+    private String createdAdminEmail;
+
+    @NotNull
+    @PastOrPresent
+    private OffsetDateTime createdDate;
+}
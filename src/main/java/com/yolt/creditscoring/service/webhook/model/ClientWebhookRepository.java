@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.service.webhook.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ClientWebhookRepository extends JpaRepository<ClientWebhookEntity, UUID> {
+
+    boolean existsByClientIdAndEnabledTrue(UUID clientId);
+
+    List<ClientWebhookEntity> findAllBySecretEncryptedFalse();
+
+    /**
+     * Replaces the plain secret by the encrypted one, unless another pod or a new registration replaced it already.
+     */
+    @Modifying
+    @Query("""
+            UPDATE ClientWebhookEntity w SET w.secret = :encryptedSecret, w.secretEncrypted = true
+            WHERE w.clientId = :clientId AND w.secret = :plainSecret AND w.secretEncrypted = false
+            """)
+    int encryptSecret(@Param("clientId") UUID clientId,
+                      @Param("plainSecret") String plainSecret,
+                      @Param("encryptedSecret") String encryptedSecret);
+}
@@ -0,0 +1,54 @@
+package com.yolt.creditscoring.service.webhook.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.webhook.model.WebhookDeliveryEntity.TABLE_NAME;
+
+/**
+ * Outbox row of a webhook event. The row is inserted in the transaction which changes the user status and is kept
+ * after the delivery, so it is also the delivery log shown to the client admin.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = TABLE_NAME)
+@Accessors(chain = true)
+public class WebhookDeliveryEntity {
+    public static final String TABLE_NAME = "webhook_delivery";
+
+    @Id
+    private UUID id;
+
+    private UUID clientId;
+
+    private UUID creditScoreUserId;
+
+    @Enumerated(EnumType.STRING)
+    private WebhookEventType eventType;
+
+    /**
+     * JSON body sent to the client, the same for every attempt.
+     */
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private WebhookDeliveryStatus status;
+
+    private int attempts;
+
+    private OffsetDateTime createdDate;
+
+    private OffsetDateTime nextAttemptTime;
+
+    private OffsetDateTime lastAttemptTime;
+
+    private Integer lastResponseStatus;
+
+    private String lastError;
+}
@@ -0,0 +1,29 @@
+package com.yolt.creditscoring.service.webhook.model;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDeliveryEntity, UUID> {
+
+    Page<WebhookDeliveryEntity> findAllByClientIdOrderByCreatedDateDesc(UUID clientId, Pageable pageable);
+
+    /**
+     * Locks pending deliveries which are due for (another) attempt. Rows locked by other pods are skipped,
+     * so every delivery is sent by a single pod.
+     */
+    @Query(value = """
+            SELECT * FROM webhook_delivery
+            WHERE status = 'PENDING' AND next_attempt_time <= :now
+            ORDER BY next_attempt_time
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<WebhookDeliveryEntity> findDueForDeliveryAndLock(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+}
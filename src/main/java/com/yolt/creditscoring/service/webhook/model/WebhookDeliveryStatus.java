@@ -0,0 +1,16 @@
+package com.yolt.creditscoring.service.webhook.model;
+
+public enum WebhookDeliveryStatus {
+    /**
+     * Waiting for the first attempt or for a retry.
+     */
+    PENDING,
+    /**
+     * Client endpoint responded with 2xx. Terminal state.
+     */
+    DELIVERED,
+    /**
+     * All attempts failed or the webhook was removed. Terminal state.
+     */
+    FAILED
+}
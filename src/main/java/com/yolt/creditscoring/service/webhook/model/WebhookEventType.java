@@ -0,0 +1,20 @@
+package com.yolt.creditscoring.service.webhook.model;
+
+public enum WebhookEventType {
+    /**
+     * Report was calculated and shared by the user, it can be fetched with the customer API.
+     */
+    REPORT_COMPLETED,
+    /**
+     * User refused the consent or refused to share the report.
+     */
+    REPORT_REFUSED,
+    /**
+     * Invitation expired before the user gave consent.
+     */
+    INVITATION_EXPIRED,
+    /**
+     * Report could not be created because of a bank or calculation error.
+     */
+    REPORT_FAILED
+}
@@ -0,0 +1,38 @@
+package com.yolt.creditscoring.service.yoltapi.configuration;
+
+import com.yolt.creditscoring.common.resilience.ResilienceSettings;
+import com.yolt.creditscoring.service.yoltapi.http.YoltEndpointClass;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker and bulkhead per {@link YoltEndpointClass} of the Yolt API.
+ * An endpoint class without configured settings uses {@link ResilienceSettings#DEFAULT}.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "yolt.yolt-api.resilience")
+public class YoltApiResilienceProperties {
+
+    private final boolean enabled;
+
+    private final Map<YoltEndpointClass, ResilienceSettings> endpointClasses;
+
+    public YoltApiResilienceProperties(@DefaultValue("true") boolean enabled,
+                                       Map<YoltEndpointClass, ResilienceSettings> endpointClasses) {
+        this.enabled = enabled;
+        this.endpointClasses = new EnumMap<>(YoltEndpointClass.class);
+        if (endpointClasses != null) {
+            this.endpointClasses.putAll(endpointClasses);
+        }
+    }
+
+    public ResilienceSettings getSettings(YoltEndpointClass endpointClass) {
+        return endpointClasses.getOrDefault(endpointClass, ResilienceSettings.DEFAULT);
+    }
+}
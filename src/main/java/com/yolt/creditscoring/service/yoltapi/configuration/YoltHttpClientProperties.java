@@ -0,0 +1,66 @@
+package com.yolt.creditscoring.service.yoltapi.configuration;
+
+import com.yolt.creditscoring.service.yoltapi.http.YoltEndpoint;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Connection pool and timeout settings of the Yolt API web client.
+ * The pool is shared by all calculations running on a pod, so {@code maxConnections} bounds the number of concurrent
+ * calls to the client-proxy. Requests above that limit wait at most {@code pendingAcquireTimeout} for a connection.
+ */
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "yolt.yolt-api.http-client")
+public class YoltHttpClientProperties {
+
+    private final int maxConnections;
+
+    private final int pendingAcquireMaxCount;
+
+    private final Duration pendingAcquireTimeout;
+
+    /**
+     * Idle connections are closed after this time. Should be lower than the idle timeout of the client-proxy.
+     */
+    private final Duration maxIdleTime;
+
+    private final Duration maxLifeTime;
+
+    private final Duration evictionInterval;
+
+    private final Duration connectTimeout;
+
+    private final Map<YoltEndpoint, Duration> responseTimeouts;
+
+    public YoltHttpClientProperties(@DefaultValue("50") int maxConnections,
+                                    @DefaultValue("500") int pendingAcquireMaxCount,
+                                    @DefaultValue("10s") Duration pendingAcquireTimeout,
+                                    @DefaultValue("30s") Duration maxIdleTime,
+                                    @DefaultValue("5m") Duration maxLifeTime,
+                                    @DefaultValue("30s") Duration evictionInterval,
+                                    @DefaultValue("5s") Duration connectTimeout,
+                                    Map<YoltEndpoint, Duration> responseTimeouts) {
+        this.maxConnections = maxConnections;
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+        this.maxIdleTime = maxIdleTime;
+        this.maxLifeTime = maxLifeTime;
+        this.evictionInterval = evictionInterval;
+        this.connectTimeout = connectTimeout;
+        this.responseTimeouts = new EnumMap<>(YoltEndpoint.class);
+        if (responseTimeouts != null) {
+            this.responseTimeouts.putAll(responseTimeouts);
+        }
+    }
+
+    public Duration getResponseTimeout(YoltEndpoint endpoint) {
+        return responseTimeouts.getOrDefault(endpoint, endpoint.getDefaultResponseTimeout());
+    }
+}
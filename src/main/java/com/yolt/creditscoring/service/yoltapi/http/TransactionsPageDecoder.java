@@ -0,0 +1,211 @@
+package com.yolt.creditscoring.service.yoltapi.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.yolt.creditscoring.service.yoltapi.exception.FetchDataException;
+import com.yolt.creditscoring.service.yoltapi.http.model.CompactTransaction;
+import com.yolt.creditscoring.service.yoltapi.http.model.CompactTransactionsPage;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streaming decoder of the Yolt transactions page.
+ * The response buffers are fed to a non-blocking parser as they arrive and released right away, so the page is never
+ * held in memory as a whole. Only the fields needed for the credit score calculation are read, every other subtree
+ * (creditor, merchant, exchange rate, ...) is passed by the parser without creating any objects for it.
+ * <p>
+ * A decoder reads a single page and is not thread safe.
+ */
+public class TransactionsPageDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final List<CompactTransaction> transactions = new ArrayList<>();
+    private byte[] input = new byte[0];
+    private boolean started;
+    private boolean complete;
+    private String next;
+    private TransactionFields transaction;
+
+    public TransactionsPageDecoder() {
+        try {
+            parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create transactions page parser", e);
+        }
+        feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Decodes a complete page.
+     */
+    public static CompactTransactionsPage decode(byte[] page) {
+        TransactionsPageDecoder decoder = new TransactionsPageDecoder();
+        decoder.feed(page, page.length);
+        return decoder.finish();
+    }
+
+    /**
+     * Decodes the next part of the page and releases the buffer.
+     */
+    public TransactionsPageDecoder feed(DataBuffer dataBuffer) {
+        try {
+            int length = dataBuffer.readableByteCount();
+            if (input.length < length) {
+                input = new byte[length];
+            }
+            dataBuffer.read(input, 0, length);
+            feed(input, length);
+            return this;
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+
+    /**
+     * @throws FetchDataException when the page ended before it was complete
+     */
+    public CompactTransactionsPage finish() {
+        feeder.endOfInput();
+        readAvailableTokens();
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new FetchDataException("Unable to fetch response because of " + e.getMessage(), e);
+        }
+        if (!complete) {
+            throw new FetchDataException("Transactions page ended before it was complete");
+        }
+        return new CompactTransactionsPage(next, transactions);
+    }
+
+    private void feed(byte[] bytes, int length) {
+        try {
+            feeder.feedInput(bytes, 0, length);
+        } catch (IOException e) {
+            throw new FetchDataException("Unable to fetch response because of " + e.getMessage(), e);
+        }
+        readAvailableTokens();
+    }
+
+    /**
+     * The parser copies incomplete tokens, so the input can be reused after all available tokens were read.
+     */
+    private void readAvailableTokens() {
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                read(token, parser.getParsingContext());
+            }
+        } catch (IOException e) {
+            throw new FetchDataException("Unable to fetch response because of " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The context of a value is the object or array containing it. The context of a start token is the opened object
+     * or array, the context of an end token is the container of the closed one.
+     */
+    private void read(JsonToken token, JsonStreamContext context) throws IOException {
+        if (!started) {
+            expect(token, JsonToken.START_OBJECT);
+            started = true;
+            return;
+        }
+        switch (token) {
+            case START_OBJECT -> {
+                if (isTransaction(context)) {
+                    transaction = new TransactionFields();
+                }
+            }
+            case END_OBJECT -> {
+                if (context.inRoot()) {
+                    complete = true;
+                } else if (isTransactions(context)) {
+                    transactions.add(transaction.toCompactTransaction());
+                    transaction = null;
+                }
+            }
+            case VALUE_STRING, VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> readValue(token, context);
+            default -> {
+                // Field names, nulls, booleans and other containers are not needed
+            }
+        }
+    }
+
+    private void readValue(JsonToken token, JsonStreamContext context) throws IOException {
+        String field = context.getCurrentName();
+        if (isPage(context)) {
+            if ("next".equals(field)) {
+                next = parser.getText();
+            }
+        } else if (isTransaction(context)) {
+            switch (field) {
+                case "amount" -> transaction.amount = token == JsonToken.VALUE_STRING ? new BigDecimal(parser.getText()) : parser.getDecimalValue();
+                case "currency" -> transaction.currency = parser.getText();
+                case "bookingDate" -> transaction.bookingDate = LocalDate.parse(parser.getText());
+                case "date" -> transaction.date = LocalDate.parse(parser.getText());
+                default -> {
+                    // Not needed for the calculation
+                }
+            }
+        } else if (isEnrichment(context)) {
+            if ("categorySME".equals(field)) {
+                transaction.categorySME = parser.getText();
+            } else if ("cycleId".equals(field)) {
+                transaction.cycleId = UUID.fromString(parser.getText());
+            }
+        }
+    }
+
+    private static boolean isPage(JsonStreamContext context) {
+        return context.inObject() && context.getParent().inRoot();
+    }
+
+    private static boolean isTransactions(JsonStreamContext context) {
+        return context.inArray() && isPage(context.getParent()) && "transactions".equals(context.getParent().getCurrentName());
+    }
+
+    private static boolean isTransaction(JsonStreamContext context) {
+        return context.inObject() && isTransactions(context.getParent());
+    }
+
+    private static boolean isEnrichment(JsonStreamContext context) {
+        return context.inObject() && isTransaction(context.getParent()) && "enrichment".equals(context.getParent().getCurrentName());
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new FetchDataException("Unexpected token " + actual + " when reading transactions page. Expected " + expected);
+        }
+    }
+
+    private static class TransactionFields {
+        private BigDecimal amount;
+        private String currency;
+        private LocalDate bookingDate;
+        private LocalDate date;
+        private String categorySME;
+        private UUID cycleId;
+
+        //For the report we want to always use the booking date from the transaction.
+        //Usually the 'date' field is being mapped as 'bookingDate' in providers, however there are
+        //some providers were the 'date' is mapped from different field for some business reasons.
+        //As the 'bookingDate' is a optional field, we need to provide fallback to 'date'.
+        private CompactTransaction toCompactTransaction() {
+            return new CompactTransaction(amount, currency, bookingDate != null ? bookingDate : date, categorySME, cycleId);
+        }
+    }
+}
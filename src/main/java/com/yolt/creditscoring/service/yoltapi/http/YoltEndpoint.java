@@ -0,0 +1,32 @@
+package com.yolt.creditscoring.service.yoltapi.http;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Yolt API endpoints called by {@link YoltHttpClient}.
+ * Every endpoint is used as a metric tag and has its own response timeout, which can be overridden with
+ * {@code yolt.yolt-api.http-client.response-timeouts.<endpoint>}. Circuit breaker and bulkhead are shared per
+ * {@link YoltEndpointClass}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum YoltEndpoint {
+    TOKEN("token", Duration.ofSeconds(10), YoltEndpointClass.TOKEN),
+    SITES("sites", Duration.ofSeconds(10), YoltEndpointClass.SITES),
+    CREATE_USER("create_user", Duration.ofSeconds(10), YoltEndpointClass.USERS),
+    DELETE_USER("delete_user", Duration.ofSeconds(15), YoltEndpointClass.USERS),
+    CONNECT("connect", Duration.ofSeconds(15), YoltEndpointClass.USERS),
+    USER_SITES("user_sites", Duration.ofSeconds(30), YoltEndpointClass.USERS),
+    USER_SITE_STATUS("user_site_status", Duration.ofSeconds(10), YoltEndpointClass.USERS),
+    ACTIVITIES("activities", Duration.ofSeconds(10), YoltEndpointClass.USERS),
+    ACCOUNTS("accounts", Duration.ofSeconds(30), YoltEndpointClass.ACCOUNTS),
+    TRANSACTIONS("transactions", Duration.ofSeconds(60), YoltEndpointClass.TRANSACTIONS),
+    TRANSACTION_CYCLES("transaction_cycles", Duration.ofSeconds(30), YoltEndpointClass.TRANSACTIONS);
+
+    private final String tag;
+    private final Duration defaultResponseTimeout;
+    private final YoltEndpointClass endpointClass;
+}
@@ -0,0 +1,21 @@
+package com.yolt.creditscoring.service.yoltapi.http;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groups of {@link YoltEndpoint}s which share a circuit breaker and a bulkhead, so a failing transactions endpoint
+ * does not block the consent flow of other users. Settings can be overridden with
+ * {@code yolt.yolt-api.resilience.endpoint-classes.<class>}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum YoltEndpointClass {
+    TOKEN("token"),
+    SITES("sites"),
+    USERS("users"),
+    ACCOUNTS("accounts"),
+    TRANSACTIONS("transactions");
+
+    private final String tag;
+}
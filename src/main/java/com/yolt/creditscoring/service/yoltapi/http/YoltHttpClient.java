@@ -4,11 +4,16 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yolt.creditscoring.common.resilience.CallNotPermittedException;
+import com.yolt.creditscoring.common.resilience.UpstreamGuard;
 import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.service.yoltapi.configuration.YoltHttpClientProperties;
 import com.yolt.creditscoring.service.yoltapi.exception.FetchDataException;
 import com.yolt.creditscoring.service.yoltapi.http.model.*;
 import com.yolt.creditscoring.service.yoltapi.webclient.ClientAuthenticationMeans;
 import com.yolt.creditscoring.utility.tracing.TraceIdSupplier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -19,12 +24,15 @@ import org.jose4j.jwt.JwtClaims;
 import org.jose4j.lang.JoseException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -32,6 +40,8 @@ import java.time.Period;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 @Slf4j
@@ -39,10 +49,15 @@ import java.util.function.Supplier;
 public class YoltHttpClient {
 
     public static final String REQUEST_TRACE_ID_HEADER_NAME = "request_trace_id";
+    private static final String REQUESTS_METRIC_NAME = "yolt_api_requests";
     private static final Clock clock = ClockConfig.getClock();
+    private static final ObjectMapper OBJECT_MAPPER = objectMapper();
 
     private final WebClient webClient;
     private final boolean oneOffAisUser;
+    private final YoltHttpClientProperties httpClientProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<YoltEndpointClass, UpstreamGuard> upstreamGuards;
     private final Supplier<String> traceIdSupplier = new TraceIdSupplier();
 
     public AccessTokenResponse getAccessToken(ClientAuthenticationMeans authenticationMeans) throws JoseException {
@@ -64,15 +79,11 @@ public class YoltHttpClient {
         body.add("grant_type", "client_credentials");
         body.add("request_token", requestToken);
 
-        ClientResponse clientResponse = webClient.post()
+        return retrieve(YoltEndpoint.TOKEN, webClient.post()
                 .uri("/v1/tokens")
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
                 .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .body(BodyInserters.fromFormData(body))
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, AccessTokenResponse.class);
+                .body(BodyInserters.fromFormData(body)), AccessTokenResponse.class);
     }
 
     public ClientSiteEntity[] getClientSite(ClientAuthenticationMeans authenticationMeans, String siteTags) {
@@ -82,40 +93,32 @@ public class YoltHttpClient {
         Map<String, String> uriVariables = new HashMap<>();
         uriVariables.put("siteTags", siteTags);
 
-        ClientResponse clientResponse = webClient.get()
+        return retrieve(YoltEndpoint.SITES, webClient.get()
                 .uri("/v2/sites?tag={siteTags}", uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, ClientSiteEntity[].class);
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), ClientSiteEntity[].class);
     }
 
     public ClientUser createUser(ClientAuthenticationMeans authenticationMeans) {
 
-        ClientResponse clientResponse;
+        WebClient.RequestHeadersSpec<?> request;
         if (oneOffAisUser) {
-            clientResponse = webClient.post()
+            request = webClient.post()
                     .uri("/v5/users")
                     .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                     .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
                     .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                    .body(BodyInserters.fromValue(new CreateOneOffAISUserRequest()))
-                    .exchange()
-                    .block();
+                    .body(BodyInserters.fromValue(new CreateOneOffAISUserRequest()));
         } else {
-            clientResponse = webClient.post()
+            request = webClient.post()
                     .uri("/v2/users")
                     .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                     .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                    .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                    .exchange()
-                    .block();
+                    .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get());
         }
 
-        ClientUser clientUser = fetchResponse(clientResponse, ClientUser.class);
+        ClientUser clientUser = retrieve(YoltEndpoint.CREATE_USER, request, ClientUser.class);
         log.info("Created client user '{}' in yolt.", clientUser.getId());
         return clientUser;
     }
@@ -129,16 +132,12 @@ public class YoltHttpClient {
         uriVariables.put("siteId", userConsentParams.getSiteId().toString());
         uriVariables.put("redirectUrlId", authenticationMeans.getRedirectUrlId().toString());
 
-        ClientResponse clientResponse = webClient.post()
+        return retrieve(YoltEndpoint.CONNECT, webClient.post()
                 .uri("/v1/users/{userId}/connect?site={siteId}&redirectUrlId={redirectUrlId}", uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
                 .header("PSU-IP-Address", userConsentParams.getPsuIpAddress())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, LoginStep.class);
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), LoginStep.class);
     }
 
     public LoginFormResponse createUserSite(ClientAuthenticationMeans authenticationMeans,
@@ -152,17 +151,13 @@ public class YoltHttpClient {
 
         CreateUserSiteUrl createUserSite = new CreateUserSiteUrl(redirectUrl);
 
-        ClientResponse clientResponse = webClient.post()
+        return retrieve(YoltEndpoint.USER_SITES, webClient.post()
                 .uri("/v1/users/{userId}/user-sites", uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
                 .header("PSU-IP-Address", userIpAddress)
                 .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .body(BodyInserters.fromValue(createUserSite))
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, LoginFormResponse.class);
+                .body(BodyInserters.fromValue(createUserSite)), LoginFormResponse.class);
     }
 
     public LoginFormResponse createUserSiteAfterDynamicFlow(ClientAuthenticationMeans authenticationMeans,
@@ -174,17 +169,13 @@ public class YoltHttpClient {
         Map<String, String> uriVariables = new HashMap<>();
         uriVariables.put("userId", yoltUserId.toString());
 
-        ClientResponse clientResponse = webClient.post()
+        return retrieve(YoltEndpoint.USER_SITES, webClient.post()
                 .uri("/v1/users/{userId}/user-sites", uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
                 .header("PSU-IP-Address", userIpAddress)
                 .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .body(BodyInserters.fromValue(createUserSiteForm))
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, LoginFormResponse.class);
+                .body(BodyInserters.fromValue(createUserSiteForm)), LoginFormResponse.class);
     }
 
     public Void removeUser(ClientAuthenticationMeans authenticationMeans, @NonNull UUID yoltUserId) {
@@ -193,21 +184,16 @@ public class YoltHttpClient {
         Map<String, String> uriVariables = new HashMap<>();
         uriVariables.put("userId", yoltUserId.toString());
 
-        ClientResponse clientResponse = webClient.delete()
+        return execute(YoltEndpoint.DELETE_USER, webClient.delete()
                 .uri("/v1/users/{userId}", uriVariables)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
-
-        if (clientResponse.statusCode().isError()) {
-            log.warn("Delete user-site error: {}", clientResponse.statusCode());
-            throw new FetchDataException(clientResponse.statusCode().toString());
-        }
-
-        return clientResponse
-                .bodyToMono(Void.class)
-                .block();
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), clientResponse -> {
+            if (clientResponse.statusCode().isError()) {
+                log.warn("Delete user-site error: {}", clientResponse.statusCode());
+                return Mono.error(new FetchDataException(clientResponse.statusCode().toString()));
+            }
+            return clientResponse.releaseBody();
+        });
     }
 
     public UserSite getUserSiteStatus(ClientAuthenticationMeans authenticationMeans,
@@ -218,15 +204,11 @@ public class YoltHttpClient {
         uriVariables.put("userId", yoltUserId.toString());
         uriVariables.put("userSiteId", yoltUserSiteId.toString());
 
-        ClientResponse clientResponse = webClient.get()
+        return retrieve(YoltEndpoint.USER_SITE_STATUS, webClient.get()
                 .uri("/v1/users/{userId}/user-sites/{userSiteId}", uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, UserSite.class);
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), UserSite.class);
     }
 
     public ActivitiesDTO getUserActivities(ClientAuthenticationMeans authenticationMeans,
@@ -235,15 +217,11 @@ public class YoltHttpClient {
         Map<String, String> uriVariables = new HashMap<>();
         uriVariables.put("userId", yoltUserId.toString());
 
-        ClientResponse clientResponse = webClient.get()
+        return retrieve(YoltEndpoint.ACTIVITIES, webClient.get()
                 .uri("/v1/users/{userId}/activities", uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, ActivitiesDTO.class);
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), ActivitiesDTO.class);
     }
 
     public AccountDTO[] accounts(ClientAuthenticationMeans authenticationMeans,
@@ -253,27 +231,27 @@ public class YoltHttpClient {
         Map<String, String> uriVariables = new HashMap<>();
         uriVariables.put("userId", yoltUserId.toString());
 
-        ClientResponse clientResponse = webClient.get()
+        return retrieve(YoltEndpoint.ACCOUNTS, webClient.get()
                 .uri("/v1/users/{userId}/accounts", uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, AccountDTO[].class);
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), AccountDTO[].class);
     }
 
-    public TransactionsPageDTO getTransactions(ClientAuthenticationMeans authenticationMeans,
-                                               UUID yoltUserId,
-                                               UUID accountId) {
+    public CompactTransactionsPage getTransactions(ClientAuthenticationMeans authenticationMeans,
+                                                   UUID yoltUserId,
+                                                   UUID accountId) {
         return getTransactions(authenticationMeans, yoltUserId, accountId, StringUtils.EMPTY);
     }
 
-    public TransactionsPageDTO getTransactions(ClientAuthenticationMeans authenticationMeans,
-                                               UUID yoltUserId,
-                                               UUID accountId,
-                                               String next) {
+    /**
+     * Transactions are the biggest responses of the Yolt API, so every response buffer is decoded with
+     * {@link TransactionsPageDecoder} as soon as it arrives, instead of joining the page and mapping it to a DTO tree.
+     */
+    public CompactTransactionsPage getTransactions(ClientAuthenticationMeans authenticationMeans,
+                                                   UUID yoltUserId,
+                                                   UUID accountId,
+                                                   String next) {
         String transactionsUrl = "/v1/users/{userId}/transactions?accountIds={accountId}&dateInterval={dateInterval}";
 
         Map<String, String> uriVariables = new HashMap<>();
@@ -288,15 +266,15 @@ public class YoltHttpClient {
             log.info("Fetching last transactions");
         }
 
-        ClientResponse clientResponse = webClient.get()
+        return execute(YoltEndpoint.TRANSACTIONS, webClient.get()
                 .uri(transactionsUrl, uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
-
-        return fetchResponse(clientResponse, TransactionsPageDTO.class);
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), clientResponse ->
+                readBody(clientResponse, CompactTransactionsPage.class, response -> response
+                        .body(BodyExtractors.toDataBuffers())
+                        .reduceWith(TransactionsPageDecoder::new, TransactionsPageDecoder::feed)
+                        .map(TransactionsPageDecoder::finish)));
     }
 
     public TransactionCyclesDTO getCycleTransactions(@NonNull ClientAuthenticationMeans authenticationMeans,
@@ -306,37 +284,100 @@ public class YoltHttpClient {
         Map<String, String> uriVariables = new HashMap<>();
         uriVariables.put("userId", yoltUserId.toString());
 
-        ClientResponse clientResponse = webClient.get()
+        return retrieve(YoltEndpoint.TRANSACTION_CYCLES, webClient.get()
                 .uri(transactionsUrl, uriVariables)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationMeans.getAccessToken())
-                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get())
-                .exchange()
-                .block();
+                .header(REQUEST_TRACE_ID_HEADER_NAME, traceIdSupplier.get()), TransactionCyclesDTO.class);
+    }
+
+    private <T> T retrieve(YoltEndpoint endpoint,
+                           WebClient.RequestHeadersSpec<?> request,
+                           Class<T> valueType) {
+        return execute(endpoint, request, clientResponse -> readBody(clientResponse, valueType));
+    }
+
+    /**
+     * Executes the request with the response timeout of the given endpoint and records its duration.
+     * The response is handled within {@code exchangeToMono}, so the pooled connection is always released,
+     * also when the body of an error response is not consumed.
+     * <p>
+     * The request passes the circuit breaker and bulkhead of the endpoint class first. When the circuit is open or the
+     * bulkhead is full it fails immediately with a {@link FetchDataException}. I/O errors, timeouts, 5xx and 429
+     * responses count as failures of the Yolt API, other responses as successes.
+     */
+    private <T> T execute(YoltEndpoint endpoint,
+                          WebClient.RequestHeadersSpec<?> request,
+                          Function<ClientResponse, Mono<T>> responseHandler) {
+        UpstreamGuard.Permit permit;
+        try {
+            permit = upstreamGuards.get(endpoint.getEndpointClass()).acquire();
+        } catch (CallNotPermittedException e) {
+            log.warn("Not calling Yolt API {}: {}", endpoint, e.getMessage());
+            throw new FetchDataException("Unable to call Yolt API " + endpoint + " because of " + e.getMessage(), e);
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicReference<String> status = new AtomicReference<>("IO_ERROR");
+        try {
+            return request
+                    .httpRequest(httpRequest -> httpRequest.<HttpClientRequest>getNativeRequest()
+                            .responseTimeout(httpClientProperties.getResponseTimeout(endpoint)))
+                    .exchangeToMono(clientResponse -> {
+                        status.set(String.valueOf(clientResponse.rawStatusCode()));
+                        return responseHandler.apply(clientResponse);
+                    })
+                    .block();
+        } catch (WebClientRequestException e) {
+            log.error("Error when calling Yolt API {}: {}", endpoint, e.getMessage());
+            throw new FetchDataException("Unable to call Yolt API " + endpoint + " because of " + e.getMessage(), e);
+        } finally {
+            permit.complete(isUpstreamFailure(status.get()));
+            sample.stop(Timer.builder(REQUESTS_METRIC_NAME)
+                    .description("Requests executed against the Yolt API")
+                    .tags("endpoint", endpoint.getTag(), "status", status.get())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static boolean isUpstreamFailure(String status) {
+        if (!StringUtils.isNumeric(status)) {
+            return true;
+        }
+        int statusCode = Integer.parseInt(status);
+        return statusCode >= 500 || statusCode == 429;
+    }
 
-        return fetchResponse(clientResponse, TransactionCyclesDTO.class);
+    private <T> Mono<T> readBody(ClientResponse clientResponse,
+                                 Class<T> valueType) {
+        return readBody(clientResponse, valueType, response -> response.bodyToMono(String.class)
+                .map(body -> deserialize(body, valueType)));
     }
 
-    private <T> T fetchResponse(ClientResponse clientResponse,
-                                Class<T> valueType) {
+    private <T> Mono<T> readBody(ClientResponse clientResponse,
+                                 Class<T> valueType,
+                                 Function<ClientResponse, Mono<T>> bodyReader) {
 
         if (clientResponse.statusCode().isError()) {
             log.error("Error when fetching {}, status: {}", valueType.getSimpleName(), clientResponse.statusCode());
-            throw new FetchDataException(clientResponse.statusCode().toString());
+            return Mono.error(new FetchDataException(clientResponse.statusCode().toString()));
         }
 
-        ResponseEntity<String> responseEntity = clientResponse.toEntity(String.class).block();
-
-        if (!MediaType.APPLICATION_JSON.equals(responseEntity.getHeaders().getContentType())) {
-            throw new FetchDataException(String.format("Wrong content type %s when fetching %s. Expected to be %s",
-                    responseEntity.getHeaders().getContentType(),
+        MediaType contentType = clientResponse.headers().contentType().orElse(null);
+        if (!MediaType.APPLICATION_JSON.equals(contentType)) {
+            return Mono.error(new FetchDataException(String.format("Wrong content type %s when fetching %s. Expected to be %s",
+                    contentType,
                     valueType.getSimpleName(),
                     MediaType.APPLICATION_JSON
-            ));
+            )));
         }
 
+        return bodyReader.apply(clientResponse);
+    }
+
+    private static <T> T deserialize(String body, Class<T> valueType) {
         try {
-            return objectMapper().readValue(responseEntity.getBody(), valueType);
+            return OBJECT_MAPPER.readValue(body, valueType);
         } catch (JsonProcessingException e) {
             throw new FetchDataException("Unable to fetch response because of " + e.getMessage(), e);
         }
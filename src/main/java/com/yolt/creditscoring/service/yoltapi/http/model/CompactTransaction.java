@@ -0,0 +1,19 @@
+package com.yolt.creditscoring.service.yoltapi.http.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The fields of a Yolt transaction that are used for the credit score calculation.
+ * Decoded straight from the response by {@link com.yolt.creditscoring.service.yoltapi.http.TransactionsPageDecoder},
+ * all other fields of the transaction are skipped.
+ *
+ * @param date booking date of the transaction, or the transaction date when the booking date is missing
+ */
+public record CompactTransaction(BigDecimal amount,
+                                 String currency,
+                                 LocalDate date,
+                                 String categorySME,
+                                 UUID cycleId) {
+}
@@ -0,0 +1,7 @@
+package com.yolt.creditscoring.service.yoltapi.http.model;
+
+import java.util.List;
+
+public record CompactTransactionsPage(String next,
+                                      List<CompactTransaction> transactions) {
+}
@@ -212,34 +212,30 @@ public class YoltFetchDataService {
     }
 
     public List<CreditScoreTransactionDTO> getTransactions(ClientAuthenticationMeans authenticationMeans, UUID yoltUserId, UUID accountId) {
-        TransactionsPageDTO transactionsPageDTO = yoltHttpClient.getTransactions(authenticationMeans, yoltUserId, accountId);
+        CompactTransactionsPage transactionsPage = yoltHttpClient.getTransactions(authenticationMeans, yoltUserId, accountId);
 
-        List<TransactionDTO> allTransactionsForGivenAccount = new ArrayList<>(transactionsPageDTO.getTransactions());
+        List<CompactTransaction> allTransactionsForGivenAccount = new ArrayList<>(transactionsPage.transactions());
 
-        while (fetchingAnotherTransactionIsPossible(transactionsPageDTO)) {
-            transactionsPageDTO = yoltHttpClient.getTransactions(
-                    authenticationMeans, yoltUserId, accountId, transactionsPageDTO.getNext());
-            allTransactionsForGivenAccount.addAll(transactionsPageDTO.getTransactions());
+        while (fetchingAnotherTransactionIsPossible(transactionsPage)) {
+            transactionsPage = yoltHttpClient.getTransactions(
+                    authenticationMeans, yoltUserId, accountId, transactionsPage.next());
+            allTransactionsForGivenAccount.addAll(transactionsPage.transactions());
         }
 
         if (allTransactionsForGivenAccount.stream()
-                .anyMatch(transaction -> StringUtils.isBlank(getSMECategoryFromTransaction(transaction)))) {
+                .anyMatch(transaction -> StringUtils.isBlank(transaction.categorySME()))) {
             log.warn("There are some empty categories returned from Yolt API");
         }
 
         return allTransactionsForGivenAccount.stream()
                 .map(transaction -> CreditScoreTransactionDTO.builder()
-                        .amount(transaction.getAmount())
-                        .currency(transaction.getCurrency().name())
-                        //For the report we want to always use the booking date from the transaction.
-                        //Usually the 'date' field is being mapped as 'bookingDate' in providers, however there are
-                        //some providers were the 'date' is mapped from different field for some business reasons.
-                        //As the 'bookingDate' is a optional field, we need to provide fallback to 'date'.
-                        .date(transaction.getBookingDate() != null ? transaction.getBookingDate() : transaction.getDate())
+                        .amount(transaction.amount())
+                        .currency(transaction.currency())
+                        .date(transaction.date())
                         .creditScoreTransactionCategory(
-                                Category.fromString(getSMECategoryFromTransaction(transaction), transaction.getAmount())
+                                Category.fromString(transaction.categorySME(), transaction.amount())
                         )
-                        .cycleId(getTransactionCycleIdIfPresent(transaction))
+                        .cycleId(transaction.cycleId())
                         .build())
                 .toList();
     }
@@ -257,19 +253,8 @@ public class YoltFetchDataService {
                 .toList();
     }
 
-    private boolean fetchingAnotherTransactionIsPossible(TransactionsPageDTO transactions) {
-        return !CollectionUtils.isEmpty(transactions.getTransactions()) && StringUtils.isNotEmpty(transactions.getNext());
-    }
-
-    private String getSMECategoryFromTransaction(TransactionDTO transactionDTO) {
-        return transactionDTO.getEnrichment() != null ? transactionDTO.getEnrichment().getCategorySME() : null;
-    }
-
-    private UUID getTransactionCycleIdIfPresent(TransactionDTO transactionDTO) {
-        if (transactionDTO.getEnrichment() != null && transactionDTO.getEnrichment().getCycleId() != null) {
-            return transactionDTO.getEnrichment().getCycleId();
-        }
-        return null;
+    private boolean fetchingAnotherTransactionIsPossible(CompactTransactionsPage transactions) {
+        return !CollectionUtils.isEmpty(transactions.transactions()) && StringUtils.isNotEmpty(transactions.next());
     }
 
     private CycleType fromCycleTypeEnum(CycleTypeEnum cycleTypeEnum) {
@@ -1,7 +1,13 @@
 package com.yolt.creditscoring.service.yoltapi.webclient;
 
+import com.yolt.creditscoring.common.resilience.UpstreamGuard;
 import com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService;
+import com.yolt.creditscoring.service.yoltapi.configuration.YoltApiResilienceProperties;
+import com.yolt.creditscoring.service.yoltapi.configuration.YoltHttpClientProperties;
+import com.yolt.creditscoring.service.yoltapi.http.YoltEndpointClass;
 import com.yolt.creditscoring.service.yoltapi.http.YoltHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import lombok.RequiredArgsConstructor;
@@ -13,11 +19,14 @@ import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import javax.net.ssl.TrustManagerFactory;
 import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 
 @Configuration
@@ -29,6 +38,10 @@ public class YoltApiConfiguration {
     private final String baseUrl;
 
     private final VaultSecretKeyService secretKeyService;
+    private final YoltHttpClientProperties httpClientProperties;
+    private final YoltApiResilienceProperties resilienceProperties;
+    private final MeterRegistry meterRegistry;
+
     /**
      * Unfortunately, this functionality is kept in the application so CFA can also be run locally.
      * This property is only true if you want to run this application from local to the real yolt-api on the public domain.
@@ -55,7 +68,33 @@ public class YoltApiConfiguration {
 
     @Bean
     public YoltHttpClient yoltHttpClient() throws Exception {
-        return new YoltHttpClient(yoltWebClient(), oneOffAisUser);
+        return new YoltHttpClient(yoltWebClient(), oneOffAisUser, httpClientProperties, meterRegistry, upstreamGuards());
+    }
+
+    private Map<YoltEndpointClass, UpstreamGuard> upstreamGuards() {
+        Map<YoltEndpointClass, UpstreamGuard> guards = new EnumMap<>(YoltEndpointClass.class);
+        for (YoltEndpointClass endpointClass : YoltEndpointClass.values()) {
+            guards.put(endpointClass, new UpstreamGuard("yolt_api", endpointClass.getTag(),
+                    resilienceProperties.getSettings(endpointClass), resilienceProperties.isEnabled(), meterRegistry));
+        }
+        return guards;
+    }
+
+    /**
+     * Dedicated connection pool for the Yolt API, so calls to Yolt do not compete with other web clients for connections.
+     * Pool gauges are published as {@code reactor.netty.connection.provider.*} with tag {@code name=yolt-api}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider yoltConnectionProvider() {
+        return ConnectionProvider.builder("yolt-api")
+                .maxConnections(httpClientProperties.getMaxConnections())
+                .pendingAcquireMaxCount(httpClientProperties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(httpClientProperties.getPendingAcquireTimeout())
+                .maxIdleTime(httpClientProperties.getMaxIdleTime())
+                .maxLifeTime(httpClientProperties.getMaxLifeTime())
+                .evictInBackground(httpClientProperties.getEvictionInterval())
+                .metrics(true)
+                .build();
     }
 
     private WebClient yoltWebClient() throws Exception {
@@ -83,9 +122,11 @@ public class YoltApiConfiguration {
         SslContext sslContext = sslContextBuilder.build();
 
 
-        HttpClient httpClient = HttpClient.create()
-                .secure(sslContextSpec -> sslContextSpec.sslContext(sslContext));
-
+        // The response timeout is set per request by YoltHttpClient, based on the called endpoint.
+        HttpClient httpClient = HttpClient.create(yoltConnectionProvider())
+                .secure(sslContextSpec -> sslContextSpec.sslContext(sslContext))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) httpClientProperties.getConnectTimeout().toMillis())
+                .compress(true);
 
         ClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
 
@@ -0,0 +1,195 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.configuration.AsyncConfiguration;
+import com.yolt.creditscoring.configuration.annotation.UseCase;
+import com.yolt.creditscoring.controller.admin.estimate.EstimateReportNotFound;
+import com.yolt.creditscoring.exception.UserNotFoundException;
+import com.yolt.creditscoring.service.audit.AdminAuditService;
+import com.yolt.creditscoring.service.client.ClientStorageService;
+import com.yolt.creditscoring.service.creditscore.category.CategoryService;
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.MonthlyRecurringTransactionsDTO;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.CreditScoreReportSnapshotDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
+import com.yolt.creditscoring.service.estimate.storage.EstimateStorageService;
+import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.usecase.dto.AllInOneReportDTO;
+import com.yolt.creditscoring.usecase.dto.ReportDownloadDTO;
+import com.yolt.creditscoring.usecase.dto.RiskClassificationDTO;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static com.yolt.creditscoring.utility.reportwindow.ReportWindow.windowBegin;
+import static com.yolt.creditscoring.utility.reportwindow.ReportWindow.windowEnd;
+
+/**
+ * Assembles all sections of the report for the customer API and the admin report download. User, feature toggles and
+ * the report are loaded once and shared by the sections. Sections that need their own query (categories, recurring
+ * transactions and estimate) are fetched concurrently, each in a read-only transaction of its own so that they are
+ * routed like the request.
+ * <p>
+ * The request does not hold a connection while it waits for the sections: the shared data is loaded in a transaction
+ * that is committed before the sections are started. A connection is only ever held by a thread that does not wait
+ * for another one, so concurrent requests can not exhaust the connection pool between them.
+ */
+@Slf4j
+@UseCase
+public class AllInOneReportUseCase {
+
+    private final UserStorageService userStorageService;
+    private final ClientStorageService clientService;
+    private final CreditScoreStorageService creditScoreStorageService;
+    private final CategoryService categoryService;
+    private final RecurringTransactionsStorageService recurringTransactionsStorageService;
+    private final EstimateStorageService estimateStorageService;
+    private final ReportOverviewUseCase reportOverviewUseCase;
+    private final ReportMonthsUseCase reportMonthsUseCase;
+    private final EstimateReportUseCase estimateReportUseCase;
+    private final AdminAuditService adminAuditService;
+    private final TaskExecutor executor;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate sectionTransaction;
+
+    public AllInOneReportUseCase(UserStorageService userStorageService,
+                                 ClientStorageService clientService,
+                                 CreditScoreStorageService creditScoreStorageService,
+                                 CategoryService categoryService,
+                                 RecurringTransactionsStorageService recurringTransactionsStorageService,
+                                 EstimateStorageService estimateStorageService,
+                                 ReportOverviewUseCase reportOverviewUseCase,
+                                 ReportMonthsUseCase reportMonthsUseCase,
+                                 EstimateReportUseCase estimateReportUseCase,
+                                 AdminAuditService adminAuditService,
+                                 @Qualifier(AsyncConfiguration.REPORT_ASSEMBLY_EXECUTOR) TaskExecutor executor,
+                                 PlatformTransactionManager transactionManager) {
+        this.userStorageService = userStorageService;
+        this.clientService = clientService;
+        this.creditScoreStorageService = creditScoreStorageService;
+        this.categoryService = categoryService;
+        this.recurringTransactionsStorageService = recurringTransactionsStorageService;
+        this.estimateStorageService = estimateStorageService;
+        this.reportOverviewUseCase = reportOverviewUseCase;
+        this.reportMonthsUseCase = reportMonthsUseCase;
+        this.estimateReportUseCase = estimateReportUseCase;
+        this.adminAuditService = adminAuditService;
+        this.executor = executor;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setName(AllInOneReportUseCase.class.getName() + ".snapshot");
+        this.sectionTransaction = new TransactionTemplate(transactionManager);
+        this.sectionTransaction.setReadOnly(true);
+        this.sectionTransaction.setName(AllInOneReportUseCase.class.getName() + ".section");
+    }
+
+    /**
+     * @throws com.yolt.creditscoring.exception.CreditScoreReportNotFoundException when report of the user was not calculated
+     */
+    public AllInOneReportDTO getAllInOneReport(@NonNull UUID userId, @NonNull UUID clientId) {
+        return assemble(userId, clientId, snapshotTransaction.execute(status -> loadSnapshot(userId, clientId)));
+    }
+
+    /**
+     * Sections of the admin report download, assembled from one load of the report like {@link #getAllInOneReport}.
+     * The download is audited as a view of the report.
+     *
+     * @throws com.yolt.creditscoring.exception.CreditScoreReportNotFoundException when report of the user was not calculated
+     */
+    public ReportDownloadDTO getReportDownload(@NonNull UUID userId, @NonNull UUID clientId,
+                                               @NonNull UUID adminId, @NonNull String adminEmail) {
+        final ReportSnapshot snapshot = snapshotTransaction.execute(status -> loadSnapshot(userId, clientId));
+        final AllInOneReportDTO report = assemble(userId, clientId, snapshot);
+        adminAuditService.adminViewedCreditReport(clientId, adminId, adminEmail, userId);
+        return ReportDownloadDTO.builder()
+                .report(report)
+                .accountDetails(snapshot.report().getBankAccountDetails())
+                .signature(snapshot.report().getSignature())
+                .build();
+    }
+
+    private AllInOneReportDTO assemble(UUID userId, UUID clientId, ReportSnapshot snapshot) {
+        final TogglesDTO toggles = snapshot.toggles();
+        final CreditScoreReportSnapshotDTO report = snapshot.report();
+
+        final boolean categoriesNeeded = toggles.isOverviewFeatureToggle() || toggles.isCategoryFeatureToggle();
+        final LocalDate reportFetchTime = categoriesNeeded ? report.getBankAccountDetails().getLastDataFetchTime().toLocalDate() : null;
+
+        CompletableFuture<Map<Category, SMECategoryDTO>> categories = categoriesNeeded
+                ? fetch(() -> categoryService.getCategoriesForUser(userId, windowBegin(reportFetchTime), windowEnd(reportFetchTime)))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<List<MonthlyRecurringTransactionsDTO>> recurringTransactions = toggles.isOverviewFeatureToggle()
+                ? fetch(() -> recurringTransactionsStorageService.getMonthlyRecurringTransactionsReportSaveDTOs(report.getReportId()))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<RiskClassificationDTO> riskClassification = toggles.isEstimateFeatureToggle()
+                ? fetch(() -> findRiskClassification(userId))
+                : CompletableFuture.completedFuture(null);
+
+        AllInOneReportDTO.AllInOneReportDTOBuilder allInOneReport = AllInOneReportDTO.builder();
+        if (toggles.isMonthsFeatureToggle()) {
+            allInOneReport.months(reportMonthsUseCase.verifiedMonths(clientId, userId, report.getSignedMonths()));
+        }
+        if (toggles.isOverviewFeatureToggle()) {
+            allInOneReport
+                    .overview(reportOverviewUseCase.createOverview(report.getSignedMonths().getMonths(), reportFetchTime,
+                            await(categories), await(recurringTransactions)))
+                    .accountDetails(report.getBankAccountDetails());
+        }
+        if (toggles.isCategoryFeatureToggle()) {
+            allInOneReport.categories(new ArrayList<>(await(categories).values()));
+        }
+        return allInOneReport
+                .riskClassification(await(riskClassification))
+                .build();
+    }
+
+    private ReportSnapshot loadSnapshot(UUID userId, UUID clientId) {
+        CreditScoreUserDTO user = userStorageService.findById(userId);
+        if (!user.getClientId().equals(clientId)) {
+            throw new UserNotFoundException("User not found for given client");
+        }
+        return new ReportSnapshot(clientService.getFeatureToggles(clientId), creditScoreStorageService.getCreditScoreReportSnapshot(user));
+    }
+
+    private RiskClassificationDTO findRiskClassification(UUID userId) {
+        try {
+            return estimateReportUseCase.toRiskClassification(estimateStorageService.getRiskReport(userId));
+        } catch (EstimateReportNotFound e) {
+            log.warn("Estimate report was missing for customer api.");
+            return null;
+        }
+    }
+
+    private <T> CompletableFuture<T> fetch(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(() -> sectionTransaction.execute(status -> section.get()), executor);
+    }
+
+    private static <T> T await(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record ReportSnapshot(TogglesDTO toggles, CreditScoreReportSnapshotDTO report) {
+    }
+}
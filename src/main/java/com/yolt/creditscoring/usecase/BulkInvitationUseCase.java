@@ -0,0 +1,199 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.configuration.annotation.UseCase;
+import com.yolt.creditscoring.configuration.security.admin.ClientAccessType;
+import com.yolt.creditscoring.controller.admin.users.InviteUserDTO;
+import com.yolt.creditscoring.exception.BulkInvitationNotFoundException;
+import com.yolt.creditscoring.exception.InvalidBulkInvitationException;
+import com.yolt.creditscoring.service.audit.AdminAuditService;
+import com.yolt.creditscoring.service.client.ClientEmailDTO;
+import com.yolt.creditscoring.service.client.ClientStorageService;
+import com.yolt.creditscoring.service.email.outbox.EmailOutboxService;
+import com.yolt.creditscoring.service.invitation.BulkInvitationJobDTO;
+import com.yolt.creditscoring.service.invitation.BulkInvitationProperties;
+import com.yolt.creditscoring.service.invitation.BulkInvitationStorageService;
+import com.yolt.creditscoring.service.invitation.InvitationCsvParser;
+import com.yolt.creditscoring.service.invitation.InvitationCsvParser.ParsedRow;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationJobEntity;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationRowEntity;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationRowStatus;
+import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.user.model.CreditScoreUser;
+import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.utility.id.IdGenerators;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.validation.Validator;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Invites many users in one request, e.g. from a CSV export of a CRM.
+ * <p>
+ * Every row is validated upfront and invalid rows are rejected with their errors, while the valid rows are invited.
+ * Users, journey events, rows and the invitation e-mails in the e-mail outbox are inserted in JDBC batches in a single
+ * transaction, the e-mails are sent afterwards by the outbox.
+ */
+@Slf4j
+@UseCase
+@RequiredArgsConstructor
+public class BulkInvitationUseCase {
+
+    private static final Clock clock = ClockConfig.getClock();
+
+    private final BulkInvitationStorageService bulkInvitationStorageService;
+    private final UserStorageService userStorageService;
+    private final ClientStorageService clientStorageService;
+    private final EmailOutboxService emailOutboxService;
+    private final UserJourneyService userJourneyService;
+    private final AdminAuditService adminAuditService;
+    private final SemaEventService semaEventService;
+    private final BulkInvitationProperties properties;
+    private final Supplier<String> invitationHashSupplier;
+    private final Validator validator;
+
+    @Transactional
+    public BulkInvitationJobDTO inviteUsers(@NonNull List<InviteUserDTO> invitations,
+                                            @NonNull UUID clientId,
+                                            @NonNull String baseUrl,
+                                            @NonNull UUID adminId,
+                                            @NonNull String adminEmail,
+                                            @NonNull ClientAccessType clientAccessType) {
+        List<ParsedRow> rows = invitations.stream()
+                .map(invitation -> new ParsedRow(invitation, null))
+                .toList();
+        return invite(rows, clientId, baseUrl, adminId, adminEmail, clientAccessType);
+    }
+
+    @Transactional
+    public BulkInvitationJobDTO inviteUsersFromCsv(@NonNull String csv,
+                                                   @NonNull UUID clientId,
+                                                   @NonNull String baseUrl,
+                                                   @NonNull UUID adminId,
+                                                   @NonNull String adminEmail,
+                                                   @NonNull ClientAccessType clientAccessType) {
+        return invite(InvitationCsvParser.parse(csv), clientId, baseUrl, adminId, adminEmail, clientAccessType);
+    }
+
+    public BulkInvitationJobDTO getJob(@NonNull UUID clientId, @NonNull UUID jobId) {
+        return bulkInvitationStorageService.findJob(jobId, clientId)
+                .orElseThrow(() -> new BulkInvitationNotFoundException(jobId));
+    }
+
+    private BulkInvitationJobDTO invite(List<ParsedRow> parsedRows, UUID clientId, String baseUrl,
+                                        UUID adminId, String adminEmail, ClientAccessType clientAccessType) {
+        if (parsedRows.isEmpty()) {
+            throw new InvalidBulkInvitationException("Bulk invitation has no rows");
+        }
+        if (parsedRows.size() > properties.getMaxRows()) {
+            throw new InvalidBulkInvitationException("Bulk invitation has %d rows, at most %d are allowed"
+                    .formatted(parsedRows.size(), properties.getMaxRows()));
+        }
+
+        List<ClientEmailDTO> clientEmails = clientStorageService.getAllClientEmailTemplates(clientId);
+        Set<UUID> clientEmailIds = clientEmails.stream().map(ClientEmailDTO::getId).collect(Collectors.toSet());
+        UUID defaultClientEmailId = clientEmails.size() == 1 ? clientEmails.get(0).getId() : null;
+
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        UUID jobId = IdGenerators.getPersistenceIds().generate();
+        Set<String> emails = new HashSet<>();
+        List<BulkInvitationRowEntity> rows = new ArrayList<>(parsedRows.size());
+        List<CreditScoreUser> users = new ArrayList<>();
+
+        for (int i = 0; i < parsedRows.size(); i++) {
+            InviteUserDTO invitation = parsedRows.get(i).invitation();
+            UUID clientEmailId = invitation.getClientEmailId() != null ? invitation.getClientEmailId() : defaultClientEmailId;
+            List<String> errors = validate(parsedRows.get(i), clientEmailId, clientEmailIds, emails);
+
+            BulkInvitationRowEntity row = new BulkInvitationRowEntity()
+                    .setId(IdGenerators.getPersistenceIds().generate())
+                    .setJobId(jobId)
+                    .setRowNumber(i + 1)
+                    .setClientEmailId(clientEmailId);
+
+            if (errors.isEmpty()) {
+                CreditScoreUser user = new CreditScoreUser()
+                        .setId(IdGenerators.getPersistenceIds().generate())
+                        .setName(invitation.getName())
+                        .setEmail(invitation.getEmail())
+                        .setDateTimeInvited(now)
+                        .setConsent(false)
+                        .setClientId(clientId)
+                        .setClientEmailId(clientEmailId)
+                        .setInvitationHash(invitationHashSupplier.get())
+                        .setAdminEmail(adminEmail);
+                users.add(user);
+                rows.add(row.setStatus(BulkInvitationRowStatus.INVITED)
+                        .setCreditScoreUserId(user.getId()));
+            } else {
+                rows.add(row.setStatus(BulkInvitationRowStatus.REJECTED)
+                        .setErrors(String.join("\n", errors)));
+            }
+        }
+
+        BulkInvitationJobEntity job = new BulkInvitationJobEntity()
+                .setId(jobId)
+                .setClientId(clientId)
+                .setCreatedByEmail(adminEmail)
+                .setBaseUrl(baseUrl)
+                .setRowCount(rows.size())
+                .setInvitedCount(users.size())
+                .setRejectedCount(rows.size() - users.size())
+                .setCreatedDate(now);
+
+        userStorageService.createAll(users);
+        userJourneyService.registerInvited(clientId, users.stream().map(CreditScoreUser::getId).toList());
+        Map<UUID, UUID> emailOutboxIds = users.stream()
+                .collect(Collectors.toMap(CreditScoreUser::getId,
+                        user -> emailOutboxService.enqueueInvitation(clientId, user.getId(), user.getClientEmailId(), baseUrl)));
+        rows.forEach(row -> row.setEmailOutboxId(emailOutboxIds.get(row.getCreditScoreUserId())));
+        bulkInvitationStorageService.saveJob(job, rows);
+
+        users.forEach(user -> {
+            adminAuditService.inviteNewUser(clientId, adminId, adminEmail, user.getId(), user.getName(), user.getEmail(), clientAccessType);
+            semaEventService.logUserInvitation(clientId, adminId);
+        });
+        log.info("Bulk invitation {} invited {} user(s), rejected {} row(s)", jobId, job.getInvitedCount(), job.getRejectedCount());
+
+        return bulkInvitationStorageService.findJob(jobId, clientId).orElseThrow();
+    }
+
+    private List<String> validate(ParsedRow parsedRow, UUID clientEmailId, Set<UUID> clientEmailIds, Set<String> emails) {
+        InviteUserDTO invitation = parsedRow.invitation();
+        List<String> errors = new ArrayList<>();
+        if (parsedRow.error() != null) {
+            errors.add(parsedRow.error());
+        }
+        if (invitation.getName() == null) {
+            errors.add("name: must not be blank");
+        }
+        if (invitation.getEmail() == null) {
+            errors.add("email: must not be blank");
+        }
+        if (invitation.getName() != null && invitation.getEmail() != null) {
+            validator.validate(invitation).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .forEach(errors::add);
+        }
+        if (clientEmailId == null) {
+            if (parsedRow.error() == null) {
+                errors.add("clientEmailId: must be given, client has more than one e-mail template");
+            }
+        } else if (!clientEmailIds.contains(clientEmailId)) {
+            errors.add("clientEmailId: e-mail template not found");
+        }
+        if (invitation.getEmail() != null && !emails.add(invitation.getEmail().toLowerCase(Locale.ROOT))) {
+            errors.add("email: duplicate in this invitation");
+        }
+        return errors;
+    }
+}
@@ -8,14 +8,18 @@ import com.yolt.creditscoring.service.creditscore.recurringtransactions.MonthlyR
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsStorageService;
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.TotalRecurringTransactionsAggregator;
 import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.ReportLeaves;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.ReportSaveDTO;
-import com.yolt.creditscoring.service.estimate.provider.EstimateProvider;
-import com.yolt.creditscoring.service.estimate.provider.dto.ProbabilityOfDefaultStorage;
-import com.yolt.creditscoring.service.estimate.storage.EstimateStorageService;
+import com.yolt.creditscoring.service.estimate.scoring.EstimateScoringService;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsService;
 import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
+import com.yolt.creditscoring.service.securitymodule.signature.RowsSignature;
 import com.yolt.creditscoring.service.securitymodule.signature.SignatureService;
 import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreTransactionCycleDTO;
@@ -34,7 +38,7 @@ import java.util.UUID;
 public class CalculateCreditScoreUseCase {
 
     private final YoltProvider yoltProvider;
-    private final EstimateProvider estimateProvider;
+    private final EstimateScoringService estimateScoringService;
     private final CreditScoreStorageService creditScoreStorageService;
     private final UserStorageService userStorageService;
     private final CreditScoreAlgorithm creditScoreAlgorithm;
@@ -44,7 +48,8 @@ public class CalculateCreditScoreUseCase {
     private final UserAuditService userAuditService;
     private final TotalRecurringTransactionsAggregator totalRecurringTransactionsAggregator;
     private final RecurringTransactionsStorageService recurringTransactionsStorageService;
-    private final EstimateStorageService estimateStorageService;
+    private final WebhookService webhookService;
+    private final PortfolioStatisticsService portfolioStatisticsService;
 
     /**
      * From Yolt API fetching transaction for given userId, calculate report and store report in DB.
@@ -69,26 +74,33 @@ public class CalculateCreditScoreUseCase {
             Set<MonthlyRecurringTransactionsDTO> monthlyCycleTransactionsReportSaveDTOs =
                     totalRecurringTransactionsAggregator.calculateRecurringTransactions(account.getTransactions(), cycleTransactions);
 
-            if (clientService.checkIfClientHasPDFeatureEnabled(user.getClientId())) {
-                ProbabilityOfDefaultStorage pdResult = estimateProvider.calculatePDForReport(account);
-                estimateStorageService.save(user.getId(), pdResult);
-            }
-
             creditScoreReport.setUserId(user.getId());
             ReportSignature calculatedSignature = signatureService.sign(creditScoreReport);
+            List<String> rowLeaves = ReportLeaves.of(creditScoreReport).stream()
+                    .map(ReportLeaves.ReportLeaf::leaf)
+                    .toList();
+            RowsSignature rowsSignature = rowLeaves.isEmpty() ? null : signatureService.signRows(user.getId(), rowLeaves);
 
-            creditScoreStorageService.saveCreditScoreReportForGivenUser(creditScoreReport, calculatedSignature, user.getId());
+            creditScoreStorageService.saveCreditScoreReportForGivenUser(creditScoreReport, calculatedSignature, rowsSignature, user.getId());
 
             UUID creditReportId = creditScoreStorageService.getCreditScoreReportIdByUser(user);
             recurringTransactionsStorageService.saveRecurringTransactionsForReport(creditReportId, monthlyCycleTransactionsReportSaveDTOs);
+            portfolioStatisticsService.enqueue(user.getClientId(), user.getId());
+
+            if (clientService.checkIfClientHasPDFeatureEnabled(user.getClientId())) {
+                // PD score is fetched asynchronously, see EstimateScoringService
+                estimateScoringService.enqueue(user.getId(), account);
+            }
 
             userStorageService.complete(userId);
+            webhookService.enqueue(user.getClientId(), user.getId(), WebhookEventType.REPORT_COMPLETED, InvitationStatus.COMPLETED);
 
             userJourneyService.registerReportGenerated(user.getClientId(), user.getId());
             userAuditService.logReportCalculated(user.getClientId(), user.getId(), calculatedSignature.getSignature(), calculatedSignature.getKeyId());
         } catch (Exception e) {
             log.error("There was an error when generating user report", e);
             userStorageService.calculationError(user.getId());
+            webhookService.enqueue(user.getClientId(), user.getId(), WebhookEventType.REPORT_FAILED, InvitationStatus.CALCULATION_ERROR);
         }
 
         yoltProvider.removeUser(user.getYoltUserId());
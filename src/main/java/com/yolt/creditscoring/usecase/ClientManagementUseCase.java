@@ -13,6 +13,7 @@ import com.yolt.creditscoring.service.client.onboarding.OnboardClient;
 import com.yolt.creditscoring.service.client.onboarding.OnboardClientEmail;
 import com.yolt.creditscoring.service.clientadmin.model.ClientAdmin;
 import com.yolt.creditscoring.service.clientadmin.model.ClientAdminRepository;
+import com.yolt.creditscoring.service.email.InvitationEmailSkeletonCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -44,19 +45,22 @@ class ClientManagementUseCase {
     private final String environment;
     private final ClientMapper clientMapper;
     private final ClientAdminMapper clientAdminMapper;
+    private final InvitationEmailSkeletonCache invitationEmailSkeletonCache;
 
     ClientManagementUseCase(ClientRepository clientRepository,
                             ClientEmailRepository clientEmailRepository,
                             ClientAdminRepository clientAdminRepository,
                             @Value("${environment:}") String environment,
                             ClientMapper clientMapper,
-                            ClientAdminMapper clientAdminMapper) {
+                            ClientAdminMapper clientAdminMapper,
+                            InvitationEmailSkeletonCache invitationEmailSkeletonCache) {
         this.clientRepository = clientRepository;
         this.clientEmailRepository = clientEmailRepository;
         this.clientAdminRepository = clientAdminRepository;
         this.environment = environment;
         this.clientMapper = clientMapper;
         this.clientAdminMapper = clientAdminMapper;
+        this.invitationEmailSkeletonCache = invitationEmailSkeletonCache;
     }
 
     @EventListener
@@ -168,6 +172,7 @@ class ClientManagementUseCase {
             // temporary solution until YTRN-1291 is implemented
             clientMapper.updateClientEmailEntityFromClientEmailUpdate(clientUpdate.getClientEmailUpdate(), clientEmailForUpdate);
             clientEmailRepository.save(clientEmailForUpdate);
+            invitationEmailSkeletonCache.invalidate(clientEmailForUpdate.getId());
         }, () -> log.warn("Template {} not found", clientUpdate.getTemplate()));
     }
 
@@ -221,6 +226,7 @@ class ClientManagementUseCase {
             updatedClientEmail.setTemplate(newClientEmail.getTemplate());
             clientEmailRepository.save(updatedClientEmail);
             clientRepository.save(clientEntity.get());
+            invitationEmailSkeletonCache.invalidate(updatedClientEmail.getId());
         } else {
             log.info("There were no additional email configuration for client ID - {}", clientId);
         }
@@ -0,0 +1,99 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.configuration.annotation.UseCase;
+import com.yolt.creditscoring.exception.WebhookNotFoundException;
+import com.yolt.creditscoring.service.audit.AdminAuditService;
+import com.yolt.creditscoring.service.webhook.ClientWebhookDTO;
+import com.yolt.creditscoring.service.webhook.WebhookDeliveryDTO;
+import com.yolt.creditscoring.service.webhook.WebhookSecretEncryption;
+import com.yolt.creditscoring.service.webhook.WebhookStorageService;
+import com.yolt.creditscoring.service.webhook.WebhookUrlValidator;
+import com.yolt.creditscoring.service.webhook.model.ClientWebhookEntity;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+@UseCase
+@RequiredArgsConstructor
+public class ClientWebhookUseCase {
+
+    private static final Clock clock = ClockConfig.getClock();
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int GENERATED_SECRET_BYTES = 32;
+
+    private final WebhookStorageService webhookStorageService;
+    private final WebhookUrlValidator webhookUrlValidator;
+    private final WebhookSecretEncryption webhookSecretEncryption;
+    private final AdminAuditService adminAuditService;
+
+    /**
+     * Register the webhook of the client, replacing the existing one. When no secret is given a random secret is
+     * generated. The secret is returned only by this method.
+     */
+    @Transactional
+    public ClientWebhookDTO registerWebhook(@NonNull UUID clientId, @NonNull UUID adminId, @NonNull String adminEmail,
+                                            @NonNull String url, String secret) {
+        webhookUrlValidator.validate(url);
+        String webhookSecret = secret != null ? secret : generateSecret();
+
+        ClientWebhookEntity webhook = webhookStorageService.saveWebhook(ClientWebhookEntity.builder()
+                .clientId(clientId)
+                .url(url)
+                .secret(webhookSecretEncryption.encrypt(webhookSecret))
+                .secretEncrypted(true)
+                .enabled(true)
+                .createdAdminEmail(adminEmail)
+                .createdDate(OffsetDateTime.now(clock))
+                .build());
+
+        adminAuditService.adminRegisteredWebhook(clientId, adminId, adminEmail, url);
+
+        return ClientWebhookDTO.builder()
+                .url(webhook.getUrl())
+                .secret(webhookSecret)
+                .enabled(webhook.isEnabled())
+                .createdDate(webhook.getCreatedDate())
+                .build();
+    }
+
+    public ClientWebhookDTO getWebhook(@NonNull UUID clientId) {
+        return webhookStorageService.findWebhook(clientId)
+                .map(webhook -> ClientWebhookDTO.builder()
+                        .url(webhook.getUrl())
+                        .enabled(webhook.isEnabled())
+                        .createdDate(webhook.getCreatedDate())
+                        .build())
+                .orElseThrow(() -> new WebhookNotFoundException("Client with Id " + clientId + " has no webhook"));
+    }
+
+    /**
+     * Remove the webhook of the client. Pending deliveries are marked as failed when they are picked up.
+     */
+    @Transactional
+    public void removeWebhook(@NonNull UUID clientId, @NonNull UUID adminId, @NonNull String adminEmail) {
+        if (webhookStorageService.findWebhook(clientId).isEmpty()) {
+            throw new WebhookNotFoundException("Client with Id " + clientId + " has no webhook");
+        }
+        webhookStorageService.deleteWebhook(clientId);
+        adminAuditService.adminRemovedWebhook(clientId, adminId, adminEmail);
+    }
+
+    public Page<WebhookDeliveryDTO> getDeliveries(@NonNull UUID clientId, @NonNull Pageable pageable) {
+        return webhookStorageService.findDeliveries(clientId, pageable);
+    }
+
+    private static String generateSecret() {
+        byte[] secret = new byte[GENERATED_SECRET_BYTES];
+        SECURE_RANDOM.nextBytes(secret);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+}
@@ -9,6 +9,8 @@ import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
 import com.yolt.creditscoring.usecase.dto.CreditScoreUserResponseDTO;
@@ -39,6 +41,7 @@ public class ConfirmCreditScoreReportUseCase {
     private final UserJourneyService userJourneyService;
     private final UserAuditService userAuditService;
     private final YoltProvider yoltProvider;
+    private final WebhookService webhookService;
 
     private final Clock clock = Clock.systemUTC();
 
@@ -89,6 +92,7 @@ public class ConfirmCreditScoreReportUseCase {
         userStorageService.refuse(user.getId());
         userStorageService.removeYoltUser(userId);
         userJourneyService.registerReportRefused(user.getClientId(), user.getId());
+        webhookService.enqueue(user.getClientId(), user.getId(), WebhookEventType.REPORT_REFUSED, InvitationStatus.REPORT_SHARING_REFUSED);
         log.info("Report share refused");
     }
 
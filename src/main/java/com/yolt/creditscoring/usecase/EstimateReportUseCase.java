@@ -14,6 +14,7 @@ import com.yolt.creditscoring.usecase.dto.RiskClassificationDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
@@ -54,6 +55,7 @@ public class EstimateReportUseCase {
             RiskClassification.J, RATE_J
     );
 
+    @Transactional(readOnly = true)
     public @Valid RiskClassificationDTO getUserRiskScore(UUID userId, UUID clientId) {
         if (!clientService.checkIfClientHasPDFeatureEnabled(clientId)) {
             throw new FeatureToggleDisableException("Estimate PD feature toggle is disable for client " + clientId);
@@ -64,7 +66,13 @@ public class EstimateReportUseCase {
             throw new UserNotFoundException("User not found for given client");
         }
 
-        ProbabilityOfDefaultStorage estimateReport = estimateStorageService.getRiskReport(userId);
+        return toRiskClassification(estimateStorageService.getRiskReport(userId));
+    }
+
+    RiskClassificationDTO toRiskClassification(ProbabilityOfDefaultStorage estimateReport) {
+        if (estimateReport.getStatus() == PdStatus.PENDING) {
+            return RiskClassificationDTO.createPending();
+        }
 
         if (estimateReport.getStatus() == PdStatus.ERROR || estimateReport.getStatus() == PdStatus.ERROR_NOT_ENOUGH_TRANSACTIONS) {
             return RiskClassificationDTO.createError(estimateReport.getStatus());
@@ -0,0 +1,35 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.configuration.annotation.UseCase;
+import com.yolt.creditscoring.service.audit.AdminAuditService;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsDTO;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+
+@Slf4j
+@UseCase
+@RequiredArgsConstructor
+public class PortfolioStatisticsUseCase {
+
+    private final PortfolioStatisticsService portfolioStatisticsService;
+    private final AdminAuditService adminAuditService;
+
+    public PortfolioStatisticsDTO getPortfolioStatistics(UUID clientId) {
+        return portfolioStatisticsService.getStatistics(clientId);
+    }
+
+    /**
+     * @return false when a rebuild of the client is already running
+     */
+    public boolean rebuildPortfolioStatistics(UUID clientId, UUID adminId, String adminEmail) {
+        boolean started = portfolioStatisticsService.startRebuild(clientId);
+        if (started) {
+            log.info("Client admin {} started a rebuild of the portfolio statistics", adminId);
+            adminAuditService.adminStartedPortfolioStatisticsRebuild(clientId, adminId, adminEmail);
+        }
+        return started;
+    }
+}
@@ -13,6 +13,7 @@ import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.Tog
 import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -31,6 +32,7 @@ public class ReportCategoriesUseCase {
     private final ClientStorageService clientService;
     private final CreditScoreStorageService creditScoreStorageService;
 
+    @Transactional(readOnly = true)
     public List<SMECategoryDTO> getUserCategories(UUID userId, UUID clientId) {
         CreditScoreUserDTO user = validateUser(userId, clientId);
 
@@ -40,6 +42,7 @@ public class ReportCategoriesUseCase {
         return getCategoryDTOS(userId, bankAccountDetailsDTO);
     }
 
+    @Transactional(readOnly = true)
     public List<SMECategoryDTO> getUserCategoriesForAllInOneReport(UUID userId, UUID clientId) {
         CreditScoreUserDTO user = validateUser(userId, clientId);
 
@@ -0,0 +1,82 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.configuration.annotation.UseCase;
+import com.yolt.creditscoring.service.client.ClientStorageService;
+import com.yolt.creditscoring.service.creditscore.model.ReportVersion;
+import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Calculates ETags of report resources without loading the report. A report does not change after it was calculated,
+ * so its signature identifies the data. Feature toggles decide which sections are returned, they are part of the ETag.
+ */
+@UseCase
+@RequiredArgsConstructor
+public class ReportETagUseCase {
+
+    private final ClientStorageService clientService;
+    private final CreditScoreStorageService creditScoreStorageService;
+
+    public enum ReportResource {
+        ALL_IN_ONE,
+        OVERVIEW,
+        MONTHS,
+        CATEGORIES
+    }
+
+    /**
+     * @return strong ETag, empty when the resource cannot be returned (no report or feature disabled), so the
+     * request is handled without conditional response
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getReportETag(@NonNull UUID userId, @NonNull UUID clientId, @NonNull ReportResource resource) {
+        final TogglesDTO toggles = clientService.getFeatureToggles(clientId);
+        if (!isEnabled(resource, toggles)) {
+            return Optional.empty();
+        }
+
+        return creditScoreStorageService.findReportVersion(userId, clientId)
+                .filter(version -> version.getSignature() != null)
+                .map(version -> eTag(resource, toggles, version));
+    }
+
+    private static boolean isEnabled(ReportResource resource, TogglesDTO toggles) {
+        return switch (resource) {
+            case ALL_IN_ONE -> true;
+            case OVERVIEW -> toggles.isOverviewFeatureToggle();
+            case MONTHS -> toggles.isMonthsFeatureToggle();
+            case CATEGORIES -> toggles.isCategoryFeatureToggle();
+        };
+    }
+
+    private static String eTag(ReportResource resource, TogglesDTO toggles, ReportVersion version) {
+        String estimateStatus = resource == ReportResource.ALL_IN_ONE && toggles.isEstimateFeatureToggle()
+                ? String.valueOf(version.getEstimateStatus())
+                : "";
+        String value = String.join(";",
+                resource.name(),
+                version.getSignature(),
+                toggles.isOverviewFeatureToggle() + "," + toggles.isCategoryFeatureToggle() + ","
+                        + toggles.isMonthsFeatureToggle() + "," + toggles.isEstimateFeatureToggle(),
+                estimateStatus);
+        return "\"" + HexFormat.of().formatHex(sha256(value), 0, 16) + "\"";
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import com.yolt.creditscoring.configuration.annotation.UseCase;
+import com.yolt.creditscoring.exception.InvalidPageRequestException;
+import com.yolt.creditscoring.service.audit.AdminAuditService;
+import com.yolt.creditscoring.service.creditscore.export.ExportedReportDTO;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportCursor;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportFormat;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportService;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Slf4j
+@UseCase
+@RequiredArgsConstructor
+public class ReportExportUseCase {
+
+    private static final Clock clock = ClockConfig.getClock();
+
+    private final ReportExportService reportExportService;
+    private final AdminAuditService adminAuditService;
+
+    /**
+     * Validates the request before the response is committed. The reports are read while the returned export is
+     * written to the response. The start of the export is audited before the first report is read, the number of
+     * written reports is audited also when the export fails halfway.
+     *
+     * @param cursor continues an interrupted export, {@code from} and {@code until} are ignored when it is given
+     */
+    public ReportExport exportReports(UUID clientId, UUID adminId, String adminEmail, ReportExportFormat format,
+                                      OffsetDateTime from, OffsetDateTime until, String cursor) {
+        ReportExportCursor start = startCursor(from, until, cursor);
+        return out -> {
+            adminAuditService.adminStartedCreditReportsExport(clientId, adminId, adminEmail,
+                    start.afterFetchTime(), start.until(), cursor);
+            CountingReportExportWriter writer = new CountingReportExportWriter(format.writer(out));
+            try {
+                reportExportService.export(clientId, start, writer);
+            } finally {
+                log.info("Exported {} credit reports", writer.written);
+                adminAuditService.adminExportedCreditReports(clientId, adminId, adminEmail, writer.written);
+            }
+        };
+    }
+
+    private static ReportExportCursor startCursor(OffsetDateTime from, OffsetDateTime until, String cursor) {
+        if (cursor != null) {
+            return ReportExportCursor.decode(cursor);
+        }
+        OffsetDateTime end = until != null ? until : OffsetDateTime.now(clock);
+        if (from != null && !from.isBefore(end)) {
+            throw new InvalidPageRequestException("Export start should be before its end");
+        }
+        return ReportExportCursor.start(from, end);
+    }
+
+    @RequiredArgsConstructor
+    private static class CountingReportExportWriter implements ReportExportWriter {
+
+        private final ReportExportWriter delegate;
+        private long written;
+
+        @Override
+        public void write(ExportedReportDTO report) throws IOException {
+            delegate.write(report);
+            written++;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            delegate.finish();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ReportExport {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
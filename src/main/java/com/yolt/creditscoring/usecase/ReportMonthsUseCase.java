@@ -6,12 +6,17 @@ import com.yolt.creditscoring.exception.UserNotFoundException;
 import com.yolt.creditscoring.service.client.ClientStorageService;
 import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.SignedCreditScoreMonthsDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
+import com.yolt.creditscoring.service.securitymodule.semaevent.InvalidSignatureDTO;
+import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
+import com.yolt.creditscoring.service.securitymodule.signature.SignatureService;
 import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.Set;
@@ -26,7 +31,10 @@ public class ReportMonthsUseCase {
     private final UserStorageService userStorageService;
     private final ClientStorageService clientService;
     private final CreditScoreStorageService creditScoreStorageService;
+    private final SignatureService signatureService;
+    private final SemaEventService semaEventService;
 
+    @Transactional(readOnly = true)
     public Set<MonthlyAdminReportDTO> getUserCreditScoreMonths(@NonNull UUID clientId, @NonNull UUID userId) {
         CreditScoreUserDTO user = userStorageService.findById(userId);
         if (!user.getClientId().equals(clientId)) {
@@ -39,7 +47,40 @@ public class ReportMonthsUseCase {
             throw new FeatureToggleDisableException("Client does not have access to months feature");
         }
 
-        return creditScoreStorageService.getCreditScoreMonthsDTO(user);
+        return verifiedMonths(clientId, userId, creditScoreStorageService.getSignedCreditScoreMonths(user));
+    }
+
+    /**
+     * Verifies rows signature of the months and logs a SEMA event when the rows do not match it.
+     * Months are returned in both cases, like for the report signature.
+     */
+    Set<MonthlyAdminReportDTO> verifiedMonths(UUID clientId, UUID userId, SignedCreditScoreMonthsDTO signedMonths) {
+        if (signedMonths.hasRowsSignature() && !verifyRows(userId, signedMonths)) {
+            semaEventService.logIncorrectSignature(InvalidSignatureDTO
+                            .builder()
+                            .userId(userId)
+                            .signature(signedMonths.getRowsSignature())
+                            .message("Monthly report rows do not match rows signature")
+                            .build(),
+                    userId, clientId);
+        }
+
+        return signedMonths.getMonths();
+    }
+
+    /**
+     * The months response contains every row of the report, so all rows have to be signed, not only a subset.
+     * Inclusion proofs only show that the given rows were signed, so the number of stored rows is checked against the
+     * signed leaf count to detect removed or added rows, and every stored row needs a leaf index. A rows signature
+     * without leaf count can not be verified.
+     */
+    private boolean verifyRows(UUID userId, SignedCreditScoreMonthsDTO signedMonths) {
+        Integer leafCount = signedMonths.getLeafCount();
+        if (leafCount == null || signedMonths.getRowCount() != leafCount || signedMonths.getSignedRows().size() != leafCount) {
+            return false;
+        }
+        return signatureService.verifyRows(userId, signedMonths.getSignedRows(), leafCount,
+                signedMonths.getRowsSignature(), signedMonths.getRowsSignatureKeyId());
     }
 
 }
@@ -15,6 +15,7 @@ import com.yolt.creditscoring.service.creditscore.recurringtransactions.MonthlyR
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringAverageDTO;
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsStorageService;
 import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.OverviewInfoDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
 import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
@@ -22,6 +23,7 @@ import com.yolt.creditscoring.service.user.UserStorageService;
 import com.yolt.creditscoring.usecase.dto.CreditScoreAdminOverviewResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
@@ -30,6 +32,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.yolt.creditscoring.service.creditscore.model.Category.*;
@@ -50,6 +53,7 @@ public class ReportOverviewUseCase {
     private final IncomeAndOutcomeYearIndicatorsCalculator incomeAndOutcomeYearIndicatorsCalculator;
     private final CategoryService categoryService;
 
+    @Transactional(readOnly = true)
     public @Valid CreditScoreAdminOverviewResponseDTO getUserCreditScore(UUID userId, UUID clientId) {
         CreditScoreUserDTO user = userStorageService.findById(userId);
         if (!user.getClientId().equals(clientId)) {
@@ -65,16 +69,30 @@ public class ReportOverviewUseCase {
         OverviewInfoDTO overviewInfoDTO = creditScoreStorageService.getCreditScoreOverviewInfoDTO(user);
 
         final LocalDate reportFetchTime = overviewInfoDTO.getLastDataFetchTime().toLocalDate();
-        IncomeAndOutcomeYearIndicatorsDTO incomeAndOutcomeYearIndicatorsDTO = incomeAndOutcomeYearIndicatorsCalculator
-                .calculateIncomeAndOutcomeYearIndicatorsReport(creditScoreStorageService.getCreditScoreMonthsDTO(user), reportFetchTime);
-
         Map<Category, SMECategoryDTO> categoriesForUser =
                 categoryService.getCategoriesForUser(userId, windowBegin(reportFetchTime), windowEnd(reportFetchTime));
-        TaxYearIndicatorsDTO taxYearIndicatorsDTO = calculateTaxYearIndicatorsReport(categoriesForUser);
 
         UUID creditReportId = creditScoreStorageService.getCreditScoreReportIdByUser(user);
         List<MonthlyRecurringTransactionsDTO> allCycleTransactions =
                 cycleTransactionsStorageService.getMonthlyRecurringTransactionsReportSaveDTOs(creditReportId);
+
+        return createOverview(creditScoreStorageService.getCreditScoreMonthsDTO(user), reportFetchTime, categoriesForUser, allCycleTransactions);
+    }
+
+    /**
+     * Calculates the overview from already loaded report data.
+     *
+     * @param categoriesForUser categories in the report window of {@code reportFetchTime}
+     */
+    CreditScoreAdminOverviewResponseDTO createOverview(Set<MonthlyAdminReportDTO> months,
+                                                       LocalDate reportFetchTime,
+                                                       Map<Category, SMECategoryDTO> categoriesForUser,
+                                                       List<MonthlyRecurringTransactionsDTO> allCycleTransactions) {
+        IncomeAndOutcomeYearIndicatorsDTO incomeAndOutcomeYearIndicatorsDTO = incomeAndOutcomeYearIndicatorsCalculator
+                .calculateIncomeAndOutcomeYearIndicatorsReport(months, reportFetchTime);
+
+        TaxYearIndicatorsDTO taxYearIndicatorsDTO = calculateTaxYearIndicatorsReport(categoriesForUser);
+
         RecurringAverageDTO recurringAverage = averageRecurringCalculator.calculateAverageRecurringValue(allCycleTransactions, reportFetchTime);
 
         return CreditScoreAdminOverviewResponseDTO.builder()
@@ -7,8 +7,6 @@ import com.yolt.creditscoring.service.audit.AdminAuditService;
 import com.yolt.creditscoring.service.client.ClientStorageService;
 import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
-import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.ReportDownloadDataDTO;
-import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
 import com.yolt.creditscoring.service.securitymodule.semaevent.InvalidSignatureDTO;
 import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
 import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
@@ -75,46 +73,4 @@ public class ReportUseCase {
         return creditScoreResponseDTO;
     }
 
-    public ReportDownloadDataDTO getUserReportDownloadDataForAllInOneReport(UUID userId, UUID clientId) {
-        CreditScoreUserDTO user = validateUser(userId, clientId);
-        final TogglesDTO featureToggles = clientService.getFeatureToggles(clientId);
-        final BankAccountDetailsDTO bankAccountDetailsDTO = getAdminReportDTO(userId, clientId, user);
-
-        return getReportDownloadDataDTO(featureToggles, bankAccountDetailsDTO);
-    }
-
-    public ReportDownloadDataDTO getUserReportDownloadData(UUID userId, UUID clientId) {
-        CreditScoreUserDTO user = validateUser(userId, clientId);
-        final TogglesDTO featureToggles = clientService.getFeatureToggles(clientId);
-
-        final BankAccountDetailsDTO bankAccountDetailsDTO = creditScoreStorageService.getCreditScoreReportBankAccountDetails(userId)
-                .orElseThrow(() -> new CreditScoreReportNotFoundException(user.getStatus(), "Report was not found for user with ID: " + userId));
-
-        return getReportDownloadDataDTO(featureToggles, bankAccountDetailsDTO);
-    }
-
-    public BankAccountDetailsDTO getUserBankAccountDetails(UUID userId, UUID clientId) {
-        CreditScoreUserDTO user = validateUser(userId, clientId);
-        return getAdminReportDTO(userId, clientId, user);
-    }
-
-    private BankAccountDetailsDTO getAdminReportDTO(UUID userId, UUID clientId, CreditScoreUserDTO user) {
-        return creditScoreStorageService.getCreditScoreReportBankAccountDetails(userId)
-                .orElseThrow(() -> new CreditScoreReportNotFoundException(user.getStatus(), "User was not found with userID: " + userId + "and clientID: " + clientId));
-    }
-
-    private ReportDownloadDataDTO getReportDownloadDataDTO(TogglesDTO featureToggles, BankAccountDetailsDTO bankAccountDetailsDTO) {
-        return ReportDownloadDataDTO.builder()
-                .toggles(featureToggles)
-                .currency(bankAccountDetailsDTO.getCurrency())
-                .build();
-    }
-
-    private CreditScoreUserDTO validateUser(UUID userId, UUID clientId) {
-        CreditScoreUserDTO user = userStorageService.findById(userId);
-        if (!user.getClientId().equals(clientId)) {
-            throw new UserNotFoundException("User not found for given client");
-        }
-        return user;
-    }
 }
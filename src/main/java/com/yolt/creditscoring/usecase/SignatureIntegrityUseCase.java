@@ -0,0 +1,33 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.configuration.annotation.UseCase;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityScanDTO;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityService;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanTrigger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+
+@Slf4j
+@UseCase
+@RequiredArgsConstructor
+public class SignatureIntegrityUseCase {
+
+    private final SignatureIntegrityService signatureIntegrityService;
+
+    public Optional<SignatureIntegrityScanDTO> getLatestScan() {
+        return signatureIntegrityService.getLatestScan();
+    }
+
+    /**
+     * @return false when a scan is already running
+     */
+    public boolean startScan(String adminEmail) {
+        boolean started = signatureIntegrityService.startScan(ScanTrigger.ON_DEMAND);
+        if (started) {
+            log.info("CFA admin {} started a signature integrity scan", adminEmail);
+        }
+        return started;
+    }
+}
@@ -10,7 +10,10 @@ import com.yolt.creditscoring.service.client.ClientStorageService;
 import com.yolt.creditscoring.service.creditscore.model.AccountReference;
 import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import com.yolt.creditscoring.service.yoltapi.dto.ConnectionStatus;
 import com.yolt.creditscoring.service.yoltapi.dto.ConsentStep;
@@ -38,6 +41,7 @@ public class SiteConnectionUseCase {
     private final UserJourneyService userJourneyService;
     private final ClientStorageService clientService;
     private final UserAuditService userAuditService;
+    private final WebhookService webhookService;
 
     public List<SiteViewDTO> getSitesForClient(UUID clientId) {
         String clientSiteTags = clientService.getSiteTagsForGivenClient(clientId);
@@ -77,10 +81,12 @@ public class SiteConnectionUseCase {
         if ("AUTHENTICATION_FAILED".equals(userSite.getDataFetchFailureReason())) {
             userStorageService.refusedBankConsent(userId);
             userJourneyService.registerBankConsentRefused(clientId, userId);
+            webhookService.enqueue(clientId, userId, WebhookEventType.REPORT_REFUSED, InvitationStatus.REFUSED_BANK_CONSENT);
             throw new SiteAuthenticationException("User did not accepted consent on bank page");
         } else if (userSite.getDataFetchFailureReason() != null) {
             userStorageService.bankError(userId);
             userJourneyService.registerBankError(clientId, userId);
+            webhookService.enqueue(clientId, userId, WebhookEventType.REPORT_FAILED, InvitationStatus.ERROR_BANK);
             throw new SiteCreationException("UserSite was not created due to: " + userSite.getDataFetchFailureReason());
         }
 
@@ -14,6 +14,8 @@ import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +38,7 @@ public class UserInvitationUseCase {
     private final UserStorageService userStorageService;
     private final UserJourneyService userJourneyService;
     private final UserAuditService userAuditService;
+    private final WebhookService webhookService;
 
     public ConsentViewDTO validateUser(String hash) {
         CreditScoreUserDTO user = userStorageService.findByHash(hash)
@@ -48,6 +51,7 @@ public class UserInvitationUseCase {
         if (OffsetDateTime.now(clock).isAfter(user.getDateTimeInvited().plusHours(72))) {
             userStorageService.invitationExpired(user.getId());
             userJourneyService.registerExpired(user.getClientId(), user.getId());
+            webhookService.enqueue(user.getClientId(), user.getId(), WebhookEventType.INVITATION_EXPIRED, InvitationStatus.EXPIRED);
             throw new InvitationExpiredException("The invitation link have expired");
         }
 
@@ -95,6 +99,7 @@ public class UserInvitationUseCase {
             }
             userStorageService.saveUserConsentDecline(userId);
             userJourneyService.registerConsentRefuse(user.getClientId(), user.getId());
+            webhookService.enqueue(user.getClientId(), user.getId(), WebhookEventType.REPORT_REFUSED, InvitationStatus.REFUSED);
         }
     }
 
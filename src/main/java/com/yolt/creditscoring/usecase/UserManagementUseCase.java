@@ -1,6 +1,7 @@
 package com.yolt.creditscoring.usecase;
 
 import brave.baggage.BaggageField;
+import com.yolt.creditscoring.common.pagination.KeysetPage;
 import com.yolt.creditscoring.configuration.ClockConfig;
 import com.yolt.creditscoring.configuration.annotation.UseCase;
 import com.yolt.creditscoring.configuration.security.admin.ClientAccessType;
@@ -11,17 +12,16 @@ import com.yolt.creditscoring.exception.UserNotFoundException;
 import com.yolt.creditscoring.service.audit.AdminAuditService;
 import com.yolt.creditscoring.service.client.ClientEmailDTO;
 import com.yolt.creditscoring.service.client.ClientStorageService;
-import com.yolt.creditscoring.service.email.EmailService;
-import com.yolt.creditscoring.service.email.model.InvitationEmailData;
+import com.yolt.creditscoring.service.email.outbox.EmailOutboxService;
 import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
 import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.user.model.CreditScoreUserFilter;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -40,10 +40,9 @@ import java.util.function.Supplier;
 public class UserManagementUseCase {
 
     private static final Clock clock = ClockConfig.getClock();
-    private static final String INVITATION_ENDPOINT = "/consent/";
 
     private final UserStorageService userStorageService;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final ClientStorageService clientService;
     private final UserJourneyService userJourneyService;
     private final YoltProvider yoltProvider;
@@ -89,15 +88,7 @@ public class UserManagementUseCase {
 
         injectUserInBaggage(user);
 
-        final InvitationEmailData creditScoreUserInvitation = InvitationEmailData.builder()
-                .clientEmail(clientEmail)
-                .recipientEmail(inviteUserDTO.getEmail())
-                .userName(inviteUserDTO.getName())
-                .clientLogoUrl(createClientLogoUrl(baseUrl, clientId))
-                .redirectUrl(createInvitationRedirectUrl(invitationHash, baseUrl))
-                .build();
-
-        emailService.sendInvitationForUser(clientId, user.getId(), creditScoreUserInvitation);
+        emailOutboxService.enqueueInvitation(clientId, user.getId(), clientEmail.getId(), baseUrl);
 
         userJourneyService.registerInvited(user.getClientId(), user.getId());
         adminAuditService.inviteNewUser(
@@ -135,17 +126,7 @@ public class UserManagementUseCase {
 
         userStorageService.updateUserInvitationHashAndSetStatusInvited(user.getId(), invitationHash);
 
-        ClientEmailDTO clientEmail = clientService.getClientEmailById(user.getClientEmailId());
-
-        final InvitationEmailData invitationEmailData = InvitationEmailData.builder()
-                .clientEmail(clientEmail)
-                .recipientEmail(user.getEmail())
-                .userName(user.getName())
-                .clientLogoUrl(createClientLogoUrl(baseUrl, clientId))
-                .redirectUrl(createInvitationRedirectUrl(invitationHash, baseUrl))
-                .build();
-
-        emailService.sendInvitationForUser(clientId, creditScoreUserId, invitationEmailData);
+        emailOutboxService.enqueueInvitation(clientId, creditScoreUserId, user.getClientEmailId(), baseUrl);
         adminAuditService.reinviteUser(
                 user.getClientId(),
                 adminId,
@@ -155,9 +136,14 @@ public class UserManagementUseCase {
                 user.getEmail());
     }
 
-    public Page<ViewUserDTO> viewAllUsersByClientId(Pageable pageable, @NotNull UUID clientId) {
+    @Transactional(readOnly = true)
+    public KeysetPage<ViewUserDTO> viewUsersByClientId(@NonNull UUID clientId,
+                                                       @NonNull CreditScoreUserFilter filter,
+                                                       @NonNull Pageable pageable,
+                                                       String cursor,
+                                                       boolean withTotalCount) {
         return userStorageService
-                .findAllByClientIdOrderByEmailAsc(clientId, pageable)
+                .findUsers(clientId, filter, pageable, cursor, withTotalCount)
                 .map(creditScoreUser ->
                         ViewUserDTO.builder()
                                 .userId(creditScoreUser.getId())
@@ -207,12 +193,4 @@ public class UserManagementUseCase {
         }
     }
 
-    private String createInvitationRedirectUrl(String invitationHash, String baseUrl) {
-        return baseUrl + INVITATION_ENDPOINT + invitationHash;
-    }
-
-    private String createClientLogoUrl(String baseUrl, UUID clientId) {
-        return "%s/clients/%s/logo".formatted(baseUrl, clientId);
-    }
-
 }
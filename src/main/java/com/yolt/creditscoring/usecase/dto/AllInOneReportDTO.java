@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.usecase.dto;
+
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sections of the report enabled for the client, sections of disabled features are null.
+ */
+@Value
+@Builder
+public class AllInOneReportDTO {
+
+    CreditScoreAdminOverviewResponseDTO overview;
+
+    BankAccountDetailsDTO accountDetails;
+
+    List<SMECategoryDTO> categories;
+
+    Set<MonthlyAdminReportDTO> months;
+
+    RiskClassificationDTO riskClassification;
+}
@@ -0,0 +1,20 @@
+package com.yolt.creditscoring.usecase.dto;
+
+import com.yolt.creditscoring.controller.admin.users.Based64;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Sections of the report download together with the account details and signature used for the file names.
+ */
+@Value
+@Builder
+public class ReportDownloadDTO {
+
+    AllInOneReportDTO report;
+
+    BankAccountDetailsDTO accountDetails;
+
+    Based64 signature;
+}
@@ -22,4 +22,8 @@ public record RiskClassificationDTO(
     public static RiskClassificationDTO createError(PdStatus status) {
         return new RiskClassificationDTO(null, null, null, status);
     }
+
+    public static RiskClassificationDTO createPending() {
+        return new RiskClassificationDTO(null, null, null, PdStatus.PENDING);
+    }
 }
@@ -1,18 +1,26 @@
 package com.yolt.creditscoring.utility.download;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
 import lombok.experimental.UtilityClass;
-import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
-@Slf4j
+/**
+ * Writes the files of the report download. The {@code write*} methods write directly to the given stream and leave it
+ * open, so they can be used for entries of a zip streamed to the response.
+ */
 @UtilityClass
 public class DownloadReportMapper {
     private static final String DELIMITER = ";";
@@ -35,8 +43,17 @@ public class DownloadReportMapper {
             "Total transaction amount"
     };
 
-    public static byte[] generateCsvForMonths(String currency, Set<MonthlyAdminReportDTO> months) {
-        StringBuilder stringBuilder = new StringBuilder(String.join(DELIMITER, monthsHeaders));
+    /**
+     * ObjectWriter is immutable and thread safe, it is shared by all downloads.
+     */
+    private static final ObjectWriter JSON_WRITER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writer();
+
+    public static void writeCsvForMonths(OutputStream out, String currency, Collection<MonthlyAdminReportDTO> months) throws IOException {
+        Writer writer = csvWriter(out);
+        writer.write(String.join(DELIMITER, monthsHeaders));
 
         for (MonthlyAdminReportDTO month : months) {
             String[] values = {
@@ -51,16 +68,16 @@ public class DownloadReportMapper {
                     month.getOutgoingTransactionsSize().toString()
             };
 
-            stringBuilder
-                    .append('\n')
-                    .append(String.join(DELIMITER, values));
+            writer.write('\n');
+            writer.write(String.join(DELIMITER, values));
         }
 
-        return stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        writer.flush();
     }
 
-    public static byte[] generateCsvForCategories(List<SMECategoryDTO> categories) {
-        StringBuilder stringBuilder = new StringBuilder(String.join(DELIMITER, categoriesHeaders));
+    public static void writeCsvForCategories(OutputStream out, List<SMECategoryDTO> categories) throws IOException {
+        Writer writer = csvWriter(out);
+        writer.write(String.join(DELIMITER, categoriesHeaders));
 
         for (SMECategoryDTO category : categories) {
             String[] values = {
@@ -71,23 +88,21 @@ public class DownloadReportMapper {
                     category.getTotalTransactionAmount().toString()
             };
 
-            stringBuilder
-                    .append('\n')
-                    .append(String.join(DELIMITER, values));
+            writer.write('\n');
+            writer.write(String.join(DELIMITER, values));
         }
 
-        return stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        writer.flush();
     }
 
-    public static byte[] generateJson(Object obj) {
-        byte[] bytes = null;
-        try {
-            ObjectMapper objMapper = new ObjectMapper();
-            objMapper.registerModule(new JavaTimeModule());
-            bytes = objMapper.writeValueAsBytes(obj);
-        } catch (JsonProcessingException e) {
-            log.warn("Error processing overview .json.");
-        }
-        return bytes;
+    public static void writeJson(OutputStream out, Object obj) throws IOException {
+        JSON_WRITER.writeValue(out, obj);
+    }
+
+    /**
+     * Not closed by the callers, closing it would close the underlying stream.
+     */
+    private static Writer csvWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,24 @@
+package com.yolt.creditscoring.utility.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates version 4 UUIDs from {@link ThreadLocalRandom}. Cheap, but not cryptographically secure,
+ * so only use it where the id just has to be unique, e.g. for ids of transactions sent to an external API.
+ */
+public class FastRandomIdGenerator implements IdGenerator {
+
+    private static final long VERSION_MASK = 0xFFFFFFFFFFFF0FFFL;
+    private static final long VERSION_4 = 0x4000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+
+    @Override
+    public UUID generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & VERSION_MASK) | VERSION_4;
+        long leastSigBits = (random.nextLong() & VARIANT_MASK) | VARIANT_RFC_4122;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
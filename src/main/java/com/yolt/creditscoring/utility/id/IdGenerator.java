@@ -0,0 +1,12 @@
+package com.yolt.creditscoring.utility.id;
+
+import java.util.UUID;
+
+/**
+ * Source of identifiers. Use {@link IdGenerators} to pick the generator matching the purpose of the id.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    UUID generate();
+}
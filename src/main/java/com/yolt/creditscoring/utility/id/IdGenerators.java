@@ -0,0 +1,26 @@
+package com.yolt.creditscoring.utility.id;
+
+import com.yolt.creditscoring.configuration.ClockConfig;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Id generators by purpose:
+ * <ul>
+ *     <li>{@link #getPersistenceIds()} primary keys of rows inserted in bulk, time-ordered</li>
+ *     <li>{@link #getUniqueIds()} ids which only have to be unique</li>
+ * </ul>
+ * Ids which must not be guessable, like JWT ids or invitation links, keep using {@link UUID#randomUUID()}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class IdGenerators {
+
+    @Getter
+    private static final IdGenerator persistenceIds = new TimeOrderedIdGenerator(ClockConfig.getClock());
+
+    @Getter
+    private static final IdGenerator uniqueIds = new FastRandomIdGenerator();
+}
@@ -0,0 +1,8 @@
+ALTER TABLE estimate_report ADD COLUMN request TEXT;
+ALTER TABLE estimate_report ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE estimate_report ADD COLUMN next_attempt_time TIMESTAMP WITH TIME ZONE;
+ALTER TABLE estimate_report ADD COLUMN last_error TEXT;
+
+CREATE INDEX IF NOT EXISTS estimate_report_pending_idx
+    ON estimate_report (next_attempt_time)
+    WHERE status = 'PENDING';
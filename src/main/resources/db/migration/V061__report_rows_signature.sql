@@ -0,0 +1,9 @@
+ALTER TABLE credit_score_report ADD COLUMN rows_signature TEXT;
+ALTER TABLE credit_score_report ADD COLUMN rows_signature_key_id UUID;
+ALTER TABLE credit_score_report ADD COLUMN rows_signature_leaf_count INTEGER;
+
+ALTER TABLE credit_score_monthly_report ADD COLUMN signature_leaf_index INTEGER;
+ALTER TABLE credit_score_monthly_report ADD COLUMN signature_proof BYTEA;
+
+ALTER TABLE credit_score_monthly_category_report ADD COLUMN signature_leaf_index INTEGER;
+ALTER TABLE credit_score_monthly_category_report ADD COLUMN signature_proof BYTEA;
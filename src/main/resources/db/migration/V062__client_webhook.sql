@@ -0,0 +1,36 @@
+CREATE TABLE IF NOT EXISTS client_webhook
+(
+    client_id           UUID                     NOT NULL,
+    url                 VARCHAR(2048)            NOT NULL,
+    secret              VARCHAR(256)             NOT NULL,
+    enabled             BOOLEAN                  NOT NULL,
+    created_admin_email VARCHAR(256)             NOT NULL,
+    created_date        TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (client_id),
+    FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+CREATE TABLE IF NOT EXISTS webhook_delivery
+(
+    id                   UUID                     NOT NULL,
+    client_id            UUID                     NOT NULL,
+    credit_score_user_id UUID                     NOT NULL,
+    event_type           VARCHAR(64)              NOT NULL,
+    payload              TEXT                     NOT NULL,
+    status               VARCHAR(32)              NOT NULL,
+    attempts             INTEGER                  NOT NULL DEFAULT 0,
+    created_date         TIMESTAMP WITH TIME ZONE NOT NULL,
+    next_attempt_time    TIMESTAMP WITH TIME ZONE,
+    last_attempt_time    TIMESTAMP WITH TIME ZONE,
+    last_response_status INTEGER,
+    last_error           TEXT,
+    PRIMARY KEY (id),
+    FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+CREATE INDEX IF NOT EXISTS webhook_delivery_pending_idx
+    ON webhook_delivery (next_attempt_time)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS webhook_delivery_client_idx
+    ON webhook_delivery (client_id, created_date DESC);
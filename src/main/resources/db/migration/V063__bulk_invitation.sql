@@ -0,0 +1,37 @@
+CREATE TABLE IF NOT EXISTS bulk_invitation_job
+(
+    id                UUID                     NOT NULL,
+    client_id         UUID                     NOT NULL,
+    created_by_email  VARCHAR(256)             NOT NULL,
+    base_url          VARCHAR(2048)            NOT NULL,
+    row_count         INTEGER                  NOT NULL,
+    invited_count     INTEGER                  NOT NULL,
+    rejected_count    INTEGER                  NOT NULL,
+    created_date      TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+CREATE TABLE IF NOT EXISTS bulk_invitation_row
+(
+    id                      UUID                     NOT NULL,
+    job_id                  UUID                     NOT NULL,
+    row_number              INTEGER                  NOT NULL,
+    name                    TEXT,
+    email                   TEXT,
+    client_email_id         UUID,
+    status                  VARCHAR(32)              NOT NULL,
+    errors                  TEXT,
+    credit_score_user_id    UUID,
+    email_status            VARCHAR(32)              NOT NULL,
+    email_attempts          INTEGER                  NOT NULL DEFAULT 0,
+    email_next_attempt_time TIMESTAMP WITH TIME ZONE,
+    email_error             TEXT,
+    PRIMARY KEY (id),
+    UNIQUE (job_id, row_number),
+    FOREIGN KEY (job_id) REFERENCES bulk_invitation_job (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS bulk_invitation_row_pending_email_idx
+    ON bulk_invitation_row (email_next_attempt_time)
+    WHERE email_status = 'PENDING';
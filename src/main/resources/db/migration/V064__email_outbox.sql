@@ -0,0 +1,44 @@
+CREATE TABLE IF NOT EXISTS email_outbox
+(
+    id                   UUID                     NOT NULL,
+    client_id            UUID                     NOT NULL,
+    credit_score_user_id UUID                     NOT NULL,
+    client_email_id      UUID                     NOT NULL,
+    base_url             VARCHAR(2048)            NOT NULL,
+    status               VARCHAR(32)              NOT NULL,
+    attempts             INTEGER                  NOT NULL DEFAULT 0,
+    created_date         TIMESTAMP WITH TIME ZONE NOT NULL,
+    next_attempt_time    TIMESTAMP WITH TIME ZONE,
+    last_attempt_time    TIMESTAMP WITH TIME ZONE,
+    last_error           TEXT,
+    PRIMARY KEY (id),
+    FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+CREATE INDEX IF NOT EXISTS email_outbox_pending_idx
+    ON email_outbox (next_attempt_time)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS email_outbox_credit_score_user_id_idx
+    ON email_outbox (credit_score_user_id);
+
+-- The invitation e-mails of bulk invitations move to the outbox, the outbox entry keeps the id of the row.
+INSERT INTO email_outbox (id, client_id, credit_score_user_id, client_email_id, base_url, status, attempts,
+                          created_date, next_attempt_time, last_error)
+SELECT r.id, j.client_id, r.credit_score_user_id, r.client_email_id, j.base_url, r.email_status, r.email_attempts,
+       j.created_date, r.email_next_attempt_time, r.email_error
+FROM bulk_invitation_row r
+         JOIN bulk_invitation_job j ON j.id = r.job_id
+WHERE r.credit_score_user_id IS NOT NULL;
+
+ALTER TABLE bulk_invitation_row ADD COLUMN IF NOT EXISTS email_outbox_id UUID;
+
+UPDATE bulk_invitation_row SET email_outbox_id = id WHERE credit_score_user_id IS NOT NULL;
+
+DROP INDEX IF EXISTS bulk_invitation_row_pending_email_idx;
+
+ALTER TABLE bulk_invitation_row
+    DROP COLUMN IF EXISTS email_status,
+    DROP COLUMN IF EXISTS email_attempts,
+    DROP COLUMN IF EXISTS email_next_attempt_time,
+    DROP COLUMN IF EXISTS email_error;
@@ -0,0 +1,15 @@
+-- Last time a pod started to remove the Yolt user of an expired invitation. Used as a lease by the sweeper.
+ALTER TABLE credit_score_user
+    ADD COLUMN IF NOT EXISTS yolt_user_removal_time TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS credit_score_user_invited_idx
+    ON credit_score_user (date_time_invited)
+    WHERE status = 'INVITED';
+
+CREATE INDEX IF NOT EXISTS credit_score_user_account_selected_idx
+    ON credit_score_user (date_time_invited)
+    WHERE status = 'ACCOUNT_SELECTED';
+
+CREATE INDEX IF NOT EXISTS credit_score_user_expired_yolt_user_idx
+    ON credit_score_user (yolt_user_removal_time NULLS FIRST)
+    WHERE status = 'EXPIRED' AND yolt_user_id IS NOT NULL;
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS scheduler_lock
+(
+    name             VARCHAR(64)              NOT NULL,
+    locked_until     TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_at        TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_by        VARCHAR(255)             NOT NULL,
+    last_finished_at TIMESTAMP WITH TIME ZONE,
+    last_duration_ms BIGINT,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,16 @@
+-- Keyset pagination of the admin user list: every index ends with the id, which breaks ties between equal sort values.
+CREATE INDEX IF NOT EXISTS credit_score_user_client_date_invited_idx
+    ON credit_score_user (client_id, date_time_invited, id);
+
+CREATE INDEX IF NOT EXISTS credit_score_user_client_status_date_invited_idx
+    ON credit_score_user (client_id, status, date_time_invited, id);
+
+CREATE INDEX IF NOT EXISTS credit_score_user_client_email_idx
+    ON credit_score_user (client_id, email, id);
+
+CREATE INDEX IF NOT EXISTS credit_score_user_client_name_idx
+    ON credit_score_user (client_id, name, id);
+
+-- Case insensitive e-mail prefix filter (LIKE 'prefix%').
+CREATE INDEX IF NOT EXISTS credit_score_user_client_email_prefix_idx
+    ON credit_score_user (client_id, lower(email) text_pattern_ops);
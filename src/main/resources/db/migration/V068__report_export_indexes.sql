@@ -0,0 +1,10 @@
+-- Bulk report export: reports are read in the order of (last_data_fetch_time, id), which is also the resume position.
+CREATE INDEX IF NOT EXISTS credit_score_report_last_data_fetch_time_idx
+    ON credit_score_report (last_data_fetch_time, id);
+
+-- Foreign keys used to join the monthly and category rows of a report.
+CREATE INDEX IF NOT EXISTS credit_score_monthly_report_report_id_idx
+    ON credit_score_monthly_report (credit_score_report_id);
+
+CREATE INDEX IF NOT EXISTS credit_score_monthly_category_report_month_id_idx
+    ON credit_score_monthly_category_report (credit_score_monthly_report_id);
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS portfolio_statistics
+(
+    client_id    UUID                     NOT NULL,
+    report_count BIGINT                   NOT NULL DEFAULT 0,
+    statistics   BYTEA                    NOT NULL,
+    updated_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (client_id),
+    FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+CREATE TABLE IF NOT EXISTS portfolio_statistics_pending
+(
+    id                   UUID                     NOT NULL,
+    client_id            UUID                     NOT NULL,
+    credit_score_user_id UUID                     NOT NULL,
+    created_date         TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (client_id) REFERENCES client (id)
+);
+
+CREATE INDEX IF NOT EXISTS portfolio_statistics_pending_created_date_idx
+    ON portfolio_statistics_pending (created_date);
+
+CREATE INDEX IF NOT EXISTS portfolio_statistics_pending_client_id_idx
+    ON portfolio_statistics_pending (client_id);
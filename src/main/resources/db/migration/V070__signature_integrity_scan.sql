@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS signature_integrity_scan
+(
+    id             UUID                     NOT NULL,
+    trigger        VARCHAR(32)              NOT NULL,
+    status         VARCHAR(32)              NOT NULL,
+    started_at     TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at     TIMESTAMP WITH TIME ZONE NOT NULL,
+    finished_at    TIMESTAMP WITH TIME ZONE,
+    last_report_id UUID,
+    total          BIGINT                   NOT NULL DEFAULT 0,
+    scanned        BIGINT                   NOT NULL DEFAULT 0,
+    invalid        BIGINT                   NOT NULL DEFAULT 0,
+    errors         BIGINT                   NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS signature_integrity_scan_started_at_idx
+    ON signature_integrity_scan (started_at);
@@ -0,0 +1,8 @@
+-- Counters are only needed for the current minute, an unlogged table avoids WAL writes on every request
+CREATE UNLOGGED TABLE IF NOT EXISTS client_rate_limit
+(
+    id           VARCHAR(64)              NOT NULL,
+    window_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    requests     INT                      NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,7 @@
+-- Rows keep the row number, status and user of an invitation, the name and e-mail are only stored with the user.
+ALTER TABLE bulk_invitation_row
+    DROP COLUMN IF EXISTS name,
+    DROP COLUMN IF EXISTS email;
+
+CREATE INDEX IF NOT EXISTS bulk_invitation_job_created_date_idx
+    ON bulk_invitation_job (created_date);
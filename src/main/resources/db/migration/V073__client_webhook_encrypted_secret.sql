@@ -0,0 +1,6 @@
+-- Webhook secrets are stored encrypted. Secrets stored before are encrypted by the application when it starts.
+ALTER TABLE client_webhook
+    ALTER COLUMN secret TYPE VARCHAR(2048);
+
+ALTER TABLE client_webhook
+    ADD COLUMN IF NOT EXISTS secret_encrypted BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,122 @@
+package com.yolt.creditscoring.common.eventlog;
+
+import com.yolt.creditscoring.common.eventlog.EventLogProperties.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class EventLogDispatcherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    private EventLogDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseWriter.countDown();
+        MDC.clear();
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void shouldWriteEventOnWriterThreadWithLoggingContextOfCaller() throws InterruptedException {
+        // Given
+        dispatcher = start(16, OverflowPolicy.CALLER_RUNS);
+        MDC.put("app-client-id", "some-client");
+        CountDownLatch eventWritten = new CountDownLatch(1);
+
+        // When
+        dispatcher.audit(() -> {
+            written.add(Thread.currentThread().getName() + ":" + MDC.get("app-client-id"));
+            eventWritten.countDown();
+        });
+
+        // Then
+        then(eventWritten.await(5, TimeUnit.SECONDS)).isTrue();
+        then(written).containsExactly("event-log-writer:some-client");
+    }
+
+    @Test
+    void shouldWriteSemaEventOnCallerThreadWhenBufferIsFull() throws InterruptedException {
+        // Given
+        dispatcher = start(1, OverflowPolicy.DROP);
+        blockWriter();
+        dispatcher.audit(() -> written.add("buffered"));
+
+        // When
+        dispatcher.sema(() -> written.add("sema:" + Thread.currentThread().getName()));
+
+        // Then
+        then(written).containsExactly("sema:" + Thread.currentThread().getName());
+        then(registry.counter("event_log_events", "type", "sema", "result", "overflow_caller_runs").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropAuditEventWhenBufferIsFull() throws InterruptedException {
+        // Given
+        dispatcher = start(1, OverflowPolicy.DROP);
+        blockWriter();
+        dispatcher.audit(() -> written.add("buffered"));
+
+        // When
+        dispatcher.audit(() -> written.add("dropped"));
+        releaseWriter.countDown();
+        dispatcher.stop();
+
+        // Then
+        then(written).containsExactly("buffered");
+        then(registry.counter("event_log_events", "type", "audit", "result", "dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWriteBufferedEventsOnStop() throws InterruptedException {
+        // Given
+        dispatcher = start(16, OverflowPolicy.CALLER_RUNS);
+        blockWriter();
+        dispatcher.audit(() -> written.add("first"));
+        dispatcher.sema(() -> written.add("second"));
+
+        // When
+        releaseWriter.countDown();
+        dispatcher.stop();
+
+        // Then
+        then(written).containsExactly("first", "second");
+    }
+
+    private EventLogDispatcher start(int capacity, OverflowPolicy auditOverflowPolicy) {
+        EventLogDispatcher eventLogDispatcher = new EventLogDispatcher(
+                new EventLogProperties(true, capacity, 8, auditOverflowPolicy, Duration.ofSeconds(5)), registry);
+        eventLogDispatcher.start();
+        return eventLogDispatcher;
+    }
+
+    /**
+     * Keeps the writer busy until {@link #releaseWriter} is released, so the next events stay in the buffer.
+     */
+    private void blockWriter() throws InterruptedException {
+        dispatcher.audit(() -> {
+            writerBlocked.countDown();
+            try {
+                releaseWriter.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        then(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
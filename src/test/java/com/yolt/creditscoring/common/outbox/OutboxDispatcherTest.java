@@ -0,0 +1,90 @@
+package com.yolt.creditscoring.common.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class OutboxDispatcherTest {
+
+    private final List<Integer> claimLimits = new ArrayList<>();
+    private final List<Entry> processed = new ArrayList<>();
+
+    @Test
+    void shouldClaimOnlyAsManyEntriesAsThereAreFreeSlots() {
+        // Given
+        List<Runnable> running = new ArrayList<>();
+        OutboxDispatcher<Entry> dispatcher = dispatcher(running::add);
+        dispatcher.dispatch();
+
+        // When
+        int submitted = dispatcher.dispatch();
+        running.get(0).run();
+        int submittedAfterCompletion = dispatcher.dispatch();
+
+        // Then
+        then(submitted).isZero();
+        then(submittedAfterCompletion).isEqualTo(1);
+        then(claimLimits).containsExactly(2, 1);
+        then(processed).hasSize(1);
+    }
+
+    @Test
+    void shouldReleaseSlotWhenExecutorRejectsEntry() {
+        // Given
+        OutboxDispatcher<Entry> rejecting = dispatcher(task -> {
+            throw new TaskRejectedException("Pool is shut down");
+        });
+
+        // When
+        int submitted = rejecting.dispatch();
+        int submittedAgain = rejecting.dispatch();
+
+        // Then
+        then(submitted).isZero();
+        then(submittedAgain).isZero();
+        then(claimLimits).containsExactly(2, 2);
+    }
+
+    @Test
+    void shouldProcessClaimedEntries() {
+        // When
+        int submitted = dispatcher(new SyncTaskExecutor()).dispatch();
+
+        // Then
+        then(submitted).isEqualTo(2);
+        then(processed).hasSize(2);
+    }
+
+    @Test
+    void shouldDoubleBackoffUntilMaximum() {
+        // Given
+        ExponentialBackoff backoff = new ExponentialBackoff(Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        // When
+        List<Duration> delays = IntStream.rangeClosed(1, 6).mapToObj(backoff::delay).toList();
+
+        // Then
+        then(delays).containsExactly(Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(2),
+                Duration.ofMinutes(4), Duration.ofMinutes(5), Duration.ofMinutes(5));
+        then(backoff.delay(1000)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    private OutboxDispatcher<Entry> dispatcher(TaskExecutor executor) {
+        return new OutboxDispatcher<>("Entry", 2, executor, limit -> {
+            claimLimits.add(limit);
+            return IntStream.range(0, limit).mapToObj(i -> new Entry(UUID.randomUUID())).toList();
+        }, processed::add);
+    }
+
+    private record Entry(UUID id) implements OutboxEntry {
+    }
+}
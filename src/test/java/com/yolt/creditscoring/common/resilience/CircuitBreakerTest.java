@@ -0,0 +1,143 @@
+package com.yolt.creditscoring.common.resilience;
+
+import com.yolt.creditscoring.common.resilience.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class CircuitBreakerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+    private static final ResilienceSettings SETTINGS = new ResilienceSettings(50, 4, Duration.ofSeconds(10), Duration.ofSeconds(30), 2, 1);
+
+    private final List<State> transitions = new ArrayList<>();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(SETTINGS, 0, (from, to) -> transitions.add(to));
+
+    @Test
+    void shouldOpenWhenFailureRateOfWindowReachesThreshold() {
+        // Given
+        result(false, SECOND);
+        result(true, SECOND);
+        result(false, SECOND);
+
+        // When
+        result(true, 2 * SECOND);
+
+        // Then
+        then(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        then(circuitBreaker.tryAcquire(3 * SECOND)).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+        then(transitions).containsExactly(State.OPEN);
+    }
+
+    @Test
+    void shouldStayClosedBelowMinimumCalls() {
+        // Given
+        result(true, SECOND);
+        result(true, SECOND);
+
+        // When
+        result(true, SECOND);
+
+        // Then
+        then(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        then(circuitBreaker.tryAcquire(SECOND)).isNotEqualTo(CircuitBreaker.NOT_PERMITTED);
+    }
+
+    @Test
+    void shouldForgetFailuresOfPreviousWindow() {
+        // Given
+        result(true, SECOND);
+        result(true, SECOND);
+        result(true, SECOND);
+
+        // When
+        result(true, 11 * SECOND);
+
+        // Then
+        then(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void shouldCloseWhenTrialCallsSucceedAfterOpenDuration() {
+        // Given
+        open();
+
+        // When
+        long first = circuitBreaker.tryAcquire(31 * SECOND);
+        long second = circuitBreaker.tryAcquire(31 * SECOND);
+        long third = circuitBreaker.tryAcquire(31 * SECOND);
+        circuitBreaker.onResult(first, false, 32 * SECOND);
+        circuitBreaker.onResult(second, false, 32 * SECOND);
+
+        // Then
+        then(first).isNotEqualTo(CircuitBreaker.NOT_PERMITTED);
+        then(second).isEqualTo(first);
+        then(third).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+        then(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        then(transitions).containsExactly(State.OPEN, State.HALF_OPEN, State.CLOSED);
+    }
+
+    @Test
+    void shouldOpenAgainWhenTrialCallFails() {
+        // Given
+        open();
+        long trial = circuitBreaker.tryAcquire(31 * SECOND);
+
+        // When
+        circuitBreaker.onResult(trial, true, 32 * SECOND);
+
+        // Then
+        then(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        then(circuitBreaker.tryAcquire(33 * SECOND)).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+        then(circuitBreaker.tryAcquire(63 * SECOND)).isNotEqualTo(CircuitBreaker.NOT_PERMITTED);
+    }
+
+    @Test
+    void shouldIgnoreResultOfCallStartedBeforeCircuitOpened() {
+        // Given
+        long slowCall = circuitBreaker.tryAcquire(SECOND);
+        open();
+        long trial = circuitBreaker.tryAcquire(31 * SECOND);
+
+        // When
+        circuitBreaker.onResult(slowCall, true, 32 * SECOND);
+        circuitBreaker.onResult(slowCall, false, 32 * SECOND);
+
+        // Then
+        then(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        then(trial).isGreaterThan(slowCall);
+        then(transitions).containsExactly(State.OPEN, State.HALF_OPEN);
+    }
+
+    @Test
+    void shouldRejectCallsAboveBulkheadOfGuard() {
+        // Given
+        UpstreamGuard guard = new UpstreamGuard("yolt_api", "accounts", SETTINGS, true, new SimpleMeterRegistry());
+        UpstreamGuard.Permit permit = guard.acquire();
+
+        // When
+        Throwable thrown = catchThrowable(guard::acquire);
+
+        // Then
+        then(thrown).isInstanceOf(CallNotPermittedException.class);
+        then(((CallNotPermittedException) thrown).getReason()).isEqualTo(CallNotPermittedException.Reason.BULKHEAD_FULL);
+        permit.complete(false);
+        then(guard.acquire()).isNotNull();
+    }
+
+    private void result(boolean failure, long now) {
+        circuitBreaker.onResult(circuitBreaker.tryAcquire(now), failure, now);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            result(true, SECOND);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.yolt.creditscoring.common.scheduling;
+
+import com.yolt.creditscoring.IntegrationTest;
+import com.yolt.creditscoring.common.scheduling.model.SchedulerLockEntity;
+import com.yolt.creditscoring.common.scheduling.model.SchedulerLockRepository;
+import com.yolt.creditscoring.service.userjourney.reporting.UserJourneyReportScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@IntegrationTest
+class SchedulerLockServiceIT {
+
+    private static final String LOCK_NAME = "test-lock";
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private UserJourneyReportScheduler userJourneyReportScheduler;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        schedulerLockRepository.deleteAll();
+    }
+
+    @Test
+    void shouldGrantLockToSingleRunUntilReleased() {
+        // Given
+        Optional<SchedulerLockService.Lock> lock = schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10));
+
+        // When
+        Optional<SchedulerLockService.Lock> concurrentLock = schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10));
+        schedulerLockService.unlock(lock.orElseThrow(), Duration.ZERO, Duration.ofMillis(42));
+        Optional<SchedulerLockService.Lock> nextLock = schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10));
+
+        // Then
+        assertThat(concurrentLock).isEmpty();
+        assertThat(nextLock).isPresent();
+        SchedulerLockEntity entity = schedulerLockRepository.findById(LOCK_NAME).orElseThrow();
+        assertThat(entity.getLockedBy()).isEqualTo(schedulerLockService.getNode());
+        assertThat(entity.getLastDurationMs()).isEqualTo(42);
+    }
+
+    @Test
+    void shouldTakeOverLockAfterLeaseExpired() {
+        // Given
+        schedulerLockService.tryLock(LOCK_NAME, Duration.ZERO);
+
+        // When
+        Optional<SchedulerLockService.Lock> lock = schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10));
+
+        // Then
+        assertThat(lock).isPresent();
+    }
+
+    @Test
+    void shouldNotReleaseLeaseOfRunWhichTookOverLock() {
+        // Given
+        SchedulerLockService.Lock expiredLock = schedulerLockService.tryLock(LOCK_NAME, Duration.ZERO).orElseThrow();
+        SchedulerLockService.Lock lock = schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10)).orElseThrow();
+
+        // When
+        schedulerLockService.unlock(expiredLock, Duration.ZERO, Duration.ofMillis(42));
+
+        // Then
+        assertThat(lock.lockedAt()).isNotEqualTo(expiredLock.lockedAt());
+        assertThat(schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10))).isEmpty();
+        assertThat(schedulerLockRepository.findById(LOCK_NAME).orElseThrow().getLastDurationMs()).isNull();
+    }
+
+    @Test
+    void shouldNotThrowWhenLockCanNotBeReleased() {
+        // Given
+        schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10));
+
+        // When
+        Throwable thrown = catchThrowable(() -> schedulerLockService.unlock(
+                new SchedulerLockService.Lock(LOCK_NAME, "not a timestamp"), Duration.ZERO, Duration.ofMillis(42)));
+
+        // Then
+        assertThat(thrown).isNull();
+        assertThat(schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(10))).isEmpty();
+    }
+
+    @Test
+    void shouldSkipAnnotatedJobWhileLockIsHeldAtLeastForMinimumTime() {
+        // When
+        userJourneyReportScheduler.scheduleFixedDelayTask();
+        userJourneyReportScheduler.scheduleFixedDelayTask();
+
+        // Then
+        SchedulerLockEntity entity = schedulerLockRepository.findById("invoicing-report").orElseThrow();
+        assertThat(entity.getLockedBy()).isEqualTo(schedulerLockService.getNode());
+        assertThat(entity.getLastDurationMs()).isNotNull();
+        assertThat(entity.getLockedUntil()).isAfter(entity.getLastFinishedAt());
+        assertThat(registry.counter("scheduler_lock_job_skipped", "name", "invoicing-report").count()).isEqualTo(1);
+    }
+}
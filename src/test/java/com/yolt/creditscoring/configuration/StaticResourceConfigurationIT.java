@@ -0,0 +1,68 @@
+package com.yolt.creditscoring.configuration;
+
+import com.yolt.creditscoring.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class StaticResourceConfigurationIT {
+
+    private static final String HASHED_ASSET = "/static/js/main.0123abcd.js";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void shouldServePrecompressedHashedAssetAsImmutable() throws Exception {
+        // When
+        mvc.perform(get(HASHED_ASSET)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                // Then
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+    }
+
+    @Test
+    void shouldServeUncompressedHashedAssetWhenEncodingIsNotAccepted() throws Exception {
+        // When
+        mvc.perform(get(HASHED_ASSET))
+                // Then
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void shouldNotCacheMissingHashedAsset() throws Exception {
+        // When
+        mvc.perform(get("/static/js/main.missing.js"))
+                // Then
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-store")));
+    }
+
+    @Test
+    void shouldRevalidateIndexHtmlWithEtag() throws Exception {
+        // Given
+        MvcResult first = mvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        mvc.perform(get("/index.html")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                // Then
+                .andExpect(status().isNotModified());
+    }
+}
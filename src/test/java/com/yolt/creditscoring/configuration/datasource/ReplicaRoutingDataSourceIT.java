@@ -0,0 +1,228 @@
+package com.yolt.creditscoring.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two independent Postgres containers, which have a different name in the {@code node} table.
+ */
+class ReplicaRoutingDataSourceIT {
+
+    private static final String USE_CASE_TRANSACTION = "com.yolt.creditscoring.usecase.ReportUseCase.getUserCreditScore";
+    private static final String REPOSITORY_TRANSACTION = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+    private static GenericContainer<?> primaryContainer;
+    private static GenericContainer<?> replicaContainer;
+    private static HikariDataSource primary;
+    private static HikariDataSource replica;
+
+    private MeterRegistry registry;
+    private RecentWriters recentWriters;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeAll
+    static void startDatabases() {
+        primaryContainer = startPostgres();
+        replicaContainer = startPostgres();
+        primary = dataSource(primaryContainer, "primary");
+        replica = dataSource(replicaContainer, "replica");
+    }
+
+    @AfterAll
+    static void stopDatabases() {
+        primary.close();
+        replica.close();
+        primaryContainer.stop();
+        replicaContainer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        recentWriters = new RecentWriters(Duration.ofSeconds(15));
+        lagMonitor = new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5), recentWriters, registry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, recentWriters, registry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        recentWriters.endRequest();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionOfApplicationToReplica() {
+        // Given
+        lagMonitor.check();
+
+        // When
+        String readOnlyNode = inTransaction(USE_CASE_TRANSACTION, true);
+        String readWriteNode = inTransaction(USE_CASE_TRANSACTION, false);
+
+        // Then
+        assertThat(readOnlyNode).isEqualTo("replica");
+        assertThat(readWriteNode).isEqualTo("primary");
+        assertThat(registry.get("datasource_routed_connections").tag("target", "replica").counter().count()).isEqualTo(1);
+        assertThat(registry.get("datasource_replica_available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepRepositoryTransactionsOnPrimary() {
+        // Given
+        lagMonitor.check();
+
+        // When
+        String node = inTransaction(REPOSITORY_TRANSACTION, true);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldKeepReadsOnPrimaryBeforeLagWasChecked() {
+        // When
+        String node = inTransaction(USE_CASE_TRANSACTION, true);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimary() {
+        // Given
+        lagMonitor.check();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writing-admin", null, "ROLE_CLIENT_ADMIN"));
+        inTransaction(USE_CASE_TRANSACTION, false);
+
+        // When
+        String writerNode = inTransaction(USE_CASE_TRANSACTION, true);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other-admin", null, "ROLE_CLIENT_ADMIN"));
+        String otherNode = inTransaction(USE_CASE_TRANSACTION, true);
+
+        // Then
+        assertThat(writerNode).isEqualTo("primary");
+        assertThat(otherNode).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldReadOwnWritesOfThreadWithoutPrincipalFromPrimary() {
+        // Given
+        lagMonitor.check();
+        inTransaction(USE_CASE_TRANSACTION, false);
+
+        // When
+        String node = inTransaction(USE_CASE_TRANSACTION, true);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldReadFromPrimaryDuringWindowStartedOnOtherPod() {
+        // Given
+        lagMonitor.check();
+        recentWriters.beginRequest(System.currentTimeMillis() + 10_000, until -> {
+        });
+
+        // When
+        String node = inTransaction(USE_CASE_TRANSACTION, true);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldHandWindowToClientOnFirstWriteOfRequest() throws InterruptedException {
+        // Given
+        lagMonitor.check();
+        List<Long> windows = new ArrayList<>();
+        recentWriters.beginRequest(0, windows::add);
+        inTransaction(USE_CASE_TRANSACTION, false);
+        inTransaction(USE_CASE_TRANSACTION, false);
+
+        // When
+        List<String> nodes = new ArrayList<>();
+        Thread section = new Thread(recentWriters.propagate(() -> nodes.add(inTransaction(USE_CASE_TRANSACTION, true))));
+        section.start();
+        section.join();
+
+        // Then
+        assertThat(windows).singleElement().satisfies(until -> assertThat(until).isGreaterThan(System.currentTimeMillis()));
+        assertThat(nodes).containsExactly("primary");
+    }
+
+    @Test
+    void shouldNotUseReplicaWhenPrimaryCannotBeReached() {
+        // Given
+        HikariDataSource unreachable = new HikariDataSource();
+        unreachable.setJdbcUrl("jdbc:postgresql://localhost:1/runner");
+        unreachable.setInitializationFailTimeout(-1);
+        unreachable.setConnectionTimeout(250);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(unreachable, replica, Duration.ofSeconds(5), recentWriters, new SimpleMeterRegistry());
+
+        // When
+        monitor.check();
+
+        // Then
+        assertThat(monitor.isAvailable()).isFalse();
+        unreachable.close();
+    }
+
+    @Test
+    void shouldParseWalPosition() {
+        assertThat(ReplicaLagMonitor.lsn("0/16B3748")).isEqualTo(0x16B3748L);
+        assertThat(ReplicaLagMonitor.lsn("16/B374D848")).isEqualTo((0x16L << 32) | 0xB374D848L);
+    }
+
+    private String inTransaction(String name, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setName(name);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static GenericContainer<?> startPostgres() {
+        GenericContainer<?> container = new GenericContainer<>("postgres:13-alpine")
+                .withEnv("POSTGRES_USER", "runner")
+                .withEnv("POSTGRES_PASSWORD", "runner")
+                .withExposedPorts(5432)
+                .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+        container.start();
+        return container;
+    }
+
+    private static HikariDataSource dataSource(GenericContainer<?> container, String node) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:postgresql://%s:%d/runner".formatted(container.getHost(), container.getMappedPort(5432)));
+        dataSource.setUsername("runner");
+        dataSource.setPassword("runner");
+        dataSource.setPoolName(node);
+        new JdbcTemplate(dataSource).execute("CREATE TABLE node AS SELECT '" + node + "'::text AS name");
+        return dataSource;
+    }
+}
@@ -0,0 +1,139 @@
+package com.yolt.creditscoring.configuration.security.customer;
+
+import com.yolt.creditscoring.controller.exception.ControllerExceptionHandlers;
+import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimiter;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimiter.Permit;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.RateLimitExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ADMIN_EMAIL;
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ID;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ClientTokenRateLimitInterceptorTest {
+
+    private static final UUID TOKEN_ID = UUID.fromString("5c8f0b4e-0000-4000-8000-000000000001");
+
+    @Mock
+    private ClientTokenRateLimiter clientTokenRateLimiter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new RateLimitedController())
+                .addInterceptors(new ClientTokenRateLimitInterceptor(clientTokenRateLimiter))
+                .setControllerAdvice(new ControllerExceptionHandlers())
+                .build();
+        authenticate(ClientTokenPermission.Permissions.DOWNLOAD_REPORT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRespondWithTooManyRequestsAndRetryAfterWhenLimitIsExceeded() throws Exception {
+        // Given
+        given(clientTokenRateLimiter.acquire(TOKEN_ID, SOME_CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT))
+                .willThrow(new RateLimitExceededException("Rate limit token of DOWNLOAD_REPORT exceeded", Duration.ofMillis(1500)));
+
+        // When
+        mockMvc.perform(get("/rate-limited"))
+
+                // Then
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.errorType").value("TOO_MANY_REQUESTS"));
+    }
+
+    @Test
+    void shouldReleasePermitWhenResponseIsComplete() throws Exception {
+        // Given
+        Permit permit = mock(Permit.class);
+        given(clientTokenRateLimiter.acquire(TOKEN_ID, SOME_CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT))
+                .willReturn(permit);
+
+        // When
+        mockMvc.perform(get("/rate-limited"))
+
+                // Then
+                .andExpect(status().isOk());
+        then(permit).should().release();
+    }
+
+    @Test
+    void shouldNotLimitEndpointWithoutAnnotation() throws Exception {
+        // When
+        mockMvc.perform(get("/not-rate-limited"))
+
+                // Then
+                .andExpect(status().isOk());
+        verifyNoInteractions(clientTokenRateLimiter);
+    }
+
+    @Test
+    void shouldNotLimitTokenWithoutPermissionOfEndpoint() throws Exception {
+        // Given
+        authenticate(ClientTokenPermission.Permissions.INVITE_USER);
+
+        // When
+        mockMvc.perform(get("/rate-limited"))
+
+                // Then
+                .andExpect(status().isOk());
+        verifyNoInteractions(clientTokenRateLimiter);
+    }
+
+    private static void authenticate(String permission) {
+        ClientTokenPrincipal principal = ClientTokenPrincipal.builder()
+                .tokenId(TOKEN_ID)
+                .clientId(SOME_CLIENT_ID)
+                .email(SOME_CLIENT_ADMIN_EMAIL)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                List.of(new SimpleGrantedAuthority(permission))));
+    }
+
+    @RestController
+    static class RateLimitedController {
+
+        @RateLimited(ClientTokenPermission.DOWNLOAD_REPORT)
+        @GetMapping("/rate-limited")
+        String rateLimited() {
+            return "report";
+        }
+
+        @GetMapping("/not-rate-limited")
+        String notRateLimited() {
+            return "report";
+        }
+    }
+}
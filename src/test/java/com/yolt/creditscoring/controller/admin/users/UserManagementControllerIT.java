@@ -1,16 +1,21 @@
 package com.yolt.creditscoring.controller.admin.users;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.yolt.creditscoring.IntegrationTest;
 import com.yolt.creditscoring.controller.admin.clienttoken.ClientTokenController;
+import com.yolt.creditscoring.service.audit.AdminAuditService;
 import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
 import com.yolt.creditscoring.service.clienttoken.model.ClientTokenRepository;
 import com.yolt.creditscoring.service.creditscore.model.*;
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsMonthlyReportEntity;
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsMonthlyReportRepository;
+import com.yolt.creditscoring.service.email.outbox.EmailOutboxService;
+import com.yolt.creditscoring.service.email.outbox.model.EmailOutboxRepository;
 import com.yolt.creditscoring.service.estimate.provider.dto.RiskClassification;
 import com.yolt.creditscoring.service.estimate.storage.EstimateEntity;
 import com.yolt.creditscoring.service.estimate.storage.EstimateRepository;
+import com.yolt.creditscoring.service.invitation.model.BulkInvitationJobRepository;
 import com.yolt.creditscoring.service.securitymodule.jwt.JwtCreationService;
 import com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService;
 import com.yolt.creditscoring.service.user.model.CreditScoreUser;
@@ -31,7 +36,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -58,11 +65,16 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @IntegrationTest
+@TestPropertySource(properties = {
+        "yolt.creditScoreExecutor.async=false",})
 class UserManagementControllerIT {
 
     @Autowired
@@ -89,12 +101,24 @@ class UserManagementControllerIT {
     @Autowired
     private ClientTokenRepository clientTokenRepository;
 
+    @Autowired
+    private BulkInvitationJobRepository bulkInvitationJobRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
     @MockBean
     private SesClient sesClient;
 
     @SpyBean
     VaultSecretKeyService vaultSecretKeyService;
 
+    @SpyBean
+    private AdminAuditService adminAuditService;
+
     @AfterEach
     void afterTest() {
         creditScoreUserRepository.deleteAll();
@@ -103,6 +127,8 @@ class UserManagementControllerIT {
         cycleTransactionsMonthlyReportRepository.deleteAll();
         estimateRepository.deleteAll();
         clientTokenRepository.deleteAll();
+        bulkInvitationJobRepository.deleteAll();
+        emailOutboxRepository.deleteAll();
     }
 
     @Test
@@ -136,6 +162,100 @@ class UserManagementControllerIT {
                 .andExpect(jsonPath("$.[1].adminEmail", equalTo("admin2@example.com")));
     }
 
+    @Test
+    void shouldViewUsersPagesAfterCursor() throws Exception {
+        // Given
+        prepareCreditScoreUsers();
+        prepareAdditionalUsersToVerifyPagination();
+        String token = jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN);
+
+        // When
+        MvcResult firstPage = mvc.perform(get(GET_USERS_ENDPOINT)
+                        .param("size", "15")
+                        .param("sort", "dateTimeInvited,DESC")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(15)))
+                .andExpect(jsonPath("$.[0].email", equalTo(SOME_USER_EMAIL + "_20")))
+                .andExpect(header().string("X-Total-Count", "22"))
+                .andExpect(header().string("X-Pagination-Pages", "2"))
+                .andReturn();
+        String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+        ResultActions secondPage = mvc.perform(get(GET_USERS_ENDPOINT)
+                .param("size", "15")
+                .param("sort", "dateTimeInvited,DESC")
+                .param("cursor", cursor)
+                .param("count", "false")
+                .header(HttpHeaders.AUTHORIZATION, token));
+
+        // Then
+        assertThat(cursor).isNotBlank();
+        secondPage
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(7)))
+                .andExpect(jsonPath("$.[0].email", equalTo(SOME_USER_EMAIL + "_5")))
+                .andExpect(jsonPath("$.[5].email", equalTo(SOME_USER_EMAIL_2)))
+                .andExpect(jsonPath("$.[6].email", equalTo(SOME_USER_EMAIL)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist("X-Total-Count"));
+    }
+
+    @Test
+    void shouldFilterUsers() throws Exception {
+        // Given
+        prepareCreditScoreUsers();
+        prepareAdditionalUsersToVerifyPagination();
+        String token = jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN);
+
+        // When
+        ResultActions byStatus = mvc.perform(get(GET_USERS_ENDPOINT)
+                .param("status", "EXPIRED")
+                .header(HttpHeaders.AUTHORIZATION, token));
+        ResultActions byEmailPrefix = mvc.perform(get(GET_USERS_ENDPOINT)
+                .param("email", "USER2@")
+                .header(HttpHeaders.AUTHORIZATION, token));
+        ResultActions byDateInvited = mvc.perform(get(GET_USERS_ENDPOINT)
+                .param("invitedFrom", "2020-11-01T12:00:00Z")
+                .param("invitedUntil", "2020-11-01T14:00:00Z")
+                .param("sort", "email,ASC")
+                .header(HttpHeaders.AUTHORIZATION, token));
+
+        // Then
+        byStatus.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].email", equalTo(SOME_USER_EMAIL_2)))
+                .andExpect(header().string("X-Total-Count", "1"));
+        byEmailPrefix.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].email", equalTo(SOME_USER_EMAIL_2)));
+        byDateInvited.andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].email", contains(SOME_USER_EMAIL + "_1", SOME_USER_EMAIL + "_2")))
+                .andExpect(header().string("X-Total-Count", "2"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForCursorOfAnotherSort() throws Exception {
+        // Given
+        prepareCreditScoreUsers();
+        prepareAdditionalUsersToVerifyPagination();
+        String token = jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN);
+        String cursor = mvc.perform(get(GET_USERS_ENDPOINT)
+                        .param("sort", "email,ASC")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        // When
+        ResultActions response = mvc.perform(get(GET_USERS_ENDPOINT)
+                .param("sort", "dateTimeInvited,DESC")
+                .param("cursor", cursor)
+                .header(HttpHeaders.AUTHORIZATION, token));
+
+        // Then
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorType", equalTo("PAGE_REQUEST_INVALID")));
+    }
+
     /**
      * Happy flow
      */
@@ -174,6 +294,8 @@ class UserManagementControllerIT {
         assertThat(result).extracting("name", "email", "adminEmail")
                 .contains(tuple(userName, SOME_USER_EMAIL, "adminuser@test.com"));
 
+        verify(sesClient, never()).sendEmail(any(SendEmailRequest.class));
+        assertThat(emailOutboxService.processPendingEmails()).isEqualTo(1);
         verify(sesClient).sendEmail(sendEmailRequestCaptor.capture());
         SendEmailRequest emailRequest = sendEmailRequestCaptor.getValue();
         assertThat(emailRequest.source()).isEqualTo("Cashflow Analyser <no-reply-cashflow-analyser@yolt.com>");
@@ -218,7 +340,8 @@ class UserManagementControllerIT {
         assertThat(result).extracting("name", "email", "adminEmail", "clientEmailId")
                 .contains(tuple(SOME_USER_NAME, SOME_USER_EMAIL, "adminuser@test.com", SOME_CLIENT_EMAIL_ID));
 
-        // And the email has been sent
+        // And the email is sent by the outbox
+        assertThat(emailOutboxService.processPendingEmails()).isEqualTo(1);
         ArgumentCaptor<SendEmailRequest> sendEmailRequestCaptor = ArgumentCaptor.forClass(SendEmailRequest.class);
         verify(sesClient).sendEmail(sendEmailRequestCaptor.capture());
         SendEmailRequest emailRequest = sendEmailRequestCaptor.getValue();
@@ -226,6 +349,78 @@ class UserManagementControllerIT {
         assertThat(emailRequest.destination().toAddresses()).containsOnly(SOME_USER_EMAIL);
     }
 
+    @Test
+    void shouldInviteValidRowsOfBulkInvitationAndSendEmailsAsynchronously() throws Exception {
+        // Given
+        String csv = """
+                name,email
+                %s,%s
+                "Doe, John",not-an-email
+                John van Doe,%s
+                """.formatted(SOME_USER_NAME, SOME_USER_EMAIL, SOME_USER_EMAIL.toUpperCase());
+
+        // When
+        ResultActions perform = mvc.perform(post(BULK_INVITE_USERS_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN))
+                .contentType("text/csv")
+                .content(csv));
+
+        // Then
+        hasSecurityHeaderSetup(perform)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowCount", equalTo(3)))
+                .andExpect(jsonPath("$.invitedCount", equalTo(1)))
+                .andExpect(jsonPath("$.rejectedCount", equalTo(2)))
+                .andExpect(jsonPath("$.emailsPending", equalTo(1)))
+                .andExpect(jsonPath("$.rows[0].status", equalTo("INVITED")))
+                .andExpect(jsonPath("$.rows[0].emailStatus", equalTo("PENDING")))
+                .andExpect(jsonPath("$.rows[1].status", equalTo("REJECTED")))
+                .andExpect(jsonPath("$.rows[1].rowNumber", equalTo(2)))
+                .andExpect(jsonPath("$.rows[1].name").doesNotExist())
+                .andExpect(jsonPath("$.rows[1].errors", hasItem(startsWith("email:"))))
+                .andExpect(jsonPath("$.rows[2].status", equalTo("REJECTED")))
+                .andExpect(jsonPath("$.rows[2].errors", contains("email: duplicate in this invitation")));
+
+        assertThat(creditScoreUserRepository.findAll()).extracting("name", "email", "clientEmailId", "status")
+                .containsExactly(tuple(SOME_USER_NAME, SOME_USER_EMAIL, SOME_CLIENT_EMAIL_ID, InvitationStatus.INVITED));
+        then(userJourneyRepository.findAll())
+                .extracting("clientId", "status")
+                .containsExactly(Tuple.tuple(SOME_CLIENT_ID, JourneyStatus.INVITED));
+        verify(sesClient, never()).sendEmail(any(SendEmailRequest.class));
+
+        // When the e-mails are processed
+        assertThat(emailOutboxService.processPendingEmails()).isEqualTo(1);
+
+        // Then
+        ArgumentCaptor<SendEmailRequest> sendEmailRequestCaptor = ArgumentCaptor.forClass(SendEmailRequest.class);
+        verify(sesClient).sendEmail(sendEmailRequestCaptor.capture());
+        assertThat(sendEmailRequestCaptor.getValue().destination().toAddresses()).containsOnly(SOME_USER_EMAIL);
+        assertThat(sendEmailRequestCaptor.getValue().message().body().html().data())
+                .contains("<a target=\"_blank\" href=\"http://localhost/consent/");
+
+        String jobId = JsonPath.read(perform.andReturn().getResponse().getContentAsString(), "$.jobId");
+        mvc.perform(get(GET_BULK_INVITATION_ENDPOINT, jobId)
+                        .header(HttpHeaders.AUTHORIZATION, jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.emailsPending", equalTo(0)))
+                .andExpect(jsonPath("$.emailsSent", equalTo(1)))
+                .andExpect(jsonPath("$.rows[0].emailStatus", equalTo("SENT")));
+    }
+
+    @Test
+    void shouldRejectBulkInvitationWithoutRows() throws Exception {
+        // When
+        ResultActions perform = mvc.perform(post(BULK_INVITE_USERS_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"));
+
+        // Then
+        perform.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorType", equalTo("BULK_INVITATION_INVALID")));
+        assertThat(creditScoreUserRepository.findAll()).isEmpty();
+    }
+
     private static String thymeleafHtmlCharacterEncode(String html) {
         return html.replace("'", "&#39;");
     }
@@ -253,6 +448,7 @@ class UserManagementControllerIT {
         assertThat(result.getDateTimeStatusChange()).isNotEqualTo(SOME_FIXED_TEST_DATE);
         assertThat(result.getAdminEmail()).isEqualTo(SOME_CLIENT_ADMIN_EMAIL);
 
+        assertThat(emailOutboxService.processPendingEmails()).isEqualTo(1);
         verify(sesClient).sendEmail(sendEmailRequestCaptor.capture());
         SendEmailRequest emailRequest = sendEmailRequestCaptor.getValue();
         assertThat(emailRequest.source()).isEqualTo("Cashflow Analyser <no-reply-cashflow-analyser@yolt.com>");
@@ -595,6 +791,29 @@ class UserManagementControllerIT {
                 .andExpect(jsonPath("$[?(@.categoryName == 'TAX_RETURNS')].categoryType", contains(equalTo(("INCOMING")))));
     }
 
+    @Test
+    void shouldReturnNotModifiedForUnchangedUserCategories() throws Exception {
+        // Given
+        prepareCreditScoreUsers();
+        String adminToken = jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN);
+        String eTag = mvc.perform(get(GET_USER_CATEGORIES_BY_USERID_ENDPOINT, SOME_USER_ID)
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        ResultActions perform = mvc.perform(get(GET_USER_CATEGORIES_BY_USERID_ENDPOINT, SOME_USER_ID)
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // Then
+        then(eTag).isNotBlank();
+        perform.andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void shouldDownloadUserReport() throws Exception {
         // Given
@@ -602,8 +821,11 @@ class UserManagementControllerIT {
         prepareCreditScoreMonths();
 
         // When
-        ResultActions perform = mvc.perform(get(DOWNLOAD_REPORT_BY_USERID_ENDPOINT, SOME_USER_ID)
-                .header(HttpHeaders.AUTHORIZATION, jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN)));
+        MvcResult asyncResult = mvc.perform(get(DOWNLOAD_REPORT_BY_USERID_ENDPOINT, SOME_USER_ID)
+                        .header(HttpHeaders.AUTHORIZATION, jwtCreationService.createAdminToken(OAUTH_ADMIN_USER_CLIENT_ADMIN)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions perform = mvc.perform(asyncDispatch(asyncResult));
 
         // Then
         List<String> fileNames = new LinkedList<>();
@@ -622,6 +844,7 @@ class UserManagementControllerIT {
         assertThat(fileNames)
                 .hasSize(4)
                 .contains("Overview.json", "CategoriesReport.csv", "NL79ABNA12345678901_2020-12-31_2020-12-01_Kxf6gtj_1uMY7aI=_monthly.csv", "EstimateReport.json");
+        verify(adminAuditService).adminViewedCreditReport(any(), any(), any(), eq(SOME_USER_ID));
     }
 
     @Test
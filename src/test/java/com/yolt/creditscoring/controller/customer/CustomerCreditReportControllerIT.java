@@ -31,11 +31,15 @@ import com.yolt.creditscoring.service.user.model.CreditScoreUser;
 import com.yolt.creditscoring.service.user.model.CreditScoreUserRepository;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.model.UserJourneyRepository;
+import com.yolt.creditscoring.usecase.AllInOneReportUseCase;
+import com.yolt.creditscoring.usecase.dto.AllInOneReportDTO;
 import lombok.NonNull;
 import org.jose4j.jwk.RsaJsonWebKey;
 import org.jose4j.jwk.RsaJwkGenerator;
 import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jws.JsonWebSignature;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.jose4j.jwt.JwtClaims;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -48,6 +52,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import javax.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -114,6 +119,12 @@ class CustomerCreditReportControllerIT {
     @Autowired
     private PublicKeyRepository publicKeyRepository;
 
+    @Autowired
+    private AllInOneReportUseCase allInOneReportUseCase;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @MockBean
     private AdminAuditService adminAuditService;
 
@@ -188,6 +199,84 @@ class CustomerCreditReportControllerIT {
                 .logClientTokenAccessToUnauthorizedEndpoint(any(), any(), any());
     }
 
+    @Test
+    void shouldReturnNotModifiedForUnchangedReport() throws Exception {
+        // Given
+        ClientEntity client = createClientEntityClient3();
+        clientRepository.save(client);
+        clientAdminRepository.save(CLIENT_ADMIN_3);
+
+        prepareCreditScoreUsers();
+        prepareCreditScoreMonths();
+
+        estimateRepository.save(new EstimateEntity()
+                .setId(UUID.randomUUID())
+                .setUserId(SOME_USER_ID)
+                .setGrade(RiskClassification.B)
+                .setScore(10)
+                .setStatus(PdStatus.COMPLETED));
+
+        String token = createServerToServerToken(DOWNLOAD_REPORT, CLIENT_ADMIN_3);
+        String eTag = mvc.perform(get(FETCH_USER_REPORT_V1_ENDPOINT, SOME_USER_ID)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        ResultActions perform = mvc.perform(get(FETCH_USER_REPORT_V1_ENDPOINT, SOME_USER_ID)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // Then
+        assertThat(eTag).isNotBlank();
+        perform.andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        then(adminAuditService).should(times(2))
+                .adminFetchCreditReport(eq(SOME_CLIENT_ID_3), any(), eq(SOME_CLIENT_3_ADMIN_EMAIL), eq(SOME_USER_ID));
+    }
+
+    @Test
+    void shouldReturnReportWithNewETagWhenEstimateStatusChanged() throws Exception {
+        // Given
+        ClientEntity client = createClientEntityClient3();
+        clientRepository.save(client);
+        clientAdminRepository.save(CLIENT_ADMIN_3);
+
+        prepareCreditScoreUsers();
+        prepareCreditScoreMonths();
+
+        EstimateEntity estimate = estimateRepository.save(new EstimateEntity()
+                .setId(UUID.randomUUID())
+                .setUserId(SOME_USER_ID)
+                .setStatus(PdStatus.PENDING));
+
+        String token = createServerToServerToken(DOWNLOAD_REPORT, CLIENT_ADMIN_3);
+        String pendingETag = mvc.perform(get(FETCH_USER_REPORT_V1_ENDPOINT, SOME_USER_ID)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        estimateRepository.save(estimate
+                .setGrade(RiskClassification.B)
+                .setScore(10)
+                .setStatus(PdStatus.COMPLETED));
+
+        // When
+        ResultActions perform = mvc.perform(get(FETCH_USER_REPORT_V1_ENDPOINT, SOME_USER_ID)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, pendingETag));
+
+        // Then
+        assertThat(pendingETag).isNotBlank();
+        perform.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(pendingETag)))
+                .andExpect(jsonPath("$.userInvitationStatus").value("COMPLETED"));
+        thenRiskClassificationValuesOk(perform);
+    }
+
     @Test
     void shouldFetchFullUserReportWhenJWTSigningKeyRotate() throws Exception {
         // Given
@@ -236,6 +325,43 @@ class CustomerCreditReportControllerIT {
                 .logClientTokenAccessToUnauthorizedEndpoint(any(), any(), any());
     }
 
+    @Test
+    void shouldAssembleFullUserReportWithBoundedNumberOfQueries() {
+        // Given
+        ClientEntity client = createClientEntityClient3();
+        clientRepository.save(client);
+        clientAdminRepository.save(CLIENT_ADMIN_3);
+
+        prepareCreditScoreUsers();
+        prepareCreditScoreMonths();
+
+        estimateRepository.save(new EstimateEntity()
+                .setId(UUID.randomUUID())
+                .setUserId(SOME_USER_ID)
+                .setGrade(RiskClassification.B)
+                .setScore(10)
+                .setStatus(PdStatus.COMPLETED));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        AllInOneReportDTO report = allInOneReportUseCase.getAllInOneReport(SOME_USER_ID, SOME_CLIENT_ID_3);
+
+        // Then
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        // user, client, report with monthly and category rows, signature paths, categories, recurring transactions, estimate
+        assertThat(statements).isLessThanOrEqualTo(7);
+        assertThat(report.getOverview()).isNotNull();
+        assertThat(report.getAccountDetails()).isNotNull();
+        assertThat(report.getCategories()).isNotEmpty();
+        assertThat(report.getMonths()).hasSize(4);
+        assertThat(report.getRiskClassification()).isNotNull();
+    }
+
     /**
      * Feature toggle was switch on after Estimate report was calculated
      */
@@ -4,7 +4,11 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
+import com.yolt.creditscoring.common.eventlog.EventLogDispatcher;
+import com.yolt.creditscoring.common.eventlog.EventLogProperties;
+import com.yolt.creditscoring.common.eventlog.EventLogProperties.OverflowPolicy;
 import com.yolt.creditscoring.configuration.security.admin.ClientAccessType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.ing.lovebird.logging.AuditLogger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,9 +16,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 import static com.yolt.creditscoring.TestUtils.*;
 import static com.yolt.creditscoring.configuration.security.admin.TestUtils.OAUTH_ADMIN_USER_CLIENT_ADMIN;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +32,10 @@ import static org.mockito.Mockito.mock;
 class AdminAuditServiceTest {
     private Appender<ILoggingEvent> logAppender;
 
+    @Spy
+    private EventLogDispatcher eventLogDispatcher = new EventLogDispatcher(
+            new EventLogProperties(false, 1, 1, OverflowPolicy.CALLER_RUNS, Duration.ZERO), new SimpleMeterRegistry());
+
     @InjectMocks
     private AdminAuditService adminAuditService;
 
@@ -0,0 +1,185 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit;
+
+import com.yolt.creditscoring.service.clienttoken.model.ClientTokenPermission;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimitProperties.Limit;
+import com.yolt.creditscoring.service.clienttoken.ratelimit.ClientTokenRateLimiter.Permit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ClientTokenRateLimiterTest {
+
+    private static final UUID CLIENT_ID = UUID.randomUUID();
+    private static final UUID TOKEN_ID = UUID.randomUUID();
+    private static final UUID OTHER_TOKEN_ID = UUID.randomUUID();
+
+    @Mock
+    private ClientRateLimitStorageService clientRateLimitStorageService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectRequestsAboveBurstOfToken() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(false, new Limit(0.01, 2, 100, 100, 10));
+        rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT).release();
+        rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT).release();
+
+        // When
+        Throwable thrown = catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT));
+
+        // Then
+        then(thrown).isInstanceOf(RateLimitExceededException.class);
+        then(((RateLimitExceededException) thrown).getRetryAfter()).isGreaterThan(Duration.ofSeconds(90));
+        then(rateLimiter.acquire(OTHER_TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT)).isNotNull();
+        then(rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.INVITE_USER)).isNotNull();
+        then(registry.counter("client_token_rate_limit_rejected", "permission", "DOWNLOAD_REPORT", "limit", "token").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareBucketOfClientBetweenTokens() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(false, new Limit(100, 100, 0.01, 1, 10));
+        rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DELETE_USER).release();
+
+        // When
+        Throwable thrown = catchThrowable(() -> rateLimiter.acquire(OTHER_TOKEN_ID, CLIENT_ID, ClientTokenPermission.DELETE_USER));
+
+        // Then
+        then(thrown).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldLimitConcurrentRequestsOfClientUntilPermitIsReleased() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(false, new Limit(100, 100, 100, 100, 1));
+        Permit permit = rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT);
+
+        // When
+        Throwable thrown = catchThrowable(() -> rateLimiter.acquire(OTHER_TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT));
+        permit.release();
+        permit.release();
+
+        // Then
+        then(thrown).isInstanceOf(RateLimitExceededException.class);
+        then(((RateLimitExceededException) thrown).getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+        Permit next = rateLimiter.acquire(OTHER_TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT);
+        then(catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT)))
+                .isInstanceOf(RateLimitExceededException.class);
+        next.release();
+    }
+
+    @Test
+    void shouldRejectRequestWhenClientReachedLimitInCluster() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(true, new Limit(100, 100, 1, 100, 10));
+        given(clientRateLimitStorageService.tryCount(CLIENT_ID, ClientTokenPermission.INVITE_USER, 60)).willReturn(false);
+        given(clientRateLimitStorageService.untilNextWindow()).willReturn(Duration.ofMillis(12_300));
+
+        // When
+        Throwable thrown = catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.INVITE_USER));
+
+        // Then
+        then(thrown).isInstanceOf(RateLimitExceededException.class);
+        then(((RateLimitExceededException) thrown).getRetryAfter()).isEqualTo(Duration.ofMillis(12_300));
+    }
+
+    @Test
+    void shouldKeepLimitingTokenWhenIdleBucketsAreEvicted() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(false, new Limit(0.01, 1, 100, 100, 10));
+        rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT).release();
+
+        // When
+        rateLimiter.evictIdleBuckets();
+        Throwable thrown = catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT));
+
+        // Then
+        then(thrown).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldRefundTokenOfTokenBucketWhenClientBucketRejects() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(false, new Limit(0.01, 1, 0.01, 1, 10));
+        rateLimiter.acquire(OTHER_TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT).release();
+        catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT));
+
+        // When
+        Throwable thrown = catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT));
+
+        // Then
+        then(thrown).isInstanceOf(RateLimitExceededException.class);
+        then(registry.counter("client_token_rate_limit_rejected", "permission", "DOWNLOAD_REPORT", "limit", "client").count()).isEqualTo(2);
+        then(registry.counter("client_token_rate_limit_rejected", "permission", "DOWNLOAD_REPORT", "limit", "token").count()).isZero();
+    }
+
+    @Test
+    void shouldNotTakeTokensWhenBulkheadIsFull() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(false, new Limit(0.01, 2, 0.01, 2, 1));
+        Permit permit = rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT);
+        for (int i = 0; i < 5; i++) {
+            catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT));
+        }
+
+        // When
+        permit.release();
+        Permit next = rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.DOWNLOAD_REPORT);
+
+        // Then
+        then(next).isNotNull();
+        then(registry.counter("client_token_rate_limit_rejected", "permission", "DOWNLOAD_REPORT", "limit", "concurrency").count()).isEqualTo(5);
+        next.release();
+    }
+
+    @Test
+    void shouldRefundTokensAndReleaseBulkheadWhenClusterRejects() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = rateLimiter(true, new Limit(0.01, 1, 0.01, 1, 1));
+        given(clientRateLimitStorageService.tryCount(CLIENT_ID, ClientTokenPermission.INVITE_USER, 1)).willReturn(false, true);
+        given(clientRateLimitStorageService.untilNextWindow()).willReturn(Duration.ofSeconds(30));
+        catchThrowable(() -> rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.INVITE_USER));
+
+        // When
+        Permit permit = rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.INVITE_USER);
+
+        // Then
+        then(permit).isNotNull();
+        then(registry.counter("client_token_rate_limit_rejected", "permission", "INVITE_USER", "limit", "cluster").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLimitWhenDisabled() {
+        // Given
+        ClientTokenRateLimiter rateLimiter = new ClientTokenRateLimiter(
+                new ClientTokenRateLimitProperties(false, true, Map.of()), clientRateLimitStorageService, registry);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.acquire(TOKEN_ID, CLIENT_ID, ClientTokenPermission.INVITE_USER);
+        }
+
+        // Then
+        verifyNoInteractions(clientRateLimitStorageService);
+    }
+
+    private ClientTokenRateLimiter rateLimiter(boolean clusterWide, Limit limit) {
+        return new ClientTokenRateLimiter(new ClientTokenRateLimitProperties(true, clusterWide, Map.of(
+                ClientTokenPermission.DOWNLOAD_REPORT, limit,
+                ClientTokenPermission.INVITE_USER, limit,
+                ClientTokenPermission.DELETE_USER, limit)), clientRateLimitStorageService, registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.service.clienttoken.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void shouldBeIdleWhenFullForLongerThanRefillOfEmptyBucket() {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        // When
+        boolean idleWhileRefilling = bucket.isIdle(SECOND);
+        boolean idleWhenJustFull = bucket.isIdle(2 * SECOND);
+        boolean idleAfterCapacityTime = bucket.isIdle(4 * SECOND + 1);
+
+        // Then
+        then(idleWhileRefilling).isFalse();
+        then(idleWhenJustFull).isFalse();
+        then(idleAfterCapacityTime).isTrue();
+    }
+}
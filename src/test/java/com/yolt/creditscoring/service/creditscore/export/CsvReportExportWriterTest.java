@@ -0,0 +1,99 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class CsvReportExportWriterTest {
+
+    private static final UUID REPORT_ID = UUID.fromString("0f8e9a6c-0000-4000-8000-000000000001");
+    private static final UUID USER_ID = UUID.fromString("0f8e9a6c-0000-4000-8000-000000000002");
+
+    @Test
+    void shouldPrefixTextWhichSpreadsheetsReadAsFormula() throws IOException {
+        // Given
+        ExportedReportDTO report = report("=HYPERLINK(\"https://example.com\")", "+31@example.com", "@SUM(A1:A2)", "-1+1");
+
+        // When
+        String[] values = writeLines(report)[1].split(";", -1);
+
+        // Then
+        then(values[3]).isEqualTo("'+31@example.com");
+        then(values[4]).isEqualTo("\"'=HYPERLINK(\"\"https://example.com\"\")\"");
+        then(values[8]).isEqualTo("'-1+1");
+        then(values[12]).isEqualTo("'@SUM(A1:A2)");
+    }
+
+    @Test
+    void shouldPrefixTextStartingWithTabOrCarriageReturn() throws IOException {
+        // Given
+        ExportedReportDTO report = report("\t=1+1", "user@example.com", "\r=1+1", "NL79ABNA12345678901");
+
+        // When
+        String[] lines = writeLines(report);
+
+        // Then
+        then(lines[1]).contains(";'\t=1+1;", ";\"'\r=1+1\"");
+    }
+
+    @Test
+    void shouldWriteNegativeAmountsAndGeneratedValuesAsTheyAre() throws IOException {
+        // Given
+        ExportedReportDTO report = reportBuilder("User", "user@example.com", "Holder", "NL79ABNA12345678901")
+                .cursor("-cursor")
+                .signature("+signature")
+                .months(List.of(ExportedMonthDTO.builder()
+                        .year(2021)
+                        .month(1)
+                        .totalOutgoing(new BigDecimal("-750.00"))
+                        .categories(Map.of())
+                        .build()))
+                .build();
+
+        // When
+        String[] values = writeLines(report)[1].split(";", -1);
+
+        // Then
+        then(values[0]).isEqualTo("-cursor");
+        then(values[5]).isEqualTo("+signature");
+        then(values).contains("-750.00");
+    }
+
+    private static ExportedReportDTO report(String userName, String userEmail, String accountHolder, String iban) {
+        return reportBuilder(userName, userEmail, accountHolder, iban).build();
+    }
+
+    private static ExportedReportDTO.ExportedReportDTOBuilder reportBuilder(String userName, String userEmail,
+                                                                           String accountHolder, String iban) {
+        return ExportedReportDTO.builder()
+                .cursor("cursor")
+                .reportId(REPORT_ID)
+                .userEmail(userEmail)
+                .userName(userName)
+                .signature("signature")
+                .accountDetails(BankAccountDetailsDTO.builder()
+                        .userId(USER_ID)
+                        .iban(iban)
+                        .accountHolder(accountHolder)
+                        .build())
+                .months(List.of())
+                .categories(List.of());
+    }
+
+    private static String[] writeLines(ExportedReportDTO report) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvReportExportWriter writer = new CsvReportExportWriter(out);
+        writer.write(report);
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+}
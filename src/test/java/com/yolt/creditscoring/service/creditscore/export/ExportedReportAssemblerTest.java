@@ -0,0 +1,92 @@
+package com.yolt.creditscoring.service.creditscore.export;
+
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ExportedReportAssemblerTest {
+
+    private static final OffsetDateTime UNTIL = OffsetDateTime.parse("2021-06-01T00:00:00Z");
+    private static final OffsetDateTime FETCH_TIME = OffsetDateTime.parse("2021-03-15T10:00:00Z");
+    private static final UUID FIRST_REPORT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND_REPORT_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID JANUARY_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID MARCH_ID = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    private final ExportedReportAssembler assembler = new ExportedReportAssembler(ReportExportCursor.start(null, UNTIL));
+
+    @Test
+    void shouldAssembleReportsFromAdjacentRows() {
+        // Given
+        List<ReportExportRow> rows = List.of(
+                row(FIRST_REPORT_ID, JANUARY_ID, 1, Category.REVENUE, "100.00", 2),
+                row(FIRST_REPORT_ID, JANUARY_ID, 1, Category.FOOD_AND_DRINKS, "-30.00", 3),
+                row(FIRST_REPORT_ID, MARCH_ID, 3, Category.REVENUE, "50.00", 1),
+                row(SECOND_REPORT_ID, null, null, null, null, null));
+
+        // When
+        List<ExportedReportDTO> reports = new ArrayList<>();
+        rows.forEach(row -> assembler.add(row).ifPresent(reports::add));
+        assembler.finish().ifPresent(reports::add);
+
+        // Then
+        then(reports).hasSize(2);
+        ExportedReportDTO first = reports.get(0);
+        then(first.getReportId()).isEqualTo(FIRST_REPORT_ID);
+        then(ReportExportCursor.decode(first.getCursor()))
+                .isEqualTo(new ReportExportCursor(UNTIL, FETCH_TIME, FIRST_REPORT_ID));
+        then(first.getMonths()).hasSize(2);
+        then(first.getMonths().get(0).getTotalIncoming()).isEqualByComparingTo("100.00");
+        then(first.getMonths().get(0).getTotalOutgoing()).isEqualByComparingTo("-30.00");
+        then(first.getMonths().get(0).getCategories()).containsOnlyKeys(Category.REVENUE, Category.FOOD_AND_DRINKS);
+        // March is the month of the data fetch and outside the report window
+        then(first.getCategories())
+                .extracting(SMECategoryDTO::getCategoryName, SMECategoryDTO::getTotalTransactions)
+                .containsExactly(
+                        tuple(Category.REVENUE, 2),
+                        tuple(Category.FOOD_AND_DRINKS, 3));
+        then(first.getCategories().get(0).getAverageTransactionAmount()).isEqualByComparingTo("50.00");
+
+        ExportedReportDTO second = reports.get(1);
+        then(second.getReportId()).isEqualTo(SECOND_REPORT_ID);
+        then(second.getMonths()).isEmpty();
+        then(second.getCategories()).isEmpty();
+    }
+
+    @Test
+    void shouldNotReturnReportWithoutRows() {
+        // When
+        var report = assembler.finish();
+
+        // Then
+        then(report).isEmpty();
+    }
+
+    private static ReportExportRow row(UUID reportId, UUID monthId, Integer month, Category category, String amount, Integer transactions) {
+        ReportExportRow row = mock(ReportExportRow.class);
+        given(row.getReportId()).willReturn(reportId);
+        given(row.getLastDataFetchTime()).willReturn(FETCH_TIME);
+        given(row.getMonthId()).willReturn(monthId);
+        if (monthId != null) {
+            given(row.getYear()).willReturn(2021);
+            given(row.getMonth()).willReturn(month);
+        }
+        if (category != null) {
+            given(row.getCategory()).willReturn(category.name());
+            given(row.getAmount()).willReturn(new BigDecimal(amount));
+            given(row.getTransactionTotal()).willReturn(transactions);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,164 @@
+package com.yolt.creditscoring.service.creditscore.model;
+
+import com.yolt.creditscoring.IntegrationTest;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.MonthlyRecurringTransactionsDTO;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsMonthlyReportRepository;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyCategoryReportSaveDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyReportSaveDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.save.ReportSaveDTO;
+import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
+import com.yolt.creditscoring.service.user.model.CreditScoreUser;
+import com.yolt.creditscoring.service.user.model.CreditScoreUserRepository;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class CreditScoreStorageServiceIT {
+
+    private static final int MONTHS = 18;
+    private static final List<Category> CATEGORIES = List.of(
+            Category.REVENUE, Category.OTHER_INCOME, Category.INVESTMENTS, Category.FOOD_AND_DRINKS, Category.OTHER_EXPENSES);
+
+    @Autowired
+    private CreditScoreStorageService creditScoreStorageService;
+
+    @Autowired
+    private RecurringTransactionsStorageService recurringTransactionsStorageService;
+
+    @Autowired
+    private CreditScoreUserRepository creditScoreUserRepository;
+
+    @Autowired
+    private CreditScoreReportRepository creditScoreReportRepository;
+
+    @Autowired
+    private RecurringTransactionsMonthlyReportRepository recurringTransactionsMonthlyReportRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void afterTest() {
+        recurringTransactionsMonthlyReportRepository.deleteAll();
+        creditScoreReportRepository.deleteAll();
+        creditScoreUserRepository.deleteAll();
+    }
+
+    @Test
+    void shouldPersistReportGraphInBatches() {
+        // Given
+        creditScoreUserRepository.save(new CreditScoreUser()
+                .setId(SOME_USER_ID)
+                .setName(SOME_USER_NAME)
+                .setEmail(SOME_USER_EMAIL)
+                .setDateTimeInvited(SOME_FIXED_TEST_DATE)
+                .setDateTimeStatusChange(SOME_FIXED_TEST_DATE)
+                .setStatus(InvitationStatus.ACCOUNT_SELECTED)
+                .setInvitationHash(SOME_USER_HASH)
+                .setClientId(SOME_CLIENT_ID)
+                .setAdminEmail(SOME_CLIENT_ADMIN_EMAIL));
+
+        ReportSignature signature = ReportSignature.builder()
+                .keyId(SOME_REPORT_SIGNATURE_KEY_ID)
+                .jsonPaths(List.of("$['userId']", "$['iban']", "$['initialBalance']", "$['newestTransactionDate']",
+                        "$['oldestTransactionDate']", "$['creditScoreMonthly'][*]['highestBalance']"))
+                .signature(SOME_REPORT_SIGNATURE)
+                .build();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        UUID reportId = transactionTemplate.execute(status -> {
+            creditScoreStorageService.saveCreditScoreReportForGivenUser(report(), signature, null, SOME_USER_ID);
+            UUID id = creditScoreStorageService.findCreditScoreReportIdByUserId(SOME_USER_ID).orElseThrow();
+            recurringTransactionsStorageService.saveRecurringTransactionsForReport(id, recurringTransactions());
+            return id;
+        });
+
+        // Then
+        long statements = statistics.getPrepareStatementCount();
+        long entityLoads = statistics.getEntityLoadCount();
+        statistics.setStatisticsEnabled(false);
+
+        // report, signature paths, monthly, 2 batches of category inserts and updates, recurring transactions, report id select
+        assertThat(statements).isLessThanOrEqualTo(10);
+        assertThat(entityLoads).isZero();
+
+        CreditScoreReport stored = creditScoreReportRepository.findById(reportId).orElseThrow();
+        assertThat(stored.getSignatureJsonPaths()).hasSize(6);
+        assertThat(stored.getCreditScoreMonthly()).hasSize(MONTHS)
+                .allSatisfy(monthly -> assertThat(monthly.getCategorizedAmounts()).hasSize(CATEGORIES.size()));
+        assertThat(recurringTransactionsMonthlyReportRepository.findAllByCreditScoreId(reportId)).hasSize(MONTHS);
+    }
+
+    private static ReportSaveDTO report() {
+        Set<MonthlyReportSaveDTO> months = new HashSet<>();
+        LocalDate month = LocalDate.of(2021, 1, 1);
+        for (int i = 0; i < MONTHS; i++, month = month.minusMonths(1)) {
+            MonthlyReportSaveDTO.MonthlyReportSaveDTOBuilder monthly = MonthlyReportSaveDTO.builder()
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .highestBalance(new BigDecimal("5750.00"))
+                    .lowestBalance(new BigDecimal("3750.00"))
+                    .averageBalance(new BigDecimal("4750.00"))
+                    .incomingTransactionsSize(10)
+                    .outgoingTransactionsSize(20);
+            CATEGORIES.forEach(category -> monthly.categoriesAmount(MonthlyCategoryReportSaveDTO.builder()
+                    .amount(new BigDecimal("100.00"))
+                    .totalTransactions(3)
+                    .category(category)
+                    .build()));
+            months.add(monthly.build());
+        }
+
+        return ReportSaveDTO.builder()
+                .iban("NL79ABNA12345678901")
+                .initialBalance(new BigDecimal("5000.00"))
+                .currency("EUR")
+                .newestTransactionDate(LocalDate.of(2021, 1, 25))
+                .oldestTransactionDate(LocalDate.of(2019, 8, 2))
+                .creditLimit(new BigDecimal("-1000.00"))
+                .transactionsSize(MONTHS * 30)
+                .creditScoreMonthly(months)
+                .build();
+    }
+
+    private static Set<MonthlyRecurringTransactionsDTO> recurringTransactions() {
+        Set<MonthlyRecurringTransactionsDTO> months = new HashSet<>();
+        LocalDate month = LocalDate.of(2021, 1, 1);
+        for (int i = 0; i < MONTHS; i++, month = month.minusMonths(1)) {
+            months.add(MonthlyRecurringTransactionsDTO.builder()
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .incomeRecurringAmount(new BigDecimal("1000.00"))
+                    .incomeRecurringSize(1)
+                    .outcomeRecurringAmount(new BigDecimal("500.00"))
+                    .outcomeRecurringSize(2)
+                    .build());
+        }
+        return months;
+    }
+}
@@ -5,6 +5,7 @@ import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyCatego
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyReportSaveDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.ReportSaveDTO;
 import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
+import com.yolt.creditscoring.service.securitymodule.signature.RowsSignature;
 import com.yolt.creditscoring.service.user.model.CreditScoreUser;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -74,11 +75,18 @@ class CreditScoreStorageServiceTest {
                 .signature(SOME_REPORT_SIGNATURE)
                 .build();
 
+        RowsSignature rowsSignature = RowsSignature.builder()
+                .keyId(SOME_REPORT_SIGNATURE_KEY_ID)
+                .signature(SOME_REPORT_SIGNATURE)
+                .leafCount(3)
+                .proofs(List.of(new byte[]{0}, new byte[]{1}, new byte[]{2}))
+                .build();
+
         //When
-        creditScoreStorageService.saveCreditScoreReportForGivenUser(creditScoreReportDTO, reportSignature, SOME_USER_ID);
+        creditScoreStorageService.saveCreditScoreReportForGivenUser(creditScoreReportDTO, reportSignature, rowsSignature, SOME_USER_ID);
 
         //Then
-        then(creditScoreReportRepository).should().save(creditScoreReportArgumentCaptor.capture());
+        then(creditScoreReportRepository).should().insert(creditScoreReportArgumentCaptor.capture());
 
         CreditScoreReport result = creditScoreReportArgumentCaptor.getValue();
         assertThat(result.getId()).isNotNull();
@@ -104,5 +112,13 @@ class CreditScoreStorageServiceTest {
                         tuple(Category.OTHER_INCOME, new BigDecimal("2000.00")),
                         tuple(Category.OTHER_EXPENSES, new BigDecimal("-750.00"))
                 );
+
+        assertThat(result.getRowsSignature()).isEqualTo(SOME_REPORT_SIGNATURE.toString());
+        assertThat(result.getRowsSignatureLeafCount()).isEqualTo(3);
+        assertThat(months[0].getSignatureLeafIndex()).isZero();
+        assertThat(months[0].getSignatureProof()).containsExactly(0);
+        assertThat(months[0].getCategorizedAmounts().values())
+                .extracting(CategorizedAmountEntity::getSignatureLeafIndex)
+                .containsExactlyInAnyOrder(1, 2);
     }
 }
@@ -2,12 +2,13 @@ package com.yolt.creditscoring.service.email;
 
 import com.yolt.creditscoring.service.client.ClientEmailDTO;
 import com.yolt.creditscoring.service.email.model.InvitationEmailData;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
 import software.amazon.awssdk.services.ses.model.Content;
 import software.amazon.awssdk.services.ses.model.Message;
 
@@ -16,6 +17,8 @@ import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,9 +29,13 @@ class MessageCreatorServiceTest {
     @Mock
     private ITemplateEngine templateEngine;
 
-    @InjectMocks
     private MessageCreatorService messageCreatorService;
 
+    @BeforeEach
+    void setUp() {
+        messageCreatorService = new MessageCreatorService(new InvitationEmailSkeletonCache(templateEngine));
+    }
+
     @Test
     void shouldCorrectlyCreateMessageObject() {
         // given
@@ -64,4 +71,44 @@ class MessageCreatorServiceTest {
                 Content.builder().data("HTML output").charset("UTF-8").build()
         );
     }
+
+    @Test
+    void shouldRenderTemplateOncePerClientEmailAndSubstituteEscapedRecipientValues() {
+        // given
+        ClientEmailDTO clientEmail = ClientEmailDTO.builder()
+                .id(randomUUID())
+                .sender("sender@yolt.com")
+                .subject("Email subject")
+                .template("template_name")
+                .title("Title")
+                .build();
+
+        when(templateEngine.process(eq("html/UserInvitation_template"), any())).thenAnswer(invocation -> {
+            IContext context = invocation.getArgument(1);
+            return "<h1>" + context.getVariable("title") + "</h1>" +
+                    "Beste <span>" + context.getVariable("userName") + "</span>," +
+                    "<a href=\"" + context.getVariable("redirectUrl") + "\">" + context.getVariable("redirectUrl") + "</a>";
+        });
+
+        // when
+        Message first = messageCreatorService.createEmailMessage(invitation(clientEmail, "Jan O'Neil", "http://localhost/consent/1?a=1&b=2"));
+        Message second = messageCreatorService.createEmailMessage(invitation(clientEmail, "<b>Piet</b>", "http://localhost/consent/2"));
+
+        // then
+        assertThat(first.body().html().data()).isEqualTo("<h1>Title</h1>Beste <span>Jan O&#39;Neil</span>," +
+                "<a href=\"http://localhost/consent/1?a=1&amp;b=2\">http://localhost/consent/1?a=1&amp;b=2</a>");
+        assertThat(second.body().html().data()).isEqualTo("<h1>Title</h1>Beste <span>&lt;b&gt;Piet&lt;/b&gt;</span>," +
+                "<a href=\"http://localhost/consent/2\">http://localhost/consent/2</a>");
+        verify(templateEngine, times(1)).process(eq("html/UserInvitation_template"), any());
+    }
+
+    private static InvitationEmailData invitation(ClientEmailDTO clientEmail, String userName, String redirectUrl) {
+        return InvitationEmailData.builder()
+                .clientEmail(clientEmail)
+                .recipientEmail("john@doe.com")
+                .userName(userName)
+                .clientLogoUrl(SOME_EMAIL_IMAGE_URL)
+                .redirectUrl(redirectUrl)
+                .build();
+    }
 }
@@ -0,0 +1,146 @@
+package com.yolt.creditscoring.service.email.outbox;
+
+import com.yolt.creditscoring.exception.EmailSendException;
+import com.yolt.creditscoring.service.client.ClientEmailDTO;
+import com.yolt.creditscoring.service.client.ClientStorageService;
+import com.yolt.creditscoring.service.email.EmailService;
+import com.yolt.creditscoring.service.email.model.InvitationEmailData;
+import com.yolt.creditscoring.service.user.PendingInvitation;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import software.amazon.awssdk.services.ses.model.MessageRejectedException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    private static final UUID SOME_EMAIL_ID = UUID.randomUUID();
+    private static final String SOME_BASE_URL = "http://localhost/app-context";
+    private static final ClientEmailDTO SOME_CLIENT_EMAIL = ClientEmailDTO.builder()
+            .id(SOME_CLIENT_EMAIL_ID)
+            .template("UserInvitation_Test_Client")
+            .subject("Hello!")
+            .sender("Cashflow Analyser <no-reply-cashflow-analyser@yolt.com>")
+            .build();
+
+    @Mock
+    private EmailOutboxStorageService emailOutboxStorageService;
+
+    @Mock
+    private UserStorageService userStorageService;
+
+    @Mock
+    private ClientStorageService clientStorageService;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        EmailOutboxProperties properties = new EmailOutboxProperties(1000, 2, 2,
+                Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofMinutes(5));
+        emailOutboxService = new EmailOutboxService(emailOutboxStorageService, userStorageService, clientStorageService,
+                emailService, properties, new SyncTaskExecutor(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldSendPendingInvitationWithCurrentInvitationLink() {
+        // Given
+        givenPendingEmail(0);
+        given(userStorageService.findPendingInvitation(SOME_USER_ID))
+                .willReturn(Optional.of(new PendingInvitation(SOME_USER_NAME, SOME_USER_EMAIL, "fixed-invitation-hash")));
+        given(clientStorageService.getClientEmailById(SOME_CLIENT_EMAIL_ID)).willReturn(SOME_CLIENT_EMAIL);
+
+        // When
+        emailOutboxService.processPendingEmails();
+
+        // Then
+        then(emailService).should().sendInvitationForUser(SOME_CLIENT_ID, SOME_USER_ID, InvitationEmailData.builder()
+                .clientEmail(SOME_CLIENT_EMAIL)
+                .recipientEmail(SOME_USER_EMAIL)
+                .userName(SOME_USER_NAME)
+                .clientLogoUrl("http://localhost/app-context/clients/" + SOME_CLIENT_ID + "/logo")
+                .redirectUrl("http://localhost/app-context/consent/fixed-invitation-hash")
+                .build());
+        then(emailOutboxStorageService).should().sent(eq(SOME_EMAIL_ID), eq(1), any());
+    }
+
+    @Test
+    void shouldNotSendInvitationOfRemovedUser() {
+        // Given
+        givenPendingEmail(0);
+        given(userStorageService.findPendingInvitation(SOME_USER_ID)).willReturn(Optional.empty());
+
+        // When
+        emailOutboxService.processPendingEmails();
+
+        // Then
+        then(emailService).should(never()).sendInvitationForUser(any(), any(), any());
+        then(emailOutboxStorageService).should().notSent(eq(SOME_EMAIL_ID), any());
+    }
+
+    @Test
+    void shouldRetryUntilMaxAttemptsIsReached() {
+        // Given
+        givenPendingEmail(1);
+        given(userStorageService.findPendingInvitation(SOME_USER_ID))
+                .willReturn(Optional.of(new PendingInvitation(SOME_USER_NAME, SOME_USER_EMAIL, "fixed-invitation-hash")));
+        given(clientStorageService.getClientEmailById(SOME_CLIENT_EMAIL_ID)).willReturn(SOME_CLIENT_EMAIL);
+        willThrow(new EmailSendException("There was an error when sending message", new RuntimeException("Throttling")))
+                .given(emailService).sendInvitationForUser(any(), any(), any());
+
+        // When
+        emailOutboxService.processPendingEmails();
+
+        // Then
+        then(emailOutboxStorageService).should().failed(eq(SOME_EMAIL_ID), eq(2), any(), any());
+        then(emailOutboxStorageService).should(never()).scheduleRetry(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotRetryEmailRejectedBySes() {
+        // Given
+        givenPendingEmail(0);
+        given(userStorageService.findPendingInvitation(SOME_USER_ID))
+                .willReturn(Optional.of(new PendingInvitation(SOME_USER_NAME, SOME_USER_EMAIL, "fixed-invitation-hash")));
+        given(clientStorageService.getClientEmailById(SOME_CLIENT_EMAIL_ID)).willReturn(SOME_CLIENT_EMAIL);
+        willThrow(new EmailSendException("There was an error when sending message",
+                MessageRejectedException.builder().message("Email address is not verified").build()))
+                .given(emailService).sendInvitationForUser(any(), any(), any());
+
+        // When
+        emailOutboxService.processPendingEmails();
+
+        // Then
+        then(emailOutboxStorageService).should().failed(eq(SOME_EMAIL_ID), eq(1), any(), any());
+        then(emailOutboxStorageService).should(never()).scheduleRetry(any(), anyInt(), any(), any(), any());
+    }
+
+    private void givenPendingEmail(int attempts) {
+        given(emailOutboxStorageService.claimPendingEmails(any(OffsetDateTime.class), eq(Duration.ofMinutes(5)), eq(2)))
+                .willReturn(List.of(new PendingEmail(SOME_EMAIL_ID, SOME_CLIENT_ID, SOME_USER_ID, SOME_CLIENT_EMAIL_ID,
+                        SOME_BASE_URL, attempts)));
+    }
+}
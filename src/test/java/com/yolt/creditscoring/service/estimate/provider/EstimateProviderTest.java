@@ -2,6 +2,7 @@ package com.yolt.creditscoring.service.estimate.provider;
 
 import com.yolt.creditscoring.service.creditscore.model.AccountReference;
 import com.yolt.creditscoring.service.creditscore.model.PdStatus;
+import com.yolt.creditscoring.service.estimate.provider.dto.EstimatePDRequestDTO;
 import com.yolt.creditscoring.service.estimate.provider.dto.EstimateProbabilityOfDefaultDTO;
 import com.yolt.creditscoring.service.estimate.provider.dto.ProbabilityOfDefaultStorage;
 import com.yolt.creditscoring.service.estimate.provider.dto.RiskClassification;
@@ -23,6 +24,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 
@@ -38,14 +40,6 @@ class EstimateProviderTest {
     @Test
     void shouldReturnPDScoreWhenDataWillBeSuccessfullyFetch() throws NoSuchAlgorithmException, KeyStoreException, IOException {
         // Given
-        CreditScoreAccountDTO account = CreditScoreAccountDTO.builder()
-                .accountReference(AccountReference.builder().iban("NL79ABNA12345678901").build())
-                .balance(BigDecimal.valueOf(123.45))
-                .transactions(List.of(CreditScoreTransactionDTO.builder()
-                        .date(LocalDate.parse("2021-08-01"))
-                        .amount(BigDecimal.valueOf(45.67))
-                        .build()))
-                .build();
         given(httpClient.getPDScoreForGivenAccount(any()))
                 .willReturn(EstimateProbabilityOfDefaultDTO.builder()
                         .score(12)
@@ -53,7 +47,7 @@ class EstimateProviderTest {
                         .build());
 
         // When
-        ProbabilityOfDefaultStorage result = estimateProvider.calculatePDForReport(account);
+        ProbabilityOfDefaultStorage result = estimateProvider.calculatePD(request());
 
         // Then
         assertThat(result.getScore()).isEqualTo(12);
@@ -62,46 +56,39 @@ class EstimateProviderTest {
     }
 
     @Test
-    void shouldReturnErrorInThePDScoreIfForSomeReasonFetchWillFail() throws NoSuchAlgorithmException, KeyStoreException, IOException {
+    void shouldPassErrorToCallerIfForSomeReasonFetchWillFail() throws NoSuchAlgorithmException, KeyStoreException, IOException {
         // Given
-        CreditScoreAccountDTO account = CreditScoreAccountDTO.builder()
-                .accountReference(AccountReference.builder().iban("NL79ABNA12345678901").build())
-                .balance(BigDecimal.valueOf(123.45))
-                .transactions(List.of(CreditScoreTransactionDTO.builder()
-                        .date(LocalDate.parse("2021-08-01"))
-                        .amount(BigDecimal.valueOf(45.67))
-                        .build()))
-                .build();
+        EstimatePDRequestDTO request = request();
         given(httpClient.getPDScoreForGivenAccount(any())).willThrow(new EstimateAPIException("Something went wrong..."));
 
         // When
-        ProbabilityOfDefaultStorage result = estimateProvider.calculatePDForReport(account);
-
         // Then
-        assertThat(result.getScore()).isNull();
-        assertThat(result.getGrade()).isNull();
-        assertThat(result.getStatus()).isEqualTo(PdStatus.ERROR);
+        assertThatThrownBy(() -> estimateProvider.calculatePD(request))
+                .isInstanceOf(EstimateAPIException.class);
     }
 
     @Test
     void shouldReturnNotEnoughTransactionErrorInThePDScore() throws NoSuchAlgorithmException, KeyStoreException, IOException {
         // Given
-        CreditScoreAccountDTO account = CreditScoreAccountDTO.builder()
-                .accountReference(AccountReference.builder().iban("NL79ABNA12345678901").build())
-                .balance(BigDecimal.valueOf(123.45))
-                .transactions(List.of(CreditScoreTransactionDTO.builder()
-                        .date(LocalDate.parse("2021-08-01"))
-                        .amount(BigDecimal.valueOf(45.67))
-                        .build()))
-                .build();
         given(httpClient.getPDScoreForGivenAccount(any())).willThrow(new NotEnoughTransactionDataException("Not enough transactions. Please provide six full months of transactions."));
 
         // When
-        ProbabilityOfDefaultStorage result = estimateProvider.calculatePDForReport(account);
+        ProbabilityOfDefaultStorage result = estimateProvider.calculatePD(request());
 
         // Then
         assertThat(result.getScore()).isNull();
         assertThat(result.getGrade()).isNull();
         assertThat(result.getStatus()).isEqualTo(PdStatus.ERROR_NOT_ENOUGH_TRANSACTIONS);
     }
+
+    private static EstimatePDRequestDTO request() {
+        return EstimatePDRequestCreator.createRequest(CreditScoreAccountDTO.builder()
+                .accountReference(AccountReference.builder().iban("NL79ABNA12345678901").build())
+                .balance(BigDecimal.valueOf(123.45))
+                .transactions(List.of(CreditScoreTransactionDTO.builder()
+                        .date(LocalDate.parse("2021-08-01"))
+                        .amount(BigDecimal.valueOf(45.67))
+                        .build()))
+                .build());
+    }
 }
@@ -0,0 +1,142 @@
+package com.yolt.creditscoring.service.estimate.scoring;
+
+import com.yolt.creditscoring.service.creditscore.model.PdStatus;
+import com.yolt.creditscoring.service.estimate.provider.EstimateProvider;
+import com.yolt.creditscoring.service.estimate.provider.dto.ProbabilityOfDefaultStorage;
+import com.yolt.creditscoring.service.estimate.provider.dto.RiskClassification;
+import com.yolt.creditscoring.service.estimate.provider.exception.EstimateAPIException;
+import com.yolt.creditscoring.service.estimate.storage.EstimateStorageService;
+import com.yolt.creditscoring.service.estimate.storage.PendingEstimateRequest;
+import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
+import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreTransactionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.SOME_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class EstimateScoringServiceTest {
+
+    private static final UUID SOME_ESTIMATE_ID = UUID.fromString("0a1b2c3d-0000-4000-8000-000000000001");
+    private static final String SOME_REQUEST = """
+            {"referenceId":"0a1b2c3d-0000-4000-8000-000000000002","currentBalance":{"unscaledValue":12345,"scale":2},"transactions":[]}
+            """;
+
+    @Mock
+    private EstimateProvider estimateProvider;
+
+    @Mock
+    private EstimateStorageService estimateStorageService;
+
+    private EstimateScoringService estimateScoringService;
+
+    @BeforeEach
+    void setUp() {
+        EstimateScoringProperties properties = new EstimateScoringProperties(2, 3, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofMinutes(15));
+        estimateScoringService = new EstimateScoringService(estimateProvider, estimateStorageService, properties, new SyncTaskExecutor());
+    }
+
+    @Test
+    void shouldStorePendingRequestForAccount() {
+        // Given
+        CreditScoreAccountDTO account = CreditScoreAccountDTO.builder()
+                .balance(new BigDecimal("123.45"))
+                .transactions(List.of(CreditScoreTransactionDTO.builder()
+                        .date(LocalDate.parse("2021-08-01"))
+                        .amount(BigDecimal.valueOf(45.67))
+                        .build()))
+                .build();
+
+        // When
+        estimateScoringService.enqueue(SOME_USER_ID, account);
+
+        // Then
+        ArgumentCaptor<String> request = ArgumentCaptor.forClass(String.class);
+        then(estimateStorageService).should().savePending(eq(SOME_USER_ID), request.capture(), any(OffsetDateTime.class));
+        assertThat(request.getValue()).contains("\"unscaledValue\":12345", "\"scale\":2");
+    }
+
+    @Test
+    void shouldCompletePendingRequest() throws Exception {
+        // Given
+        given(estimateStorageService.claimPendingRequests(any(), eq(Duration.ofMinutes(15)), eq(2)))
+                .willReturn(List.of(new PendingEstimateRequest(SOME_ESTIMATE_ID, SOME_USER_ID, SOME_REQUEST, 0)));
+        ProbabilityOfDefaultStorage result = ProbabilityOfDefaultStorage.builder()
+                .score(29)
+                .grade(RiskClassification.G)
+                .status(PdStatus.COMPLETED)
+                .build();
+        given(estimateProvider.calculatePD(any())).willReturn(result);
+
+        // When
+        int submitted = estimateScoringService.processPendingRequests();
+
+        // Then
+        assertThat(submitted).isEqualTo(1);
+        then(estimateStorageService).should().complete(SOME_ESTIMATE_ID, 1, result, null);
+    }
+
+    @Test
+    void shouldRetryTransientError() throws Exception {
+        // Given
+        given(estimateProvider.calculatePD(any())).willThrow(new EstimateAPIException("503 SERVICE_UNAVAILABLE", true));
+
+        // When
+        estimateScoringService.process(new PendingEstimateRequest(SOME_ESTIMATE_ID, SOME_USER_ID, SOME_REQUEST, 1));
+
+        // Then
+        ArgumentCaptor<OffsetDateTime> nextAttemptTime = ArgumentCaptor.forClass(OffsetDateTime.class);
+        then(estimateStorageService).should().scheduleRetry(eq(SOME_ESTIMATE_ID), eq(2), nextAttemptTime.capture(), eq("503 SERVICE_UNAVAILABLE"));
+        assertThat(nextAttemptTime.getValue()).isAfter(OffsetDateTime.now().plusSeconds(50));
+        then(estimateStorageService).should(never()).complete(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldStoreErrorWhenRetriesAreExhausted() throws Exception {
+        // Given
+        given(estimateProvider.calculatePD(any())).willThrow(new EstimateAPIException("503 SERVICE_UNAVAILABLE", true));
+
+        // When
+        estimateScoringService.process(new PendingEstimateRequest(SOME_ESTIMATE_ID, SOME_USER_ID, SOME_REQUEST, 2));
+
+        // Then
+        then(estimateStorageService).should().complete(SOME_ESTIMATE_ID, 3, ProbabilityOfDefaultStorage.builder()
+                .status(PdStatus.ERROR)
+                .build(), "503 SERVICE_UNAVAILABLE");
+        then(estimateStorageService).should(never()).scheduleRetry(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldNotRetryPermanentError() throws Exception {
+        // Given
+        given(estimateProvider.calculatePD(any())).willThrow(new EstimateAPIException("401 UNAUTHORIZED"));
+
+        // When
+        estimateScoringService.process(new PendingEstimateRequest(SOME_ESTIMATE_ID, SOME_USER_ID, SOME_REQUEST, 0));
+
+        // Then
+        then(estimateStorageService).should().complete(eq(SOME_ESTIMATE_ID), eq(1), eq(ProbabilityOfDefaultStorage.builder()
+                .status(PdStatus.ERROR)
+                .build()), eq("401 UNAUTHORIZED"));
+        then(estimateStorageService).should(never()).scheduleRetry(any(), anyInt(), any(), any());
+    }
+}
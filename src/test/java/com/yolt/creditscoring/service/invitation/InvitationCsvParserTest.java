@@ -0,0 +1,58 @@
+package com.yolt.creditscoring.service.invitation;
+
+import com.yolt.creditscoring.exception.InvalidBulkInvitationException;
+import com.yolt.creditscoring.service.invitation.InvitationCsvParser.ParsedRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class InvitationCsvParserTest {
+
+    @Test
+    void shouldParseQuotedValuesAndColumnsInAnyOrder() {
+        // Given
+        UUID clientEmailId = UUID.randomUUID();
+        String csv = "Email,clientEmailId,Name\r\n" +
+                "john@example.com," + clientEmailId + ",\"Doe, John\"\r\n" +
+                "\r\n" +
+                "\"jane@example.com\",,\"Jane \"\"J\"\" Doe\"\r\n";
+
+        // When
+        List<ParsedRow> rows = InvitationCsvParser.parse(csv);
+
+        // Then
+        assertThat(rows).extracting(row -> row.invitation().getName(), row -> row.invitation().getEmail(),
+                        row -> row.invitation().getClientEmailId(), ParsedRow::error)
+                .containsExactly(
+                        tuple("Doe, John", "john@example.com", clientEmailId, null),
+                        tuple("Jane \"J\" Doe", "jane@example.com", null, null));
+    }
+
+    @Test
+    void shouldReturnErrorForMalformedClientEmailId() {
+        // When
+        List<ParsedRow> rows = InvitationCsvParser.parse("""
+                name,email,clientEmailId
+                John Doe,john@example.com,not-an-id
+                """);
+
+        // Then
+        assertThat(rows).singleElement()
+                .extracting(ParsedRow::error)
+                .isEqualTo("clientEmailId: must be a valid id");
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+        // When / Then
+        assertThatThrownBy(() -> InvitationCsvParser.parse("name,phone\nJohn Doe,0612345678\n"))
+                .isInstanceOf(InvalidBulkInvitationException.class);
+        assertThatThrownBy(() -> InvitationCsvParser.parse("name,email\n\"John Doe,john@example.com\n"))
+                .isInstanceOf(InvalidBulkInvitationException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.yolt.creditscoring.service.invitation.sweeper;
+
+import com.yolt.creditscoring.service.user.SweptUser;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.yoltapi.YoltProvider;
+import com.yolt.creditscoring.service.yoltapi.exception.FetchDataException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class InvitationSweeperServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private InvitationExpiryService invitationExpiryService;
+
+    @Mock
+    private UserStorageService userStorageService;
+
+    @Mock
+    private YoltProvider yoltProvider;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldExpireInBatchesUntilLastBatchIsNotFull() {
+        // Given
+        InvitationSweeperService sweeper = sweeper(false);
+        given(invitationExpiryService.expireOverdueInvitations(any(), any(), eq(BATCH_SIZE)))
+                .willReturn(List.of(sweptUser(null), sweptUser(null)))
+                .willReturn(List.of(sweptUser(null)));
+        given(userStorageService.claimYoltUsersToRemove(any(), eq(BATCH_SIZE))).willReturn(List.of());
+
+        // When
+        InvitationSweeperService.SweepResult result = sweeper.sweep();
+
+        // Then
+        assertThat(result.expired()).isEqualTo(3);
+        then(invitationExpiryService).should(times(2)).expireOverdueInvitations(any(), any(), anyInt());
+        assertThat(registry.counter("invitation_sweeper_users", "result", "expired", "dry_run", "false").count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldOnlyClearYoltUsersWhichWereRemoved() {
+        // Given
+        InvitationSweeperService sweeper = sweeper(false);
+        SweptUser removed = sweptUser(UUID.randomUUID());
+        SweptUser failed = sweptUser(UUID.randomUUID());
+        given(invitationExpiryService.expireOverdueInvitations(any(), any(), anyInt())).willReturn(List.of());
+        given(userStorageService.claimYoltUsersToRemove(any(), eq(BATCH_SIZE)))
+                .willReturn(List.of(removed, failed))
+                .willReturn(List.of());
+        willThrow(new FetchDataException("500 INTERNAL_SERVER_ERROR")).given(yoltProvider).removeUser(failed.yoltUserId());
+
+        // When
+        InvitationSweeperService.SweepResult result = sweeper.sweep();
+
+        // Then
+        then(yoltProvider).should().removeUser(removed.yoltUserId());
+        then(userStorageService).should().removeYoltUsers(List.of(removed.id()));
+        assertThat(result.yoltUsersRemoved()).isEqualTo(1);
+        assertThat(result.yoltUserRemovalsFailed()).isEqualTo(1);
+        assertThat(registry.counter("invitation_sweeper_users", "result", "yolt_user_removal_failed", "dry_run", "false").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOnlyCountInDryRun() {
+        // Given
+        InvitationSweeperService sweeper = sweeper(true);
+        given(userStorageService.countOverdueInvitations(any(), any())).willReturn(5L);
+        given(userStorageService.countYoltUsersToRemove(any())).willReturn(2L);
+
+        // When
+        InvitationSweeperService.SweepResult result = sweeper.sweep();
+
+        // Then
+        assertThat(result).isEqualTo(new InvitationSweeperService.SweepResult(true, 5, 2, 0));
+        then(invitationExpiryService).should(never()).expireOverdueInvitations(any(), any(), anyInt());
+        then(userStorageService).should(never()).claimYoltUsersToRemove(any(), anyInt());
+        then(yoltProvider).shouldHaveNoInteractions();
+    }
+
+    private InvitationSweeperService sweeper(boolean dryRun) {
+        InvitationSweeperProperties properties = new InvitationSweeperProperties(dryRun, Duration.ofHours(72),
+                Duration.ofDays(7), BATCH_SIZE, 10, 2, Duration.ofHours(1));
+        return new InvitationSweeperService(invitationExpiryService, userStorageService, yoltProvider, properties,
+                new SyncTaskExecutor(), registry);
+    }
+
+    private static SweptUser sweptUser(UUID yoltUserId) {
+        return new SweptUser(UUID.randomUUID(), SOME_CLIENT_ID, yoltUserId);
+    }
+}
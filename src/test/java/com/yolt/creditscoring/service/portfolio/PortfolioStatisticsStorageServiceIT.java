@@ -0,0 +1,143 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.yolt.creditscoring.IntegrationTest;
+import com.yolt.creditscoring.service.creditscore.model.AccountReference;
+import com.yolt.creditscoring.service.creditscore.model.CreditScoreReport;
+import com.yolt.creditscoring.service.creditscore.model.CreditScoreReportRepository;
+import com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsPendingRepository;
+import com.yolt.creditscoring.service.portfolio.model.PortfolioStatisticsRepository;
+import com.yolt.creditscoring.service.user.model.CreditScoreUser;
+import com.yolt.creditscoring.service.user.model.CreditScoreUserRepository;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.*;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@IntegrationTest
+class PortfolioStatisticsStorageServiceIT {
+
+    private static final PortfolioSample SAMPLE = new PortfolioSample(new BigDecimal("1000.00"), new BigDecimal("800.00"),
+            new BigDecimal("200.00"), new BigDecimal("100.00"), new BigDecimal("500.00"), Map.of());
+
+    @Autowired
+    private PortfolioStatisticsStorageService portfolioStatisticsStorageService;
+
+    @Autowired
+    private PortfolioStatisticsRepository portfolioStatisticsRepository;
+
+    @Autowired
+    private PortfolioStatisticsPendingRepository portfolioStatisticsPendingRepository;
+
+    @Autowired
+    private CreditScoreUserRepository creditScoreUserRepository;
+
+    @Autowired
+    private CreditScoreReportRepository creditScoreReportRepository;
+
+    @MockBean
+    private PortfolioSampleCalculator portfolioSampleCalculator;
+
+    @BeforeEach
+    void setUp() {
+        given(portfolioSampleCalculator.sample(any())).willReturn(Optional.of(SAMPLE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        portfolioStatisticsPendingRepository.deleteAll();
+        portfolioStatisticsRepository.deleteAll();
+        creditScoreReportRepository.deleteAll();
+        creditScoreUserRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCountReportsSavedDuringRebuildOnce() {
+        // Given
+        UUID readByRebuild = saveUserWithReport();
+        UUID savedDuringRebuild = saveUserWithReport();
+        UUID savedBeforeRebuild = saveUserWithReport();
+        portfolioStatisticsStorageService.savePending(SOME_CLIENT_ID, readByRebuild);
+        portfolioStatisticsStorageService.savePending(SOME_CLIENT_ID, savedDuringRebuild);
+        portfolioStatisticsStorageService.savePending(SOME_CLIENT_ID, savedBeforeRebuild);
+        portfolioStatisticsStorageService.addPendingReports(SOME_CLIENT_ID, 1);
+        PortfolioStatistics rebuilt = portfolioStatisticsStorageService.calculateStatistics(List.of(readByRebuild, savedBeforeRebuild));
+
+        // When
+        portfolioStatisticsStorageService.replaceStatistics(SOME_CLIENT_ID, rebuilt, Set.of(readByRebuild, savedBeforeRebuild));
+        int addedAfterRebuild = portfolioStatisticsStorageService.addPendingReports(SOME_CLIENT_ID, 100);
+
+        // Then
+        then(addedAfterRebuild).isZero();
+        then(portfolioStatisticsPendingRepository.findByClientId(SOME_CLIENT_ID)).isEmpty();
+        then(portfolioStatisticsStorageService.findStatistics(SOME_CLIENT_ID)).hasValueSatisfying(snapshot ->
+                then(snapshot.statistics().getReportCount()).isEqualTo(3));
+        then(portfolioStatisticsRepository.findById(SOME_CLIENT_ID)).hasValueSatisfying(entity ->
+                then(entity.getReportCount()).isEqualTo(3));
+    }
+
+    @Test
+    void shouldCountEveryPendingReportOnce() {
+        // Given
+        UUID first = saveUserWithReport();
+        UUID second = saveUserWithReport();
+        portfolioStatisticsStorageService.savePending(SOME_CLIENT_ID, first);
+        portfolioStatisticsStorageService.savePending(SOME_CLIENT_ID, second);
+
+        // When
+        int firstRun = portfolioStatisticsStorageService.addPendingReports(SOME_CLIENT_ID, 1);
+        int secondRun = portfolioStatisticsStorageService.addPendingReports(SOME_CLIENT_ID, 100);
+        int thirdRun = portfolioStatisticsStorageService.addPendingReports(SOME_CLIENT_ID, 100);
+
+        // Then
+        then(firstRun).isEqualTo(1);
+        then(secondRun).isEqualTo(1);
+        then(thirdRun).isZero();
+        then(portfolioStatisticsStorageService.findStatistics(SOME_CLIENT_ID)).hasValueSatisfying(snapshot ->
+                then(snapshot.statistics().getReportCount()).isEqualTo(2));
+    }
+
+    private UUID saveUserWithReport() {
+        UUID userId = UUID.randomUUID();
+        creditScoreUserRepository.save(new CreditScoreUser()
+                .setId(userId)
+                .setName(SOME_USER_NAME)
+                .setEmail(SOME_USER_EMAIL)
+                .setDateTimeInvited(SOME_FIXED_TEST_DATE)
+                .setDateTimeStatusChange(SOME_FIXED_TEST_DATE)
+                .setStatus(InvitationStatus.COMPLETED)
+                .setInvitationHash(userId.toString())
+                .setClientId(SOME_CLIENT_ID)
+                .setAdminEmail(SOME_CLIENT_ADMIN_EMAIL));
+        creditScoreReportRepository.save(CreditScoreReport.builder()
+                .id(UUID.randomUUID())
+                .creditScoreUserId(userId)
+                .accountReference(AccountReference.builder()
+                        .iban("NL79ABNA12345678901")
+                        .build())
+                .initialBalance(new BigDecimal("5000.00"))
+                .lastDataFetchTime(SOME_FIXED_TEST_DATE)
+                .currency("EUR")
+                .newestTransactionDate(LocalDate.of(2020, 12, 31))
+                .oldestTransactionDate(LocalDate.of(2020, 12, 1))
+                .signature(SOME_REPORT_SIGNATURE.toString())
+                .signatureKeyId(SOME_REPORT_SIGNATURE_KEY_ID)
+                .signatureJsonPaths(List.of("$['userId']"))
+                .build());
+        return userId;
+    }
+}
@@ -0,0 +1,58 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PortfolioStatisticsTest {
+
+    @Test
+    void shouldRestoreStoredStatistics() {
+        // Given
+        PortfolioStatistics statistics = new PortfolioStatistics();
+        statistics.add(sample("1000.00", "-800.00", 0.75));
+        statistics.add(sample("3000.00", "-2500.00", 0.25));
+
+        // When
+        PortfolioStatistics restored = PortfolioStatistics.fromBytes(statistics.toBytes());
+
+        // Then
+        then(restored.getReportCount()).isEqualTo(2);
+        then(restored.getMonthlyAverageIncome().quantile(1)).isEqualTo(statistics.getMonthlyAverageIncome().quantile(1));
+        then(restored.getMonthlyAverageCost().getMean()).isEqualTo(statistics.getMonthlyAverageCost().getMean());
+        then(restored.getCategoryShares().get(Category.REVENUE).getCounts())
+                .containsExactly(0L, 0L, 1L, 0L, 0L, 0L, 0L, 1L, 0L, 0L);
+        then(restored.getAverageBalance().getCount()).isZero();
+    }
+
+    @Test
+    void shouldReturnEmptyStatisticsForNewRow() {
+        // When
+        PortfolioStatistics statistics = PortfolioStatistics.fromBytes(new byte[0]);
+
+        // Then
+        then(statistics.getReportCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectStatisticsStoredInAnotherFormat() {
+        // Given
+        byte[] bytes = {0, 0, 0, 99};
+
+        // When
+        Throwable thrown = catchThrowable(() -> PortfolioStatistics.fromBytes(bytes));
+
+        // Then
+        then(thrown).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static PortfolioSample sample(String income, String cost, double revenueShare) {
+        return new PortfolioSample(new BigDecimal(income), new BigDecimal(cost), null, null, null,
+                Map.of(Category.REVENUE, revenueShare));
+    }
+}
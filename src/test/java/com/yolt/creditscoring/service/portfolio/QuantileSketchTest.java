@@ -0,0 +1,81 @@
+package com.yolt.creditscoring.service.portfolio;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class QuantileSketchTest {
+
+    @Test
+    void shouldReturnQuantilesWithinRelativeAccuracy() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch();
+
+        // When
+        for (int i = 1; i <= 1000; i++) {
+            sketch.add(i * 10.0);
+        }
+
+        // Then
+        then(sketch.getCount()).isEqualTo(1000);
+        then(sketch.quantile(0.5).getAsDouble()).isCloseTo(5000, within(5000 * QuantileSketch.RELATIVE_ACCURACY + 10));
+        then(sketch.quantile(0.9).getAsDouble()).isCloseTo(9000, within(9000 * QuantileSketch.RELATIVE_ACCURACY + 10));
+        then(sketch.quantile(0).getAsDouble()).isEqualTo(10);
+        then(sketch.quantile(1).getAsDouble()).isEqualTo(10000);
+        then(sketch.getMean().getAsDouble()).isEqualTo(5005);
+    }
+
+    @Test
+    void shouldOrderNegativeValuesBeforeZeroAndPositiveValues() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch();
+        DoubleStream.of(-500, -10, 0, 10, 500).forEach(sketch::add);
+
+        // When
+        double lowest = sketch.quantile(0).getAsDouble();
+        double second = sketch.quantile(0.25).getAsDouble();
+        double median = sketch.quantile(0.5).getAsDouble();
+
+        // Then
+        then(lowest).isEqualTo(-500);
+        then(second).isCloseTo(-10, within(0.1));
+        then(median).isZero();
+    }
+
+    @Test
+    void shouldMergeIntoTheSketchOfAllValues() {
+        // Given
+        Random random = new Random(42);
+        QuantileSketch all = new QuantileSketch();
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextGaussian() * 1000;
+            all.add(value);
+            (i % 2 == 0 ? first : second).add(value);
+        }
+
+        // When
+        first.merge(second);
+
+        // Then
+        then(first.getCount()).isEqualTo(all.getCount());
+        for (double quantile : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99}) {
+            then(first.quantile(quantile)).isEqualTo(all.quantile(quantile));
+        }
+    }
+
+    @Test
+    void shouldReturnNoQuantileForEmptySketch() {
+        // When
+        QuantileSketch sketch = new QuantileSketch();
+
+        // Then
+        then(sketch.quantile(0.5)).isEmpty();
+        then(sketch.getMin()).isEmpty();
+    }
+}
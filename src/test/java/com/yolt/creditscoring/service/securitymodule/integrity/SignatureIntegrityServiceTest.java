@@ -0,0 +1,240 @@
+package com.yolt.creditscoring.service.securitymodule.integrity;
+
+import com.yolt.creditscoring.common.scheduling.SchedulerLockService;
+import com.yolt.creditscoring.exception.SignatureException;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityStorageService.RowLeaf;
+import com.yolt.creditscoring.service.securitymodule.integrity.SignatureIntegrityStorageService.SignedReport;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanStatus;
+import com.yolt.creditscoring.service.securitymodule.integrity.model.SignatureIntegrityScanEntity.ScanTrigger;
+import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
+import com.yolt.creditscoring.service.securitymodule.signature.SecurityModuleService;
+import com.yolt.creditscoring.service.securitymodule.signature.SignatureService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.PublicKey;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SignatureIntegrityServiceTest {
+
+    private static final UUID SCAN_ID = UUID.randomUUID();
+    private static final UUID KEY_ID = UUID.randomUUID();
+    private static final UUID CLIENT_ID = UUID.randomUUID();
+
+    @Mock
+    private SignatureIntegrityStorageService signatureIntegrityStorageService;
+
+    @Mock
+    private SignatureService signatureService;
+
+    @Mock
+    private SecurityModuleService securityModuleService;
+
+    @Mock
+    private SemaEventService semaEventService;
+
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    @Mock
+    private PublicKey publicKey;
+
+    private ForkJoinPool integrityPool;
+
+    private SimpleMeterRegistry registry;
+
+    private SignatureIntegrityService signatureIntegrityService;
+
+    @BeforeEach
+    void setUp() {
+        integrityPool = new ForkJoinPool(2);
+        registry = new SimpleMeterRegistry();
+        signatureIntegrityService = new SignatureIntegrityService(signatureIntegrityStorageService, signatureService,
+                securityModuleService, semaEventService, schedulerLockService, new SignatureIntegrityProperties(2, 2),
+                integrityPool, registry);
+        given(securityModuleService.getPublicKeyByKeyId(KEY_ID)).willReturn(publicKey);
+        given(signatureIntegrityStorageService.finishScan(SCAN_ID)).willReturn(scan(UUID.randomUUID(), 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        integrityPool.shutdownNow();
+    }
+
+    @Test
+    void shouldReportInvalidSignaturesAndStoreProgressAfterEveryPage() {
+        // Given
+        UUID firstReportId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID secondReportId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID thirdReportId = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        SignedReport firstReport = signedReport(firstReportId);
+        SignedReport invalidReport = signedReport(secondReportId);
+        SignedReport thirdReport = signedReport(thirdReportId);
+        UUID invalidUserId = invalidReport.report().getUserId();
+        given(signatureIntegrityStorageService.startOrResumeScan(ScanTrigger.SCHEDULED))
+                .willReturn(scan(SignatureIntegrityStorageService.FIRST_REPORT_ID, 0));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(SignatureIntegrityStorageService.FIRST_REPORT_ID, 2))
+                .willReturn(List.of(firstReport, invalidReport));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(secondReportId, 2))
+                .willReturn(List.of(thirdReport));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(thirdReportId, 2)).willReturn(List.of());
+        given(signatureService.verify(any(), any(), eq(publicKey))).willReturn(true);
+        given(signatureService.verify(argThat(report -> invalidUserId.equals(report.getUserId())), any(), eq(publicKey)))
+                .willReturn(false);
+
+        // When
+        signatureIntegrityService.scan(ScanTrigger.SCHEDULED);
+
+        // Then
+        verify(signatureIntegrityStorageService).checkpoint(SCAN_ID, secondReportId, 2, 1, 0);
+        verify(signatureIntegrityStorageService).checkpoint(SCAN_ID, thirdReportId, 3, 1, 0);
+        verify(signatureIntegrityStorageService).finishScan(SCAN_ID);
+        verify(semaEventService).logIncorrectSignature(any(), eq(invalidUserId), eq(CLIENT_ID));
+        verify(securityModuleService, times(1)).getPublicKeyByKeyId(KEY_ID);
+        then(registry.counter("signature_integrity_reports", "result", "valid").count()).isEqualTo(2);
+        then(registry.counter("signature_integrity_reports", "result", "invalid").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldContinueInterruptedScanAfterLastCheckpoint() {
+        // Given
+        UUID lastReportId = UUID.fromString("00000000-0000-0000-0000-000000000010");
+        UUID nextReportId = UUID.fromString("00000000-0000-0000-0000-000000000011");
+        SignedReport nextReport = signedReport(nextReportId);
+        given(signatureIntegrityStorageService.startOrResumeScan(ScanTrigger.ON_DEMAND)).willReturn(scan(lastReportId, 10));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(lastReportId, 2)).willReturn(List.of(nextReport));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(nextReportId, 2)).willReturn(List.of());
+        given(signatureService.verify(any(), any(), eq(publicKey))).willReturn(true);
+
+        // When
+        signatureIntegrityService.scan(ScanTrigger.ON_DEMAND);
+
+        // Then
+        verify(signatureIntegrityStorageService).checkpoint(SCAN_ID, nextReportId, 11, 0, 0);
+        verify(signatureIntegrityStorageService, never()).findSignedReportsAfter(eq(SignatureIntegrityStorageService.FIRST_REPORT_ID), anyInt());
+    }
+
+    @Test
+    void shouldCountReportWhichCannotBeVerifiedAsError() {
+        // Given
+        UUID reportId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        SignedReport report = signedReport(reportId);
+        given(signatureIntegrityStorageService.startOrResumeScan(ScanTrigger.SCHEDULED))
+                .willReturn(scan(SignatureIntegrityStorageService.FIRST_REPORT_ID, 0));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(SignatureIntegrityStorageService.FIRST_REPORT_ID, 2))
+                .willReturn(List.of(report));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(reportId, 2)).willReturn(List.of());
+        given(signatureService.verify(any(), any(), eq(publicKey))).willThrow(new SignatureException("Can't verify signature"));
+
+        // When
+        signatureIntegrityService.scan(ScanTrigger.SCHEDULED);
+
+        // Then
+        verify(signatureIntegrityStorageService).checkpoint(SCAN_ID, reportId, 1, 0, 1);
+        verifyNoInteractions(semaEventService);
+    }
+
+    @Test
+    void shouldReportTamperedCategoryRowOfReportWithValidReportSignature() {
+        // Given
+        UUID reportId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        List<String> signedLeaves = List.of(
+                "monthly;2021;1;5750;3750;4000;2;3",
+                "category;2021;1;OTHER_EXPENSES;-750;3",
+                "category;2021;1;OTHER_INCOME;2000;2");
+        SignedReport signedReport = signedReport(reportId);
+        SignedReportRow row = signedReport.report();
+        given(row.getRowsSignature()).willReturn("cm93c1NpZ25hdHVyZQ==");
+        given(row.getRowsSignatureKeyId()).willReturn(KEY_ID);
+        given(row.getRowsSignatureLeafCount()).willReturn(3);
+        SignedReport tamperedReport = new SignedReport(row, signedReport.jsonPaths(), List.of(
+                new RowLeaf(2, "category;2021;1;OTHER_INCOME;2000;2"),
+                new RowLeaf(0, "monthly;2021;1;5750;3750;4000;2;3"),
+                new RowLeaf(1, "category;2021;1;OTHER_EXPENSES;-75;3")));
+        UUID userId = row.getUserId();
+        given(signatureIntegrityStorageService.startOrResumeScan(ScanTrigger.SCHEDULED))
+                .willReturn(scan(SignatureIntegrityStorageService.FIRST_REPORT_ID, 0));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(SignatureIntegrityStorageService.FIRST_REPORT_ID, 2))
+                .willReturn(List.of(tamperedReport));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(reportId, 2)).willReturn(List.of());
+        given(signatureService.verify(any(), any(), eq(publicKey))).willReturn(true);
+        lenient().when(signatureService.verifyRowsRoot(eq(userId), eq(signedLeaves), any(), eq(publicKey))).thenReturn(true);
+
+        // When
+        signatureIntegrityService.scan(ScanTrigger.SCHEDULED);
+
+        // Then
+        verify(signatureService).verifyRowsRoot(eq(userId), eq(List.of(
+                "monthly;2021;1;5750;3750;4000;2;3",
+                "category;2021;1;OTHER_EXPENSES;-75;3",
+                "category;2021;1;OTHER_INCOME;2000;2")), any(), eq(publicKey));
+        verify(semaEventService).logIncorrectSignature(
+                argThat(event -> "Monthly report rows do not match rows signature".equals(event.getMessage())),
+                eq(userId), eq(CLIENT_ID));
+        verify(signatureIntegrityStorageService).checkpoint(SCAN_ID, reportId, 1, 1, 0);
+    }
+
+    @Test
+    void shouldReportRemovedRowWithoutVerifyingRowsSignature() {
+        // Given
+        UUID reportId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        SignedReport signedReport = signedReport(reportId);
+        SignedReportRow row = signedReport.report();
+        given(row.getRowsSignature()).willReturn("cm93c1NpZ25hdHVyZQ==");
+        given(row.getRowsSignatureLeafCount()).willReturn(3);
+        SignedReport reportWithRemovedRow = new SignedReport(row, signedReport.jsonPaths(), List.of(
+                new RowLeaf(0, "monthly;2021;1;5750;3750;4000;2;3"),
+                new RowLeaf(2, "category;2021;1;OTHER_INCOME;2000;2")));
+        given(signatureIntegrityStorageService.startOrResumeScan(ScanTrigger.SCHEDULED))
+                .willReturn(scan(SignatureIntegrityStorageService.FIRST_REPORT_ID, 0));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(SignatureIntegrityStorageService.FIRST_REPORT_ID, 2))
+                .willReturn(List.of(reportWithRemovedRow));
+        given(signatureIntegrityStorageService.findSignedReportsAfter(reportId, 2)).willReturn(List.of());
+        given(signatureService.verify(any(), any(), eq(publicKey))).willReturn(true);
+
+        // When
+        signatureIntegrityService.scan(ScanTrigger.SCHEDULED);
+
+        // Then
+        verify(signatureService, never()).verifyRowsRoot(any(), any(), any(), any());
+        verify(semaEventService).logIncorrectSignature(any(), eq(row.getUserId()), eq(CLIENT_ID));
+        verify(signatureIntegrityStorageService).checkpoint(SCAN_ID, reportId, 1, 1, 0);
+    }
+
+    private static SignatureIntegrityScanEntity scan(UUID lastReportId, long scanned) {
+        return new SignatureIntegrityScanEntity()
+                .setId(SCAN_ID)
+                .setTrigger(ScanTrigger.SCHEDULED)
+                .setStatus(ScanStatus.RUNNING)
+                .setLastReportId(lastReportId)
+                .setTotal(100)
+                .setScanned(scanned);
+    }
+
+    private static SignedReport signedReport(UUID reportId) {
+        SignedReportRow row = mock(SignedReportRow.class);
+        UUID userId = UUID.randomUUID();
+        lenient().when(row.getReportId()).thenReturn(reportId);
+        lenient().when(row.getUserId()).thenReturn(userId);
+        lenient().when(row.getClientId()).thenReturn(CLIENT_ID);
+        lenient().when(row.getSignature()).thenReturn("c2lnbmF0dXJl");
+        lenient().when(row.getSignatureKeyId()).thenReturn(KEY_ID);
+        return new SignedReport(row, List.of("$.userId", "$.iban"), List.of());
+    }
+}
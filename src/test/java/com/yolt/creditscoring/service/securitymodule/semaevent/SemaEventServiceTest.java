@@ -4,6 +4,10 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
+import com.yolt.creditscoring.common.eventlog.EventLogDispatcher;
+import com.yolt.creditscoring.common.eventlog.EventLogProperties;
+import com.yolt.creditscoring.common.eventlog.EventLogProperties.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.ing.lovebird.logging.SemaEventLogger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,9 +15,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
 
 import static com.yolt.creditscoring.TestUtils.*;
@@ -29,6 +35,10 @@ class SemaEventServiceTest {
     private Appender<ILoggingEvent> logAppender;
     private ArgumentCaptor<ILoggingEvent> captorLoggingEvent;
 
+    @Spy
+    private EventLogDispatcher eventLogDispatcher = new EventLogDispatcher(
+            new EventLogProperties(false, 1, 1, OverflowPolicy.CALLER_RUNS, Duration.ZERO), new SimpleMeterRegistry());
+
     @InjectMocks
     private SemaEventService semaEventService;
 
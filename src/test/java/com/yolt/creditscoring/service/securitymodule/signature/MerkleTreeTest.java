@@ -0,0 +1,78 @@
+package com.yolt.creditscoring.service.securitymodule.signature;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MerkleTreeTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5, 8, 13, 90})
+    void shouldRebuildRootFromProofOfEveryLeaf(int leafCount) {
+        // Given
+        List<String> leaves = leaves(leafCount);
+
+        // When
+        MerkleTree tree = new MerkleTree(leaves);
+
+        // Then
+        for (int i = 0; i < leafCount; i++) {
+            assertThat(MerkleTree.rootFromProof(leaves.get(i), i, leafCount, tree.getProof(i)))
+                    .isEqualTo(tree.getRoot());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 7, 90})
+    void shouldNotRebuildRootFromChangedLeaf(int leafCount) {
+        // Given
+        List<String> leaves = leaves(leafCount);
+        MerkleTree tree = new MerkleTree(leaves);
+
+        // When
+        byte[] root = MerkleTree.rootFromProof("monthly;2021;1;1", 1, leafCount, tree.getProof(1));
+
+        // Then
+        assertThat(root).isNotEqualTo(tree.getRoot());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 7, 90})
+    void shouldNotRebuildRootFromOtherLeafIndex(int leafCount) {
+        // Given
+        List<String> leaves = leaves(leafCount);
+        MerkleTree tree = new MerkleTree(leaves);
+
+        // When
+        byte[] root = MerkleTree.rootFromProof(leaves.get(0), 1, leafCount, tree.getProof(0));
+
+        // Then
+        assertThat(root).isNotEqualTo(tree.getRoot());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 7, 90})
+    void shouldRejectProofOfWrongLength(int leafCount) {
+        // Given
+        List<String> leaves = leaves(leafCount);
+        MerkleTree tree = new MerkleTree(leaves);
+        byte[] proof = tree.getProof(0);
+        byte[] truncatedProof = Arrays.copyOf(proof, proof.length - MerkleTree.HASH_LENGTH);
+
+        // When / Then
+        assertThatThrownBy(() -> MerkleTree.rootFromProof(leaves.get(0), 0, leafCount, truncatedProof))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> leaves(int leafCount) {
+        return IntStream.range(0, leafCount)
+                .mapToObj(i -> "monthly;2021;" + (i + 1) + ";" + i)
+                .toList();
+    }
+}
@@ -12,7 +12,9 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -137,4 +139,36 @@ class SignatureServiceTestIT {
         // Then
         assertThat(isValid).isFalse();
     }
+
+    @Test
+    void checkRowsSignature() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<String> leaves = List.of(
+                "monthly;2021;1;5750;3750;4000;2;3",
+                "category;2021;1;OTHER_EXPENSES;-750;3",
+                "category;2021;1;OTHER_INCOME;2000;2");
+
+        // When
+        RowsSignature rowsSignature = signatureService.signRows(userId, leaves);
+
+        // Then
+        assertThat(rowsSignature.getLeafCount()).isEqualTo(3);
+        assertThat(signatureService.verifyRows(userId,
+                List.of(new SignedRow(leaves.get(1), 1, rowsSignature.getProofs().get(1))),
+                3, rowsSignature.getSignature(), rowsSignature.getKeyId())).isTrue();
+        assertThat(signatureService.verifyRows(userId,
+                List.of(new SignedRow("category;2021;1;OTHER_EXPENSES;-75;3", 1, rowsSignature.getProofs().get(1))),
+                3, rowsSignature.getSignature(), rowsSignature.getKeyId())).isFalse();
+        assertThat(signatureService.verifyRows(UUID.randomUUID(),
+                List.of(new SignedRow(leaves.get(1), 1, rowsSignature.getProofs().get(1))),
+                3, rowsSignature.getSignature(), rowsSignature.getKeyId())).isFalse();
+        assertThat(signatureService.verifyRows(userId, List.of(),
+                3, rowsSignature.getSignature(), rowsSignature.getKeyId())).isFalse();
+        assertThat(signatureService.verifyRowsRoot(userId, leaves, rowsSignature.getSignature(),
+                signatureService.getPublicKeyModulus(rowsSignature.getKeyId()))).isTrue();
+        assertThat(signatureService.verifyRowsRoot(userId,
+                List.of(leaves.get(0), "category;2021;1;OTHER_EXPENSES;-75;3", leaves.get(2)),
+                rowsSignature.getSignature(), signatureService.getPublicKeyModulus(rowsSignature.getKeyId()))).isFalse();
+    }
 }
@@ -0,0 +1,115 @@
+package com.yolt.creditscoring.service.securitymodule.vault;
+
+import com.yolt.creditscoring.service.securitymodule.signature.SecurityModuleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.lovebird.secretspipeline.VaultKeys;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.security.PublicKey;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyServiceTest.rsaJsonWebKey;
+import static com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyServiceTest.vaultKeys;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class VaultKeysRefreshListenerTest {
+
+    private static final String TRUST_STORE = "certificates/fake-keystore.p12";
+    private static final String TRUST_STORE_PASSWORD = "changeit";
+
+    @Mock
+    private SecurityModuleService securityModuleService;
+
+    @Mock
+    private ObjectProvider<VaultKeys> vaultKeysProvider;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final RsaJsonWebKey reportSignKey = rsaJsonWebKey();
+    private final RsaJsonWebKey jwtSignKey = rsaJsonWebKey();
+    private final RsaJsonWebKey rotatedJwtSignKey = rsaJsonWebKey();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private VaultSecretKeyService vaultSecretKeyService;
+    private VaultKeysRefreshListener vaultKeysRefreshListener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vaultSecretKeyService = new VaultSecretKeyService(vaultKeys(reportSignKey, jwtSignKey), TRUST_STORE, TRUST_STORE_PASSWORD);
+        vaultKeysRefreshListener = new VaultKeysRefreshListener(vaultSecretKeyService, securityModuleService,
+                vaultKeysProvider, eventPublisher, registry);
+    }
+
+    @Test
+    void shouldStorePublicKeysBeforeSwappingSnapshot() {
+        // Given
+        VaultKeys rotatedKeys = vaultKeys(reportSignKey, rotatedJwtSignKey);
+        given(vaultKeysProvider.getObject()).willReturn(rotatedKeys);
+        AtomicReference<UUID> jwtSignKeyIdWhileStoring = new AtomicReference<>();
+        willAnswer(invocation -> {
+            jwtSignKeyIdWhileStoring.set(vaultSecretKeyService.getJwtSignKeyId());
+            return null;
+        }).given(securityModuleService).storePublicKeys(any());
+        UUID rotatedJwtSignKeyId = UUID.fromString(rotatedJwtSignKey.getKeyId());
+
+        // When
+        vaultKeysRefreshListener.onRefresh(new RefreshScopeRefreshedEvent());
+
+        // Then
+        verify(securityModuleService).storePublicKeys(Map.<UUID, PublicKey>of(
+                UUID.fromString(reportSignKey.getKeyId()), reportSignKey.getRsaPublicKey(),
+                rotatedJwtSignKeyId, rotatedJwtSignKey.getRsaPublicKey()));
+        then(jwtSignKeyIdWhileStoring.get()).isEqualTo(UUID.fromString(jwtSignKey.getKeyId()));
+        then(vaultSecretKeyService.getJwtSignKeyId()).isEqualTo(rotatedJwtSignKeyId);
+        verify(eventPublisher).publishEvent(new VaultKeysRotatedEvent(UUID.fromString(reportSignKey.getKeyId()), rotatedJwtSignKeyId));
+        then(registry.counter("vault_keys_refresh", "result", "rotated").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepPreviousKeysWhenPublicKeysCanNotBeStored() {
+        // Given
+        VaultKeys rotatedKeys = vaultKeys(reportSignKey, rotatedJwtSignKey);
+        given(vaultKeysProvider.getObject()).willReturn(rotatedKeys);
+        willThrow(new IllegalStateException("Database unavailable")).given(securityModuleService).storePublicKeys(any());
+
+        // When
+        vaultKeysRefreshListener.onRefresh(new RefreshScopeRefreshedEvent());
+
+        // Then
+        then(vaultSecretKeyService.getJwtSignKeyId()).isEqualTo(UUID.fromString(jwtSignKey.getKeyId()));
+        verifyNoInteractions(eventPublisher);
+        then(registry.counter("vault_keys_refresh", "result", "failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotStorePublicKeysWhenKeysAreUnchanged() {
+        // Given
+        VaultKeys sameKeys = vaultKeys(reportSignKey, jwtSignKey);
+        given(vaultKeysProvider.getObject()).willReturn(sameKeys);
+
+        // When
+        vaultKeysRefreshListener.onRefresh(new RefreshScopeRefreshedEvent());
+
+        // Then
+        verifyNoInteractions(securityModuleService, eventPublisher);
+        then(registry.counter("vault_keys_refresh", "result", "unchanged").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.yolt.creditscoring.service.securitymodule.vault;
+
+import nl.ing.lovebird.secretspipeline.VaultKeys;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.lang.JoseException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class VaultSecretKeyServiceTest {
+
+    private static final String TRUST_STORE = "certificates/fake-keystore.p12";
+    private static final String TRUST_STORE_PASSWORD = "changeit";
+    private static final PrivateKey SIGNING_KEY = rsaJsonWebKey().getRsaPrivateKey();
+
+    @Test
+    void shouldPrecomputeEstimateBasicAuthorization() throws Exception {
+        // Given
+        VaultKeys vaultKeys = vaultKeys(rsaJsonWebKey(), rsaJsonWebKey());
+
+        // When
+        VaultSecretKeyService service = new VaultSecretKeyService(vaultKeys, TRUST_STORE, TRUST_STORE_PASSWORD);
+
+        // Then
+        assertThat(service.getEstimateApiUser()).isEqualTo("user");
+        assertThat(service.getEstimateApiPassword()).isEqualTo("password");
+        assertThat(service.getEstimateBasicAuthorization()).isEqualTo("Basic dXNlcjpwYXNzd29yZA==");
+    }
+
+    @Test
+    void shouldSwapSnapshotWhenKeysAreRotated() throws Exception {
+        // Given
+        RsaJsonWebKey reportSignKey = rsaJsonWebKey();
+        RsaJsonWebKey jwtSignKey = rsaJsonWebKey();
+        RsaJsonWebKey rotatedJwtSignKey = rsaJsonWebKey();
+        VaultSecretKeyService service = new VaultSecretKeyService(vaultKeys(reportSignKey, jwtSignKey), TRUST_STORE, TRUST_STORE_PASSWORD);
+
+        // When
+        boolean rotated = service.refresh(vaultKeys(reportSignKey, rotatedJwtSignKey), publicKeys -> { });
+
+        // Then
+        assertThat(rotated).isTrue();
+        assertThat(service.getJwtSignKeyId()).isEqualTo(UUID.fromString(rotatedJwtSignKey.getKeyId()));
+        assertThat(service.getJwtSigningPublicKey()).isEqualTo(rotatedJwtSignKey.getRsaPublicKey());
+        assertThat(service.getReportSignKeyId()).isEqualTo(UUID.fromString(reportSignKey.getKeyId()));
+    }
+
+    @Test
+    void shouldNotReportRotationWhenKeysAreUnchanged() throws Exception {
+        // Given
+        RsaJsonWebKey reportSignKey = rsaJsonWebKey();
+        RsaJsonWebKey jwtSignKey = rsaJsonWebKey();
+        VaultSecretKeyService service = new VaultSecretKeyService(vaultKeys(reportSignKey, jwtSignKey), TRUST_STORE, TRUST_STORE_PASSWORD);
+
+        // When
+        boolean rotated = service.refresh(vaultKeys(reportSignKey, jwtSignKey), publicKeys -> { });
+
+        // Then
+        assertThat(rotated).isFalse();
+    }
+
+    static VaultKeys vaultKeys(RsaJsonWebKey reportSignKey, RsaJsonWebKey jwtSignKey) {
+        VaultKeys vaultKeys = mock(VaultKeys.class, RETURNS_DEEP_STUBS);
+        given(vaultKeys.getPrivateKey(SIGNING_VAULT_KEY_NAME).getKey()).willReturn(SIGNING_KEY);
+        given(vaultKeys.getJsonWebKey(REPORT_SIGN_PRIVATE_KEY)).willReturn(reportSignKey);
+        given(vaultKeys.getJsonWebKey(JWT_SIGNING_VAULT_KEY_NAME)).willReturn(jwtSignKey);
+        given(vaultKeys.getSymmetricKey(JWT_ENCRYPTION_VAULT_KEY_NAME).getKey())
+                .willReturn(new SecretKeySpec(new byte[32], "AES"));
+        given(vaultKeys.getPassword(ESTIMATE_API_USER).getEncoded()).willReturn("user".getBytes(StandardCharsets.UTF_8));
+        given(vaultKeys.getPassword(ESTIMATE_API_PASSWORD).getEncoded()).willReturn("password".getBytes(StandardCharsets.UTF_8));
+        return vaultKeys;
+    }
+
+    static RsaJsonWebKey rsaJsonWebKey() {
+        try {
+            RsaJsonWebKey jsonWebKey = RsaJwkGenerator.generateJwk(2048);
+            jsonWebKey.setKeyId(UUID.randomUUID().toString());
+            return jsonWebKey;
+        } catch (JoseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
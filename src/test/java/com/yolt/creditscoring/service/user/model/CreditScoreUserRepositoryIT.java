@@ -0,0 +1,240 @@
+package com.yolt.creditscoring.service.user.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ADMIN_EMAIL;
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ID;
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Runs the set-based updates of the invitation sweeper against a Postgres container of its own, so the locking of
+ * {@code FOR UPDATE SKIP LOCKED} is real and no users of other tests are swept.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CreditScoreUserRepositoryIT {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2021-06-01T12:00:00Z");
+    private static final OffsetDateTime INVITED_BEFORE = NOW.minusHours(72);
+    private static final OffsetDateTime ABANDONED_BEFORE = NOW.minusDays(7);
+    private static final Duration REMOVAL_LEASE = Duration.ofHours(1);
+
+    private static final GenericContainer<?> postgres = new GenericContainer<>("postgres:13-alpine")
+            .withEnv("POSTGRES_USER", "runner")
+            .withEnv("POSTGRES_PASSWORD", "runner")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    @Autowired
+    private CreditScoreUserRepository creditScoreUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        postgres.start();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://%s:%d/runner".formatted(postgres.getHost(), postgres.getMappedPort(5432)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        creditScoreUserRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExpireOverdueInvitationsAndAbandonedFlows() {
+        // Given
+        CreditScoreUser unusedInvitation = save(user(InvitationStatus.INVITED, NOW.minusDays(4)));
+        CreditScoreUser abandonedAfterConsent = save(user(InvitationStatus.INVITED, NOW.minusDays(10))
+                .setConsent(true)
+                .setDateTimeConsent(NOW.minusDays(8)));
+        CreditScoreUser abandonedAccountSelection = save(user(InvitationStatus.ACCOUNT_SELECTED, NOW.minusDays(10))
+                .setConsent(true)
+                .setDateTimeConsent(NOW.minusDays(9))
+                .setDateTimeStatusChange(NOW.minusDays(8)));
+        CreditScoreUser recentInvitation = save(user(InvitationStatus.INVITED, NOW.minusDays(2)));
+        CreditScoreUser recentConsent = save(user(InvitationStatus.INVITED, NOW.minusDays(10))
+                .setConsent(true)
+                .setDateTimeConsent(NOW.minusDays(1)));
+        CreditScoreUser recentAccountSelection = save(user(InvitationStatus.ACCOUNT_SELECTED, NOW.minusDays(10))
+                .setConsent(true)
+                .setDateTimeConsent(NOW.minusDays(9))
+                .setDateTimeStatusChange(NOW.minusDays(1)));
+        CreditScoreUser completed = save(user(InvitationStatus.COMPLETED, NOW.minusDays(30)));
+
+        // When
+        List<SweptCreditScoreUser> expired = inTransaction(() ->
+                creditScoreUserRepository.expireOverdueInvitations(INVITED_BEFORE, ABANDONED_BEFORE, NOW, 100));
+
+        // Then
+        then(expired).extracting(SweptCreditScoreUser::getId)
+                .containsExactlyInAnyOrder(unusedInvitation.getId(), abandonedAfterConsent.getId(), abandonedAccountSelection.getId());
+        then(expired).allSatisfy(user -> then(user.getClientId()).isEqualTo(SOME_CLIENT_ID));
+        then(creditScoreUserRepository.findById(unusedInvitation.getId())).hasValueSatisfying(user -> {
+            then(user.getStatus()).isEqualTo(InvitationStatus.EXPIRED);
+            then(user.getDateTimeStatusChange()).isAtSameInstantAs(NOW);
+        });
+        then(status(recentInvitation)).isEqualTo(InvitationStatus.INVITED);
+        then(status(recentConsent)).isEqualTo(InvitationStatus.INVITED);
+        then(status(recentAccountSelection)).isEqualTo(InvitationStatus.ACCOUNT_SELECTED);
+        then(status(completed)).isEqualTo(InvitationStatus.COMPLETED);
+        then(creditScoreUserRepository.countOverdueInvitations(INVITED_BEFORE, ABANDONED_BEFORE)).isZero();
+    }
+
+    @Test
+    void shouldExpireAtMostLimit() {
+        // Given
+        IntStream.range(0, 3).forEach(i -> save(user(InvitationStatus.INVITED, NOW.minusDays(4))));
+
+        // When
+        List<SweptCreditScoreUser> expired = inTransaction(() ->
+                creditScoreUserRepository.expireOverdueInvitations(INVITED_BEFORE, ABANDONED_BEFORE, NOW, 2));
+
+        // Then
+        then(expired).hasSize(2);
+        then(creditScoreUserRepository.countOverdueInvitations(INVITED_BEFORE, ABANDONED_BEFORE)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldClaimExpiredUsersWithYoltUserAgainOnlyAfterLease() {
+        // Given
+        CreditScoreUser withYoltUser = save(user(InvitationStatus.EXPIRED, NOW.minusDays(4)).setYoltUserId(UUID.randomUUID()));
+        save(user(InvitationStatus.EXPIRED, NOW.minusDays(4)));
+        save(user(InvitationStatus.ACCOUNT_SELECTED, NOW.minusDays(4)).setYoltUserId(UUID.randomUUID()));
+        OffsetDateTime afterLease = NOW.plus(REMOVAL_LEASE).plusMinutes(1);
+
+        // When
+        List<SweptCreditScoreUser> claimed = claim(NOW, 100);
+        List<SweptCreditScoreUser> claimedWithinLease = claim(NOW.plusMinutes(30), 100);
+        List<SweptCreditScoreUser> claimedAfterLease = claim(afterLease, 100);
+
+        // Then
+        then(claimed).extracting(SweptCreditScoreUser::getId).containsExactly(withYoltUser.getId());
+        then(claimed).extracting(SweptCreditScoreUser::getYoltUserId).containsExactly(withYoltUser.getYoltUserId());
+        then(claimedWithinLease).isEmpty();
+        then(claimedAfterLease).extracting(SweptCreditScoreUser::getId).containsExactly(withYoltUser.getId());
+        then(creditScoreUserRepository.findById(withYoltUser.getId()))
+                .hasValueSatisfying(user -> then(user.getYoltUserRemovalTime()).isAtSameInstantAs(afterLease));
+        then(creditScoreUserRepository.countYoltUsersToRemove(afterLease.minus(REMOVAL_LEASE))).isZero();
+    }
+
+    @Test
+    void shouldNotClaimUsersLockedByConcurrentClaimer() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(i -> save(user(InvitationStatus.EXPIRED, NOW.minusDays(4)).setYoltUserId(UUID.randomUUID())));
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondClaimed = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<List<SweptCreditScoreUser>> first = CompletableFuture.supplyAsync(() -> inTransaction(() -> {
+            List<SweptCreditScoreUser> claimed = creditScoreUserRepository.claimYoltUsersToRemove(NOW.minus(REMOVAL_LEASE), NOW, 4);
+            firstClaimed.countDown();
+            await(secondClaimed);
+            return claimed;
+        }));
+        await(firstClaimed);
+        List<SweptCreditScoreUser> second = claim(NOW, 100);
+        secondClaimed.countDown();
+
+        // Then
+        List<SweptCreditScoreUser> firstResult = first.get(10, TimeUnit.SECONDS);
+        then(firstResult).hasSize(4);
+        then(second).hasSize(6);
+        Set<UUID> claimedIds = new HashSet<>();
+        firstResult.forEach(user -> claimedIds.add(user.getId()));
+        second.forEach(user -> claimedIds.add(user.getId()));
+        then(claimedIds).hasSize(10);
+    }
+
+    @Test
+    void shouldNotExpireUsersLockedByConcurrentSweeper() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(i -> save(user(InvitationStatus.INVITED, NOW.minusDays(4))));
+        CountDownLatch firstExpired = new CountDownLatch(1);
+        CountDownLatch secondExpired = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<List<SweptCreditScoreUser>> first = CompletableFuture.supplyAsync(() -> inTransaction(() -> {
+            List<SweptCreditScoreUser> expired = creditScoreUserRepository.expireOverdueInvitations(INVITED_BEFORE, ABANDONED_BEFORE, NOW, 7);
+            firstExpired.countDown();
+            await(secondExpired);
+            return expired;
+        }));
+        await(firstExpired);
+        List<SweptCreditScoreUser> second = inTransaction(() ->
+                creditScoreUserRepository.expireOverdueInvitations(INVITED_BEFORE, ABANDONED_BEFORE, NOW, 100));
+        secondExpired.countDown();
+
+        // Then
+        then(first.get(10, TimeUnit.SECONDS)).hasSize(7);
+        then(second).hasSize(3);
+        then(creditScoreUserRepository.countOverdueInvitations(INVITED_BEFORE, ABANDONED_BEFORE)).isZero();
+    }
+
+    private List<SweptCreditScoreUser> claim(OffsetDateTime now, int limit) {
+        return inTransaction(() -> creditScoreUserRepository.claimYoltUsersToRemove(now.minus(REMOVAL_LEASE), now, limit));
+    }
+
+    private InvitationStatus status(CreditScoreUser user) {
+        return creditScoreUserRepository.findById(user.getId()).map(CreditScoreUser::getStatus).orElseThrow();
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private CreditScoreUser save(CreditScoreUser user) {
+        return creditScoreUserRepository.save(user);
+    }
+
+    private static CreditScoreUser user(InvitationStatus status, OffsetDateTime invited) {
+        UUID id = UUID.randomUUID();
+        return new CreditScoreUser()
+                .setId(id)
+                .setName("Some User")
+                .setEmail("some.user@example.com")
+                .setClientId(SOME_CLIENT_ID)
+                .setAdminEmail(SOME_CLIENT_ADMIN_EMAIL)
+                .setStatus(status)
+                .setDateTimeInvited(invited)
+                .setInvitationHash(id.toString());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Concurrent transaction did not continue in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
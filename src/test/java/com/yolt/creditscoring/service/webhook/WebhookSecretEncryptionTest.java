@@ -0,0 +1,66 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.yolt.creditscoring.exception.EncryptionException;
+import com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookSecretEncryptionTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Mock
+    private VaultSecretKeyService vaultSecretKeyService;
+
+    @InjectMocks
+    private WebhookSecretEncryption webhookSecretEncryption;
+
+    @BeforeEach
+    void setUp() {
+        given(vaultSecretKeyService.getJwtEncryptionKey()).willReturn(new SecretKeySpec(new byte[32], "AES"));
+    }
+
+    @Test
+    void shouldDecryptEncryptedSecret() {
+        // When
+        String encrypted = webhookSecretEncryption.encrypt(SECRET);
+
+        // Then
+        then(encrypted).doesNotContain(SECRET);
+        then(webhookSecretEncryption.decrypt(encrypted)).isEqualTo(SECRET);
+    }
+
+    @Test
+    void shouldEncryptSameSecretDifferentlyEveryTime() {
+        // When
+        String first = webhookSecretEncryption.encrypt(SECRET);
+        String second = webhookSecretEncryption.encrypt(SECRET);
+
+        // Then
+        then(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void shouldNotDecryptTamperedSecret() {
+        // Given
+        String encrypted = webhookSecretEncryption.encrypt(SECRET);
+        String tampered = encrypted.substring(0, encrypted.length() - 1) + (encrypted.endsWith("A") ? "B" : "A");
+
+        // When
+        Throwable thrown = catchThrowable(() -> webhookSecretEncryption.decrypt(tampered));
+
+        // Then
+        then(thrown).isInstanceOf(EncryptionException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.yolt.creditscoring.service.webhook;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.yolt.creditscoring.IntegrationTest;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
+import com.yolt.creditscoring.service.webhook.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ID;
+import static com.yolt.creditscoring.TestUtils.SOME_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "yolt.creditScoreExecutor.async=false",})
+class WebhookServiceIT {
+
+    private static final String WEBHOOK_PATH = "/client/webhook";
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Value("${wiremock.server.port}")
+    private int wiremockPort;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private ClientWebhookRepository clientWebhookRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private WebhookSecretEncryption webhookSecretEncryption;
+
+    @BeforeEach
+    void setUp() {
+        clientWebhookRepository.save(ClientWebhookEntity.builder()
+                .clientId(SOME_CLIENT_ID)
+                .url("http://localhost:" + wiremockPort + WEBHOOK_PATH)
+                .secret(webhookSecretEncryption.encrypt(SECRET))
+                .secretEncrypted(true)
+                .enabled(true)
+                .createdAdminEmail("admin@example.com")
+                .createdDate(OffsetDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        webhookDeliveryRepository.deleteAll();
+        clientWebhookRepository.deleteAll();
+        WireMock.resetAllRequests();
+    }
+
+    @Test
+    void shouldDeliverSignedEvent() {
+        // Given
+        stubFor(post(urlEqualTo(WEBHOOK_PATH)).willReturn(aResponse().withStatus(204)));
+        webhookService.enqueue(SOME_CLIENT_ID, SOME_USER_ID, WebhookEventType.REPORT_COMPLETED, InvitationStatus.COMPLETED);
+
+        // When
+        int submitted = webhookService.processPendingDeliveries();
+
+        // Then
+        assertThat(submitted).isEqualTo(1);
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlEqualTo(WEBHOOK_PATH)));
+        assertThat(requests).hasSize(1);
+        LoggedRequest request = requests.get(0);
+        String body = request.getBodyAsString();
+        long timestamp = Long.parseLong(request.getHeader(WebhookSignature.TIMESTAMP_HEADER));
+        assertThat(request.getHeader(WebhookSignature.SIGNATURE_HEADER)).isEqualTo(WebhookSignature.sign(SECRET, timestamp, body));
+        assertThat(body).contains("\"type\":\"REPORT_COMPLETED\"", "\"creditScoreUserId\":\"" + SOME_USER_ID + "\"");
+
+        assertThat(webhookDeliveryRepository.findAll()).singleElement().satisfies(delivery -> {
+            assertThat(delivery.getId().toString()).isEqualTo(request.getHeader(WebhookSignature.DELIVERY_ID_HEADER));
+            assertThat(delivery.getStatus()).isEqualTo(WebhookDeliveryStatus.DELIVERED);
+            assertThat(delivery.getAttempts()).isEqualTo(1);
+            assertThat(delivery.getLastResponseStatus()).isEqualTo(204);
+            assertThat(delivery.getNextAttemptTime()).isNull();
+        });
+    }
+
+    @Test
+    void shouldScheduleRetryWhenClientEndpointFails() {
+        // Given
+        stubFor(post(urlEqualTo(WEBHOOK_PATH)).willReturn(aResponse().withStatus(503)));
+        webhookService.enqueue(SOME_CLIENT_ID, SOME_USER_ID, WebhookEventType.REPORT_FAILED, InvitationStatus.CALCULATION_ERROR);
+
+        // When
+        webhookService.processPendingDeliveries();
+
+        // Then
+        assertThat(webhookDeliveryRepository.findAll()).singleElement().satisfies(delivery -> {
+            assertThat(delivery.getStatus()).isEqualTo(WebhookDeliveryStatus.PENDING);
+            assertThat(delivery.getAttempts()).isEqualTo(1);
+            assertThat(delivery.getLastResponseStatus()).isEqualTo(503);
+            assertThat(delivery.getNextAttemptTime()).isAfter(delivery.getLastAttemptTime());
+        });
+        // Not due yet, so the delivery is not sent again
+        assertThat(webhookService.processPendingDeliveries()).isZero();
+    }
+
+    @Test
+    void shouldEncryptPlainSecretAndKeepSigningWithIt() {
+        // Given
+        ClientWebhookEntity plainSecretWebhook = clientWebhookRepository.findById(SOME_CLIENT_ID).orElseThrow();
+        plainSecretWebhook.setSecret(SECRET);
+        plainSecretWebhook.setSecretEncrypted(false);
+        clientWebhookRepository.save(plainSecretWebhook);
+        stubFor(post(urlEqualTo(WEBHOOK_PATH)).willReturn(aResponse().withStatus(204)));
+
+        // When
+        webhookService.encryptPlainSecrets();
+        webhookService.enqueue(SOME_CLIENT_ID, SOME_USER_ID, WebhookEventType.REPORT_COMPLETED, InvitationStatus.COMPLETED);
+        webhookService.processPendingDeliveries();
+
+        // Then
+        ClientWebhookEntity webhook = clientWebhookRepository.findById(SOME_CLIENT_ID).orElseThrow();
+        assertThat(webhook.isSecretEncrypted()).isTrue();
+        assertThat(webhook.getSecret()).isNotEqualTo(SECRET);
+        assertThat(webhookSecretEncryption.decrypt(webhook.getSecret())).isEqualTo(SECRET);
+        LoggedRequest request = findAll(postRequestedFor(urlEqualTo(WEBHOOK_PATH))).get(0);
+        long timestamp = Long.parseLong(request.getHeader(WebhookSignature.TIMESTAMP_HEADER));
+        assertThat(request.getHeader(WebhookSignature.SIGNATURE_HEADER)).isEqualTo(WebhookSignature.sign(SECRET, timestamp, request.getBodyAsString()));
+    }
+
+    @Test
+    void shouldNotStoreEventWithoutWebhook() {
+        // Given
+        clientWebhookRepository.deleteAll();
+
+        // When
+        webhookService.enqueue(SOME_CLIENT_ID, SOME_USER_ID, WebhookEventType.INVITATION_EXPIRED, InvitationStatus.EXPIRED);
+
+        // Then
+        assertThat(webhookDeliveryRepository.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package com.yolt.creditscoring.service.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookSignatureTest {
+
+    @Test
+    void shouldSignTimestampAndPayloadWithHmacSha256() {
+        // When
+        String signature = WebhookSignature.sign("key", 1600000000L, "{\"a\":1}");
+
+        // Then
+        // echo -n '1600000000.{"a":1}' | openssl dgst -sha256 -hmac key
+        assertThat(signature).isEqualTo("v1=31809093a123d444a3d7bb59940aa11befe074187e492b896741dd33282e2daa");
+    }
+
+    @Test
+    void shouldChangeSignatureWhenTimestampChanges() {
+        // When
+        String first = WebhookSignature.sign("key", 1600000000L, "{}");
+        String second = WebhookSignature.sign("key", 1600000001L, "{}");
+
+        // Then
+        assertThat(first).isNotEqualTo(second);
+    }
+}
@@ -0,0 +1,114 @@
+package com.yolt.creditscoring.service.yoltapi.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yolt.creditscoring.service.yoltapi.http.model.CompactTransactionsPage;
+import com.yolt.creditscoring.service.yoltapi.http.model.TransactionsPageDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the bytes allocated per transaction by the streaming decoder with the former DTO mapping
+ * (response body to String, String to {@link TransactionsPageDTO}).
+ * Run with {@code mvn test -Dtest=TransactionsPageDecoderBenchmark -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionsPageDecoderBenchmark {
+
+    private static final int TRANSACTIONS_PER_PAGE = 1_000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 500;
+
+    private final ObjectMapper mapper = YoltHttpClient.objectMapper();
+
+    @Test
+    void compareAllocatedBytesPerTransaction() throws Exception {
+        byte[] page = transactionsPage();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            decodeDto(page);
+            decodeCompact(page);
+        }
+
+        long dtoBytes = allocatedBytes(() -> decodeDto(page));
+        long compactBytes = allocatedBytes(() -> decodeCompact(page));
+
+        double dtoPerTransaction = (double) dtoBytes / ITERATIONS / TRANSACTIONS_PER_PAGE;
+        double compactPerTransaction = (double) compactBytes / ITERATIONS / TRANSACTIONS_PER_PAGE;
+        log.info("Page of {} bytes, DTO path: {} bytes/transaction, streaming decoder: {} bytes/transaction",
+                page.length, String.format("%.0f", dtoPerTransaction), String.format("%.0f", compactPerTransaction));
+
+        assertThat(compactPerTransaction).isLessThan(dtoPerTransaction);
+    }
+
+    private void decodeDto(byte[] page) throws Exception {
+        TransactionsPageDTO dto = mapper.readValue(new String(page, StandardCharsets.UTF_8), TransactionsPageDTO.class);
+        assertThat(dto.getTransactions()).hasSize(TRANSACTIONS_PER_PAGE);
+    }
+
+    private void decodeCompact(byte[] page) {
+        CompactTransactionsPage compact = TransactionsPageDecoder.decode(page);
+        assertThat(compact.transactions()).hasSize(TRANSACTIONS_PER_PAGE);
+    }
+
+    private long allocatedBytes(Decoding decoding) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            decoding.run();
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /**
+     * A page shaped like the Yolt API response, including the fields the calculation does not use.
+     */
+    private byte[] transactionsPage() throws Exception {
+        ObjectNode page = mapper.createObjectNode();
+        page.put("next", UUID.randomUUID().toString());
+        ArrayNode transactions = page.putArray("transactions");
+        for (int i = 0; i < TRANSACTIONS_PER_PAGE; i++) {
+            ObjectNode transaction = transactions.addObject();
+            transaction.put("id", UUID.randomUUID().toString());
+            transaction.put("externalId", UUID.randomUUID().toString());
+            transaction.put("accountId", UUID.randomUUID().toString());
+            transaction.put("status", "BOOKED");
+            transaction.put("date", "2020-11-27");
+            transaction.put("timestamp", "2020-11-27T13:53:00Z");
+            transaction.put("bookingDate", "2020-11-27");
+            transaction.put("amount", -1520.01 + i);
+            transaction.put("currency", "EUR");
+            transaction.put("description", "Molton Brown payment " + i);
+            transaction.putObject("creditor").putObject("accountReferences").put("iban", "NL48INGB1234567890");
+            ObjectNode exchangeRate = transaction.putObject("exchangeRate");
+            exchangeRate.put("currencyFrom", "USD");
+            exchangeRate.put("currencyTo", "EUR");
+            exchangeRate.put("rate", 0.9813013732433318);
+            ObjectNode originalAmount = transaction.putObject("originalAmount");
+            originalAmount.put("amount", 149.17);
+            originalAmount.put("currency", "USD");
+            ObjectNode enrichment = transaction.putObject("enrichment");
+            enrichment.put("category", "Shopping");
+            enrichment.put("categorySME", "Other Expenses");
+            enrichment.put("cycleId", UUID.randomUUID().toString());
+            enrichment.putObject("merchant").put("name", "Molton Brown");
+            transaction.put("lastUpdatedTime", "2020-12-21T08:57:52.734Z");
+        }
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @FunctionalInterface
+    private interface Decoding {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,130 @@
+package com.yolt.creditscoring.service.yoltapi.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yolt.creditscoring.service.yoltapi.exception.FetchDataException;
+import com.yolt.creditscoring.service.yoltapi.http.model.CompactTransaction;
+import com.yolt.creditscoring.service.yoltapi.http.model.CompactTransactionsPage;
+import com.yolt.creditscoring.service.yoltapi.http.model.TransactionDTO;
+import com.yolt.creditscoring.service.yoltapi.http.model.TransactionsPageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class TransactionsPageDecoderTest {
+
+    private static final ObjectMapper MAPPER = YoltHttpClient.objectMapper();
+    private static final DefaultDataBufferFactory BUFFER_FACTORY = new DefaultDataBufferFactory();
+
+    @Test
+    void shouldDecodeTheSameValuesAsTheDtoMapping() throws Exception {
+        // Given
+        byte[] body = responseBody("src/test/resources/mappings/transactions.json");
+        TransactionsPageDTO expected = MAPPER.readValue(body, TransactionsPageDTO.class);
+
+        // When
+        CompactTransactionsPage result = TransactionsPageDecoder.decode(body);
+
+        // Then
+        assertThat(result.next()).isEqualTo(expected.getNext());
+        assertThat(result.transactions()).hasSameSizeAs(expected.getTransactions());
+        for (int i = 0; i < expected.getTransactions().size(); i++) {
+            TransactionDTO dto = expected.getTransactions().get(i);
+            CompactTransaction transaction = result.transactions().get(i);
+            assertThat(transaction.amount()).isEqualTo(dto.getAmount());
+            assertThat(transaction.currency()).isEqualTo(dto.getCurrency().name());
+            assertThat(transaction.date()).isEqualTo(dto.getBookingDate() != null ? dto.getBookingDate() : dto.getDate());
+            assertThat(transaction.categorySME()).isEqualTo(dto.getEnrichment() == null ? null : dto.getEnrichment().getCategorySME());
+            assertThat(transaction.cycleId()).isEqualTo(dto.getEnrichment() == null ? null : dto.getEnrichment().getCycleId());
+        }
+    }
+
+    @Test
+    void shouldFallbackToDateAndSkipUnusedFields() throws Exception {
+        // Given
+        String body = """
+                {
+                  "next": "page-2",
+                  "transactions": [
+                    {
+                      "id": "ddf1498c-a747-4c47-ab10-e8087f6aa1f2",
+                      "date": "2020-11-27",
+                      "bookingDate": null,
+                      "amount": -1520.01,
+                      "currency": "EUR",
+                      "creditor": { "accountReferences": { "iban": "NL48INGB1234567890" } },
+                      "remittanceInformation": [ "a", { "b": [1, 2] } ],
+                      "enrichment": {
+                        "merchant": { "name": "Molton Brown" },
+                        "categorySME": "Rent",
+                        "cycleId": "157a260e-c937-4b7c-aad0-b3667762d399"
+                      }
+                    }
+                  ]
+                }
+                """;
+
+        // When
+        CompactTransactionsPage result = TransactionsPageDecoder.decode(body.getBytes());
+
+        // Then
+        assertThat(result.next()).isEqualTo("page-2");
+        assertThat(result.transactions()).containsExactly(new CompactTransaction(
+                new BigDecimal("-1520.01"),
+                "EUR",
+                LocalDate.of(2020, 11, 27),
+                "Rent",
+                UUID.fromString("157a260e-c937-4b7c-aad0-b3667762d399")));
+    }
+
+    @Test
+    void shouldDecodePageSplitIntoBuffersWithinTokens() throws Exception {
+        // Given
+        byte[] body = responseBody("src/test/resources/mappings/transactions.json");
+        CompactTransactionsPage expected = TransactionsPageDecoder.decode(body);
+        TransactionsPageDecoder decoder = new TransactionsPageDecoder();
+
+        // When
+        for (int from = 0; from < body.length; from += 7) {
+            decoder.feed(BUFFER_FACTORY.wrap(Arrays.copyOfRange(body, from, Math.min(from + 7, body.length))));
+        }
+        CompactTransactionsPage result = decoder.finish();
+
+        // Then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldRejectTruncatedPage() throws Exception {
+        // Given
+        byte[] body = responseBody("src/test/resources/mappings/transactions.json");
+        TransactionsPageDecoder decoder = new TransactionsPageDecoder();
+        decoder.feed(BUFFER_FACTORY.wrap(Arrays.copyOf(body, body.length / 2)));
+
+        // When
+        Throwable thrown = catchThrowable(decoder::finish);
+
+        // Then
+        assertThat(thrown).isInstanceOf(FetchDataException.class);
+    }
+
+    @Test
+    void shouldRejectNonObjectResponse() {
+        assertThatThrownBy(() -> TransactionsPageDecoder.decode("[]".getBytes()))
+                .isInstanceOf(FetchDataException.class);
+    }
+
+    static byte[] responseBody(String wiremockMapping) throws Exception {
+        JsonNode mapping = MAPPER.readTree(new File(wiremockMapping));
+        return MAPPER.writeValueAsBytes(mapping.path("response").path("jsonBody"));
+    }
+}
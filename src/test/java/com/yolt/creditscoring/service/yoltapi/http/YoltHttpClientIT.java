@@ -4,7 +4,10 @@ import com.yolt.creditscoring.IntegrationTest;
 import com.yolt.creditscoring.service.securitymodule.vault.VaultSecretKeyService;
 import com.yolt.creditscoring.service.yoltapi.configuration.YoltApiProperties;
 import com.yolt.creditscoring.service.yoltapi.http.model.AccessTokenResponse;
+import com.yolt.creditscoring.service.yoltapi.exception.FetchDataException;
 import com.yolt.creditscoring.service.yoltapi.webclient.ClientAuthenticationMeans;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.jose4j.lang.JoseException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +15,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.io.IOException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @IntegrationTest
 class YoltHttpClientIT {
@@ -27,6 +32,9 @@ class YoltHttpClientIT {
     @Autowired
     YoltHttpClient yoltHttpClient;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     void shouldGetAccessToken() throws JoseException, NoSuchAlgorithmException, KeyStoreException, IOException {
         // Given
@@ -49,4 +57,42 @@ class YoltHttpClientIT {
         expectedToken.setTokenType("Bearer");
         assertThat(accessToken).isEqualTo(expectedToken);
     }
+
+    @Test
+    void shouldRecordRequestDurationTaggedByEndpoint() throws JoseException {
+        // Given
+        ClientAuthenticationMeans authenticationMean = ClientAuthenticationMeans.builder()
+                .clientId(yoltApiProperties.getClientId())
+                .requestTokenPublicKeyId(yoltApiProperties.getRequestTokenPublicKeyId())
+                .redirectUrlId(yoltApiProperties.getRedirectUrlId())
+                .signingPrivateKey(secretKeyService.getSigningPrivateKey())
+                .accessToken("Invalid token")
+                .build();
+
+        // When
+        yoltHttpClient.getAccessToken(authenticationMean);
+
+        // Then
+        Timer timer = meterRegistry.find("yolt_api_requests")
+                .tags("endpoint", "token", "status", "200")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isPositive();
+    }
+
+    @Test
+    void shouldMapErrorResponseToFetchDataException() {
+        // Given
+        ClientAuthenticationMeans authenticationMean = ClientAuthenticationMeans.builder()
+                .clientId(yoltApiProperties.getClientId())
+                .requestTokenPublicKeyId(yoltApiProperties.getRequestTokenPublicKeyId())
+                .redirectUrlId(yoltApiProperties.getRedirectUrlId())
+                .signingPrivateKey(secretKeyService.getSigningPrivateKey())
+                .accessToken("Invalid token")
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> yoltHttpClient.accounts(authenticationMean, UUID.randomUUID()))
+                .isInstanceOf(FetchDataException.class);
+    }
 }
@@ -4,6 +4,10 @@ import lombok.Data;
 
 import java.util.List;
 
+/**
+ * Full mapping of the transactions page, the reference which {@link com.yolt.creditscoring.service.yoltapi.http.TransactionsPageDecoder}
+ * is compared with.
+ */
 @Data
 public class TransactionsPageDTO {
 
@@ -0,0 +1,210 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.service.audit.AdminAuditService;
+import com.yolt.creditscoring.service.client.ClientStorageService;
+import com.yolt.creditscoring.service.creditscore.category.CategoryService;
+import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.BankAccountDetailsDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.CreditScoreReportSnapshotDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.SignedCreditScoreMonthsDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.TogglesDTO;
+import com.yolt.creditscoring.service.estimate.storage.EstimateStorageService;
+import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.usecase.dto.AllInOneReportDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ID;
+import static com.yolt.creditscoring.TestUtils.SOME_FIXED_TEST_DATE;
+import static com.yolt.creditscoring.TestUtils.SOME_USER_ID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AllInOneReportUseCaseTest {
+
+    private static final int POOL_SIZE = 2;
+    private static final int CONCURRENT_REQUESTS = 10;
+    private static final UUID REPORT_ID = UUID.fromString("b3c1f0a2-0000-4000-8000-000000000001");
+
+    @Mock
+    private UserStorageService userStorageService;
+
+    @Mock
+    private ClientStorageService clientService;
+
+    @Mock
+    private CreditScoreStorageService creditScoreStorageService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private RecurringTransactionsStorageService recurringTransactionsStorageService;
+
+    @Mock
+    private EstimateStorageService estimateStorageService;
+
+    @Mock
+    private ReportOverviewUseCase reportOverviewUseCase;
+
+    @Mock
+    private ReportMonthsUseCase reportMonthsUseCase;
+
+    @Mock
+    private EstimateReportUseCase estimateReportUseCase;
+
+    @Mock
+    private AdminAuditService adminAuditService;
+
+    private final ConnectionPoolTransactionManager transactionManager = new ConnectionPoolTransactionManager(POOL_SIZE);
+    private ThreadPoolTaskExecutor reportAssemblyExecutor;
+    private ExecutorService requests;
+    private AllInOneReportUseCase allInOneReportUseCase;
+
+    @BeforeEach
+    void setUp() {
+        reportAssemblyExecutor = new ThreadPoolTaskExecutor();
+        reportAssemblyExecutor.setCorePoolSize(8);
+        reportAssemblyExecutor.setMaxPoolSize(8);
+        reportAssemblyExecutor.setQueueCapacity(0);
+        reportAssemblyExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        reportAssemblyExecutor.initialize();
+        requests = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        allInOneReportUseCase = new AllInOneReportUseCase(userStorageService, clientService, creditScoreStorageService,
+                categoryService, recurringTransactionsStorageService, estimateStorageService, reportOverviewUseCase,
+                reportMonthsUseCase, estimateReportUseCase, adminAuditService, reportAssemblyExecutor, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requests.shutdownNow();
+        reportAssemblyExecutor.shutdown();
+    }
+
+    @Test
+    void shouldAssembleReportsForMoreConcurrentRequestsThanPooledConnections() throws Exception {
+        // Given
+        CreditScoreUserDTO user = CreditScoreUserDTO.builder()
+                .id(SOME_USER_ID)
+                .clientId(SOME_CLIENT_ID)
+                .build();
+        CreditScoreReportSnapshotDTO report = CreditScoreReportSnapshotDTO.builder()
+                .reportId(REPORT_ID)
+                .bankAccountDetails(BankAccountDetailsDTO.builder()
+                        .lastDataFetchTime(SOME_FIXED_TEST_DATE)
+                        .build())
+                .signedMonths(SignedCreditScoreMonthsDTO.builder()
+                        .months(Set.of())
+                        .build())
+                .build();
+        given(userStorageService.findById(SOME_USER_ID)).willReturn(user);
+        given(clientService.getFeatureToggles(SOME_CLIENT_ID)).willReturn(TogglesDTO.builder()
+                .overviewFeatureToggle(true)
+                .categoryFeatureToggle(true)
+                .estimateFeatureToggle(true)
+                .build());
+        given(creditScoreStorageService.getCreditScoreReportSnapshot(user)).willReturn(report);
+        given(categoryService.getCategoriesForUser(any(), any(), any())).willAnswer(invocation -> {
+            Thread.sleep(20);
+            return Map.of();
+        });
+        given(recurringTransactionsStorageService.getMonthlyRecurringTransactionsReportSaveDTOs(REPORT_ID)).willAnswer(invocation -> {
+            Thread.sleep(20);
+            return List.of();
+        });
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<CompletableFuture<AllInOneReportDTO>> reports = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            reports.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return allInOneReportUseCase.getAllInOneReport(SOME_USER_ID, SOME_CLIENT_ID);
+            }, requests));
+        }
+        start.countDown();
+        CompletableFuture.allOf(reports.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        // Then
+        then(reports).allSatisfy(future -> then(future.join().getCategories()).isEmpty());
+        then(transactionManager.maxConnectionsPerThread.get()).isEqualTo(1);
+        then(transactionManager.connections.availablePermits()).isEqualTo(POOL_SIZE);
+    }
+
+    /**
+     * Hands out a connection for every transaction and fails like Hikari when none becomes available in time.
+     */
+    private static class ConnectionPoolTransactionManager implements PlatformTransactionManager {
+
+        private final Semaphore connections;
+        private final ThreadLocal<Integer> connectionsOfThread = ThreadLocal.withInitial(() -> 0);
+        private final AtomicInteger maxConnectionsPerThread = new AtomicInteger();
+
+        ConnectionPoolTransactionManager(int poolSize) {
+            this.connections = new Semaphore(poolSize);
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            try {
+                if (!connections.tryAcquire(5, TimeUnit.SECONDS)) {
+                    throw new CannotCreateTransactionException("Connection is not available, request timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotCreateTransactionException("Interrupted while waiting for a connection", e);
+            }
+            int held = connectionsOfThread.get() + 1;
+            connectionsOfThread.set(held);
+            maxConnectionsPerThread.accumulateAndGet(held, Math::max);
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            release();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            release();
+        }
+
+        private void release() {
+            connectionsOfThread.set(connectionsOfThread.get() - 1);
+            connections.release();
+        }
+    }
+}
@@ -5,22 +5,22 @@ import com.yolt.creditscoring.service.client.ClientStorageService;
 import com.yolt.creditscoring.service.creditscore.algorithm.CreditScoreAlgorithm;
 import com.yolt.creditscoring.service.creditscore.model.AccountReference;
 import com.yolt.creditscoring.service.creditscore.model.Category;
-import com.yolt.creditscoring.service.creditscore.model.PdStatus;
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.RecurringTransactionsStorageService;
 import com.yolt.creditscoring.service.creditscore.recurringtransactions.TotalRecurringTransactionsAggregator;
 import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyCategoryReportSaveDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.MonthlyReportSaveDTO;
 import com.yolt.creditscoring.service.creditscore.storage.dto.save.ReportSaveDTO;
-import com.yolt.creditscoring.service.estimate.provider.EstimateProvider;
-import com.yolt.creditscoring.service.estimate.provider.dto.ProbabilityOfDefaultStorage;
-import com.yolt.creditscoring.service.estimate.provider.dto.RiskClassification;
-import com.yolt.creditscoring.service.estimate.storage.EstimateStorageService;
+import com.yolt.creditscoring.service.estimate.scoring.EstimateScoringService;
+import com.yolt.creditscoring.service.portfolio.PortfolioStatisticsService;
 import com.yolt.creditscoring.service.securitymodule.signature.ReportSignature;
 import com.yolt.creditscoring.service.securitymodule.signature.SignatureService;
 import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
+import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreTransactionDTO;
@@ -54,7 +54,7 @@ class CalculateCreditScoreUseCaseTest {
     private YoltProvider yoltProvider;
 
     @Mock
-    private EstimateProvider estimateProvider;
+    private EstimateScoringService estimateScoringService;
 
     @Mock
     private CreditScoreStorageService creditScoreStorageService;
@@ -84,7 +84,10 @@ class CalculateCreditScoreUseCaseTest {
     private RecurringTransactionsStorageService cycleTransactionsStorage;
 
     @Mock
-    private EstimateStorageService estimateStorageService;
+    private WebhookService webhookService;
+
+    @Mock
+    private PortfolioStatisticsService portfolioStatisticsService;
 
     @InjectMocks
     private CalculateCreditScoreUseCase creditScoreUseCase;
@@ -93,7 +96,7 @@ class CalculateCreditScoreUseCaseTest {
     void setUp() {
         creditScoreUseCase = new CalculateCreditScoreUseCase(
                 yoltProvider,
-                estimateProvider,
+                estimateScoringService,
                 creditScoreStorageService,
                 userStorageService,
                 creditScoreAlgorithm,
@@ -103,7 +106,8 @@ class CalculateCreditScoreUseCaseTest {
                 userAuditService,
                 totalRecurringTransactionsAggregator,
                 cycleTransactionsStorage,
-                estimateStorageService
+                webhookService,
+                portfolioStatisticsService
         );
     }
 
@@ -152,13 +156,6 @@ class CalculateCreditScoreUseCaseTest {
 
         given(clientService.checkIfClientHasPDFeatureEnabled(SOME_CLIENT_ID)).willReturn(true);
 
-        given(estimateProvider.calculatePDForReport(creditScoreAccountDTO))
-                .willReturn(ProbabilityOfDefaultStorage.builder()
-                        .score(29)
-                        .grade(RiskClassification.G)
-                        .status(PdStatus.COMPLETED)
-                        .build());
-
         given(userStorageService.findById(SOME_USER_ID)).willReturn(
                 CreditScoreUserDTO.builder()
                         .id(SOME_USER_ID)
@@ -174,7 +171,8 @@ class CalculateCreditScoreUseCaseTest {
         // Then
         assertThat(status).isTrue();
         then(yoltProvider).should().removeUser(SOME_YOLT_USER_ID);
-        then(creditScoreStorageService).should().saveCreditScoreReportForGivenUser(creditScoreReportArgumentCaptor.capture(), any(ReportSignature.class), eq(SOME_USER_ID));
+        then(portfolioStatisticsService).should().enqueue(SOME_CLIENT_ID, SOME_USER_ID);
+        then(creditScoreStorageService).should().saveCreditScoreReportForGivenUser(creditScoreReportArgumentCaptor.capture(), any(ReportSignature.class), any(), eq(SOME_USER_ID));
         ReportSaveDTO result = creditScoreReportArgumentCaptor.getValue();
         assertThat(result.getInitialBalance()).isEqualTo(new BigDecimal("5000.00"));
         assertThat(result.getNewestTransactionDate()).isEqualTo(LocalDate.of(2021, 1, 25));
@@ -203,13 +201,8 @@ class CalculateCreditScoreUseCaseTest {
                         )
                 );
         then(userJourneyService).should().registerReportGenerated(eq(SOME_CLIENT_ID), eq(SOME_USER_ID));
-        then(estimateProvider).should().calculatePDForReport(creditScoreAccountDTO);
+        then(estimateScoringService).should().enqueue(SOME_USER_ID, creditScoreAccountDTO);
         then(userStorageService).should().removeYoltUser(SOME_USER_ID);
-        then(estimateStorageService).should().save(eq(SOME_USER_ID), eq(ProbabilityOfDefaultStorage.builder()
-                .score(29)
-                .grade(RiskClassification.G)
-                .status(PdStatus.COMPLETED)
-                .build()));
     }
     @Test
     void calculateCreditReportForGivenAccountPDFeatureToggleOff() {
@@ -271,7 +264,7 @@ class CalculateCreditScoreUseCaseTest {
         // Then
         assertThat(status).isTrue();
         then(yoltProvider).should().removeUser(SOME_YOLT_USER_ID);
-        then(creditScoreStorageService).should().saveCreditScoreReportForGivenUser(creditScoreReportArgumentCaptor.capture(), any(ReportSignature.class), eq(SOME_USER_ID));
+        then(creditScoreStorageService).should().saveCreditScoreReportForGivenUser(creditScoreReportArgumentCaptor.capture(), any(ReportSignature.class), any(), eq(SOME_USER_ID));
         ReportSaveDTO result = creditScoreReportArgumentCaptor.getValue();
         assertThat(result.getInitialBalance()).isEqualTo(new BigDecimal("5000.00"));
         assertThat(result.getNewestTransactionDate()).isEqualTo(LocalDate.of(2021, 1, 25));
@@ -300,10 +293,8 @@ class CalculateCreditScoreUseCaseTest {
                         )
                 );
         then(userJourneyService).should().registerReportGenerated(eq(SOME_CLIENT_ID), eq(SOME_USER_ID));
-        then(estimateProvider).should(never()).calculatePDForReport(any());
         then(userStorageService).should().removeYoltUser(SOME_USER_ID);
-        then(estimateProvider).should(never()).calculatePDForReport(any());
-        then(estimateStorageService).should(never()).save(any(), any());
+        then(estimateScoringService).should(never()).enqueue(any(), any());
     }
 
     @Test
@@ -330,12 +321,14 @@ class CalculateCreditScoreUseCaseTest {
         assertThat(status).isTrue();
         then(yoltProvider).should().removeUser(SOME_YOLT_USER_ID);
         then(userStorageService).should().calculationError(SOME_USER_ID);
+        then(webhookService).should().enqueue(SOME_CLIENT_ID, SOME_USER_ID, WebhookEventType.REPORT_FAILED, InvitationStatus.CALCULATION_ERROR);
         then(userStorageService).should(never()).complete(SOME_USER_ID);
         then(creditScoreStorageService).should(never()).saveCreditScoreReportForGivenUser(
                 any(ReportSaveDTO.class),
                 any(ReportSignature.class),
+                any(),
                 eq(SOME_USER_ID));
-        then(estimateStorageService).should(never()).save(any(), any());
+        then(estimateScoringService).should(never()).enqueue(any(), any());
 
         then(userJourneyService).should(never()).registerReportGenerated(any(), any());
         then(userStorageService).should().removeYoltUser(SOME_USER_ID);
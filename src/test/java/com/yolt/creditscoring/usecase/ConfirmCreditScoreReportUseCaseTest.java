@@ -9,6 +9,7 @@ import com.yolt.creditscoring.service.user.CreditScoreUserDTO;
 import com.yolt.creditscoring.service.user.UserStorageService;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
 import com.yolt.creditscoring.usecase.dto.CreditScoreUserResponseDTO;
@@ -49,6 +50,9 @@ class ConfirmCreditScoreReportUseCaseTest {
     @Mock
     private YoltProvider yoltProvider;
 
+    @Mock
+    private WebhookService webhookService;
+
     private ConfirmCreditScoreReportUseCase confirmCreditScoreReportUseCase;
 
     @BeforeEach
@@ -59,7 +63,8 @@ class ConfirmCreditScoreReportUseCaseTest {
                 clientService,
                 userJourneyService,
                 userAuditService,
-                yoltProvider
+                yoltProvider,
+                webhookService
         );
     }
 
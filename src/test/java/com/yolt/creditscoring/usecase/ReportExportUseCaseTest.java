@@ -0,0 +1,69 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.service.audit.AdminAuditService;
+import com.yolt.creditscoring.service.creditscore.export.ExportedReportDTO;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportCursor;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportFormat;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportService;
+import com.yolt.creditscoring.service.creditscore.export.ReportExportWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ADMIN_EMAIL;
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ADMIN_ID;
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ID;
+import static org.assertj.core.api.BDDAssertions.catchThrowable;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+
+@ExtendWith(MockitoExtension.class)
+class ReportExportUseCaseTest {
+
+    private static final OffsetDateTime FROM = OffsetDateTime.parse("2021-01-01T00:00:00Z");
+    private static final OffsetDateTime UNTIL = OffsetDateTime.parse("2021-02-01T00:00:00Z");
+
+    @Mock
+    private ReportExportService reportExportService;
+
+    @Mock
+    private AdminAuditService adminAuditService;
+
+    @InjectMocks
+    private ReportExportUseCase reportExportUseCase;
+
+    @Test
+    void shouldAuditStartBeforeStreamingAndWrittenReportsWhenExportFails() throws IOException {
+        // Given
+        IOException failure = new IOException("Connection reset by peer");
+        willAnswer(invocation -> {
+            ReportExportWriter writer = invocation.getArgument(2);
+            writer.write(ExportedReportDTO.builder().reportId(UUID.randomUUID()).build());
+            throw failure;
+        }).given(reportExportService).export(eq(SOME_CLIENT_ID), eq(ReportExportCursor.start(FROM, UNTIL)), any());
+        ReportExportUseCase.ReportExport export = reportExportUseCase.exportReports(SOME_CLIENT_ID, SOME_CLIENT_ADMIN_ID,
+                SOME_CLIENT_ADMIN_EMAIL, ReportExportFormat.NDJSON, FROM, UNTIL, null);
+
+        // When
+        Throwable thrown = catchThrowable(() -> export.writeTo(new ByteArrayOutputStream()));
+
+        // Then
+        then(thrown).isSameAs(failure);
+        InOrder inOrder = inOrder(adminAuditService, reportExportService);
+        inOrder.verify(adminAuditService).adminStartedCreditReportsExport(SOME_CLIENT_ID, SOME_CLIENT_ADMIN_ID,
+                SOME_CLIENT_ADMIN_EMAIL, FROM, UNTIL, null);
+        inOrder.verify(reportExportService).export(eq(SOME_CLIENT_ID), eq(ReportExportCursor.start(FROM, UNTIL)), any());
+        inOrder.verify(adminAuditService).adminExportedCreditReports(SOME_CLIENT_ID, SOME_CLIENT_ADMIN_ID, SOME_CLIENT_ADMIN_EMAIL, 1);
+    }
+}
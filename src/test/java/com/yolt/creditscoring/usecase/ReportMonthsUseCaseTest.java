@@ -0,0 +1,116 @@
+package com.yolt.creditscoring.usecase;
+
+import com.yolt.creditscoring.controller.admin.users.Based64;
+import com.yolt.creditscoring.service.client.ClientStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.CreditScoreStorageService;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.SignedCreditScoreMonthsDTO;
+import com.yolt.creditscoring.service.securitymodule.semaevent.InvalidSignatureDTO;
+import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
+import com.yolt.creditscoring.service.securitymodule.signature.SignatureService;
+import com.yolt.creditscoring.service.securitymodule.signature.SignedRow;
+import com.yolt.creditscoring.service.user.UserStorageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.yolt.creditscoring.TestUtils.SOME_CLIENT_ID;
+import static com.yolt.creditscoring.TestUtils.SOME_USER_ID;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ReportMonthsUseCaseTest {
+
+    private static final UUID KEY_ID = UUID.fromString("3f1d6c2a-0000-4000-8000-000000000001");
+    private static final Based64 ROWS_SIGNATURE = Based64.of("rows-signature".getBytes(StandardCharsets.UTF_8));
+    private static final List<SignedRow> SIGNED_ROWS = List.of(
+            new SignedRow("month;2021-01", 0, new byte[0]),
+            new SignedRow("month;2021-02", 1, new byte[0]));
+
+    @Mock
+    private UserStorageService userStorageService;
+
+    @Mock
+    private ClientStorageService clientService;
+
+    @Mock
+    private CreditScoreStorageService creditScoreStorageService;
+
+    @Mock
+    private SignatureService signatureService;
+
+    @Mock
+    private SemaEventService semaEventService;
+
+    @InjectMocks
+    private ReportMonthsUseCase reportMonthsUseCase;
+
+    @Test
+    void shouldLogSemaEventAndReturnMonthsWhenRowWasTampered() {
+        // Given
+        SignedCreditScoreMonthsDTO signedMonths = signedMonths(2);
+        given(signatureService.verifyRows(SOME_USER_ID, SIGNED_ROWS, 2, ROWS_SIGNATURE, KEY_ID)).willReturn(false);
+
+        // When
+        Set<MonthlyAdminReportDTO> months = reportMonthsUseCase.verifiedMonths(SOME_CLIENT_ID, SOME_USER_ID, signedMonths);
+
+        // Then
+        then(months).isSameAs(signedMonths.getMonths());
+        verify(semaEventService).logIncorrectSignature(InvalidSignatureDTO.builder()
+                .userId(SOME_USER_ID)
+                .signature(ROWS_SIGNATURE)
+                .message("Monthly report rows do not match rows signature")
+                .build(), SOME_USER_ID, SOME_CLIENT_ID);
+    }
+
+    @Test
+    void shouldLogSemaEventWithoutVerifyingProofsWhenLeafCountIsMissing() {
+        // Given
+        SignedCreditScoreMonthsDTO signedMonths = signedMonths(null);
+
+        // When
+        reportMonthsUseCase.verifiedMonths(SOME_CLIENT_ID, SOME_USER_ID, signedMonths);
+
+        // Then
+        verifyNoInteractions(signatureService);
+        verify(semaEventService).logIncorrectSignature(InvalidSignatureDTO.builder()
+                .userId(SOME_USER_ID)
+                .signature(ROWS_SIGNATURE)
+                .message("Monthly report rows do not match rows signature")
+                .build(), SOME_USER_ID, SOME_CLIENT_ID);
+    }
+
+    @Test
+    void shouldNotLogSemaEventWhenRowsMatchSignature() {
+        // Given
+        SignedCreditScoreMonthsDTO signedMonths = signedMonths(2);
+        given(signatureService.verifyRows(SOME_USER_ID, SIGNED_ROWS, 2, ROWS_SIGNATURE, KEY_ID)).willReturn(true);
+
+        // When
+        reportMonthsUseCase.verifiedMonths(SOME_CLIENT_ID, SOME_USER_ID, signedMonths);
+
+        // Then
+        verifyNoInteractions(semaEventService);
+    }
+
+    private static SignedCreditScoreMonthsDTO signedMonths(Integer leafCount) {
+        return SignedCreditScoreMonthsDTO.builder()
+                .months(Set.of())
+                .signedRows(SIGNED_ROWS)
+                .rowCount(SIGNED_ROWS.size())
+                .leafCount(leafCount)
+                .rowsSignature(ROWS_SIGNATURE)
+                .rowsSignatureKeyId(KEY_ID)
+                .build();
+    }
+}
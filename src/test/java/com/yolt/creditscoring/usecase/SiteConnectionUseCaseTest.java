@@ -13,6 +13,8 @@ import com.yolt.creditscoring.service.user.UserStorageService;
 import com.yolt.creditscoring.service.user.model.CreditScoreUser;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
+import com.yolt.creditscoring.service.webhook.model.WebhookEventType;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import com.yolt.creditscoring.service.yoltapi.dto.ConsentStep;
 import com.yolt.creditscoring.service.yoltapi.dto.CreditScoreAccountDTO;
@@ -58,6 +60,9 @@ class SiteConnectionUseCaseTest {
     @Mock
     private UserAuditService userAuditService;
 
+    @Mock
+    private WebhookService webhookService;
+
     @InjectMocks
     private SiteConnectionUseCase siteConnectionUseCase;
 
@@ -170,6 +175,7 @@ class SiteConnectionUseCaseTest {
         assertThat(thrown).isInstanceOf(SiteAuthenticationException.class)
                 .hasMessageContaining("User did not accepted consent on bank page");
         then(userStorageService).should().refusedBankConsent(SOME_USER_ID);
+        then(webhookService).should().enqueue(SOME_CLIENT_ID, SOME_USER_ID, WebhookEventType.REPORT_REFUSED, InvitationStatus.REFUSED_BANK_CONSENT);
     }
 
     @Test
@@ -188,6 +194,7 @@ class SiteConnectionUseCaseTest {
         assertThat(thrown).isInstanceOf(SiteCreationException.class)
                 .hasMessageContaining("UserSite was not created due to: TECHNICAL_ERROR");
         then(userStorageService).should().bankError(SOME_USER_ID);
+        then(webhookService).should().enqueue(SOME_CLIENT_ID, SOME_USER_ID, WebhookEventType.REPORT_FAILED, InvitationStatus.ERROR_BANK);
     }
 
     @Test
@@ -11,6 +11,7 @@ import com.yolt.creditscoring.service.user.model.CreditScoreUser;
 import com.yolt.creditscoring.service.user.model.CreditScoreUserRepository;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
+import com.yolt.creditscoring.service.webhook.WebhookService;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,6 +54,9 @@ class UserInvitationUseCaseTest {
     @Mock
     private UserAuditService userAuditService;
 
+    @Mock
+    private WebhookService webhookService;
+
     @Mock
     CreditScoreUserRepository creditScoreUserRepository;
 
@@ -68,7 +72,8 @@ class UserInvitationUseCaseTest {
                 jwtCreationService,
                 userStorageService,
                 userJourneyService,
-                userAuditService);
+                userAuditService,
+                webhookService);
     }
 
     @Test
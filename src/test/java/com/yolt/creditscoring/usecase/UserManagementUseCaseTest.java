@@ -1,6 +1,7 @@
 package com.yolt.creditscoring.usecase;
 
 import brave.baggage.BaggageField;
+import com.yolt.creditscoring.common.pagination.KeysetPage;
 import com.yolt.creditscoring.configuration.security.admin.ClientAccessType;
 import com.yolt.creditscoring.controller.admin.users.InviteUserDTO;
 import com.yolt.creditscoring.controller.admin.users.ViewUserDTO;
@@ -8,13 +9,14 @@ import com.yolt.creditscoring.exception.InviteStillPendingException;
 import com.yolt.creditscoring.service.audit.AdminAuditService;
 import com.yolt.creditscoring.service.client.ClientEmailDTO;
 import com.yolt.creditscoring.service.client.ClientStorageService;
-import com.yolt.creditscoring.service.email.EmailService;
-import com.yolt.creditscoring.service.email.model.InvitationEmailData;
+import com.yolt.creditscoring.service.email.outbox.EmailOutboxService;
 import com.yolt.creditscoring.service.securitymodule.semaevent.SemaEventService;
 import com.yolt.creditscoring.service.user.UserStorageService;
 import com.yolt.creditscoring.service.user.model.CreditScoreUser;
+import com.yolt.creditscoring.service.user.model.CreditScoreUserFilter;
 import com.yolt.creditscoring.service.user.model.CreditScoreUserRepository;
 import com.yolt.creditscoring.service.user.model.InvitationStatus;
+import com.yolt.creditscoring.service.user.model.UserSortKey;
 import com.yolt.creditscoring.service.userjourney.UserJourneyService;
 import com.yolt.creditscoring.service.yoltapi.YoltProvider;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,9 +27,9 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -42,7 +44,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,7 +53,7 @@ class UserManagementUseCaseTest {
     private UserStorageService userStorageService;
 
     @Mock
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @Mock
     private ClientStorageService clientService;
@@ -80,7 +81,7 @@ class UserManagementUseCaseTest {
         UserStorageService userStorageService = new UserStorageService(creditScoreUserRepository);
 
         userManagementUseCase = new UserManagementUseCase(userStorageService,
-                emailService,
+                emailOutboxService,
                 clientService,
                 userJourneyService,
                 yoltProvider,
@@ -113,14 +114,6 @@ class UserManagementUseCaseTest {
                 .setClientId(SOME_CLIENT_ID)
                 .setStatus(InvitationStatus.INVITED);
 
-        InvitationEmailData invitationEmailData = InvitationEmailData.builder()
-                .clientEmail(clientEmail)
-                .recipientEmail(createdUser.getEmail())
-                .userName(SOME_USER_NAME)
-                .clientLogoUrl("http://localhost/app-context/clients/" + SOME_CLIENT_ID + "/logo")
-                .redirectUrl("http://localhost/app-context/consent/fixed-invitation-hash")
-                .build();
-
         given(clientService.getClientEmailById(SOME_CLIENT_EMAIL_ID)).willReturn(clientEmail);
         given(creditScoreUserRepository.save(any())).willReturn(createdUser);
 
@@ -136,8 +129,8 @@ class UserManagementUseCaseTest {
         // Then
         assertThat(userId).isEqualTo(SOME_USER_ID);
 
-        then(emailService).should().sendInvitationForUser(createdUser.getClientId(), createdUser.getId(), invitationEmailData);
-        then(userJourneyService).should().registerInvited(eq(SOME_CLIENT_ID), any());
+        then(emailOutboxService).should().enqueueInvitation(SOME_CLIENT_ID, SOME_USER_ID, SOME_CLIENT_EMAIL_ID, "http://localhost/app-context");
+        then(userJourneyService).should().registerInvited(eq(SOME_CLIENT_ID), any(UUID.class));
         then(semaEventService).should().logUserInvitation(SOME_CLIENT_ID, SOME_CLIENT_ADMIN_ID);
         then(adminAuditService).should().inviteNewUser(SOME_CLIENT_ID, SOME_CLIENT_ADMIN_ID, SOME_CLIENT_ADMIN_EMAIL, SOME_USER_ID, SOME_USER_NAME, SOME_USER_EMAIL, ClientAccessType.ADMIN);
     }
@@ -147,13 +140,6 @@ class UserManagementUseCaseTest {
         // Given
         ArgumentCaptor<CreditScoreUser> savedCreditScoreUserCaptor = ArgumentCaptor.forClass(CreditScoreUser.class);
 
-        final ClientEmailDTO clientEmail = ClientEmailDTO.builder()
-                .id(SOME_CLIENT_EMAIL_ID)
-                .template("UserInvitation_Test_Client")
-                .subject("Hello!")
-                .sender("Cashflow Analyser <no-reply-cashflow-analyser@yolt.com>")
-                .build();
-
         final CreditScoreUser creditScoreUser = new CreditScoreUser()
                 .setId(SOME_USER_ID)
                 .setClientId(SOME_CLIENT_ID)
@@ -162,17 +148,8 @@ class UserManagementUseCaseTest {
                 .setEmail(SOME_USER_EMAIL)
                 .setStatus(InvitationStatus.EXPIRED);
 
-        final InvitationEmailData invitationEmailData = InvitationEmailData.builder()
-                .clientEmail(clientEmail)
-                .recipientEmail(creditScoreUser.getEmail())
-                .userName(SOME_USER_NAME)
-                .clientLogoUrl("http://localhost/app-context/clients/" + SOME_CLIENT_ID + "/logo")
-                .redirectUrl("http://localhost/app-context/consent/fixed-invitation-hash")
-                .build();
-
         given(creditScoreUserRepository.findById(SOME_USER_ID)).willReturn(Optional.of(creditScoreUser));
         given(creditScoreUserRepository.save(any())).willReturn(creditScoreUser);
-        given(clientService.getClientEmailById(SOME_CLIENT_EMAIL_ID)).willReturn(clientEmail);
 
         // When
         userManagementUseCase.resendUserInvite(
@@ -185,8 +162,8 @@ class UserManagementUseCaseTest {
         // Then
         then(creditScoreUserRepository).should().save(savedCreditScoreUserCaptor.capture());
 
-        then(emailService).should().sendInvitationForUser(creditScoreUser.getClientId(), creditScoreUser.getId(), invitationEmailData);
-        then(userJourneyService).should(never()).registerInvited(any(), any());
+        then(emailOutboxService).should().enqueueInvitation(SOME_CLIENT_ID, SOME_USER_ID, SOME_CLIENT_EMAIL_ID, "http://localhost/app-context");
+        then(userJourneyService).should(never()).registerInvited(any(), any(UUID.class));
         then(adminAuditService).should().reinviteUser(SOME_CLIENT_ID, SOME_CLIENT_ADMIN_ID, SOME_CLIENT_ADMIN_EMAIL, SOME_USER_ID, SOME_USER_NAME, SOME_USER_EMAIL);
     }
 
@@ -214,9 +191,9 @@ class UserManagementUseCaseTest {
                 .should(never())
                 .updateUserInvitationHashAndSetStatusInvited(any(), any());
 
-        then(emailService).should(never()).sendInvitationForUser(any(), any(), any());
+        then(emailOutboxService).should(never()).enqueueInvitation(any(), any(), any(), any());
 
-        then(userJourneyService).should(never()).registerInvited(any(), any());
+        then(userJourneyService).should(never()).registerInvited(any(), any(UUID.class));
     }
 
     @Test
@@ -231,20 +208,25 @@ class UserManagementUseCaseTest {
                 .setStatus(InvitationStatus.INVITED)
                 .setClientId(SOME_CLIENT_ID);
 
-        Pageable pageable = mock(Pageable.class);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("dateTimeInvited")));
 
-        given(creditScoreUserRepository.findByClientId(SOME_CLIENT_ID, pageable))
-                .willReturn(new PageImpl<>(Collections.singletonList(creditScoreUser)));
+        given(creditScoreUserRepository.findPage(SOME_CLIENT_ID, CreditScoreUserFilter.NONE, UserSortKey.DATE_INVITED,
+                Sort.Direction.DESC, null, 0, 21))
+                .willReturn(Collections.singletonList(creditScoreUser));
+        given(creditScoreUserRepository.count(SOME_CLIENT_ID, CreditScoreUserFilter.NONE)).willReturn(1L);
 
         // When
-        Page<ViewUserDTO> viewUserDTOs = userManagementUseCase.viewAllUsersByClientId(pageable, SOME_CLIENT_ID);
+        KeysetPage<ViewUserDTO> viewUserDTOs = userManagementUseCase.viewUsersByClientId(
+                SOME_CLIENT_ID, CreditScoreUserFilter.NONE, pageable, null, true);
 
         // Then
-        assertThat(viewUserDTOs).hasSize(1);
-        assertThat(viewUserDTOs).extracting("email", "dateInvited", "dateStatusUpdated", "status")
+        assertThat(viewUserDTOs.content()).hasSize(1);
+        assertThat(viewUserDTOs.content()).extracting("email", "dateInvited", "dateStatusUpdated", "status")
                 .contains(tuple(SOME_USER_EMAIL, SOME_TEST_DATE, SOME_TEST_DATE, InvitationStatus.INVITED));
+        assertThat(viewUserDTOs.nextCursor()).isNull();
+        assertThat(viewUserDTOs.totalCount()).isEqualTo(1L);
 
-        then(userJourneyService).should(never()).registerInvited(any(), any());
+        then(userJourneyService).should(never()).registerInvited(any(), any(UUID.class));
     }
 
     @Test
@@ -265,7 +247,7 @@ class UserManagementUseCaseTest {
         // Then
         then(creditScoreUserRepository).should().deleteById(SOME_USER_ID);
 
-        then(userJourneyService).should(never()).registerInvited(any(), any());
+        then(userJourneyService).should(never()).registerInvited(any(), any(UUID.class));
 
         then(yoltProvider).should().removeUser(SOME_YOLT_USER_ID);
 
@@ -12,24 +12,28 @@ import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DownloadReportMapperTest {
 
     @Test
-    void generateCsvForMonths() {
+    void writeCsvForMonths() throws IOException {
         // Given
         final Set<MonthlyAdminReportDTO> months = generateMonths();
 
         // When
-        final byte[] bytes = DownloadReportMapper.generateCsvForMonths("EUR", months);
+        final byte[] bytes = write(out -> DownloadReportMapper.writeCsvForMonths(out, "EUR", months));
 
         String[] csvLines = new String(bytes).split("\n");
 
@@ -40,12 +44,12 @@ class DownloadReportMapperTest {
     }
 
     @Test
-    void generateCsvForCategories() {
+    void writeCsvForCategories() throws IOException {
         // Given
         final List<SMECategoryDTO> categories = generateCategories();
 
         // When
-        final byte[] bytes = DownloadReportMapper.generateCsvForCategories(categories);
+        final byte[] bytes = write(out -> DownloadReportMapper.writeCsvForCategories(out, categories));
 
         String[] csvLines = new String(bytes).split("\n");
 
@@ -56,7 +60,7 @@ class DownloadReportMapperTest {
     }
 
     @Test
-    void generateJsonForOverview() throws JSONException {
+    void writeJsonForOverview() throws JSONException, IOException {
         // Given
         final CreditScoreAdminOverviewResponseDTO overview = generateOverview();
         String expectedJson = """
@@ -89,7 +93,7 @@ class DownloadReportMapperTest {
                 """;
 
         // When
-        final byte[] bytes = DownloadReportMapper.generateJson(overview);
+        final byte[] bytes = write(out -> DownloadReportMapper.writeJson(out, overview));
 
         String json = new String(bytes);
 
@@ -98,14 +102,14 @@ class DownloadReportMapperTest {
     }
 
     @Test
-    void generateJsonForEstimateReport() {
+    void writeJsonForEstimateReport() throws IOException {
         // Given
         final RiskClassificationDTO estimateReport = generateEstimateReport();
         String expectedJson = """
                 {"rateLower":0.2,"rateUpper":0.4,"grade":"F","status":"COMPLETED"}""";
 
         // When
-        final byte[] bytes = DownloadReportMapper.generateJson(estimateReport);
+        final byte[] bytes = write(out -> DownloadReportMapper.writeJson(out, estimateReport));
 
         String json = new String(bytes);
 
@@ -113,6 +117,43 @@ class DownloadReportMapperTest {
         assertThat(json).isEqualTo(expectedJson);
     }
 
+    @Test
+    void writeEntriesToSameZipStream() throws IOException {
+        // Given
+        var out = new ByteArrayOutputStream();
+
+        // When
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("Overview.json"));
+            DownloadReportMapper.writeJson(zip, generateOverview());
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("CategoriesReport.csv"));
+            DownloadReportMapper.writeCsvForCategories(zip, generateCategories());
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("monthly.csv"));
+            DownloadReportMapper.writeCsvForMonths(zip, "EUR", generateMonths());
+            zip.closeEntry();
+        }
+
+        // Then
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        assertThat(entries.keySet()).containsExactlyInAnyOrder("Overview.json", "CategoriesReport.csv", "monthly.csv");
+        assertThat(entries.get("Overview.json")).isEqualTo(write(out -> DownloadReportMapper.writeJson(out, generateOverview())));
+        assertThat(entries.get("CategoriesReport.csv")).isEqualTo(write(out -> DownloadReportMapper.writeCsvForCategories(out, generateCategories())));
+        assertThat(entries.get("monthly.csv")).isEqualTo(write(out -> DownloadReportMapper.writeCsvForMonths(out, "EUR", generateMonths())));
+    }
+
+    private static byte[] write(EntryWriter entryWriter) throws IOException {
+        var out = new ByteArrayOutputStream();
+        entryWriter.write(out);
+        return out.toByteArray();
+    }
+
     private static Set<MonthlyAdminReportDTO> generateMonths() {
         Set<MonthlyAdminReportDTO> months = new HashSet<>();
         MonthlyAdminReportDTO month1 = MonthlyAdminReportDTO.builder()
@@ -187,4 +228,9 @@ class DownloadReportMapperTest {
     private static RiskClassificationDTO generateEstimateReport() {
         return new RiskClassificationDTO(0.2, 0.4, RiskClassification.F, PdStatus.COMPLETED);
     }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write(OutputStream out) throws IOException;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.yolt.creditscoring.utility.download;
+
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryDTO;
+import com.yolt.creditscoring.service.creditscore.category.SMECategoryType;
+import com.yolt.creditscoring.service.creditscore.model.Category;
+import com.yolt.creditscoring.service.creditscore.storage.dto.response.admin.MonthlyAdminReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the bytes allocated by the report download written to the response while zipping with the former
+ * download, which created every entry as byte[] and the whole zip in a ByteArrayOutputStream.
+ * Run with {@code mvn test -Dtest=ReportDownloadBenchmark -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReportDownloadBenchmark {
+
+    private static final int MONTHS = 10_000;
+    private static final int CATEGORIES = 2_000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 50;
+
+    private final Set<MonthlyAdminReportDTO> months = months();
+    private final List<SMECategoryDTO> categories = categories();
+
+    @Test
+    void compareAllocatedBytesPerDownload() throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bufferedDownload();
+            streamingDownload();
+        }
+
+        long bufferedBytes = allocatedBytes(this::bufferedDownload);
+        long streamingBytes = allocatedBytes(this::streamingDownload);
+
+        log.info("Download of {} months and {} categories, buffered: {} KB, streaming: {} KB",
+                MONTHS, CATEGORIES, bufferedBytes / ITERATIONS / 1024, streamingBytes / ITERATIONS / 1024);
+
+        assertThat(streamingBytes).isLessThan(bufferedBytes);
+    }
+
+    private void bufferedDownload() throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("CategoriesReport.csv"));
+            zip.write(buffered(out -> DownloadReportMapper.writeCsvForCategories(out, categories)));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("monthly.csv"));
+            zip.write(buffered(out -> DownloadReportMapper.writeCsvForMonths(out, "EUR", months)));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("Months.json"));
+            zip.write(buffered(out -> DownloadReportMapper.writeJson(out, months)));
+            zip.closeEntry();
+        }
+        OutputStream.nullOutputStream().write(out.toByteArray());
+    }
+
+    private void streamingDownload() throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(OutputStream.nullOutputStream())) {
+            zip.putNextEntry(new ZipEntry("CategoriesReport.csv"));
+            DownloadReportMapper.writeCsvForCategories(zip, categories);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("monthly.csv"));
+            DownloadReportMapper.writeCsvForMonths(zip, "EUR", months);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("Months.json"));
+            DownloadReportMapper.writeJson(zip, months);
+            zip.closeEntry();
+        }
+    }
+
+    private static byte[] buffered(EntryWriter entryWriter) throws IOException {
+        var out = new ByteArrayOutputStream();
+        entryWriter.write(out);
+        return out.toByteArray();
+    }
+
+    private long allocatedBytes(Download download) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            download.run();
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static Set<MonthlyAdminReportDTO> months() {
+        Set<MonthlyAdminReportDTO> months = new LinkedHashSet<>();
+        for (int i = 0; i < MONTHS; i++) {
+            months.add(MonthlyAdminReportDTO.builder()
+                    .year(1000 + i / 12)
+                    .month(i % 12 + 1)
+                    .highestBalance(BigDecimal.valueOf(1_200_000 + i, 2))
+                    .lowestBalance(BigDecimal.valueOf(12_300 + i, 2))
+                    .totalIncoming(BigDecimal.valueOf(5_000_000 + i, 2))
+                    .totalOutgoing(BigDecimal.valueOf(-3_000_000 - i, 2))
+                    .incomingTransactionsSize(234)
+                    .outgoingTransactionsSize(345)
+                    .build());
+        }
+        return months;
+    }
+
+    private static List<SMECategoryDTO> categories() {
+        List<SMECategoryDTO> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(SMECategoryDTO.builder()
+                    .categoryName(Category.values()[i % Category.values().length])
+                    .categoryType(i % 2 == 0 ? SMECategoryType.INCOMING : SMECategoryType.OUTGOING)
+                    .totalTransactions(123 + i)
+                    .averageTransactionAmount(BigDecimal.valueOf(123_400 + i, 2))
+                    .totalTransactionAmount(BigDecimal.valueOf(12_345_600 + i, 2))
+                    .build());
+        }
+        return categories;
+    }
+
+    @FunctionalInterface
+    private interface Download {
+        void run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,111 @@
+package com.yolt.creditscoring.utility.id;
+
+import com.yolt.creditscoring.IntegrationTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares {@link UUID#randomUUID()} with the generators of {@link IdGenerators}:
+ * generation throughput with concurrent threads, and insert time and primary key index size in Postgres.
+ * Run with {@code mvn verify -Dit.test=IdGeneratorBenchmark -Dbenchmark=true}.
+ */
+@Slf4j
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class IdGeneratorBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 1_000_000;
+    private static final int ROWS = 500_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS id_benchmark");
+    }
+
+    @Test
+    void compareGenerationThroughput() throws Exception {
+        generationDuration(UUID::randomUUID);
+        generationDuration(IdGenerators.getPersistenceIds());
+        generationDuration(IdGenerators.getUniqueIds());
+
+        Duration secure = generationDuration(UUID::randomUUID);
+        Duration timeOrdered = generationDuration(IdGenerators.getPersistenceIds());
+        Duration unique = generationDuration(IdGenerators.getUniqueIds());
+        log.info("{} ids on {} threads, UUID.randomUUID: {} ms, time-ordered: {} ms, fast random: {} ms",
+                THREADS * IDS_PER_THREAD, THREADS, secure.toMillis(), timeOrdered.toMillis(), unique.toMillis());
+
+        assertThat(timeOrdered).isLessThan(secure);
+    }
+
+    @Test
+    void compareInsertTimeAndIndexSize() {
+        InsertResult random = insert(UUID::randomUUID);
+        InsertResult timeOrdered = insert(IdGenerators.getPersistenceIds());
+        log.info("{} rows, UUID.randomUUID: {} ms and {} kB index, time-ordered: {} ms and {} kB index",
+                ROWS, random.duration().toMillis(), random.indexSize() / 1024,
+                timeOrdered.duration().toMillis(), timeOrdered.indexSize() / 1024);
+
+        assertThat(timeOrdered.indexSize()).isLessThan(random.indexSize());
+    }
+
+    private Duration generationDuration(IdGenerator generator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        generator.generate();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return Duration.ofNanos(System.nanoTime() - start);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private InsertResult insert(IdGenerator generator) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS id_benchmark");
+        jdbcTemplate.execute("CREATE TABLE id_benchmark (id UUID PRIMARY KEY, payload TEXT)");
+
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new Object[]{generator.generate(), "row"});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO id_benchmark (id, payload) VALUES (?, ?)", batch);
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        Long indexSize = jdbcTemplate.queryForObject("SELECT pg_relation_size('id_benchmark_pkey')", Long.class);
+        return new InsertResult(duration, indexSize == null ? 0 : indexSize);
+    }
+
+    private record InsertResult(Duration duration, long indexSize) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.yolt.creditscoring.utility.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final Instant SOME_INSTANT = Instant.parse("2022-03-01T10:15:30.123Z");
+
+    @Test
+    void shouldGenerateVersion7UuidWithTimestamp() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(Clock.fixed(SOME_INSTANT, ZoneOffset.UTC));
+
+        // When
+        UUID id = generator.generate();
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(SOME_INSTANT.toEpochMilli());
+    }
+
+    @Test
+    void shouldSortIdsByCreationTime() {
+        // Given
+        TimeOrderedIdGenerator earlier = new TimeOrderedIdGenerator(Clock.fixed(SOME_INSTANT, ZoneOffset.UTC));
+        TimeOrderedIdGenerator later = new TimeOrderedIdGenerator(Clock.fixed(SOME_INSTANT.plusMillis(1), ZoneOffset.UTC));
+
+        // When
+        UUID first = earlier.generate();
+        UUID second = later.generate();
+
+        // Then
+        // Postgres compares uuid values byte by byte, which is the same as comparing the unsigned strings
+        assertThat(first.toString()).isLessThan(second.toString());
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsWithinTheSameMillisecond() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(Clock.fixed(SOME_INSTANT, ZoneOffset.UTC));
+        Set<UUID> ids = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.generate());
+        }
+
+        // Then
+        assertThat(ids).hasSize(100_000);
+    }
+
+    @Test
+    void shouldGenerateVersion4UuidWithFastRandom() {
+        // When
+        UUID id = new FastRandomIdGenerator().generate();
+
+        // Then
+        assertThat(id.version()).isEqualTo(4);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+}